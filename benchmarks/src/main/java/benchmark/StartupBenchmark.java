@@ -0,0 +1,155 @@
+package benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Measures wall time of whole command line invocations on a tiny PNG watermark job, where process
+ * startup rather than encoding dominates, eg to compare JVM launcher against native image:
+ * <pre>
+ *     java -jar benchmarks/target/steganography-benchmarks-1.0-SNAPSHOT.jar 20 java -jar cli/target/steganography-cli-1.0-SNAPSHOT.jar
+ *     java -jar benchmarks/target/steganography-benchmarks-1.0-SNAPSHOT.jar 20 cli/target/steganography
+ * </pre>
+ * <P>
+ * Each run encodes 64 bytes in a 64x64 PNG and decodes them back, as separate processes, after one
+ * untimed run to warm file cache. Runs failing or decoding other data stop the benchmark.
+ * </P>
+ */
+public class StartupBenchmark {
+
+    private static final int KEY = 1234;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        if (args.length < 2) {
+            System.err.println("usage: StartupBenchmark <runs> <command>...");
+            System.exit(2);
+        }
+
+        int runs = Integer.parseInt(args[0]);
+        List<String> command = Arrays.asList(args).subList(1, args.length);
+
+        Path directory = Files.createTempDirectory("startup-benchmark");
+
+        try {
+            Path cover = directory.resolve("cover.png");
+            Path data = directory.resolve("data.bin");
+            Path encoded = directory.resolve("encoded.png");
+            Path decoded = directory.resolve("decoded.bin");
+
+            writeCover(cover.toFile(), data);
+
+            List<String> encode = getCommand(command, "encode", cover.toString(), data.toString(), encoded.toString());
+            List<String> decode = getCommand(command, "decode", encoded.toString(), decoded.toString());
+
+            // untimed run.
+            run(encode);
+            run(decode);
+
+            long[] encode_nanos = new long[runs], decode_nanos = new long[runs];
+
+            for (int i = 0; i < runs; i++) {
+
+                encode_nanos[i] = run(encode);
+                decode_nanos[i] = run(decode);
+
+                if (!Arrays.equals(Files.readAllBytes(data), Files.readAllBytes(decoded))) {
+                    throw new IllegalStateException("decoded data does not match encoded data.");
+                }
+            }
+
+            System.out.println(String.join(" ", command));
+            System.out.println("  encode: " + summary(encode_nanos));
+            System.out.println("  decode: " + summary(decode_nanos));
+        }
+        finally {
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            directory.toFile().delete();
+        }
+    }
+
+    /**
+     * Writes a 64x64 PNG of random pixels to <B>cover</B> and 64 random bytes to <B>data</B>.
+     */
+    private static void writeCover(File cover, Path data) throws IOException {
+
+        Random random = new Random(42);
+
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_3BYTE_BGR);
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, random.nextInt(1 << 24));
+            }
+        }
+
+        ImageIO.write(image, "png", cover);
+
+        byte[] bytes = new byte[64];
+        random.nextBytes(bytes);
+
+        Files.write(data, bytes);
+    }
+
+    private static List<String> getCommand(List<String> launcher, String... arguments) {
+
+        List<String> command = new ArrayList<>(launcher);
+
+        command.addAll(Arrays.asList(arguments));
+        command.add("--key");
+        command.add(String.valueOf(KEY));
+
+        return command;
+    }
+
+    /**
+     * Runs <B>command</B> to completion, discarding its output.
+     *
+     * @return wall time in nanoseconds.
+     *
+     * @throws IllegalStateException if command exits with non zero status.
+     */
+    private static long run(List<String> command) throws IOException, InterruptedException {
+
+        long start = System.nanoTime();
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+
+        int status = process.waitFor();
+
+        long nanos = System.nanoTime() - start;
+
+        if (status != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " exited with status " + status + ".");
+        }
+
+        return nanos;
+    }
+
+    /**
+     * Returns min, median and 90th percentile of <B>nanos</B> in milliseconds.
+     */
+    private static String summary(long[] nanos) {
+
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+
+        return String.format("min %.1f ms, median %.1f ms, p90 %.1f ms over %d runs",
+                sorted[0] / 1e6, sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.9)] / 1e6, sorted.length);
+    }
+
+}
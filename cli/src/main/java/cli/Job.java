@@ -0,0 +1,136 @@
+package cli;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import steganography.Codecs;
+import steganography.core.ProbeResult;
+import steganography.core.Steganography;
+import steganography.core.exceptions.UnsupportedFileException;
+import static steganography.core.util.Files.getFileExtension;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * One encoding, decoding, probe or capacity query on one cover, run by codec matching extension of the cover.
+ * <P>
+ * {@link #run()} returns its outcome as a JSON line, with the time it took in nanoseconds:
+ * <pre>
+ *     {"command":"encode","path":"a.png","codec":"image","output":"b.png","bytes":4096,"status":"ok","nanos":1843000}
+ *     {"command":"probe","path":"c.wav","codec":"audio","present":false,"status":"ok","nanos":91000}
+ *     {"command":"decode","path":"d.mp4","status":"error","error":"InvalidSecurityException","message":"...","nanos":52000}
+ * </pre>
+ * Jobs of a batch manifest also carry their line number as "line".
+ * </P>
+ */
+final class Job {
+
+    static final String ENCODE = "encode", DECODE = "decode", PROBE = "probe", CAPACITY = "capacity";
+
+    private final String COMMAND;
+
+    /**
+     * Cover, then data and output for encoding or output for decoding.
+     */
+    private final List<String> FILES;
+
+    private final Options OPTIONS;
+
+    /**
+     * Line of batch manifest, 0 for a job of command line.
+     */
+    private final int LINE;
+
+    private boolean FAILED;
+
+    Job(String command, List<String> files, Options options, int line) {
+        this.COMMAND = command;
+        this.FILES = files;
+        this.OPTIONS = options;
+        this.LINE = line;
+    }
+
+    /**
+     * Runs job, failures are reported in returned line and by {@link #isFailed()}.
+     *
+     * @return JSON line describing outcome.
+     */
+    String run() {
+
+        JsonLine line = new JsonLine().put("command", COMMAND);
+
+        if (LINE > 0) {
+            line.put("line", LINE);
+        }
+
+        line.put("path", FILES.get(0));
+
+        long start = System.nanoTime();
+
+        try {
+            Path cover = Paths.get(FILES.get(0));
+            Steganography steg = getCodec(cover);
+
+            line.put("codec", Codecs.getName(steg));
+
+            switch (COMMAND) {
+
+                case ENCODE:    Path data = Paths.get(FILES.get(1)), output = Paths.get(FILES.get(2));
+                                Codecs.encode(steg, cover, data, output, OPTIONS.getKey());
+                                line.put("output", output.toString()).put("bytes", Files.size(data));
+                                break;
+
+                case DECODE:    Path destination = Paths.get(FILES.get(1));
+                                Codecs.decode(steg, cover, destination, OPTIONS.getKey());
+                                line.put("output", destination.toString()).put("bytes", Files.size(destination));
+                                break;
+
+                case PROBE:     ProbeResult result = steg.probe(cover, OPTIONS.getKey());
+                                line.put("present", result.isPresent());
+                                if (result.isPresent()) {
+                                    line.put("length", result.getLength());
+                                }
+                                break;
+
+                case CAPACITY:  line.put("capacity", steg.capacity(cover, OPTIONS.getConfig()));
+                                break;
+
+                default:        throw new IllegalStateException(COMMAND);
+            }
+
+            line.put("status", "ok");
+        }
+        catch (Exception ex) {
+            FAILED = true;
+            line.put("status", "error").put("error", ex.getClass().getSimpleName()).put("message", ex.getMessage());
+        }
+
+        return line.put("nanos", System.nanoTime() - start).toString();
+    }
+
+    boolean isFailed() {
+        return FAILED;
+    }
+
+    /**
+     * Returns codec for extension of <B>cover</B> with settings of options.
+     *
+     * @throws UnsupportedFileException if extension is not supported and --raw is not given.
+     */
+    private Steganography getCodec(Path cover) throws UnsupportedFileException {
+
+        Steganography steg = Codecs.forFile(cover, OPTIONS.isRaw());
+
+        if (steg == null) {
+            throw new UnsupportedFileException("'" + getFileExtension(cover.toFile()) + "' file format is not supported, use --raw to handle it as a raw file.");
+        }
+
+        steg.setConfig(OPTIONS.getConfig());
+
+        return steg;
+    }
+
+}
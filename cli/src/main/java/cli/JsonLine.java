@@ -0,0 +1,45 @@
+package cli;
+
+import steganography.core.util.Util;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * A JSON object written on one line, fields in order they are put.
+ */
+final class JsonLine {
+
+    private final StringBuilder LINE = new StringBuilder("{");
+
+    JsonLine put(String name, String value) {
+        field(name).append(value == null ? "null" : Util.quote(value));
+        return this;
+    }
+
+    JsonLine put(String name, long value) {
+        field(name).append(value);
+        return this;
+    }
+
+    JsonLine put(String name, boolean value) {
+        field(name).append(value);
+        return this;
+    }
+
+    private StringBuilder field(String name) {
+
+        if (LINE.length() > 1) {
+            LINE.append(',');
+        }
+
+        return LINE.append(Util.quote(name)).append(':');
+    }
+
+    @Override
+    public String toString() {
+        return LINE + "}";
+    }
+
+}
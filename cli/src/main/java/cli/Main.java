@@ -0,0 +1,374 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import steganography.core.metrics.Metrics;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Command line entry point, for headless machines where the Swing GUI can not run.
+ * <P>
+ * Each encoding, decoding, probe or capacity query writes one JSON line to standard output, see {@link Job},
+ * and usage errors are written to standard error. Exit status is 0 if all jobs succeeded, 1 if any failed
+ * and 2 if arguments are not valid, in which case nothing is run.
+ * </P>
+ */
+public class Main {
+
+    public static final int EXIT_OK = 0, EXIT_FAILED = 1, EXIT_USAGE = 2;
+
+    private static final String BATCH = "batch";
+
+    private static final String USAGE =
+            "usage: steganography <command> [options]\n"
+          + "\n"
+          + "commands:\n"
+          + "  encode <cover> <data> <output>   encode data file in cover\n"
+          + "  decode <cover> <output>          decode data of cover to output\n"
+          + "  probe <file>...                  check whether files carry data for key\n"
+          + "  capacity <file>...               number of data bytes files can carry\n"
+          + "  batch <manifest>                 run commands of manifest, one per line, '-' reads standard input\n"
+          + "\n"
+          + "options:\n"
+          + "  -k, --key <n>                    integer key, required except for capacity\n"
+          + "  --password <p>                   encrypt data with password\n"
+          + "  --password-env <name>            read password from environment variable\n"
+          + "  --offset <n>                     position of data in cover\n"
+          + "  --depth <1-4>                    data bits per cover unit\n"
+          + "  --buffer <size>                  bytes read from cover at a time, eg 4096, 64K, 1M\n"
+          + "  --compression <none|deflate>     compress data before encoding\n"
+          + "  --scatter                        scatter data over cover\n"
+          + "  --checksum                       append CRC32C of data\n"
+          + "  --fec                            add Reed-Solomon parity to data\n"
+          + "  --raw                            handle files of other types as raw files\n"
+          + "  -j, --parallelism <n>            number of jobs run at a time, default number of processors\n"
+          + "  --metrics                        print stage timings once done\n"
+          + "  -h, --help                       print this help\n"
+          + "\n"
+          + "Manifest lines are commands with their arguments and options, which add to options of command line.\n"
+          + "Blank lines and lines starting with '#' are skipped, arguments with spaces are written in double quotes.\n"
+          + "Jobs run in parallel, so a line must not use output of another line unless -j 1 is given.\n";
+
+    public static void main(String[] args) {
+
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        PrintWriter err = new PrintWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8), true);
+
+        int status = run(Arrays.asList(args), out, err);
+
+        out.flush();
+        System.exit(status);
+    }
+
+    /**
+     * Runs command line <B>args</B>, writing JSON lines to <B>out</B> and usage errors to <B>err</B>.
+     *
+     * @return exit status.
+     */
+    public static int run(List<String> args, PrintWriter out, PrintWriter err) {
+
+        Options options;
+        List<Job> jobs;
+
+        try {
+            options = Options.parse(args);
+
+            if (options.isHelp()) {
+                out.print(USAGE);
+                out.flush();
+                return EXIT_OK;
+            }
+
+            jobs = getJobs(options);
+        }
+        catch (UsageException ex) {
+            err.println("steganography: " + ex.getMessage());
+            err.println("try 'steganography --help' for more information.");
+            return EXIT_USAGE;
+        }
+        catch (IOException ex) {
+            err.println("steganography: can not read manifest: " + ex.getMessage());
+            return EXIT_USAGE;
+        }
+
+        long start = System.nanoTime();
+
+        int failed = runJobs(jobs, options.getParallelism(), out);
+
+        if (options.getArguments().get(0).equals(BATCH)) {
+            out.println(new JsonLine().put("command", BATCH).put("jobs", jobs.size()).put("failed", failed).put("nanos", System.nanoTime() - start));
+        }
+
+        if (options.isMetrics()) {
+            out.println(getMetricsLine());
+        }
+
+        out.flush();
+
+        return failed > 0 ? EXIT_FAILED : EXIT_OK;
+    }
+
+    /**
+     * Returns jobs of command line, checking all arguments before any job runs.
+     *
+     * @throws UsageException if command or its arguments are not valid.
+     * @throws IOException if manifest can not be read.
+     */
+    private static List<Job> getJobs(Options options) throws UsageException, IOException {
+
+        List<String> arguments = options.getArguments();
+
+        if (arguments.isEmpty() || !arguments.get(0).equals(BATCH)) {
+            return getJobs(options, 0);
+        }
+
+        if (arguments.size() != 2) {
+            throw new UsageException("batch needs a manifest.");
+        }
+
+        List<Job> jobs = new ArrayList<>();
+        List<String> lines = readManifest(arguments.get(1));
+
+        for (int i = 0; i < lines.size(); i++) {
+
+            String line = lines.get(i).trim();
+
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            try {
+                List<String> line_args = new ArrayList<>(options.getFlags());
+                line_args.addAll(split(line));
+
+                // batch is not a command of a single job, so it can not be nested.
+                jobs.addAll(getJobs(Options.parse(line_args), i + 1));
+            }
+            catch (UsageException ex) {
+                throw new UsageException("manifest line " + (i + 1) + ": " + ex.getMessage());
+            }
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Returns jobs of a single command, one per file for probe and capacity.
+     */
+    private static List<Job> getJobs(Options options, int line) throws UsageException {
+
+        List<String> arguments = options.getArguments();
+
+        if (arguments.isEmpty()) {
+            throw new UsageException("no command given.");
+        }
+
+        String command = arguments.get(0);
+        List<String> files = arguments.subList(1, arguments.size());
+
+        List<Job> jobs = new ArrayList<>();
+
+        switch (command) {
+
+            case Job.ENCODE:    checkCount(command, files, 3, "<cover> <data> <output>");
+                                options.getKey();
+                                jobs.add(new Job(command, files, options, line));
+                                break;
+
+            case Job.DECODE:    checkCount(command, files, 2, "<cover> <output>");
+                                options.getKey();
+                                jobs.add(new Job(command, files, options, line));
+                                break;
+
+            case Job.PROBE:     options.getKey();
+                                // falls through.
+
+            case Job.CAPACITY:  if (files.isEmpty()) {
+                                    throw new UsageException(command + " needs at least one file.");
+                                }
+                                for (String file : files) {
+                                    jobs.add(new Job(command, Arrays.asList(file), options, line));
+                                }
+                                break;
+
+            default:            throw new UsageException("unknown command '" + command + "'.");
+        }
+
+        return jobs;
+    }
+
+    private static void checkCount(String command, List<String> files, int count, String usage) throws UsageException {
+        if (files.size() != count) {
+            throw new UsageException(command + " needs " + usage + ".");
+        }
+    }
+
+    private static List<String> readManifest(String manifest) throws IOException {
+
+        if (!manifest.equals("-")) {
+            return Files.readAllLines(Paths.get(manifest), StandardCharsets.UTF_8);
+        }
+
+        List<String> lines = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+
+        return lines;
+    }
+
+    /**
+     * Splits a manifest line at whitespace, except inside double quotes, where \" and \\ stand for " and \.
+     *
+     * @throws UsageException if a quote is not closed.
+     */
+    static List<String> split(String line) throws UsageException {
+
+        List<String> args = new ArrayList<>();
+        StringBuilder arg = new StringBuilder();
+
+        boolean quoted = false, started = false;
+
+        for (int i = 0; i < line.length(); i++) {
+
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"') {
+                    quoted = false;
+                }
+                else if (c == '\\' && i + 1 < line.length() && (line.charAt(i + 1) == '"' || line.charAt(i + 1) == '\\')) {
+                    arg.append(line.charAt(++i));
+                }
+                else {
+                    arg.append(c);
+                }
+            }
+            else if (c == '"') {
+                quoted = started = true;
+            }
+            else if (Character.isWhitespace(c)) {
+                if (started) {
+                    args.add(arg.toString());
+                    arg.setLength(0);
+                    started = false;
+                }
+            }
+            else {
+                arg.append(c);
+                started = true;
+            }
+        }
+
+        if (quoted) {
+            throw new UsageException("quote is not closed.");
+        }
+
+        if (started) {
+            args.add(arg.toString());
+        }
+
+        return args;
+    }
+
+    /**
+     * Runs <B>jobs</B>, up to <B>parallelism</B> at a time, writing line of each job to <B>out</B> as it ends.
+     *
+     * @return number of jobs which failed.
+     */
+    private static int runJobs(List<Job> jobs, int parallelism, PrintWriter out) {
+
+        AtomicInteger failed = new AtomicInteger();
+
+        Runnable[] tasks = new Runnable[jobs.size()];
+
+        for (int i = 0; i < tasks.length; i++) {
+
+            Job job = jobs.get(i);
+
+            tasks[i] = () -> {
+
+                String line = job.run();
+
+                if (job.isFailed()) {
+                    failed.incrementAndGet();
+                }
+
+                synchronized (out) {
+                    out.println(line);
+                    out.flush();
+                }
+            };
+        }
+
+        int threads = Math.min(parallelism, tasks.length);
+
+        if (threads <= 1) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return failed.get();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (Runnable task : tasks) {
+                pool.execute(task);
+            }
+
+            pool.shutdown();
+
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                // waiting for long encodings.
+            }
+        }
+        catch (InterruptedException ex) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        return failed.get();
+    }
+
+    /**
+     * Returns stage timings and byte counts of {@link Metrics} as a JSON line.
+     */
+    private static String getMetricsLine() {
+
+        Metrics metrics = Metrics.getMetrics();
+
+        return new JsonLine().put("command", "metrics")
+                .put("encode_count", metrics.getEncodeCount()).put("encode_nanos", metrics.getEncodeNanos())
+                .put("decode_count", metrics.getDecodeCount()).put("decode_nanos", metrics.getDecodeNanos())
+                .put("header_nanos", metrics.getHeaderNanos())
+                .put("read_nanos", metrics.getReadNanos()).put("bytes_read", metrics.getBytesRead())
+                .put("embed_nanos", metrics.getEmbedNanos()).put("bytes_embedded", metrics.getBytesEmbedded())
+                .put("extract_nanos", metrics.getExtractNanos()).put("bytes_extracted", metrics.getBytesExtracted())
+                .put("write_nanos", metrics.getWriteNanos()).put("bytes_written", metrics.getBytesWritten())
+                .put("compress_nanos", metrics.getCompressNanos()).put("bytes_compressed", metrics.getBytesCompressed())
+                .put("buffer_bytes_peak", metrics.getBufferBytesPeak())
+                .toString();
+    }
+
+}
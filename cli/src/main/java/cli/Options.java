@@ -0,0 +1,244 @@
+package cli;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import steganography.core.Config;
+import steganography.core.compression.Compression;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Arguments of a command line or of a line of a batch manifest: positional arguments and flags,
+ * which are turned into a {@link Config} and a key.
+ */
+final class Options {
+
+    private final List<String> ARGUMENTS = new ArrayList<>();
+
+    /**
+     * Flags as given, with their values, so lines of a batch manifest can be parsed on top of them.
+     */
+    private final List<String> FLAGS = new ArrayList<>();
+
+    private final Config CONFIG = new Config();
+
+    private Integer KEY;
+
+    private int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Handle files with no supported extension as raw files.
+     */
+    private boolean RAW;
+
+    /**
+     * Print stage timings of {@link steganography.core.metrics.Metrics} once done.
+     */
+    private boolean METRICS;
+
+    private boolean HELP;
+
+    /**
+     * Parses <B>args</B>, flags may appear anywhere, "--" ends flags.
+     *
+     * @throws UsageException if a flag is unknown or its value is missing or invalid.
+     */
+    static Options parse(List<String> args) throws UsageException {
+
+        Options options = new Options();
+        boolean flags = true;
+
+        for (int i = 0; i < args.size(); i++) {
+
+            String arg = args.get(i);
+
+            if (!flags || !arg.startsWith("-") || arg.equals("-")) {
+                options.ARGUMENTS.add(arg);
+                continue;
+            }
+
+            if (arg.equals("--")) {
+                flags = false;
+                continue;
+            }
+
+            int start = i;
+
+            switch (arg) {
+
+                case "-k":
+                case "--key":           options.KEY = parseInt(arg, value(args, ++i, arg));
+                                        break;
+
+                case "--password":      options.CONFIG.setPassword(value(args, ++i, arg).toCharArray());
+                                        break;
+
+                case "--password-env":  options.CONFIG.setPassword(getEnvironment(value(args, ++i, arg)));
+                                        break;
+
+                case "--offset":        options.CONFIG.setOffset(parseInt(arg, value(args, ++i, arg)));
+                                        break;
+
+                case "--depth":         options.CONFIG.setDepth(parseInt(arg, value(args, ++i, arg)));
+                                        break;
+
+                case "--buffer":        options.CONFIG.setBufferCapacity(parseSize(arg, value(args, ++i, arg)));
+                                        break;
+
+                case "--compression":   options.CONFIG.setCompression(parseCompression(value(args, ++i, arg)));
+                                        break;
+
+                case "--scatter":       options.CONFIG.setScatter(true);
+                                        break;
+
+                case "--checksum":      options.CONFIG.setChecksum(true);
+                                        break;
+
+                case "--fec":           options.CONFIG.setFec(true);
+                                        break;
+
+                case "--raw":           options.RAW = true;
+                                        break;
+
+                case "-j":
+                case "--parallelism":   options.PARALLELISM = Math.max(1, parseInt(arg, value(args, ++i, arg)));
+                                        break;
+
+                case "--metrics":       options.METRICS = true;
+                                        break;
+
+                case "-h":
+                case "--help":          options.HELP = true;
+                                        break;
+
+                default:                throw new UsageException("unknown option '" + arg + "'.");
+            }
+
+            options.FLAGS.addAll(args.subList(start, i + 1));
+        }
+
+        return options;
+    }
+
+    private static String value(List<String> args, int i, String flag) throws UsageException {
+
+        if (i >= args.size()) {
+            throw new UsageException("option '" + flag + "' needs a value.");
+        }
+
+        return args.get(i);
+    }
+
+    private static int parseInt(String flag, String value) throws UsageException {
+        try {
+            return Integer.parseInt(value);
+        }
+        catch (NumberFormatException ex) {
+            throw new UsageException("option '" + flag + "' needs an integer, not '" + value + "'.");
+        }
+    }
+
+    /**
+     * Parses a number of bytes, with an optional K, M or G suffix of powers of 1024.
+     */
+    private static int parseSize(String flag, String value) throws UsageException {
+
+        String number = value.toUpperCase(Locale.ROOT);
+        long unit = 1;
+
+        if (number.endsWith("K"))      unit = 1L << 10;
+        else if (number.endsWith("M")) unit = 1L << 20;
+        else if (number.endsWith("G")) unit = 1L << 30;
+
+        if (unit > 1) {
+            number = number.substring(0, number.length() - 1);
+        }
+
+        long size;
+
+        try {
+            size = Long.parseLong(number) * unit;
+        }
+        catch (NumberFormatException ex) {
+            throw new UsageException("option '" + flag + "' needs a size such as 4096, 64K or 1M, not '" + value + "'.");
+        }
+
+        if (size <= 0 || size > Integer.MAX_VALUE) {
+            throw new UsageException("option '" + flag + "' is out of range: '" + value + "'.");
+        }
+
+        return (int) size;
+    }
+
+    private static Compression parseCompression(String value) throws UsageException {
+        try {
+            return Compression.valueOf(value.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException ex) {
+            throw new UsageException("unknown compression '" + value + "'.");
+        }
+    }
+
+    private static char[] getEnvironment(String name) throws UsageException {
+
+        String value = System.getenv(name);
+
+        if (value == null) {
+            throw new UsageException("environment variable '" + name + "' is not set.");
+        }
+
+        return value.toCharArray();
+    }
+
+    /**
+     * Returns positional arguments, command first.
+     */
+    List<String> getArguments() {
+        return ARGUMENTS;
+    }
+
+    /**
+     * Returns flags as given, with their values.
+     */
+    List<String> getFlags() {
+        return FLAGS;
+    }
+
+    Config getConfig() {
+        return CONFIG;
+    }
+
+    /**
+     * Returns key given with --key.
+     *
+     * @throws UsageException if no key was given.
+     */
+    int getKey() throws UsageException {
+
+        if (KEY == null) {
+            throw new UsageException("option '--key' is required.");
+        }
+
+        return KEY;
+    }
+
+    int getParallelism() {
+        return PARALLELISM;
+    }
+
+    boolean isRaw() {
+        return RAW;
+    }
+
+    boolean isMetrics() {
+        return METRICS;
+    }
+
+    boolean isHelp() {
+        return HELP;
+    }
+
+}
@@ -0,0 +1,17 @@
+package cli;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * UsageException Exception class.
+ * <P>Thrown when a command line or a line of a batch manifest is not valid, the command is not run.</P>
+ */
+class UsageException extends Exception {
+
+    UsageException(String msg) {
+        super(msg);
+    }
+
+}
@@ -0,0 +1,24 @@
+package server;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * HttpException Exception class.
+ * <P>Thrown when a request can not be served, carries HTTP status to respond with.</P>
+ */
+class HttpException extends Exception {
+
+    private final int STATUS;
+
+    HttpException(int status, String msg) {
+        super(msg);
+        this.STATUS = status;
+    }
+
+    int getStatus() {
+        return STATUS;
+    }
+
+}
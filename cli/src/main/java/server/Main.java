@@ -0,0 +1,140 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import javax.management.JMException;
+import steganography.core.metrics.Metrics;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Starts {@link SteganographyServer} until the process is stopped.
+ * <P>
+ * It listens on 127.0.0.1 by default, as requests carry keys and passwords in clear text; put it behind
+ * a TLS proxy before binding it to another address.
+ * </P>
+ * <P>Stage timings of {@link Metrics} are registered with platform MBean server, so JConsole or any JMX
+ * client attached to the process can watch them.</P>
+ */
+public class Main {
+
+    private static final int EXIT_USAGE = 2;
+
+    private static final String USAGE =
+            "usage: steganography-server [options]\n"
+          + "\n"
+          + "options:\n"
+          + "  --port <n>             port to listen on, default 8080\n"
+          + "  --bind <address>       address to listen on, default 127.0.0.1\n"
+          + "  --memory <size>        memory requests may hold at a time, eg 256M, default half of heap\n"
+          + "  --threads <n>          connections served at a time, default twice number of processors\n"
+          + "  --no-jmx               do not register metrics with platform MBean server\n"
+          + "  -h, --help             print this help\n";
+
+    public static void main(String[] args) {
+
+        int port = 8080;
+        String bind = "127.0.0.1";
+        long memory = Runtime.getRuntime().maxMemory() / 2;
+        int threads = 2 * Runtime.getRuntime().availableProcessors();
+        boolean jmx = true;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+
+                String arg = args[i];
+
+                switch (arg) {
+
+                    case "--port":      port = Integer.parseInt(value(args, ++i, arg));
+                                        break;
+
+                    case "--bind":      bind = value(args, ++i, arg);
+                                        break;
+
+                    case "--memory":    memory = parseSize(value(args, ++i, arg));
+                                        break;
+
+                    case "--threads":   threads = Math.max(1, Integer.parseInt(value(args, ++i, arg)));
+                                        break;
+
+                    case "--no-jmx":    jmx = false;
+                                        break;
+
+                    case "-h":
+                    case "--help":      System.out.print(USAGE);
+                                        return;
+
+                    default:            throw new IllegalArgumentException("unknown option '" + arg + "'.");
+                }
+            }
+        }
+        catch (IllegalArgumentException ex) {
+            System.err.println("steganography-server: " + ex.getMessage());
+            System.err.println("try 'steganography-server --help' for more information.");
+            System.exit(EXIT_USAGE);
+        }
+
+        if (jmx) {
+            try {
+                Metrics.register();
+            }
+            catch (JMException ex) {
+                System.err.println("steganography-server: metrics not registered: " + ex.getMessage());
+            }
+        }
+
+        try {
+            SteganographyServer server = new SteganographyServer(new InetSocketAddress(bind, port), threads, memory);
+
+            server.start();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(5)));
+
+            InetSocketAddress address = server.getAddress();
+            System.out.println("listening on http://" + address.getHostString() + ":" + address.getPort() + ", memory budget " + memory + " bytes.");
+        }
+        catch (IOException ex) {
+            System.err.println("steganography-server: can not listen on " + bind + ":" + port + ": " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static String value(String[] args, int i, String flag) {
+
+        if (i >= args.length) {
+            throw new IllegalArgumentException("option '" + flag + "' needs a value.");
+        }
+
+        return args[i];
+    }
+
+    /**
+     * Parses a number of bytes, with an optional K, M or G suffix of powers of 1024.
+     */
+    private static long parseSize(String value) {
+
+        String number = value.toUpperCase(Locale.ROOT);
+        long unit = 1;
+
+        if (number.endsWith("K"))      unit = 1L << 10;
+        else if (number.endsWith("M")) unit = 1L << 20;
+        else if (number.endsWith("G")) unit = 1L << 30;
+
+        if (unit > 1) {
+            number = number.substring(0, number.length() - 1);
+        }
+
+        long size = Long.parseLong(number) * unit;
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("memory budget must be positive: '" + value + "'.");
+        }
+
+        return size;
+    }
+
+}
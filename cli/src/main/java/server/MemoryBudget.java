@@ -0,0 +1,72 @@
+package server;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Bytes of memory requests may hold at a time, so the number of requests served together depends on their size
+ * rather than on a fixed count: many small encodings run side by side while a large one waits for memory to free up.
+ * <P>
+ * Memory is counted in KB, so budgets up to 2 TB fit the permits of a {@link Semaphore}.
+ * </P>
+ */
+final class MemoryBudget {
+
+    private static final int KB = 1024;
+
+    private final Semaphore PERMITS;
+
+    private final long BUDGET;
+
+    /**
+     * Number of permits of whole budget.
+     */
+    private final int TOTAL;
+
+    MemoryBudget(long budget) {
+        this.BUDGET = budget;
+        this.TOTAL = (int) Math.min(Integer.MAX_VALUE, budget / KB);
+        this.PERMITS = new Semaphore(TOTAL, true);
+    }
+
+    /**
+     * Waits up to <B>timeout</B> milliseconds for <B>bytes</B> of memory, which are to be given back with {@link #release(long)}.
+     *
+     * @return false if memory did not free up in time.
+     *
+     * @throws HttpException with status 413 if <B>bytes</B> exceeds whole budget.
+     * @throws InterruptedException
+     */
+    boolean acquire(long bytes, long timeout) throws HttpException, InterruptedException {
+
+        if (bytes > BUDGET) {
+            throw new HttpException(413, "request needs " + bytes + " bytes of memory, budget is " + BUDGET + " bytes.");
+        }
+
+        return PERMITS.tryAcquire(getPermits(bytes), timeout, TimeUnit.MILLISECONDS);
+    }
+
+    void release(long bytes) {
+        PERMITS.release(getPermits(bytes));
+    }
+
+    /**
+     * Returns bytes of budget not held by any request.
+     */
+    long getAvailable() {
+        return (long) PERMITS.availablePermits() * KB;
+    }
+
+    long getBudget() {
+        return BUDGET;
+    }
+
+    private int getPermits(long bytes) {
+        return (int) Math.min(TOTAL, (bytes + KB - 1) / KB);
+    }
+
+}
@@ -0,0 +1,154 @@
+package server;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import steganography.core.Config;
+import steganography.core.compression.Compression;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Parameters of query string of a request, eg "key=42&amp;depth=2&amp;checksum", which are turned into a
+ * {@link Config} and a key. A parameter given without value, such as "checksum", is a flag set to true.
+ */
+final class Query {
+
+    private final Map<String, String> PARAMETERS = new HashMap<>();
+
+    /**
+     * Parses raw (still encoded) query string <B>query</B>, which may be null.
+     *
+     * @throws HttpException with status 400 if query is not valid.
+     */
+    static Query parse(String query) throws HttpException {
+
+        Query parsed = new Query();
+
+        if (query == null || query.isEmpty()) {
+            return parsed;
+        }
+
+        for (String parameter : query.split("&")) {
+
+            if (parameter.isEmpty()) {
+                continue;
+            }
+
+            int equals = parameter.indexOf('=');
+
+            String name = equals < 0 ? parameter : parameter.substring(0, equals);
+            String value = equals < 0 ? "true" : parameter.substring(equals + 1);
+
+            parsed.PARAMETERS.put(decode(name), decode(value));
+        }
+
+        return parsed;
+    }
+
+    private static String decode(String value) throws HttpException {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        }
+        catch (UnsupportedEncodingException | IllegalArgumentException ex) {
+            throw new HttpException(400, "query is not valid: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns value of <B>name</B>, null if not given.
+     */
+    String get(String name) {
+        return PARAMETERS.get(name);
+    }
+
+    /**
+     * Returns value of <B>name</B> as an integer.
+     *
+     * @throws HttpException with status 400 if not given or not an integer.
+     */
+    int getInt(String name) throws HttpException {
+        return (int) getLong(name, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns value of <B>name</B> as a number from <B>min</B> to <B>max</B>.
+     *
+     * @throws HttpException with status 400 if not given or out of range.
+     */
+    long getLong(String name, long min, long max) throws HttpException {
+
+        String value = PARAMETERS.get(name);
+
+        if (value == null) {
+            throw new HttpException(400, "parameter '" + name + "' is required.");
+        }
+
+        long number;
+
+        try {
+            number = Long.parseLong(value);
+        }
+        catch (NumberFormatException ex) {
+            throw new HttpException(400, "parameter '" + name + "' needs an integer, not '" + value + "'.");
+        }
+
+        if (number < min || number > max) {
+            throw new HttpException(400, "parameter '" + name + "' is out of range: '" + value + "'.");
+        }
+
+        return number;
+    }
+
+    /**
+     * Returns true if flag <B>name</B> is given, with no value or "true".
+     */
+    boolean isSet(String name) {
+        return "true".equalsIgnoreCase(PARAMETERS.get(name));
+    }
+
+    /**
+     * Returns config of offset, depth, buffer, compression, checksum and fec parameters, with <B>password</B> if not null.
+     *
+     * @throws HttpException with status 400 if a parameter is not valid.
+     */
+    Config getConfig(String password) throws HttpException {
+
+        Config config = new Config();
+
+        try {
+            if (PARAMETERS.containsKey("offset")) {
+                config.setOffset(getInt("offset"));
+            }
+
+            if (PARAMETERS.containsKey("depth")) {
+                config.setDepth(getInt("depth"));
+            }
+
+            if (PARAMETERS.containsKey("buffer")) {
+                config.setBufferCapacity((int) getLong("buffer", 1, Integer.MAX_VALUE));
+            }
+
+            if (PARAMETERS.containsKey("compression")) {
+                config.setCompression(Compression.valueOf(get("compression").toUpperCase(Locale.ROOT)));
+            }
+        }
+        catch (IllegalArgumentException ex) {
+            throw new HttpException(400, ex.getMessage());
+        }
+
+        config.setChecksum(isSet("checksum"));
+        config.setFec(isSet("fec"));
+
+        if (password != null) {
+            config.setPassword(password.toCharArray());
+        }
+
+        return config;
+    }
+
+}
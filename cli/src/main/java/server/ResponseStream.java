@@ -0,0 +1,86 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Body of a 200 response, whose headers are sent on first write, so a request failing before any output
+ * can still be answered with an error status. Body is sent chunked, as its length is not known up front.
+ * Short JSON responses are sent whole with {@link #send(int, String)}.
+ */
+final class ResponseStream extends OutputStream {
+
+    private final HttpExchange EXCHANGE;
+
+    private OutputStream BODY;
+
+    ResponseStream(HttpExchange exchange) {
+        this.EXCHANGE = exchange;
+    }
+
+    /**
+     * Returns true once headers have been sent, after which status of response can no longer change.
+     */
+    boolean isCommitted() {
+        return BODY != null;
+    }
+
+    /**
+     * Sends <B>json</B> as whole response with <B>status</B>.
+     */
+    void send(int status, String json) throws IOException {
+
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+
+        EXCHANGE.getResponseHeaders().set("Content-Type", "application/json");
+        EXCHANGE.sendResponseHeaders(status, body.length);
+
+        BODY = EXCHANGE.getResponseBody();
+        BODY.write(body);
+    }
+
+    private OutputStream getBody() throws IOException {
+
+        if (BODY == null) {
+            EXCHANGE.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            EXCHANGE.sendResponseHeaders(200, 0);
+            BODY = EXCHANGE.getResponseBody();
+        }
+
+        return BODY;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        getBody().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (len > 0) {
+            getBody().write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (BODY != null) {
+            BODY.flush();
+        }
+    }
+
+    /**
+     * Ends body, sending an empty 200 response if nothing was written.
+     */
+    @Override
+    public void close() throws IOException {
+        getBody().close();
+    }
+
+}
@@ -0,0 +1,386 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import steganography.core.Config;
+import steganography.core.Steganography;
+import steganography.core.compression.Compression;
+import steganography.core.exceptions.AuthenticationException;
+import steganography.core.exceptions.ChecksumException;
+import steganography.core.exceptions.InsufficientException;
+import steganography.core.exceptions.InvalidSecurityException;
+import steganography.core.exceptions.UnsupportedFileException;
+import steganography.core.fec.Fec;
+import steganography.core.util.Threads;
+import steganography.core.util.Util;
+import static steganography.core.util.Files.readFully;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Local HTTP service encoding and decoding raw covers streamed in request bodies, with no temporary files.
+ * <P>
+ * <B>POST /encode?key=&lt;n&gt;&amp;data_length=&lt;n&gt;</B> takes a body of <B>data_length</B> bytes of data
+ * followed by the cover, and responds with encoded cover as it is produced.
+ * <B>POST /decode?key=&lt;n&gt;</B> takes an encoded cover and responds with its data.
+ * Both take offset, depth, buffer, compression, checksum and fec parameters, and a password in the
+ * <B>X-Password</B> header. <B>GET /health</B> reports memory budget.
+ * </P>
+ * <P>
+ * Cover passes through a buffer of fixed size, so a request holds about its data (encoding needs all of it
+ * ahead of cover, as message length comes first) plus its buffers. Requests wait for that much of the
+ * memory budget before reading their body, so concurrency adapts to size of requests; one larger than
+ * whole budget is answered 413 and one which can not get memory in time 503.
+ * </P>
+ * <P>
+ * On Java 21 or newer each connection runs on its own virtual thread, see {@link Threads}, as requests mostly
+ * wait on sockets and memory; otherwise on a pool of platform threads. Either way at most <B>threads</B>
+ * connections are served at a time.
+ * </P>
+ * <P>
+ * Errors before any output are answered with a JSON body such as
+ * <code>{"status":"error","error":"InvalidSecurityException","message":"Invalid key!"}</code>.
+ * Once response has started, eg checksum of decoded data fails at its end, connection is closed
+ * without ending body, so clients see a truncated response rather than a complete one.
+ * </P>
+ */
+public class SteganographyServer {
+
+    /**
+     * Milliseconds a request waits for memory before it is answered 503.
+     */
+    private static final long MEMORY_TIMEOUT = 30_000;
+
+    /**
+     * Memory held by a request besides its data and cover buffers, ie HTTP and cipher buffers.
+     */
+    private static final long REQUEST_OVERHEAD = 256 * 1024;
+
+    /**
+     * Memory of read ahead chunks of compression or decompression.
+     */
+    private static final long COMPRESSION_OVERHEAD = 2 * 1024 * 1024;
+
+    /**
+     * Memory of batch buffers of error correction, for a batch of data and its encoded blocks.
+     */
+    private static final long FEC_OVERHEAD = 64L * (Fec.BLOCK_DATA + Fec.BLOCK_SIZE);
+
+    private static final String PASSWORD_HEADER = "X-Password";
+
+    private final HttpServer SERVER;
+
+    private final ExecutorService EXECUTOR;
+
+    private final Semaphore CONNECTIONS;
+
+    private final MemoryBudget BUDGET;
+
+    /**
+     * Creates a server on <B>address</B>, which is not started.
+     *
+     * @param address address to listen on, port 0 picks a free port.
+     * @param threads number of connections served at a time.
+     * @param memory_budget bytes of memory requests may hold at a time.
+     *
+     * @throws IOException if address can not be bound.
+     */
+    public SteganographyServer(InetSocketAddress address, int threads, long memory_budget) throws IOException {
+
+        this.BUDGET = new MemoryBudget(memory_budget);
+        this.EXECUTOR = Threads.isVirtual() ? Threads.newPerTaskExecutor("steganography-server-") : Executors.newFixedThreadPool(threads);
+        this.CONNECTIONS = new Semaphore(threads, true);
+        this.SERVER = HttpServer.create(address, 0);
+
+        SERVER.setExecutor(EXECUTOR);
+        SERVER.createContext("/encode", exchange -> serve(exchange, "POST", this::encode));
+        SERVER.createContext("/decode", exchange -> serve(exchange, "POST", this::decode));
+        SERVER.createContext("/health", exchange -> serve(exchange, "GET", this::health));
+    }
+
+    public void start() {
+        SERVER.start();
+    }
+
+    /**
+     * Stops accepting connections, waiting up to <B>delay</B> seconds for requests being served.
+     */
+    public void stop(int delay) {
+        SERVER.stop(delay);
+        EXECUTOR.shutdown();
+    }
+
+    public InetSocketAddress getAddress() {
+        return SERVER.getAddress();
+    }
+
+    /*
+        ---------------------------------------------------------------------------------------------------------
+        |                                               Handlers                                                |
+        ---------------------------------------------------------------------------------------------------------
+    */
+
+    private interface Handler {
+        void handle(HttpExchange exchange, ResponseStream response) throws Exception;
+    }
+
+    /**
+     * Runs {@link #handle} once fewer than <B>threads</B> connections are being served.
+     */
+    private void serve(HttpExchange exchange, String method, Handler handler) throws IOException {
+
+        CONNECTIONS.acquireUninterruptibly();
+
+        try {
+            handle(exchange, method, handler);
+        }
+        finally {
+            CONNECTIONS.release();
+        }
+    }
+
+    /**
+     * Runs <B>handler</B> for a request of <B>method</B>, answering errors before any output with a JSON body.
+     *
+     * @throws IOException to close connection if response has already started.
+     */
+    private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+
+        ResponseStream response = new ResponseStream(exchange);
+
+        try {
+
+            if (!exchange.getRequestMethod().equals(method)) {
+                exchange.getResponseHeaders().set("Allow", method);
+                throw new HttpException(405, exchange.getRequestMethod() + " is not allowed, use " + method + ".");
+            }
+
+            handler.handle(exchange, response);
+
+            // decoding reads only bytes holding data, rest of cover is read so client can finish sending it.
+            drain(exchange.getRequestBody());
+
+            response.close();
+        }
+        catch (Exception ex) {
+
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (response.isCommitted()) {
+                // leaving body unterminated, server closes connection.
+                throw ex instanceof IOException ? (IOException) ex : new IOException(ex);
+            }
+
+            if (ex instanceof HttpException && ((HttpException) ex).getStatus() == 503) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(MEMORY_TIMEOUT / 1000));
+            }
+
+            String body = "{\"status\":\"error\",\"error\":" + Util.quote(ex.getClass().getSimpleName())
+                        + ",\"message\":" + (ex.getMessage() == null ? "null" : Util.quote(ex.getMessage())) + "}\n";
+
+            response.send(getStatus(ex), body);
+            response.close();
+        }
+    }
+
+    /**
+     * Encodes data at start of request body in cover following it.
+     */
+    private void encode(HttpExchange exchange, ResponseStream response) throws Exception {
+
+        Query query = Query.parse(exchange.getRequestURI().getRawQuery());
+
+        int key = query.getInt("key");
+        long data_length = query.getLong("data_length", 0, Integer.MAX_VALUE - 8);
+
+        if (query.isSet("scatter")) {
+            throw new HttpException(400, "data can only be scattered over a cover file.");
+        }
+
+        Steganography steg = getCodec(exchange, query);
+
+        long memory = getMemory(steg) + data_length;
+
+        if (steg.getCompression() != Compression.NONE) {
+            // compressed copy, which may grow past data for random data, and its read ahead chunks.
+            memory += 2 * data_length + COMPRESSION_OVERHEAD;
+        }
+
+        acquire(memory);
+
+        try {
+            InputStream body = getRequestBody(exchange);
+
+            byte[] data = new byte[(int) data_length];
+
+            if (readFully(body, data, 0, data.length) < data.length) {
+                throw new EOFException("request body ended before " + data_length + " bytes of data.");
+            }
+
+            long cover_length = getContentLength(exchange);
+
+            if (cover_length >= 0) {
+                cover_length -= data_length;
+            }
+
+            steg.encode(body, cover_length, new ByteArrayInputStream(data), data_length, response, key);
+        }
+        finally {
+            BUDGET.release(memory);
+        }
+    }
+
+    /**
+     * Decodes data of cover in request body.
+     */
+    private void decode(HttpExchange exchange, ResponseStream response) throws Exception {
+
+        Query query = Query.parse(exchange.getRequestURI().getRawQuery());
+
+        int key = query.getInt("key");
+
+        Steganography steg = getCodec(exchange, query);
+
+        // compression and error correction are only known once message length is read.
+        long memory = getMemory(steg) + COMPRESSION_OVERHEAD + FEC_OVERHEAD;
+
+        acquire(memory);
+
+        try {
+            steg.decode(getRequestBody(exchange), response, key);
+        }
+        finally {
+            BUDGET.release(memory);
+        }
+    }
+
+    private void health(HttpExchange exchange, ResponseStream response) throws IOException {
+        response.send(200, "{\"status\":\"ok\",\"memory_budget\":" + BUDGET.getBudget() + ",\"memory_available\":" + BUDGET.getAvailable() + "}\n");
+    }
+
+    /*
+        ---------------------------------------------------------------------------------------------------------
+        |                                               Helpers                                                 |
+        ---------------------------------------------------------------------------------------------------------
+    */
+
+    /**
+     * Returns raw codec with config of <B>query</B> and password of request, if any.
+     */
+    private static Steganography getCodec(HttpExchange exchange, Query query) throws HttpException {
+
+        Config config = query.getConfig(exchange.getRequestHeaders().getFirst(PASSWORD_HEADER));
+
+        Steganography steg = new Steganography();
+        steg.setConfig(config);
+
+        return steg;
+    }
+
+    /**
+     * Returns memory held by a request to <B>steg</B> besides its data: cover and data buffers, and error correction buffers if enabled.
+     */
+    private static long getMemory(Steganography steg) {
+
+        long memory = REQUEST_OVERHEAD + steg.getSourceBufferSize() + steg.getDataBufferSize();
+
+        if (steg.isFec()) {
+            memory += FEC_OVERHEAD;
+        }
+
+        return memory;
+    }
+
+    /**
+     * Waits for <B>memory</B> bytes of budget.
+     *
+     * @throws HttpException with status 413 if budget is too small, 503 if memory did not free up in time.
+     */
+    private void acquire(long memory) throws HttpException, InterruptedException {
+        if (!BUDGET.acquire(memory, MEMORY_TIMEOUT)) {
+            throw new HttpException(503, "server is busy, not enough memory free for request.");
+        }
+    }
+
+    /**
+     * Returns body of request, skipping bytes by reading them, as skip() of HttpServer request streams leaves
+     * skipped bytes counted as unread, so draining body once done waits for bytes which never come.
+     */
+    private static InputStream getRequestBody(HttpExchange exchange) {
+        return new FilterInputStream(exchange.getRequestBody()) {
+
+            private final byte[] SKIPPED = new byte[8192];
+
+            @Override
+            public long skip(long n) throws IOException {
+                return Math.max(0, read(SKIPPED, 0, (int) Math.min(n, SKIPPED.length)));
+            }
+        };
+    }
+
+    private static void drain(InputStream body) throws IOException {
+
+        byte[] buffer = new byte[64 * 1024];
+
+        while (body.read(buffer) >= 0) {
+            // discarding.
+        }
+    }
+
+    /**
+     * Returns Content-Length of request, -1 if body is chunked.
+     */
+    private static long getContentLength(HttpExchange exchange) throws HttpException {
+
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+
+        if (length == null) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(length.trim());
+        }
+        catch (NumberFormatException ex) {
+            throw new HttpException(400, "Content-Length is not valid.");
+        }
+    }
+
+    /**
+     * Returns HTTP status for failure <B>ex</B>.
+     */
+    private static int getStatus(Exception ex) {
+
+        if (ex instanceof HttpException) {
+            return ((HttpException) ex).getStatus();
+        }
+
+        if (ex instanceof InvalidSecurityException || ex instanceof AuthenticationException) {
+            return 403;
+        }
+
+        if (ex instanceof ChecksumException || ex instanceof InsufficientException || ex instanceof UnsupportedFileException) {
+            return 422;
+        }
+
+        if (ex instanceof EOFException || ex instanceof IllegalArgumentException) {
+            return 400;
+        }
+
+        return 500;
+    }
+
+}
@@ -0,0 +1,146 @@
+package steganography;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import steganography.core.Steganography;
+import steganography.core.exceptions.InsufficientException;
+import steganography.core.exceptions.InvalidSecurityException;
+import steganography.core.exceptions.UnsupportedFileException;
+import steganography.core.exceptions.UnsupportedSecurityTypeException;
+import static steganography.core.util.Files.getFileExtension;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Codec matching extension of a file, for tools handling covers of all types together.
+ * <P>
+ * Codecs encode and decode with an integer key through overloads of their own, so {@link #encode} and
+ * {@link #decode} call the one of each codec.
+ * </P>
+ */
+public final class Codecs {
+
+    private Codecs() {
+    }
+
+    /**
+     * Returns a new codec for extension of <B>file</B>, {@link Steganography} itself for files with no supported
+     * extension if <B>raw</B> is true, else null.
+     */
+    public static Steganography forFile(Path file, boolean raw){
+
+        switch(getFileExtension(file.toFile())){
+
+            case "png":  return new ImageSteganography();
+
+            case "mp4":  return new VideoSteganography();
+
+            case "wav":
+            case "aif":
+            case "aiff":
+            case "aifc":
+            case "au":
+            case "snd":  return new AudioSteganography();
+
+            case "txt":  return new DocumentSteganography();
+
+            default:     return raw ? new Steganography() : null;
+        }
+    }
+
+    /**
+     * Returns name of codec, as written in JSON lines.
+     */
+    public static String getName(Steganography steg){
+
+        if(steg instanceof ImageSteganography)    return "image";
+        if(steg instanceof VideoSteganography)    return "video";
+        if(steg instanceof AudioSteganography)    return "audio";
+        if(steg instanceof DocumentSteganography) return "document";
+
+        return "raw";
+    }
+
+    /**
+     * Encodes <B>data</B> in <B>source</B> with <B>key</B> using <B>steg</B>, saving it to <B>destination</B>.
+     *
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws InsufficientException
+     * @throws UnsupportedSecurityTypeException
+     */
+    public static void encode(Steganography steg, Path source, Path data, Path destination, int key) throws IOException, UnsupportedFileException, InsufficientException, UnsupportedSecurityTypeException{
+
+        String src = source.toString(), dat = data.toString(), dest = destination.toString();
+
+        if(steg instanceof ImageSteganography)         ((ImageSteganography) steg).encode(src, dat, dest, key);
+        else if(steg instanceof VideoSteganography)    ((VideoSteganography) steg).encode(src, dat, dest, key);
+        else if(steg instanceof AudioSteganography)    ((AudioSteganography) steg).encode(src, dat, dest, key);
+        else if(steg instanceof DocumentSteganography) ((DocumentSteganography) steg).encode(src, dat, dest, key);
+        else                                           steg.encode(src, dat, dest, key);
+    }
+
+    /**
+     * Encodes <B>data_length</B> bytes of <B>data</B> in <B>source</B> with <B>key</B> using <B>steg</B>, saving it to <B>destination</B>.
+     *
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws InsufficientException
+     * @throws UnsupportedSecurityTypeException
+     */
+    public static void encode(Steganography steg, Path source, InputStream data, long data_length, Path destination, int key) throws IOException, UnsupportedFileException, InsufficientException, UnsupportedSecurityTypeException{
+
+        String src = source.toString(), dest = destination.toString();
+
+        if(steg instanceof ImageSteganography)         ((ImageSteganography) steg).encode(src, data, data_length, dest, key);
+        else if(steg instanceof VideoSteganography)    ((VideoSteganography) steg).encode(src, data, data_length, dest, key);
+        else if(steg instanceof AudioSteganography)    ((AudioSteganography) steg).encode(src, data, data_length, dest, key);
+        else if(steg instanceof DocumentSteganography) ((DocumentSteganography) steg).encode(src, data, data_length, dest, key);
+        else                                           steg.encode(src, data, data_length, dest, key);
+    }
+
+    /**
+     * Decodes data of <B>source</B> with <B>key</B> using <B>steg</B>, saving it to <B>destination</B>.
+     *
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws InsufficientException
+     * @throws InvalidSecurityException
+     * @throws UnsupportedSecurityTypeException
+     */
+    public static void decode(Steganography steg, Path source, Path destination, int key) throws IOException, UnsupportedFileException, InsufficientException, InvalidSecurityException, UnsupportedSecurityTypeException{
+
+        String src = source.toString(), dest = destination.toString();
+
+        if(steg instanceof ImageSteganography)         ((ImageSteganography) steg).decode(src, dest, key);
+        else if(steg instanceof VideoSteganography)    ((VideoSteganography) steg).decode(src, dest, key);
+        else if(steg instanceof AudioSteganography)    ((AudioSteganography) steg).decode(src, dest, key);
+        else if(steg instanceof DocumentSteganography) ((DocumentSteganography) steg).decode(src, dest, key);
+        else                                           steg.decode(src, dest, key);
+    }
+
+    /**
+     * Decodes data of <B>source</B> with <B>key</B> using <B>steg</B>, writing it to <B>output</B>.
+     *
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws InsufficientException
+     * @throws InvalidSecurityException
+     * @throws UnsupportedSecurityTypeException
+     */
+    public static void decode(Steganography steg, Path source, OutputStream output, int key) throws IOException, UnsupportedFileException, InsufficientException, InvalidSecurityException, UnsupportedSecurityTypeException{
+
+        String src = source.toString();
+
+        if(steg instanceof ImageSteganography)         ((ImageSteganography) steg).decode(src, output, key);
+        else if(steg instanceof VideoSteganography)    ((VideoSteganography) steg).decode(src, output, key);
+        else if(steg instanceof AudioSteganography)    ((AudioSteganography) steg).decode(src, output, key);
+        else if(steg instanceof DocumentSteganography) ((DocumentSteganography) steg).decode(src, output, key);
+        else                                           steg.decode(src, output, key);
+    }
+
+}
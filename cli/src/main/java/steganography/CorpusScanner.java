@@ -0,0 +1,264 @@
+package steganography;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import steganography.core.Config;
+import steganography.core.ProbeResult;
+import steganography.core.Steganography;
+import steganography.core.exceptions.UnsupportedSecurityTypeException;
+import steganography.core.util.Util;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Scans directory trees for covers carrying data for a security, using
+ * {@link Steganography#probe(Path, Object)} of the codec matching extension of each file,
+ * so only key and message length are read and whole files are never loaded.
+ * <P>
+ * Directories and files are tasks of a work-stealing {@link ForkJoinPool}, so a deep directory
+ * does not keep other threads idle. Parallelism defaults to number of processors, probing is
+ * mostly waiting on small reads, so raising it helps on fast disks.
+ * </P>
+ * <P>
+ * Each match is written as soon as it is found, as one JSON object per line:
+ * <pre>
+ *     {"path":"/covers/a.wav","codec":"audio","length":777}
+ * </pre>
+ * </P>
+ */
+public class CorpusScanner {
+
+    private final Object SECURITY;
+
+    private Config CONFIG = new Config();
+
+    private int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Scan raw files, ie files with no supported extension, from OFFSET.
+     */
+    private boolean SCAN_RAW = true;
+
+    /**
+     * Counters of last scan.
+     */
+    private final AtomicLong FILES = new AtomicLong(), MATCHES = new AtomicLong(), ERRORS = new AtomicLong();
+
+    /**
+     * @param security security data was encoded with, an Integer key.
+     *
+     * @throws UnsupportedSecurityTypeException if <B>security</B> is not an Integer.
+     */
+    public CorpusScanner(Object security) throws UnsupportedSecurityTypeException{
+
+        if(!(security instanceof Integer)){
+            throw new UnsupportedSecurityTypeException("Security not defined for " + (security == null ? null : security.getClass().getName()));
+        }
+
+        this.SECURITY = security;
+    }
+
+    /**
+     * Set settings covers were encoded with.
+     *
+     * @param config Config object.
+     * @return this CorpusScanner.
+     */
+    public CorpusScanner setConfig(Config config){
+        this.CONFIG = config;
+        return this;
+    }
+
+    /**
+     * Set number of threads probing files.
+     *
+     * @param parallelism number of threads, at least 1.
+     * @return this CorpusScanner.
+     */
+    public CorpusScanner setParallelism(int parallelism){
+        this.PARALLELISM = Math.max(parallelism, 1);
+        return this;
+    }
+
+    /**
+     * Set whether files with no supported extension are probed as raw files.
+     *
+     * @param scan_raw true to probe raw files.
+     * @return this CorpusScanner.
+     */
+    public CorpusScanner setScanRaw(boolean scan_raw){
+        this.SCAN_RAW = scan_raw;
+        return this;
+    }
+
+    /**
+     * Scans <B>root</B>, a directory or a single file, writing a JSON line to <B>output</B> for each match.
+     * Files which can not be read or parsed are counted as errors and skipped.
+     * Symbolic links to directories are not followed.
+     *
+     * @param root directory or file to scan.
+     * @param output Writer to write matches to, flushed after each line.
+     *
+     * @return number of matches.
+     *
+     * @throws IOException if writing to <B>output</B> fails.
+     */
+    public long scan(Path root, Writer output) throws IOException {
+
+        FILES.set(0);
+        MATCHES.set(0);
+        ERRORS.set(0);
+
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+
+        try {
+            pool.invoke(new ScanTask(root, output));
+        }
+        catch (OutputException ex) {
+            throw ex.getCause();
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        return MATCHES.get();
+    }
+
+    /**
+     * Returns codec for extension of <B>file</B>, null if file is not probed.
+     */
+    private Steganography getCodec(Path file){
+
+        Steganography steg = Codecs.forFile(file, SCAN_RAW);
+
+        if(steg != null){
+            steg.setConfig(CONFIG);
+        }
+
+        return steg;
+    }
+
+    private void probe(Path file, Writer output){
+
+        Steganography steg = getCodec(file);
+
+        if(steg == null){
+            return;
+        }
+
+        FILES.incrementAndGet();
+
+        ProbeResult result;
+
+        try {
+            result = steg.probe(file, SECURITY);
+        }
+        catch (Exception ex) {
+            ERRORS.incrementAndGet();
+            return;
+        }
+
+        if(!result.isPresent()){
+            return;
+        }
+
+        MATCHES.incrementAndGet();
+
+        String line = "{\"path\":" + Util.quote(file.toString()) + ",\"codec\":\"" + Codecs.getName(steg) + "\",\"length\":" + result.getLength() + "}\n";
+
+        synchronized (output) {
+            try {
+                output.write(line);
+                output.flush();
+            }
+            catch (IOException ex) {
+                throw new OutputException(ex);
+            }
+        }
+    }
+
+    /**
+     * Number of files probed by last scan.
+     */
+    public long getFileCount() {
+        return FILES.get();
+    }
+
+    /**
+     * Number of matches found by last scan.
+     */
+    public long getMatchCount() {
+        return MATCHES.get();
+    }
+
+    /**
+     * Number of files which could not be probed in last scan, including unreadable directories.
+     */
+    public long getErrorCount() {
+        return ERRORS.get();
+    }
+
+    /**
+     * Task probing a file, or listing a directory and forking a task for each entry.
+     */
+    private class ScanTask extends RecursiveAction {
+
+        private final Path PATH;
+        private final Writer OUTPUT;
+
+        ScanTask(Path path, Writer output) {
+            this.PATH = path;
+            this.OUTPUT = output;
+        }
+
+        @Override
+        protected void compute() {
+
+            if(!java.nio.file.Files.isDirectory(PATH, LinkOption.NOFOLLOW_LINKS)){
+                if(java.nio.file.Files.isRegularFile(PATH)){
+                    probe(PATH, OUTPUT);
+                }
+                return;
+            }
+
+            List<ScanTask> tasks = new ArrayList<>();
+
+            try ( DirectoryStream<Path> entries = java.nio.file.Files.newDirectoryStream(PATH) ) {
+                for (Path entry : entries) {
+                    tasks.add(new ScanTask(entry, OUTPUT));
+                }
+            }
+            catch (IOException ex) {
+                ERRORS.incrementAndGet();
+            }
+
+            invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Carries failure of writing a match out of pool.
+     */
+    private static class OutputException extends RuntimeException {
+
+        OutputException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,702 @@
+package steganography;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import steganography.core.Config;
+import steganography.core.Steganography;
+import steganography.core.compression.Compression;
+import steganography.core.compression.Compressor;
+import steganography.core.compression.InflatingOutputStream;
+import steganography.core.exceptions.InsufficientBytesException;
+import steganography.core.exceptions.InsufficientException;
+import steganography.core.exceptions.InsufficientMemoryException;
+import steganography.core.exceptions.InvalidSecurityException;
+import steganography.core.exceptions.UnsupportedFileException;
+import steganography.core.exceptions.UnsupportedSecurityTypeException;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Encodes a data file too large for one cover across several covers, and decodes it back from them.
+ * <P>
+ * Data is split in shards sized to capacity of each cover, in order covers are given, and each shard is
+ * encoded with the codec matching extension of its cover, see {@link Codecs}. Shards start with a header of
+ * {@link #HEADER_SIZE} bytes:
+ * <pre>
+ *     magic (4) | set id (16) | index (4) | count (4) | offset (8) | data length (8) | compression (1)
+ * </pre>
+ * so encoded covers can be decoded in any order, and covers of different sets are not mixed up.
+ * </P>
+ * <P>
+ * With compression, data is compressed once as a whole and shards are slices of compressed data, so each
+ * shard fills its cover. Covers are encoded and decoded by {@link #setParallelism(int)} threads.
+ * </P>
+ */
+public class ShardedSteganography {
+
+    /**
+     * Number of bytes of shard header.
+     */
+    public static final int HEADER_SIZE = 45;
+
+    /**
+     * First bytes of a shard, "STSH".
+     */
+    private static final int MAGIC = 0x53545348;
+
+    private final int KEY;
+
+    private Config CONFIG = new Config();
+
+    private int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Codecs of running encoding or decoding, cancelled when one of them fails.
+     */
+    private final List<Steganography> RUNNING = new ArrayList<>();
+
+    /**
+     * @param security security to encode shards with, an Integer key.
+     *
+     * @throws UnsupportedSecurityTypeException if <B>security</B> is not an Integer.
+     */
+    public ShardedSteganography(Object security) throws UnsupportedSecurityTypeException{
+
+        if(!(security instanceof Integer)){
+            throw new UnsupportedSecurityTypeException("Security not defined for " + (security == null ? null : security.getClass().getName()));
+        }
+
+        this.KEY = (Integer) security;
+    }
+
+    /**
+     * Set settings shards are encoded with.
+     *
+     * @param config Config object.
+     * @return this ShardedSteganography.
+     */
+    public ShardedSteganography setConfig(Config config){
+        this.CONFIG = config;
+        return this;
+    }
+
+    /**
+     * Set number of covers encoded or decoded at a time.
+     *
+     * @param parallelism number of threads, at least 1.
+     * @return this ShardedSteganography.
+     */
+    public ShardedSteganography setParallelism(int parallelism){
+        this.PARALLELISM = Math.max(parallelism, 1);
+        return this;
+    }
+
+    /*
+        =========================================================================================================
+        |                                       Encoding part starts here                                       |
+        =========================================================================================================
+    */
+
+    /**
+     * Encodes <B>data</B> across <B>covers</B>, saving each encoded cover with its file name in <B>output_directory</B>.
+     * Covers are filled in order given, covers left after data ends are not used.
+     *
+     * @param data location of data file.
+     * @param covers locations of cover files.
+     * @param output_directory directory to save encoded covers to.
+     *
+     * @return locations of encoded covers, in order of shards.
+     *
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws InsufficientException
+     * @throws UnsupportedSecurityTypeException
+     * @throws InsufficientMemoryException if data does not fit in all covers together.
+     */
+    public List<Path> encode(Path data, List<Path> covers, Path output_directory) throws IOException, UnsupportedFileException, InsufficientException, UnsupportedSecurityTypeException{
+
+        Set<Path> names = new HashSet<>();
+
+        for (Path cover : covers) {
+            if(!names.add(cover.getFileName())){
+                throw new IllegalArgumentException("covers have same file name: " + cover.getFileName());
+            }
+            if(output_directory.resolve(cover.getFileName()).toAbsolutePath().normalize().equals(cover.toAbsolutePath().normalize())){
+                throw new IllegalArgumentException("encoded cover would replace cover " + cover);
+            }
+        }
+
+        Compression compression = CONFIG.getCompression();
+
+        // data as a whole, compressed if compression is set.
+        File payload = data.toFile();
+
+        if(compression != Compression.NONE){
+            payload = File.createTempFile("steganography-", ".spool");
+
+            try ( InputStream input = new FileInputStream(data.toFile()) ) {
+                Compressor.compress(input, data.toFile().length(), payload, compression);
+            }
+            catch (IOException | RuntimeException ex) {
+                payload.delete();
+                throw ex;
+            }
+        }
+
+        try {
+
+            List<Shard> shards = split(payload.length(), covers, compression);
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            List<Path> outputs = new ArrayList<>();
+
+            for (Shard shard : shards) {
+
+                Path output = output_directory.resolve(shard.COVER.getFileName());
+                File source = payload;
+
+                outputs.add(output);
+                tasks.add(() -> {
+                    encodeShard(shard, source, output);
+                    return null;
+                });
+            }
+
+            try {
+                runEncoding(tasks);
+            }
+            catch (IOException | UnsupportedFileException | InsufficientException | UnsupportedSecurityTypeException | RuntimeException ex) {
+                for (Path output : outputs) {
+                    output.toFile().delete();
+                }
+                throw ex;
+            }
+
+            return outputs;
+        }
+        finally {
+            if(compression != Compression.NONE){
+                payload.delete();
+            }
+        }
+    }
+
+    /**
+     * Returns shards of <B>length</B> bytes of payload over <B>covers</B>, each sized to capacity of its cover.
+     *
+     * @throws InsufficientMemoryException if payload does not fit in all covers together.
+     */
+    private List<Shard> split(long length, List<Path> covers, Compression compression) throws IOException, UnsupportedFileException, InsufficientException, UnsupportedSecurityTypeException{
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+
+        for (Path cover : covers) {
+            tasks.add(() -> getCodec(cover).capacity(cover));
+        }
+
+        List<Long> capacities = runEncoding(tasks);
+
+        List<Shard> shards = new ArrayList<>();
+        UUID set_id = UUID.randomUUID();
+
+        long offset = 0;
+
+        for (int i = 0; i < covers.size() && (offset < length || shards.isEmpty()); i++) {
+
+            long shard_length = Math.min(capacities.get(i) - HEADER_SIZE, length - offset);
+
+            if(shard_length < 0 || (shard_length == 0 && length > 0)){
+                continue;
+            }
+
+            shards.add(new Shard(covers.get(i), set_id, shards.size(), offset, shard_length, length, compression));
+            offset += shard_length;
+        }
+
+        if(offset < length || shards.isEmpty()){
+            throw new InsufficientMemoryException("data of " + length + " bytes does not fit in covers, " + offset + " bytes fit.");
+        }
+
+        for (Shard shard : shards) {
+            shard.COUNT = shards.size();
+        }
+
+        return shards;
+    }
+
+    /**
+     * Encodes <B>shard</B> of <B>payload</B> in its cover, streaming header followed by slice of payload to codec.
+     */
+    private void encodeShard(Shard shard, File payload, Path output) throws IOException, UnsupportedFileException, InsufficientException, UnsupportedSecurityTypeException{
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(HEADER_SIZE);
+        shard.writeHeader(header);
+
+        try ( FileChannel payload_channel = FileChannel.open(payload.toPath(), StandardOpenOption.READ) ) {
+
+            InputStream data = new SequenceInputStream(new ByteArrayInputStream(header.toByteArray()), new SliceInputStream(payload_channel, shard.OFFSET, shard.LENGTH));
+
+            Codecs.encode(getCodec(shard.COVER), shard.COVER, data, HEADER_SIZE + shard.LENGTH, output, KEY);
+        }
+    }
+
+    /*
+        =========================================================================================================
+        |                                       Decoding part starts here                                       |
+        =========================================================================================================
+    */
+
+    /**
+     * Decodes data encoded by {@link #encode(Path, List, Path)} from <B>encoded</B> covers, given in any order,
+     * saving it to <B>destination</B>.
+     *
+     * @param encoded locations of encoded covers, all shards of one set.
+     * @param destination location to save decoded data to.
+     *
+     * @return number of bytes of data.
+     *
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws InsufficientException
+     * @throws InvalidSecurityException
+     * @throws UnsupportedSecurityTypeException
+     * @throws InsufficientBytesException if shards are missing.
+     */
+    public long decode(List<Path> encoded, Path destination) throws IOException, UnsupportedFileException, InsufficientException, InvalidSecurityException, UnsupportedSecurityTypeException{
+
+        try {
+
+            // emptying destination, shards are then written at their offsets as they are decoded.
+            Files.newOutputStream(destination).close();
+
+            List<Callable<Shard>> tasks = new ArrayList<>();
+
+            for (Path cover : encoded) {
+                tasks.add(() -> decodeShard(cover, destination));
+            }
+
+            List<Shard> shards = run(tasks);
+
+            Shard first = verify(shards);
+
+            if(first.COMPRESSION != Compression.NONE){
+                inflate(destination, first.DATA_LENGTH);
+            }
+
+            return destination.toFile().length();
+        }
+        catch (IOException | UnsupportedFileException | InsufficientException | InvalidSecurityException | UnsupportedSecurityTypeException | RuntimeException ex) {
+            destination.toFile().delete();
+            throw ex;
+        }
+    }
+
+    /**
+     * Decodes shard of <B>cover</B> and writes its slice of payload to <B>destination</B> at its offset.
+     *
+     * @return header of shard.
+     */
+    private Shard decodeShard(Path cover, Path destination) throws IOException, UnsupportedFileException, InsufficientException, InvalidSecurityException, UnsupportedSecurityTypeException{
+
+        try ( FileChannel output = FileChannel.open(destination, StandardOpenOption.WRITE) ) {
+
+            ShardOutputStream output_Stream = new ShardOutputStream(cover, output);
+
+            Codecs.decode(getCodec(cover), cover, output_Stream, KEY);
+
+            return output_Stream.getShard();
+        }
+    }
+
+    /**
+     * Checks <B>shards</B> are all shards of one set, returning first of them.
+     *
+     * @throws InsufficientBytesException if shards are missing.
+     */
+    private static Shard verify(List<Shard> shards) throws InsufficientBytesException{
+
+        if(shards.isEmpty()){
+            throw new InsufficientBytesException("no shards to decode.");
+        }
+
+        Shard first = shards.get(0);
+        Shard[] ordered = new Shard[first.COUNT];
+
+        for (Shard shard : shards) {
+
+            if(!shard.SET_ID.equals(first.SET_ID) || shard.COUNT != first.COUNT || shard.DATA_LENGTH != first.DATA_LENGTH){
+                throw new IllegalArgumentException(shard.COVER + " and " + first.COVER + " are shards of different sets.");
+            }
+
+            if(ordered[shard.INDEX] != null){
+                throw new IllegalArgumentException(shard.COVER + " and " + ordered[shard.INDEX].COVER + " are same shard.");
+            }
+
+            ordered[shard.INDEX] = shard;
+        }
+
+        long offset = 0;
+
+        for (int i = 0; i < ordered.length; i++) {
+
+            if(ordered[i] == null){
+                throw new InsufficientBytesException("shard " + (i + 1) + " of " + ordered.length + " is missing.");
+            }
+
+            if(ordered[i].OFFSET != offset){
+                throw new IllegalArgumentException(ordered[i].COVER + " does not continue shard " + i + ".");
+            }
+
+            offset += ordered[i].LENGTH;
+        }
+
+        if(offset != first.DATA_LENGTH){
+            throw new InsufficientBytesException("shards hold " + offset + " of " + first.DATA_LENGTH + " bytes.");
+        }
+
+        return first;
+    }
+
+    /**
+     * Replaces compressed payload in <B>file</B> of <B>length</B> bytes by data it holds.
+     */
+    private static void inflate(Path file, long length) throws IOException{
+
+        Path inflated = Files.createTempFile(file.toAbsolutePath().getParent(), "steganography-", ".inflate");
+
+        try {
+
+            try (
+                InputStream  input  = new FileInputStream(file.toFile());
+                OutputStream output = new InflatingOutputStream(new FileOutputStream(inflated.toFile()), length);
+            ) {
+                byte[] buffer = new byte[Steganography.MB];
+                int n;
+
+                while ((n = input.read(buffer)) > 0) {
+                    output.write(buffer, 0, n);
+                }
+            }
+
+            Files.move(inflated, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            Files.deleteIfExists(inflated);
+        }
+    }
+
+    /*
+        ________________________________________Decoding part ends here_________________________________________
+    */
+
+    /**
+     * Returns codec for <B>cover</B> with settings of this object, but compression as data is compressed as a whole.
+     */
+    private Steganography getCodec(Path cover){
+
+        Steganography steg = Codecs.forFile(cover, true);
+
+        steg.setConfig(CONFIG);
+        steg.setCompression(Compression.NONE);
+
+        synchronized (RUNNING) {
+            RUNNING.add(steg);
+        }
+
+        return steg;
+    }
+
+    /**
+     * Runs <B>tasks</B> on {@link #PARALLELISM} threads, returning their results in order. If a task fails,
+     * running codecs are cancelled and its exception is thrown.
+     */
+    private <T> List<T> run(List<Callable<T>> tasks) throws IOException, UnsupportedFileException, InsufficientException, InvalidSecurityException, UnsupportedSecurityTypeException{
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(PARALLELISM, tasks.size())));
+
+        try {
+
+            List<Future<T>> futures = new ArrayList<>();
+
+            for (Callable<T> task : tasks) {
+                futures.add(pool.submit(task));
+            }
+
+            List<T> results = new ArrayList<>();
+
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                }
+                catch (ExecutionException ex) {
+                    cancel(pool);
+                    throw rethrow(ex.getCause());
+                }
+                catch (InterruptedException ex) {
+                    cancel(pool);
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("sharding interrupted.");
+                }
+            }
+
+            return results;
+        }
+        finally {
+            pool.shutdown();
+
+            synchronized (RUNNING) {
+                RUNNING.clear();
+            }
+        }
+    }
+
+    /**
+     * Runs tasks of an encoding, see {@link #run(List)}.
+     */
+    private <T> List<T> runEncoding(List<Callable<T>> tasks) throws IOException, UnsupportedFileException, InsufficientException, UnsupportedSecurityTypeException{
+        try {
+            return run(tasks);
+        }
+        catch (InvalidSecurityException ex) {
+            // only thrown by decoding.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Cancels running codecs and waits for pool to stop, so their files can be removed.
+     */
+    private void cancel(ExecutorService pool){
+
+        synchronized (RUNNING) {
+            for (Steganography steg : RUNNING) {
+                steg.cancel();
+            }
+        }
+
+        pool.shutdownNow();
+
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns <B>cause</B> of a failed task to be thrown, throwing it if it is a checked exception.
+     */
+    private static RuntimeException rethrow(Throwable cause) throws IOException, UnsupportedFileException, InsufficientException, InvalidSecurityException, UnsupportedSecurityTypeException{
+
+        if(cause instanceof IOException)                      throw (IOException) cause;
+        if(cause instanceof UnsupportedFileException)         throw (UnsupportedFileException) cause;
+        if(cause instanceof InsufficientException)            throw (InsufficientException) cause;
+        if(cause instanceof InvalidSecurityException)         throw (InvalidSecurityException) cause;
+        if(cause instanceof UnsupportedSecurityTypeException) throw (UnsupportedSecurityTypeException) cause;
+        if(cause instanceof Error)                            throw (Error) cause;
+        if(cause instanceof RuntimeException)                 return (RuntimeException) cause;
+
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * Stream of <B>length</B> bytes of a channel from <B>position</B>, read with positional reads.
+     */
+    private static final class SliceInputStream extends InputStream {
+
+        private final FileChannel CHANNEL;
+        private final long END;
+        private long POSITION;
+
+        private SliceInputStream(FileChannel channel, long position, long length) {
+            this.CHANNEL = channel;
+            this.POSITION = position;
+            this.END = position + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+
+            if(POSITION >= END){
+                return -1;
+            }
+
+            int count = CHANNEL.read(ByteBuffer.wrap(b, off, (int) Math.min(len, END - POSITION)), POSITION);
+
+            if(count > 0){
+                POSITION += count;
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * Stream decoded data of a shard is written to. Header is held until it is complete, then
+     * slice of payload following it is written to <B>output</B> at offset given by header.
+     */
+    private static final class ShardOutputStream extends OutputStream {
+
+        private final Path COVER;
+        private final FileChannel OUTPUT;
+        private final byte[] HEADER = new byte[HEADER_SIZE];
+        private int HEADER_LENGTH;
+        private Shard SHARD;
+        private long LENGTH;
+
+        private ShardOutputStream(Path cover, FileChannel output) {
+            this.COVER = cover;
+            this.OUTPUT = output;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+
+            if(SHARD == null){
+
+                int count = Math.min(len, HEADER_SIZE - HEADER_LENGTH);
+
+                System.arraycopy(b, off, HEADER, HEADER_LENGTH, count);
+                HEADER_LENGTH += count;
+                off += count;
+                len -= count;
+
+                if(HEADER_LENGTH < HEADER_SIZE){
+                    return;
+                }
+
+                SHARD = Shard.readHeader(COVER, new ByteArrayInputStream(HEADER));
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+
+            while (buffer.hasRemaining()) {
+                LENGTH += OUTPUT.write(buffer, SHARD.OFFSET + LENGTH);
+            }
+        }
+
+        /**
+         * Returns header of decoded shard, with length of slice written.
+         */
+        private Shard getShard() {
+
+            if(SHARD == null){
+                throw new IllegalArgumentException(COVER + " does not hold a shard.");
+            }
+
+            SHARD.LENGTH = LENGTH;
+
+            return SHARD;
+        }
+    }
+
+    /**
+     * Header of a shard, see {@link ShardedSteganography}.
+     */
+    private static final class Shard {
+
+        private final Path COVER;
+        private final UUID SET_ID;
+        private final int INDEX;
+        private int COUNT;
+        private long LENGTH;
+        private final long OFFSET, DATA_LENGTH;
+        private final Compression COMPRESSION;
+
+        private Shard(Path cover, UUID set_id, int index, long offset, long length, long data_length, Compression compression) {
+            this.COVER = cover;
+            this.SET_ID = set_id;
+            this.INDEX = index;
+            this.OFFSET = offset;
+            this.LENGTH = length;
+            this.DATA_LENGTH = data_length;
+            this.COMPRESSION = compression;
+        }
+
+        private void writeHeader(OutputStream output) throws IOException{
+
+            DataOutputStream header = new DataOutputStream(output);
+
+            header.writeInt(MAGIC);
+            header.writeLong(SET_ID.getMostSignificantBits());
+            header.writeLong(SET_ID.getLeastSignificantBits());
+            header.writeInt(INDEX);
+            header.writeInt(COUNT);
+            header.writeLong(OFFSET);
+            header.writeLong(DATA_LENGTH);
+            header.writeByte(COMPRESSION.getId());
+            header.flush();
+        }
+
+        /**
+         * Reads header of shard decoded from <B>cover</B>. Length of its slice is set once shard is decoded.
+         */
+        private static Shard readHeader(Path cover, InputStream input) throws IOException{
+
+            DataInputStream header = new DataInputStream(input);
+
+            if(header.readInt() != MAGIC){
+                throw new IllegalArgumentException(cover + " does not hold a shard.");
+            }
+
+            UUID set_id = new UUID(header.readLong(), header.readLong());
+
+            int index = header.readInt();
+            int count = header.readInt();
+            long offset = header.readLong();
+            long data_length = header.readLong();
+            Compression compression = Compression.of(header.readUnsignedByte());
+
+            if(count < 1 || index < 0 || index >= count || offset < 0 || compression == null){
+                throw new IllegalArgumentException(cover + " holds an invalid shard header.");
+            }
+
+            Shard shard = new Shard(cover, set_id, index, offset, 0, data_length, compression);
+            shard.COUNT = count;
+
+            return shard;
+        }
+    }
+
+}
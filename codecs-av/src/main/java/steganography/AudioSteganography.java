@@ -0,0 +1,1059 @@
+package steganography;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Path;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import steganography.core.Config;
+import steganography.core.ProbeResult;
+import steganography.core.Steganography;
+import steganography.core.compression.Compression;
+import static steganography.core.Steganography.KEY_SIZE_BIT;
+import static steganography.core.Steganography.KEY_SIZE_BYTE;
+import static steganography.core.Steganography.LENGTH_SIZE_BIT;
+import static steganography.core.Steganography.LENGTH_SIZE_BYTE;
+import steganography.core.exceptions.CancelledException;
+import steganography.core.exceptions.ChecksumException;
+import steganography.core.exceptions.InsufficientBytesException;
+import steganography.core.exceptions.InsufficientMemoryException;
+import steganography.core.exceptions.InvalidSecurityException;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+import steganography.core.exceptions.UnsupportedAudioFileException;
+import steganography.core.exceptions.UnsupportedSecurityTypeException;
+import static steganography.core.util.Files.getFileExtension;
+import static steganography.core.util.Files.readFully;
+import static steganography.core.util.Files.skip;
+import steganography.core.util.AIFF;
+import steganography.core.util.AU;
+import steganography.core.util.ChecksumOutputStream;
+import steganography.core.util.WAV;
+import static steganography.core.encoder.SteganographyEncoder.getUnits;
+import static steganography.core.encoder.SteganographyEncoder.insertBits;
+import static steganography.core.encoder._ToByteConverter.intToByte;
+import static steganography.core.encoder._ToByteConverter.longToByte;
+import static steganography.core.decoder.SteganographyDecoder.extractBits;
+import static steganography.core.decoder.SteganographyDecoder.extractByte;
+import static steganography.core.decoder.ByteTo_Converter.byteToInt;
+import static steganography.core.decoder.ByteTo_Converter.byteToLong;
+
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+public class AudioSteganography extends Steganography{
+
+    public AudioSteganography(){
+        // setting default value for SOURCE_BUFFER_SIZE.
+        setBufferCapacity(MB);
+    }
+    
+    /**
+     * Samples are encoded as they are read, from files and capture lines alike, so data is always written in order.
+     */
+    @Override
+    protected boolean isScatterSupported() {
+        return false;
+    }
+     
+    
+    /*
+        ----------------------------------------Encoding part starts here----------------------------------------
+    */
+    
+    /**
+     * Encode Audio file with a 32 bit <B>key</B> from <B>sourceFile_full_path</B> location
+     * with file from <B>dataFile_full_path</B> starting from <B>OFFSET</B> position and 
+     * save this encoded Audio file to <B>destinationFile_full_path</B> location.
+     * 
+     * @param sourceFile_full_path location of source Audio file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded Audio file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws InsufficientMemoryException
+     * @throws IOException
+     * @throws UnsupportedAudioFileException 
+     */
+    public void encode(String sourceFile_full_path, String dataFile_full_path, String destinationFile_full_path, int key) throws InsufficientMemoryException, IOException, UnsupportedAudioFileException{
+        
+        File data_file = new File(dataFile_full_path);
+        
+        if(!data_file.exists()){
+            throw new FileNotFoundException("(The system cannot find the data file specified)");
+        }
+        
+        try ( FileInputStream data = new FileInputStream(data_file) ) {
+            encode(sourceFile_full_path, data, data_file.length(), destinationFile_full_path, key);
+        }
+    }
+    
+    /**
+     * Encode Audio file with a 32 bit <B>key</B> from <B>sourceFile_full_path</B> location
+     * with <B>data_length</B> bytes of <B>data</B> starting from <B>OFFSET</B> position and 
+     * save this encoded Audio file to <B>destinationFile_full_path</B> location.
+     * <P>If compression is set, <B>data</B> is compressed to a temporary file before encoding starts.</P>
+     * 
+     * @param sourceFile_full_path location of source Audio file.
+     * @param data stream of data that is to be encoded, not closed.
+     * @param data_length number of bytes of <B>data</B> to be encoded.
+     * @param destinationFile_full_path location to save encoded Audio file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws InsufficientMemoryException
+     * @throws IOException
+     * @throws UnsupportedAudioFileException 
+     */
+    public void encode(String sourceFile_full_path, InputStream data, long data_length, String destinationFile_full_path, int key) throws InsufficientMemoryException, IOException, UnsupportedAudioFileException{
+        
+        long time = Metrics.begin(this);
+        
+        File payload_file = null;
+        
+        try {
+        
+            File src_file = new File(sourceFile_full_path);
+        
+            if(!src_file.exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+        
+            if(getCompression() == Compression.NONE && src_file.length() < getUnits(data_length, getDepth())){
+                throw new InsufficientMemoryException("not enough space in source file!!");
+            }
+        
+            Samples samples = getSamples(sourceFile_full_path);
+            
+            if (getCompression() != Compression.NONE) {
+                // message length is encoded ahead of data, so data is compressed first.
+                payload_file = getPayloadFile(data, data_length);
+                data = new FileInputStream(payload_file);
+                data_length = payload_file.length();
+            }
+            
+            encodeSamples(samples, sourceFile_full_path, data, data_length, destinationFile_full_path, key);
+            
+            Metrics.end(this, Stage.ENCODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+            if (payload_file != null) {
+                data.close();
+                payload_file.delete();
+            }
+        }
+        
+    }
+    
+    /**
+     * Encode WAV file, embedding one bit in <B>LSB</B> of least significant byte of each sample of 'data' chunk.
+     * <P><B>OFFSET</B> is counted in bytes from start of 'data' chunk and rounded up to whole samples.</P>
+     * 
+     * @param sourceFile_full_path location of source WAV file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded WAV file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException
+     * @throws UnsupportedAudioFileException 
+     */
+    public void encodeWav(String sourceFile_full_path,String dataFile_full_path, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException, UnsupportedAudioFileException {
+
+        encodeSamples(getWavSamples(sourceFile_full_path), sourceFile_full_path, dataFile_full_path, destinationFile_full_path, key);
+    }
+    
+    /**
+     * Encode AIFF or AIFF-C file, embedding one bit in <B>LSB</B> of least significant byte of each sample of 'SSND' chunk.
+     * <P><B>OFFSET</B> is counted in bytes from first sample and rounded up to whole samples.</P>
+     * 
+     * @param sourceFile_full_path location of source AIFF file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded AIFF file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException
+     * @throws UnsupportedAudioFileException 
+     */
+    public void encodeAiff(String sourceFile_full_path,String dataFile_full_path, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException, UnsupportedAudioFileException {
+
+        encodeSamples(getAiffSamples(sourceFile_full_path), sourceFile_full_path, dataFile_full_path, destinationFile_full_path, key);
+    }
+    
+    /**
+     * Encode Sun AU file, embedding one bit in <B>LSB</B> of least significant byte of each sample.
+     * <P><B>OFFSET</B> is counted in bytes from first sample and rounded up to whole samples.</P>
+     * 
+     * @param sourceFile_full_path location of source AU file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded AU file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException
+     * @throws UnsupportedAudioFileException 
+     */
+    public void encodeAu(String sourceFile_full_path,String dataFile_full_path, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException, UnsupportedAudioFileException {
+
+        encodeSamples(getAuSamples(sourceFile_full_path), sourceFile_full_path, dataFile_full_path, destinationFile_full_path, key);
+    }
+    
+    private void encodeSamples(Samples samples, String sourceFile_full_path,String dataFile_full_path, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException {
+        
+        // data file, compressed if compression is set.
+        File payload_file = getPayloadFile(dataFile_full_path);
+        
+        try ( FileInputStream payload = new FileInputStream(payload_file) ) {
+            encodeSamples(samples, sourceFile_full_path, payload, payload_file.length(), destinationFile_full_path, key);
+        }
+        finally {
+            deletePayloadFile(payload_file, dataFile_full_path);
+        }
+    }
+    
+    /**
+     * Encode samples of Audio file with <B>payload_length</B> bytes of <B>payload</B>, already compressed if compression is set.
+     */
+    private void encodeSamples(Samples samples, String sourceFile_full_path, InputStream payload, long payload_length, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException {
+        
+        if (getCapacity(samples.size, samples.sample_size, getOffset(), getDepth()) < getPayloadSize(payload_length)) {
+            throw new InsufficientMemoryException("not enough space in source file!!");
+        }
+        
+        startProgress(new File(sourceFile_full_path).length() - samples.position);
+        
+        try (
+            FileInputStream  source_input_Stream = new FileInputStream(sourceFile_full_path);
+            FileOutputStream output_Stream       = new FileOutputStream(destinationFile_full_path);
+        ) {
+            
+            // skips modifying header.
+            skip(source_input_Stream, output_Stream, samples.position);
+            
+            encodeSamples(source_input_Stream, samples.frame_size, samples.sample_size, samples.getLeastSignificantByte(), payload, payload_length, output_Stream, key);
+        } 
+        catch (CancelledException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Encode PCM frames read from <B>source</B> with <B>data_length</B> bytes of <B>data</B>, 
+     * and write encoded frames (in format of <B>source</B>) to <B>output</B>.
+     * <P>Frames are processed in fixed size frame aligned blocks, so memory used does not depend on length of audio.</P>
+     * <P>If compression is set, <B>data</B> is compressed to a temporary file before encoding starts.</P>
+     * 
+     * @param source audio stream of PCM (signed, unsigned or float) samples, eg decoded from AIFF or AU file or read from a capture line.
+     * @param data stream of data that is to be encoded.
+     * @param data_length number of bytes of <B>data</B> to be encoded.
+     * @param output stream to write encoded frames.
+     * @param key to secure encoded frames with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException if <B>source</B> ends before all data is encoded.
+     * @throws UnsupportedAudioFileException if samples of <B>source</B> are not PCM.
+     */
+    public void encode(AudioInputStream source, InputStream data, long data_length, OutputStream output, int key) throws IOException, InsufficientMemoryException, UnsupportedAudioFileException {
+        
+        long time = Metrics.begin(this);
+        
+        File payload_file = null;
+        
+        try {
+            
+            if (getCompression() != Compression.NONE) {
+                // message length is encoded ahead of data, so data is compressed first.
+                payload_file = getPayloadFile(data, data_length);
+                data = new FileInputStream(payload_file);
+                data_length = payload_file.length();
+            }
+        
+            AudioFormat format = source.getFormat();
+        
+            int sample_size = getSampleSize(format);
+            int frame_size = getFrameSize(format, sample_size);
+        
+            // length of stream is not known for eg capture lines.
+            long total_bytes = source.getFrameLength() != AudioSystem.NOT_SPECIFIED ? source.getFrameLength() * frame_size : -1;
+        
+            if (total_bytes >= 0 && getCapacity(total_bytes, sample_size, getOffset(), getDepth()) < getPayloadSize(data_length)) {
+                throw new InsufficientMemoryException("not enough space in source stream!!");
+            }
+        
+            startProgress(total_bytes);
+        
+            encodeSamples(source, frame_size, sample_size, getLeastSignificantByte(format, sample_size), data, data_length, output, key);
+            
+            Metrics.end(this, Stage.ENCODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+            if (payload_file != null) {
+                data.close();
+                payload_file.delete();
+            }
+        }
+        
+    }
+    
+    /**
+     * Encode samples read from <B>samples</B> with key and message length, one bit in <B>LSB</B> of least significant
+     * byte of each sample, and <B>data_length</B> bytes of <B>data</B>, depth bits per sample, and write samples to <B>output</B>.
+     * <P>
+     * Samples are read in blocks of whole frames. Bytes of an incomplete group of 8 samples at end of a block 
+     * are carried over to next block, and once all data is encoded remaining samples are copied unchanged.
+     * </P>
+     * 
+     * @param samples stream positioned at first sample.
+     * @param frame_size number of bytes in one frame, ie one sample of every channel.
+     * @param sample_size number of bytes in one sample.
+     * @param lsb position of least significant byte in sample.
+     * @param data stream of data that is to be encoded.
+     * @param data_length number of bytes of <B>data</B> to be encoded.
+     * @param output stream to write encoded samples.
+     * @param key to secure encoded samples with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException if <B>samples</B> ends before all data is encoded.
+     */
+    protected void encodeSamples(InputStream samples, int frame_size, int sample_size, int lsb, InputStream data, long data_length, OutputStream output, int key) throws IOException, InsufficientMemoryException {
+        
+        // key and message length are encoded ahead of data.
+        byte[] header = new byte[KEY_SIZE_BYTE + LENGTH_SIZE_BYTE];
+        System.arraycopy(intToByte(key), 0, header, 0, KEY_SIZE_BYTE);
+        System.arraycopy(longToByte(getLengthField(data_length)), 0, header, KEY_SIZE_BYTE, LENGTH_SIZE_BYTE);
+        
+        InputStream payload = new SequenceInputStream(new ByteArrayInputStream(header), getPayloadStream(data));
+        
+        // bytes to be encoded at depth bits per sample, header first.
+        long remaining = header.length;
+        int depth = 1;
+        boolean header_encoded = false;
+        
+        // number of source bytes in a group of 8 samples, which holds depth bytes.
+        int block_size = 8 * sample_size;
+        
+        // to store source byte stream, whole frames plus bytes carried over from previous block.
+        byte[] source = new byte[getFrameBufferSize(frame_size) + block_size];
+        
+        // to store data byte stream.
+        byte[] data_buffer = new byte[source.length / block_size * getDepth()];
+        
+        // samples left unchanged from start.
+        long prefix = getSampleOffset(getOffset(), sample_size);
+        
+        int carry = 0, noOfSourceBytes;
+        
+        long stage_time = Metrics.now();
+        
+        // while source has frames.
+        while ((noOfSourceBytes = readFrames(samples, source, carry, frame_size)) > 0) {
+            
+            stage_time = Metrics.record(Stage.READ, stage_time, noOfSourceBytes);
+            
+            int available = carry + noOfSourceBytes;
+            int position = 0;
+            
+            // skips modifying OFFSET bytes.
+            if (prefix > 0) {
+                position = (int) Math.min(prefix, available);
+                prefix -= position;
+            }
+            
+            int noOfDataBytes = 0, length;
+            
+            // while data bytes exists, header and then data.
+            while (remaining > 0 && (length = getBlockBytes(remaining, (available - position) / sample_size, depth)) > 0) {
+                
+                if (readFully(payload, data_buffer, 0, length) < length) {
+                    throw new EOFException("data ended before " + data_length + " bytes.");
+                }
+                
+                stage_time = Metrics.record(Stage.READ, stage_time, length);
+                
+                insertBits(source, position + lsb, available, sample_size, depth, data_buffer, 0, length);
+                stage_time = Metrics.record(Stage.EMBED, stage_time, length);
+                
+                position += getUnits(length, depth) * sample_size;
+                remaining -= length;
+                noOfDataBytes += length;
+                
+                if (remaining == 0 && !header_encoded) {
+                    header_encoded = true;
+                    remaining = getPayloadSize(data_length);
+                    depth = getDepth();
+                }
+            }
+            
+            if (remaining == 0) {
+                position = available;
+            }
+            
+            output.write(source, 0, position);
+            stage_time = Metrics.record(Stage.WRITE, stage_time, position);
+            
+            // carrying incomplete group of samples to next block.
+            carry = available - position;
+            System.arraycopy(source, position, source, 0, carry);
+            
+            updateProgress(noOfSourceBytes, noOfDataBytes);
+        }
+        
+        output.write(source, 0, carry);
+        
+        if (remaining > 0) {
+            throw new InsufficientMemoryException("not enough space in source file!!");
+        }
+    }
+    
+    /**
+     * Returns number of data bytes that can be encoded in WAV, AIFF or AU file <B>cover</B>
+     * with <B>config</B>, ie one bit per sample minus key and message length.
+     * <P>Only the header chunks are read, to find size and layout of samples.</P>
+     * 
+     * @param cover location of source Audio file.
+     * @param config settings to encode with.
+     * 
+     * @return number of bytes that can be encoded.
+     * 
+     * @throws IOException
+     * @throws UnsupportedAudioFileException 
+     */
+    @Override
+    public long capacity(Path cover, Config config) throws IOException, UnsupportedAudioFileException {
+        
+        Samples samples = getSamples(cover.toString());
+        
+        return getDataCapacity(Math.max(0, getCapacity(samples.size, samples.sample_size, config.getOffset(), config.getDepth())), config);
+    }
+    
+    /**
+     * Returns number of data bytes that can be encoded in <B>sample_bytes</B> bytes of samples after <B>offset</B> bytes
+     * at <B>depth</B> bits per sample, negative if samples cannot even hold key and message length.
+     */
+    private static long getCapacity(long sample_bytes, int sample_size, int offset, int depth) {
+        
+        long samples = getSampleCount(sample_bytes, sample_size, offset);
+        
+        return samples < KEY_SIZE_BIT + LENGTH_SIZE_BIT ? -1 : capacity(samples, depth);
+    }
+    
+    /**
+     * Returns number of samples in <B>sample_bytes</B> bytes of samples after <B>offset</B> bytes.
+     */
+    private static long getSampleCount(long sample_bytes, int sample_size, int offset) {
+        return (sample_bytes - getSampleOffset(offset, sample_size)) / sample_size;
+    }
+    
+    /**
+     * Returns number of bytes, out of <B>remaining</B> bytes, to be encoded in (or decoded from) <B>samples</B> samples
+     * at <B>depth</B> bits per sample: all of them if they fit, else whole groups of 8 samples so next block
+     * continues at a byte boundary.
+     */
+    private static int getBlockBytes(long remaining, long samples, int depth) {
+        
+        if (getUnits(remaining, depth) <= samples) {
+            return (int) remaining;
+        }
+        
+        return (int) (samples / 8 * depth);
+    }
+    
+    /**
+     * Location and layout of samples in an audio file.
+     */
+    private static final class Samples {
+        
+        private final long position, size;
+        private final int frame_size, sample_size;
+        private final boolean big_endian;
+
+        private Samples(long position, long size, int frame_size, int sample_size, boolean big_endian) {
+            this.position = position;
+            this.size = size;
+            this.frame_size = frame_size;
+            this.sample_size = sample_size;
+            this.big_endian = big_endian;
+        }
+        
+        /**
+         * Returns position of least significant byte in sample.
+         */
+        private int getLeastSignificantByte() {
+            return big_endian ? sample_size - 1 : 0;
+        }
+    }
+    
+    private Samples getSamples(String sourceFile_full_path) throws IOException, UnsupportedAudioFileException {
+        
+        String extension = getFileExtension(new File(sourceFile_full_path));
+        
+        switch(extension){
+            case "wav":  return getWavSamples(sourceFile_full_path);
+            
+            case "aif":
+            case "aiff":
+            case "aifc": return getAiffSamples(sourceFile_full_path);
+            
+            case "au":
+            case "snd":  return getAuSamples(sourceFile_full_path);
+            
+            default:     throw new UnsupportedAudioFileException("'" + extension +"' file format is not yet supported.");
+        }
+    }
+    
+    /**
+     * Locates samples of 'data' chunk of WAV file.
+     * 
+     * @throws UnsupportedAudioFileException if file has no valid 'fmt ' or 'data' chunk or samples are not PCM or IEEE float.
+     */
+    private Samples getWavSamples(String sourceFile_full_path) throws IOException, UnsupportedAudioFileException {
+        
+        WAV wav = new WAV(sourceFile_full_path);
+        
+        if(!wav.isWAV()){
+            throw new UnsupportedAudioFileException("valid 'fmt ' or 'data' chunk not found in source file.");
+        }
+        
+        if(wav.getFormat() != WAV.FORMAT_PCM && wav.getFormat() != WAV.FORMAT_IEEE_FLOAT){
+            throw new UnsupportedAudioFileException("WAV format " + wav.getFormat() + " is not yet supported.");
+        }
+        
+        // container size of sample, eg 24 bit samples padded to 32 bits.
+        int sample_size = wav.getChannels() > 0 ? wav.getBlockAlign() / wav.getChannels() : 0;
+        
+        if(sample_size < 1){
+            throw new UnsupportedAudioFileException("invalid 'fmt ' chunk.");
+        }
+        
+        return new Samples(wav.getData_position(), wav.getData_SIZE(), wav.getBlockAlign(), sample_size, false);
+    }
+    
+    /**
+     * Locates samples of 'SSND' chunk of AIFF or AIFF-C file.
+     * 
+     * @throws UnsupportedAudioFileException if file has no 'COMM' or 'SSND' chunk or samples are compressed.
+     */
+    private Samples getAiffSamples(String sourceFile_full_path) throws IOException, UnsupportedAudioFileException {
+        
+        AIFF aiff = new AIFF(sourceFile_full_path);
+        
+        if(!aiff.isAIFF()){
+            throw new UnsupportedAudioFileException("'COMM' or 'SSND' chunk not found in source file.");
+        }
+        
+        if(!aiff.isPCM()){
+            throw new UnsupportedAudioFileException("AIFF-C compression '" + aiff.getCompression() + "' is not yet supported.");
+        }
+        
+        int sample_size = (aiff.getSampleSize() + 7) / 8;
+        
+        if(sample_size < 1 || aiff.getChannels() < 1){
+            throw new UnsupportedAudioFileException("invalid 'COMM' chunk.");
+        }
+        
+        return new Samples(aiff.getSSND_position(), aiff.getSSND_SIZE(), sample_size * aiff.getChannels(), sample_size, !aiff.isLittleEndian());
+    }
+    
+    /**
+     * Locates samples of Sun AU file.
+     * 
+     * @throws UnsupportedAudioFileException if file is not AU or samples are not linear PCM or float.
+     */
+    private Samples getAuSamples(String sourceFile_full_path) throws IOException, UnsupportedAudioFileException {
+        
+        AU au = new AU(sourceFile_full_path);
+        
+        if(!au.isAU()){
+            throw new UnsupportedAudioFileException("invalid AU header.");
+        }
+        
+        int sample_size = au.getSampleSize();
+        
+        if(sample_size < 1){
+            throw new UnsupportedAudioFileException("AU encoding " + au.getEncoding() + " is not yet supported.");
+        }
+        
+        if(au.getChannels() < 1){
+            throw new UnsupportedAudioFileException("invalid AU header.");
+        }
+        
+        return new Samples(au.getData_position(), au.getData_SIZE(), sample_size * au.getChannels(), sample_size, true);
+    }
+    
+    /**
+     * Returns number of bytes in one sample of audio stream, including padding of a sample
+     * stored in a larger container, eg 24 bit samples in 32 bit slots.
+     * 
+     * @param format format of audio stream.
+     * 
+     * @return size of sample in bytes.
+     * 
+     * @throws UnsupportedAudioFileException if samples are not PCM.
+     */
+    private int getSampleSize(AudioFormat format) throws UnsupportedAudioFileException {
+        
+        AudioFormat.Encoding encoding = format.getEncoding();
+        
+        if(!encoding.equals(AudioFormat.Encoding.PCM_SIGNED) && !encoding.equals(AudioFormat.Encoding.PCM_UNSIGNED) && !encoding.equals(AudioFormat.Encoding.PCM_FLOAT)){
+            throw new UnsupportedAudioFileException("'" + encoding + "' encoding is not yet supported.");
+        }
+        
+        int sample_size;
+        
+        if(format.getFrameSize() != AudioSystem.NOT_SPECIFIED && format.getChannels() > 0){
+            sample_size = format.getFrameSize() / format.getChannels();
+        }
+        else if(format.getSampleSizeInBits() != AudioSystem.NOT_SPECIFIED){
+            sample_size = (format.getSampleSizeInBits() + 7) / 8;
+        }
+        else{
+            sample_size = 0;
+        }
+        
+        if(sample_size < 1){
+            throw new UnsupportedAudioFileException("sample size of stream is not specified.");
+        }
+        
+        return sample_size;
+    }
+    
+    /**
+     * Returns position of least significant byte of <B>sample_size</B> bytes sample of audio stream.
+     * <P>Bits of a sample in a larger container are left justified, so padding is below least significant byte.</P>
+     */
+    private int getLeastSignificantByte(AudioFormat format, int sample_size) {
+        
+        int bytes = sample_size;
+        
+        if(format.getSampleSizeInBits() != AudioSystem.NOT_SPECIFIED){
+            bytes = Math.max(1, Math.min(sample_size, (format.getSampleSizeInBits() + 7) / 8));
+        }
+        
+        return format.isBigEndian() ? bytes - 1 : sample_size - bytes;
+    }
+    
+    private int getFrameSize(AudioFormat format, int sample_size) {
+        
+        if(format.getFrameSize() != AudioSystem.NOT_SPECIFIED){
+            return format.getFrameSize();
+        }
+        
+        return sample_size * Math.max(1, format.getChannels());
+    }
+    
+    /**
+     * Returns SOURCE_BUFFER_SIZE rounded down to whole frames (at least one frame).
+     */
+    private int getFrameBufferSize(int frame_size) {
+        return Math.max(1, getSourceBufferSize() / frame_size) * frame_size;
+    }
+    
+    /**
+     * Returns <B>offset</B> rounded up to whole samples.
+     */
+    private static long getSampleOffset(int offset, int sample_size) {
+        return ((long) offset + sample_size - 1) / sample_size * sample_size;
+    }
+    
+    /**
+     * Reads whole frames from <B>samples</B> into <B>source</B> after first <B>carry</B> bytes.
+     * 
+     * @return number of bytes read, 0 at end of stream.
+     */
+    private static int readFrames(InputStream samples, byte[] source, int carry, int frame_size) throws IOException {
+        
+        int length = (source.length - carry) / frame_size * frame_size;
+        
+        return readFully(samples, source, carry, length);
+    }
+    
+    /*
+        ________________________________________Encoding part ends here_________________________________________
+    */
+    
+    
+    /*
+        ----------------------------------------Decoding part starts here----------------------------------------
+    */
+    
+     /**
+      * Decode Audio file with a 32 bit <B>key</B> from <B>sourceFile_full_path</B> location
+      * starting from provided OFFSET position  and 
+      * save this encoded file to <B>destinationFile_full_path</B> location.
+      * 
+      * @param sourceFile_full_path location of encoded Audio file.
+      * @param destinationFile_full_path location to save decoded file.
+      * @param key to decode file with a 32 bit size integer. 
+      * 
+      * @throws UnsupportedAudioFileException
+      * @throws IOException
+      * @throws FileNotFoundException
+      * @throws InsufficientBytesException
+      * @throws InvalidSecurityException 
+      */
+    public void decode(String sourceFile_full_path, String destinationFile_full_path, int key) throws UnsupportedAudioFileException, IOException, FileNotFoundException, InsufficientBytesException, InvalidSecurityException{
+        
+        if(!new File(sourceFile_full_path).exists()){
+            throw new FileNotFoundException("(The system cannot find the source file specified)");
+        }
+        
+        try ( FileOutputStream output_Stream = new FileOutputStream(destinationFile_full_path) ) {
+            decode(sourceFile_full_path, output_Stream, key);
+        }
+        catch (CancelledException | ChecksumException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+     /**
+      * Decode Audio file with a 32 bit <B>key</B> from <B>sourceFile_full_path</B> location
+      * starting from provided OFFSET position and write decoded data to <B>output_Stream</B>, which is not closed.
+      * 
+      * @param sourceFile_full_path location of encoded Audio file.
+      * @param output_Stream stream to write decoded data to.
+      * @param key to decode file with a 32 bit size integer. 
+      * 
+      * @throws UnsupportedAudioFileException
+      * @throws IOException
+      * @throws FileNotFoundException
+      * @throws InsufficientBytesException
+      * @throws InvalidSecurityException 
+      */
+    public void decode(String sourceFile_full_path, OutputStream output_Stream, int key) throws UnsupportedAudioFileException, IOException, FileNotFoundException, InsufficientBytesException, InvalidSecurityException{
+        
+        long time = Metrics.begin(this);
+        
+        try {
+        
+            if(!new File(sourceFile_full_path).exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+        
+            decodeSamples(getSamples(sourceFile_full_path), sourceFile_full_path, output_Stream, key);
+            
+            Metrics.end(this, Stage.DECODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+        }
+        
+    }
+    
+    /**
+     * Decode WAV file encoded by {@link #encodeWav(String, String, String, int)}.
+     * 
+     * @param sourceFile_full_path location of encoded WAV file.
+     * @param destinationFile_full_path location to save decoded file.
+     * @param key to decode file with a 32 bit size integer. 
+     * 
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws InsufficientBytesException
+     * @throws InvalidSecurityException
+     * @throws UnsupportedAudioFileException 
+     */
+    public void decodeWav(String sourceFile_full_path, String destinationFile_full_path, int key) throws FileNotFoundException, IOException, InsufficientBytesException, InvalidSecurityException, UnsupportedAudioFileException{
+        
+        decodeSamples(getWavSamples(sourceFile_full_path), sourceFile_full_path, destinationFile_full_path, key);
+    }
+    
+    /**
+     * Decode AIFF or AIFF-C file encoded by {@link #encodeAiff(String, String, String, int)}.
+     * 
+     * @param sourceFile_full_path location of encoded AIFF file.
+     * @param destinationFile_full_path location to save decoded file.
+     * @param key to decode file with a 32 bit size integer. 
+     * 
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws InsufficientBytesException
+     * @throws InvalidSecurityException
+     * @throws UnsupportedAudioFileException 
+     */
+    public void decodeAiff(String sourceFile_full_path, String destinationFile_full_path, int key) throws FileNotFoundException, IOException, InsufficientBytesException, InvalidSecurityException, UnsupportedAudioFileException{
+        
+        decodeSamples(getAiffSamples(sourceFile_full_path), sourceFile_full_path, destinationFile_full_path, key);
+    }
+    
+    /**
+     * Decode Sun AU file encoded by {@link #encodeAu(String, String, String, int)}.
+     * 
+     * @param sourceFile_full_path location of encoded AU file.
+     * @param destinationFile_full_path location to save decoded file.
+     * @param key to decode file with a 32 bit size integer. 
+     * 
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws InsufficientBytesException
+     * @throws InvalidSecurityException
+     * @throws UnsupportedAudioFileException 
+     */
+    public void decodeAu(String sourceFile_full_path, String destinationFile_full_path, int key) throws FileNotFoundException, IOException, InsufficientBytesException, InvalidSecurityException, UnsupportedAudioFileException{
+        
+        decodeSamples(getAuSamples(sourceFile_full_path), sourceFile_full_path, destinationFile_full_path, key);
+    }
+    
+    private void decodeSamples(Samples samples, String sourceFile_full_path, String destinationFile_full_path, int key) throws FileNotFoundException, IOException, InsufficientBytesException, InvalidSecurityException{
+        
+        try ( FileOutputStream output_Stream = new FileOutputStream(destinationFile_full_path) ) {
+            decodeSamples(samples, sourceFile_full_path, output_Stream, key);
+        }
+        catch (CancelledException | ChecksumException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+    private void decodeSamples(Samples samples, String sourceFile_full_path, OutputStream output_Stream, int key) throws FileNotFoundException, IOException, InsufficientBytesException, InvalidSecurityException{
+        
+        // if not enough samples to extract ie KEY_SIZE_BIT (32 samples) and LENGTH_SIZE_BIT (64 samples).
+        if(getSampleCount(samples.size, samples.sample_size, getOffset()) < KEY_SIZE_BIT + LENGTH_SIZE_BIT){
+            throw new InsufficientBytesException("not enough data in source file!!");
+        }
+        
+        startProgress(new File(sourceFile_full_path).length() - samples.position);
+        
+        try ( FileInputStream source_input_Stream = new FileInputStream(sourceFile_full_path) ) {
+            
+            // skips source header.
+            skip(source_input_Stream, null, samples.position);
+            
+            decodeSamples(source_input_Stream, samples.frame_size, samples.sample_size, samples.getLeastSignificantByte(), output_Stream, key);
+        }
+    }
+    
+    /**
+     * Decode PCM frames read from <B>source</B>, encoded by {@link #encode(AudioInputStream, InputStream, long, OutputStream, int)},
+     * and write decoded data to <B>output</B>.
+     * <P>Reading of <B>source</B> stops as soon as all data is decoded.</P>
+     * 
+     * @param source audio stream of encoded PCM samples.
+     * @param output stream to write decoded data.
+     * @param key to decode frames with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientBytesException
+     * @throws InvalidSecurityException
+     * @throws UnsupportedAudioFileException if samples of <B>source</B> are not PCM.
+     */
+    public void decode(AudioInputStream source, OutputStream output, int key) throws IOException, InsufficientBytesException, InvalidSecurityException, UnsupportedAudioFileException {
+        
+        long time = Metrics.begin(this);
+        
+        try {
+        
+            AudioFormat format = source.getFormat();
+        
+            int sample_size = getSampleSize(format);
+            int frame_size = getFrameSize(format, sample_size);
+        
+            startProgress(source.getFrameLength() != AudioSystem.NOT_SPECIFIED ? source.getFrameLength() * frame_size : -1);
+        
+            decodeSamples(source, frame_size, sample_size, getLeastSignificantByte(format, sample_size), output, key);
+            
+            Metrics.end(this, Stage.DECODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+        }
+        
+    }
+    
+    /**
+     * Decode key, message length and data from samples read from <B>samples</B> and write data to <B>output</B>.
+     * 
+     * @param samples stream positioned at first sample.
+     * @param frame_size number of bytes in one frame, ie one sample of every channel.
+     * @param sample_size number of bytes in one sample.
+     * @param lsb position of least significant byte in sample.
+     * @param output stream to write decoded data.
+     * @param key to decode samples with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientBytesException if <B>samples</B> ends before all data is decoded.
+     * @throws InvalidSecurityException 
+     */
+    protected void decodeSamples(InputStream samples, int frame_size, int sample_size, int lsb, OutputStream output, int key) throws IOException, InsufficientBytesException, InvalidSecurityException {
+        
+        // key and message length.
+        byte[] header = new byte[KEY_SIZE_BYTE + LENGTH_SIZE_BYTE];
+        int header_length = 0;
+        
+        // bytes to be decoded, length of header until message length is decoded.
+        long remaining = header.length;
+        
+        // stream to write data and its checksum to, set once message length is decoded.
+        ChecksumOutputStream data_output = null;
+        
+        // number of bits per sample, 1 until message length is decoded.
+        int depth = 1;
+        
+        // number of source bytes in a group of 8 samples, which holds depth bytes.
+        int block_size = 8 * sample_size;
+        
+        // to store source byte stream, whole frames plus bytes carried over from previous block.
+        byte[] source = new byte[getFrameBufferSize(frame_size) + block_size];
+        
+        // samples skipped from start.
+        long prefix = getSampleOffset(getOffset(), sample_size);
+        
+        int carry = 0, noOfSourceBytes;
+        
+        long stage_time = Metrics.now();
+        
+        while (remaining > 0 && (noOfSourceBytes = readFrames(samples, source, carry, frame_size)) > 0) {
+            
+            stage_time = Metrics.record(Stage.READ, stage_time, noOfSourceBytes);
+            
+            int available = carry + noOfSourceBytes;
+            int position = 0;
+            
+            // skips decoding OFFSET bytes.
+            if (prefix > 0) {
+                position = (int) Math.min(prefix, available);
+                prefix -= position;
+            }
+            
+            int noOfDataBytes = 0, extract_length;
+            
+            while (remaining > 0 && (extract_length = getBlockBytes(remaining, (available - position) / sample_size, depth)) > 0) {
+                
+                byte[] extracted_data = extractBits(source, position + lsb, extract_length, sample_size, depth);
+                stage_time = Metrics.record(Stage.EXTRACT, stage_time, extract_length);
+                
+                position += getUnits(extract_length, depth) * sample_size;
+                remaining -= extract_length;
+                
+                int header_bytes = 0;
+                
+                if (header_length < header.length) {
+                    
+                    header_bytes = Math.min(extract_length, header.length - header_length);
+                    System.arraycopy(extracted_data, 0, header, header_length, header_bytes);
+                    header_length += header_bytes;
+                    
+                    if (header_length == header.length) {
+                        
+                        // decoding key.
+                        if (byteToInt(header, 0) != key) {
+                            throw new InvalidSecurityException();
+                        }
+                        
+                        // decoding message length.
+                        long length_field = byteToLong(header, KEY_SIZE_BYTE);
+                        
+                        data_output = getDataStream(output, length_field);
+                        remaining = getDecodedPayloadSize(length_field);
+                        depth = getDepth(length_field);
+                    }
+                }
+                
+                if (data_output != null) {
+                    data_output.write(extracted_data, header_bytes, extract_length - header_bytes);
+                    stage_time = Metrics.record(Stage.WRITE, stage_time, extract_length - header_bytes);
+                }
+                
+                noOfDataBytes += extract_length - header_bytes;
+            }
+            
+            // carrying incomplete group of samples to next block.
+            carry = available - position;
+            System.arraycopy(source, position, source, 0, carry);
+            
+            updateProgress(noOfSourceBytes, noOfDataBytes);
+        }
+        
+        if (remaining > 0) {
+            throw new InsufficientBytesException("not enough data in source file!!");
+        }
+        
+        data_output.verify();
+    }
+    
+    /**
+     * Checks whether WAV, AIFF or AU file <B>cover</B> carries data for <B>security</B> (an Integer key),
+     * with one positional read of the samples holding key and message length.
+     * 
+     * @param cover location of encoded Audio file.
+     * @param security Integer key.
+     * 
+     * @return ProbeResult with length of data if present.
+     * 
+     * @throws IOException
+     * @throws UnsupportedAudioFileException
+     * @throws UnsupportedSecurityTypeException if <B>security</B> is not an Integer.
+     */
+    @Override
+    public ProbeResult probe(Path cover, Object security) throws IOException, UnsupportedAudioFileException, UnsupportedSecurityTypeException {
+        
+        int key = getKey(security);
+        
+        Samples samples = getSamples(cover.toString());
+        
+        long units = getSampleCount(samples.size, samples.sample_size, getOffset());
+        
+        if (units < KEY_SIZE_BIT + LENGTH_SIZE_BIT) {
+            return ProbeResult.ABSENT;
+        }
+        
+        // one sample per bit of key and message length.
+        byte[] source = new byte[(KEY_SIZE_BIT + LENGTH_SIZE_BIT) * samples.sample_size];
+        
+        if (readFully(cover, samples.position + getSampleOffset(getOffset(), samples.sample_size), source) < source.length) {
+            return ProbeResult.ABSENT;
+        }
+        
+        try {
+            byte[] header = extractByte(source, samples.getLeastSignificantByte(), KEY_SIZE_BYTE + LENGTH_SIZE_BYTE, samples.sample_size);
+            
+            if (byteToInt(header, 0) != key) {
+                return ProbeResult.ABSENT;
+            }
+            
+            return getProbeResult(byteToLong(header, KEY_SIZE_BYTE), units);
+        } 
+        catch (InsufficientBytesException ex) {
+            return ProbeResult.ABSENT;
+        }
+    }
+    
+    /*
+        ________________________________________Decoding part ends here_________________________________________
+    */
+    
+    
+}
@@ -0,0 +1,518 @@
+package steganography;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import steganography.core.Config;
+import steganography.core.ProbeResult;
+import steganography.core.Steganography;
+import steganography.core.compression.Compression;
+import static steganography.core.Steganography.KEY_SIZE_BIT;
+import static steganography.core.Steganography.LENGTH_SIZE_BIT;
+import steganography.core.exceptions.CancelledException;
+import steganography.core.exceptions.ChecksumException;
+import steganography.core.exceptions.InsufficientBytesException;
+import steganography.core.exceptions.InsufficientMemoryException;
+import steganography.core.exceptions.InvalidSecurityException;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+import steganography.core.exceptions.UnsupportedSecurityTypeException;
+import steganography.core.exceptions.UnsupportedVideoFileException;
+import static steganography.core.util.Files.getFileExtension;
+import static steganography.core.util.Files.readFully;
+import static steganography.core.util.Files.skip;
+import steganography.core.util.ChecksumOutputStream;
+import steganography.core.util.MP4;
+import steganography.core.util.Pipeline;
+import static steganography.core.decoder.SteganographyDecoder.extractBits;
+import static steganography.core.decoder.SteganographyDecoder.extractInteger;
+import static steganography.core.decoder.SteganographyDecoder.extractLong;
+import static steganography.core.encoder.SteganographyEncoder.getUnits;
+import static steganography.core.encoder.SteganographyEncoder.insertBits;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+public class VideoSteganography extends Steganography{
+
+    public VideoSteganography(){
+        // setting default value for SOURCE_BUFFER_SIZE.
+        setBufferCapacity(MB);
+    }
+    
+    
+    /*
+        ----------------------------------------Encoding part starts here----------------------------------------
+    */
+    
+    /**
+     * Encode Video file with a 32 bit <B>key</B> from
+     * <B>sourceFile_full_path</B> location with file from
+     * <B>dataFile_full_path</B> starting from <B>OFFSET</B> position and save
+     * this encoded Video file to <B>destinationFile_full_path</B> location.
+     *
+     * @param sourceFile_full_path location of source Video file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded Video file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     *
+     * @throws InsufficientMemoryException
+     * @throws IOException
+     * @throws UnsupportedVideoFileException
+     */
+    public void encode(String sourceFile_full_path, String dataFile_full_path, String destinationFile_full_path, int key) throws InsufficientMemoryException, IOException, UnsupportedVideoFileException, InsufficientBytesException{
+        
+        File data_file = new File(dataFile_full_path);
+        
+        if(!data_file.exists()){
+            throw new FileNotFoundException("(The system cannot find the data file specified)");
+        }
+        
+        try ( FileInputStream data = new FileInputStream(data_file) ) {
+            encode(sourceFile_full_path, data, data_file.length(), destinationFile_full_path, key);
+        }
+    }
+    
+    /**
+     * Encode <B>data_length</B> bytes of <B>data</B> in Video file from <B>sourceFile_full_path</B> location with a 32 bit
+     * <B>key</B>, starting from <B>OFFSET</B> position, and save this encoded Video file to <B>destinationFile_full_path</B> location.
+     * <P>If compression is set, <B>data</B> is compressed to a temporary file before encoding starts.</P>
+     *
+     * @param sourceFile_full_path location of source Video file.
+     * @param data stream of data that is to be encoded, not closed.
+     * @param data_length number of bytes of <B>data</B> to be encoded.
+     * @param destinationFile_full_path location to save encoded Video file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     *
+     * @throws InsufficientMemoryException
+     * @throws IOException
+     * @throws UnsupportedVideoFileException
+     */
+    public void encode(String sourceFile_full_path, InputStream data, long data_length, String destinationFile_full_path, int key) throws InsufficientMemoryException, IOException, UnsupportedVideoFileException, InsufficientBytesException{
+        
+        long time = Metrics.begin(this);
+        
+        File payload_file = null;
+        
+        try {
+        
+            File src_file = new File(sourceFile_full_path);
+        
+            if(!src_file.exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+        
+            if(getCompression() == Compression.NONE && src_file.length() < getUnits(data_length, getDepth())){
+                throw new InsufficientMemoryException("not enough space in source file!!");
+            }
+        
+            //check if video format is supported.
+        
+            String extension = getFileExtension(src_file);
+        
+            if(!extension.equals("mp4")){
+                throw new UnsupportedVideoFileException("'" + extension +"' file format is not yet supported.");
+            }
+            
+            if (getCompression() != Compression.NONE) {
+                // message length is encoded ahead of data, so data is compressed first.
+                payload_file = getPayloadFile(data, data_length);
+                data = new FileInputStream(payload_file);
+                data_length = payload_file.length();
+            }
+            
+            encodeMP4(sourceFile_full_path, data, data_length, destinationFile_full_path, key);
+            
+            Metrics.end(this, Stage.ENCODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+            if (payload_file != null) {
+                data.close();
+                payload_file.delete();
+            }
+        }
+        
+    }
+    
+    /**
+     * Encode MP4 Video file with <B>payload_length</B> bytes of <B>payload</B>, already compressed if compression is set.
+     */
+    private void encodeMP4(String sourceFile_full_path, InputStream payload, long payload_length, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException, UnsupportedVideoFileException, InsufficientBytesException {
+
+        InputStream data_input_Stream = getPayloadStream(payload);
+        
+        try (
+            FileInputStream  source_input_Stream = new FileInputStream(sourceFile_full_path);
+            FileOutputStream output_Stream       = new FileOutputStream(destinationFile_full_path);
+        ) {
+            
+            // length of data.
+            long data_file_length = payload_length;
+            
+            int noOfSourceBytes, noOfDataBytes;
+           
+            MP4 mp4 = new MP4(sourceFile_full_path);
+            
+            long position = mp4.getMdat_data_position();
+            long source_length = mp4.getMdat_data_SIZE();
+             
+            if (source_length < getPayloadUnits(data_file_length) + KEY_SIZE_BIT + LENGTH_SIZE_BIT + getOffset()) {
+                throw new InsufficientMemoryException("not enough space in source file!!");
+            }
+
+            // scattered data is counted in payload units, see encodeScattered.
+            startProgress(isScatter() ? getPayloadUnits(data_file_length) : new File(sourceFile_full_path).length());
+            
+            // skips modifying source header.
+            skip(source_input_Stream, output_Stream, position + getOffset());
+             
+            // adding key.
+            encodeInteger(source_input_Stream, output_Stream, key);
+            
+            // adding message length.
+            encodeMessageLength(source_input_Stream, output_Stream, data_file_length);
+            
+            
+            // ----------------------------adding data starts--------------------------//
+            
+            if (isScatter()) {
+                
+                // rest of video is copied as it is, then data is scattered over rest of 'mdat' box in output file.
+                long base = source_input_Stream.getChannel().position();
+                
+                skip(source_input_Stream, output_Stream, source_input_Stream.getChannel().size() - base);
+                
+                try ( FileChannel channel = FileChannel.open(Paths.get(destinationFile_full_path), StandardOpenOption.READ, StandardOpenOption.WRITE) ) {
+                    encodeScattered(channel, base, position + source_length - base, data_input_Stream, data_file_length, key);
+                }
+            }
+            else {
+                
+                // source is read and written by pipeline threads while data is embedded here.
+                try ( Pipeline pipeline = new Pipeline(source_input_Stream, output_Stream, getSourceBufferSize()) ) {
+            
+                    // to store data byte stream.
+                    byte[] data = new byte[getDataBufferSize()];
+                
+                    int depth = getDepth();
+                
+                    Pipeline.Chunk chunk;
+            
+                    // while source has bytes.
+                    while ((chunk = pipeline.take()) != null) {
+                    
+                        byte[] source = chunk.getBytes();
+                        noOfSourceBytes = chunk.getLength();
+                    
+                        long stage_time = Metrics.now();
+               
+                        // if data bytes exists, a whole buffer of them unless data ends so chunks hold no gaps.
+                        if((noOfDataBytes = readFully(data_input_Stream, data, 0, data.length)) > 0){
+                            stage_time = Metrics.record(Stage.READ, stage_time, noOfDataBytes);
+                    
+                            insertBits(source, 0, source.length, depth, data, 0, noOfDataBytes);
+                            Metrics.record(Stage.EMBED, stage_time, noOfDataBytes);
+                        }
+            
+                        pipeline.put(chunk);
+                
+                        updateProgress(noOfSourceBytes, Math.max(noOfDataBytes, 0));
+                    }
+                
+                    pipeline.finish();
+                }
+            }
+ 
+            // ----------------------------adding data ends--------------------------//
+        } 
+        catch (CancelledException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+
+    }
+    
+    /**
+     * Returns number of data bytes that can be encoded in MP4 Video <B>cover</B> with <B>config</B>,
+     * ie one bit per byte of 'mdat' box minus key and message length.
+     * <P>Only box headers are read, to find 'mdat' box.</P>
+     * 
+     * @param cover location of source Video file.
+     * @param config settings to encode with.
+     * 
+     * @return number of bytes that can be encoded.
+     * 
+     * @throws IOException
+     * @throws UnsupportedVideoFileException 
+     */
+    @Override
+    public long capacity(Path cover, Config config) throws IOException, UnsupportedVideoFileException {
+        return capacity(getMP4(cover).getMdat_data_SIZE() - config.getOffset(), config);
+    }
+    
+    /**
+     * Returns processed MP4 <B>cover</B>.
+     * 
+     * @throws UnsupportedVideoFileException if cover is not an MP4 file with 'mdat' box.
+     */
+    private static MP4 getMP4(Path cover) throws IOException, UnsupportedVideoFileException {
+        
+        File cover_file = cover.toFile();
+        
+        if(!cover_file.exists()){
+            throw new FileNotFoundException("(The system cannot find the source file specified)");
+        }
+        
+        String extension = getFileExtension(cover_file);
+        
+        if(!extension.equals("mp4")){
+            throw new UnsupportedVideoFileException("'" + extension +"' file format is not yet supported.");
+        }
+        
+        MP4 mp4 = new MP4(cover.toString());
+        
+        if(!mp4.isMP4()){
+            throw new UnsupportedVideoFileException("'mdat' box not found.");
+        }
+        
+        return mp4;
+    }
+
+
+    /*
+        ________________________________________Encoding part ends here_________________________________________
+    */
+    
+    
+    /*
+        ----------------------------------------Decoding part starts here----------------------------------------
+    */
+    
+    /**
+     * Decode Video file with a 32 bit <B>key</B> from
+     * <B>sourceFile_full_path</B> location starting from provided OFFSET
+ position and save this decoded file to <B>destinationFile_full_path</B>
+     * location.
+     *
+     * @param sourceFile_full_path location of encoded Video file.
+     * @param destinationFile_full_path location to save decoded file.
+     * @param key to decode file with a 32 bit size integer.
+     *
+     * @throws UnsupportedVideoFileException
+     * @throws IOException
+     * @throws FileNotFoundException
+     * @throws InsufficientBytesException
+     * @throws InvalidSecurityException
+     */
+    public void decode(String sourceFile_full_path, String destinationFile_full_path, int key) throws UnsupportedVideoFileException, IOException, FileNotFoundException, InsufficientBytesException, InvalidSecurityException{
+        
+        if(!new File(sourceFile_full_path).exists()){
+            throw new FileNotFoundException("(The system cannot find the source file specified)");
+        }
+        
+        try ( FileOutputStream output_Stream = new FileOutputStream(destinationFile_full_path) ) {
+            decode(sourceFile_full_path, output_Stream, key);
+        }
+        catch (CancelledException | ChecksumException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Decode Video file with a 32 bit <B>key</B> from
+     * <B>sourceFile_full_path</B> location starting from provided OFFSET
+     * position and write decoded data to <B>output_Stream</B>, which is not closed.
+     *
+     * @param sourceFile_full_path location of encoded Video file.
+     * @param output_Stream stream to write decoded data to.
+     * @param key to decode file with a 32 bit size integer.
+     *
+     * @throws UnsupportedVideoFileException
+     * @throws IOException
+     * @throws FileNotFoundException
+     * @throws InsufficientBytesException
+     * @throws InvalidSecurityException
+     */
+    public void decode(String sourceFile_full_path, OutputStream output_Stream, int key) throws UnsupportedVideoFileException, IOException, FileNotFoundException, InsufficientBytesException, InvalidSecurityException{
+        
+        long time = Metrics.begin(this);
+        
+        try {
+        
+            if(!new File(sourceFile_full_path).exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+        
+            String extension = getFileExtension(new File(sourceFile_full_path));
+        
+            switch(extension){
+           
+                case "mp4": decodeMP4(sourceFile_full_path, output_Stream, key);
+                            break;
+                                
+                       
+                        
+                default:    throw new UnsupportedVideoFileException("'" + extension +"' file format is not yet supported.");
+          
+            }
+            
+            Metrics.end(this, Stage.DECODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+        }
+        
+    }
+    
+    
+    /**
+     * Checks whether MP4 Video <B>cover</B> carries data for <B>security</B> (an Integer key),
+     * with one positional read of key and message length from 'mdat' box.
+     * 
+     * @param cover location of encoded Video file.
+     * @param security Integer key.
+     * 
+     * @return ProbeResult with length of data if present.
+     * 
+     * @throws IOException
+     * @throws UnsupportedVideoFileException
+     * @throws UnsupportedSecurityTypeException if <B>security</B> is not an Integer.
+     */
+    @Override
+    public ProbeResult probe(Path cover, Object security) throws IOException, UnsupportedVideoFileException, UnsupportedSecurityTypeException {
+        
+        int key = getKey(security);
+        
+        MP4 mp4 = getMP4(cover);
+        
+        // key (32 bytes) and message length (64 bytes).
+        byte[] header = new byte[KEY_SIZE_BIT + LENGTH_SIZE_BIT];
+        
+        if(readFully(cover, mp4.getMdat_data_position() + getOffset(), header) < header.length){
+            return ProbeResult.ABSENT;
+        }
+        
+        try {
+            if(extractInteger(header, 0) != key){
+                return ProbeResult.ABSENT;
+            }
+            
+            return getProbeResult(extractLong(header, KEY_SIZE_BIT), mp4.getMdat_data_SIZE() - getOffset());
+        } 
+        catch (InsufficientBytesException ex) {
+            return ProbeResult.ABSENT;
+        }
+    }
+    
+    
+    private void decodeMP4(String sourceFile_full_path, OutputStream output_Stream, int key) throws FileNotFoundException, IOException, InsufficientBytesException, InvalidSecurityException{
+        
+        try ( FileInputStream source_input_Stream = new FileInputStream(sourceFile_full_path) ) {
+            
+            MP4 mp4 = new MP4(sourceFile_full_path);
+            
+            long position = mp4.getMdat_data_position();
+            long source_length = mp4.getMdat_data_SIZE();
+             
+            // if not enough data to extract ie KEY_SIZE_BIT (32 bytes) and LENGTH_SIZE_BIT (64 bytes).
+            if(source_length < KEY_SIZE_BIT + LENGTH_SIZE_BIT + getOffset()){
+                throw new InsufficientBytesException("not enough data in source file!!");
+            }
+            
+            // skips source header.
+            skip(source_input_Stream, null, position + getOffset());
+            
+            // decoding key.
+            int extracted_key = decodeInteger(source_input_Stream);
+            
+            if(extracted_key != key){
+                throw new InvalidSecurityException();
+            }
+            
+            // decoding message length.
+            long length_field = getMessageLength(source_input_Stream);
+            
+            ChecksumOutputStream data_output = getDataStream(output_Stream, length_field);
+            
+            // data and its checksum, if any.
+            long length = getDecodedPayloadSize(length_field);
+            
+            // depth data was encoded at.
+            int depth = getDepth(length_field);
+            int data_buffer_size = getDataBufferSize(depth);
+            
+            startProgress(getUnits(length, depth));
+            
+            // ----------------------------decoding data starts--------------------------//
+            
+            if (isScatter(length_field)) {
+                
+                FileChannel channel = source_input_Stream.getChannel();
+                
+                decodeScattered(channel, channel.position(), position + source_length - channel.position(), data_output, length_field, key);
+            }
+            else {
+                
+                // to store source byte stream.
+                byte[] source = new byte[getSourceBufferSize()];
+            
+                int extract_length;
+            
+                long stage_time = Metrics.now();
+            
+                while(length > 0){
+                
+                    if(length <= data_buffer_size){
+                        extract_length = (int)length;
+                    }
+                    else{
+                        extract_length = data_buffer_size;
+                    }
+                    source_input_Stream.read(source);
+                    stage_time = Metrics.record(Stage.READ, stage_time, getUnits(extract_length, depth));
+            
+                    byte[] extracted_data = extractBits(source, 0, extract_length, depth);
+                    stage_time = Metrics.record(Stage.EXTRACT, stage_time, extract_length);
+            
+                    data_output.write(extracted_data);
+                    stage_time = Metrics.record(Stage.WRITE, stage_time, extract_length);
+                    length -= extract_length;
+                
+                    updateProgress(getUnits(extract_length, depth), extract_length);
+                }
+            }
+            
+            data_output.verify();
+            
+            // ----------------------------decoding data ends--------------------------//
+        }
+        
+    }
+    
+    /*
+        ________________________________________Decoding part ends here_________________________________________
+    */
+    
+    
+}
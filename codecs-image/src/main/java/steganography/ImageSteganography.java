@@ -0,0 +1,508 @@
+package steganography;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import steganography.core.Config;
+import steganography.core.ProbeResult;
+import steganography.core.Steganography;
+import steganography.core.compression.Compression;
+import static steganography.core.Steganography.KEY_SIZE_BIT;
+import static steganography.core.Steganography.LENGTH_SIZE_BIT;
+import static steganography.core.Steganography.MB;
+import static steganography.core.decoder.SteganographyDecoder.extractBits;
+import static steganography.core.decoder.SteganographyDecoder.extractInteger;
+import static steganography.core.decoder.SteganographyDecoder.extractLong;
+import static steganography.core.encoder._ToByteConverter.intToByte;
+import static steganography.core.encoder._ToByteConverter.longToByte;
+import steganography.core.exceptions.CancelledException;
+import steganography.core.exceptions.ChecksumException;
+import steganography.core.exceptions.InsufficientBytesException;
+import steganography.core.exceptions.InsufficientMemoryException;
+import steganography.core.exceptions.InvalidSecurityException;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+import steganography.core.exceptions.UnsupportedImageFileException;
+import steganography.core.exceptions.UnsupportedSecurityTypeException;
+import static steganography.core.util.Files.getFileExtension;
+import static steganography.core.util.Files.readFully;
+import steganography.core.util.ChecksumOutputStream;
+import steganography.core.util.PNG;
+import steganography.core.util.Scatter;
+import static steganography.core.encoder.SteganographyEncoder.getUnits;
+import static steganography.core.encoder.SteganographyEncoder.insertBits;
+import static steganography.core.encoder.SteganographyEncoder.insertByte;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+public class ImageSteganography extends Steganography{
+
+    public ImageSteganography(){
+        // setting default value for SOURCE_BUFFER_SIZE.
+        setBufferCapacity(MB);
+    }
+    
+    
+    /*
+        ----------------------------------------Encoding part starts here----------------------------------------
+    */
+    
+    /**
+     * Encode Image file with a 32 bit <B>key</B> from <B>sourceFile_full_path</B> location
+     * with file from <B>dataFile_full_path</B> starting from <B>OFFSET</B> position and 
+     * save this encoded Image file to <B>destinationFile_full_path</B> location.
+     * 
+     * @param sourceFile_full_path location of source Image file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded Image file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws InsufficientMemoryException
+     * @throws IOException
+     * @throws UnsupportedImageFileException 
+     */
+    public void encode(String sourceFile_full_path, String dataFile_full_path, String destinationFile_full_path, int key) throws InsufficientMemoryException, IOException, UnsupportedImageFileException, FileNotFoundException, InsufficientBytesException{
+        
+        File data_file = new File(dataFile_full_path);
+        
+        if(!data_file.exists()){
+            throw new FileNotFoundException("(The system cannot find the data file specified)");
+        }
+        
+        try ( FileInputStream data = new FileInputStream(data_file) ) {
+            encode(sourceFile_full_path, data, data_file.length(), destinationFile_full_path, key);
+        }
+    }
+    
+    /**
+     * Encode <B>data_length</B> bytes of <B>data</B> in Image file from <B>sourceFile_full_path</B> location with a 32 bit
+     * <B>key</B>, starting from <B>OFFSET</B> position, and save this encoded Image file to <B>destinationFile_full_path</B> location.
+     * <P>If compression is set, <B>data</B> is compressed to a temporary file before encoding starts.</P>
+     * 
+     * @param sourceFile_full_path location of source Image file.
+     * @param data stream of data that is to be encoded, not closed.
+     * @param data_length number of bytes of <B>data</B> to be encoded.
+     * @param destinationFile_full_path location to save encoded Image file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws InsufficientMemoryException
+     * @throws IOException
+     * @throws UnsupportedImageFileException 
+     */
+    public void encode(String sourceFile_full_path, InputStream data, long data_length, String destinationFile_full_path, int key) throws InsufficientMemoryException, IOException, UnsupportedImageFileException, FileNotFoundException, InsufficientBytesException{
+        
+        long time = Metrics.begin(this);
+        
+        File payload_file = null;
+        
+        try {
+        
+            File src_file = new File(sourceFile_full_path);
+        
+            if(!src_file.exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+        
+            // checked from header, before image is decoded (after compression otherwise).
+            if(getCompression() == Compression.NONE && capacity(src_file.toPath(), getConfig()) < data_length){
+                throw new InsufficientMemoryException("not enough space in source file!!");
+            }
+        
+        
+            String extension = getFileExtension(src_file);
+        
+            if(!extension.equals("png")){
+                throw new UnsupportedImageFileException("'" + extension +"' file format is not yet supported.");
+            }
+            
+            if (getCompression() != Compression.NONE) {
+                // message length is encoded ahead of data, so data is compressed first.
+                payload_file = getPayloadFile(data, data_length);
+                data = new FileInputStream(payload_file);
+                data_length = payload_file.length();
+            }
+            
+            encodePNG(sourceFile_full_path, data, data_length, destinationFile_full_path, key);
+            
+            Metrics.end(this, Stage.ENCODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+            if (payload_file != null) {
+                data.close();
+                payload_file.delete();
+            }
+        }
+        
+    }
+    
+    public void encodePNG(String sourceFile_full_path,String dataFile_full_path, String destinationFile_full_path, int key) throws FileNotFoundException, IOException, InsufficientMemoryException, InsufficientBytesException{
+        
+        // data file, compressed if compression is set.
+        File payload_file = getPayloadFile(dataFile_full_path);
+        
+        try ( FileInputStream data = new FileInputStream(payload_file) ) {
+            encodePNG(sourceFile_full_path, data, payload_file.length(), destinationFile_full_path, key);
+        }
+        finally {
+            deletePayloadFile(payload_file, dataFile_full_path);
+        }
+    }
+    
+    /**
+     * Encode PNG Image file with <B>payload_length</B> bytes of <B>payload</B>, already compressed if compression is set.
+     */
+    private void encodePNG(String sourceFile_full_path, InputStream payload, long payload_length, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException, InsufficientBytesException{
+        
+        InputStream data_input_Stream = getPayloadStream(payload);
+        
+        // length of data.
+        long data_file_length = payload_length;
+        
+        int position = getOffset();
+        PNG png = new PNG(sourceFile_full_path);
+        
+        long stage_time = Metrics.now();
+        
+        BufferedImage png_image = png.readPNG(sourceFile_full_path);
+        byte[] source = png.getImageByte(png_image);
+        
+        stage_time = Metrics.record(Stage.READ, stage_time, source.length);
+        
+        int source_length = source.length;
+        
+        if (source_length  < getPayloadUnits(data_file_length) + KEY_SIZE_BIT + LENGTH_SIZE_BIT + getOffset()) {
+            throw new InsufficientMemoryException("not enough space in source file!!");
+        }
+
+        byte[] intBytes = intToByte(key);
+        insertByte(source, position, source.length , intBytes, 0, intBytes.length);
+        position += 32;
+        
+        byte[] longBytes = longToByte(getLengthField(data_file_length));
+
+        insertByte(source, position, source.length, longBytes, 0, longBytes.length);
+        position += 64;
+        
+        // ----------------------------adding data starts--------------------------//
+        
+        startProgress(getPayloadUnits(data_file_length));
+        
+        int noOfDataBytes, depth = getDepth();
+        
+        // data is scattered over raster after message length, or written from there on.
+        Scatter scatter = isScatter() ? getScatter(getPayloadUnits(data_file_length), source_length - position, key) : null;
+        
+        byte[] data = new byte[scatter != null ? getScatterBufferSize(depth) : getDataBufferSize()];
+        byte[] units = scatter != null ? new byte[data.length / depth * 8] : null;
+        
+        // embedding data in blocks of DATA_BUFFER_SIZE so progress can be reported and cancelled.
+        while((noOfDataBytes = readFully(data_input_Stream, data, 0, data.length)) > 0){
+            stage_time = Metrics.record(Stage.READ, stage_time, noOfDataBytes);
+            
+            if (scatter != null) {
+                int count = scatter.next((int) getUnits(noOfDataBytes, depth));
+                
+                scatter.read(source, position, units);
+                insertBits(units, 0, count, depth, data, 0, noOfDataBytes);
+                scatter.write(source, position, units);
+            }
+            else {
+                insertBits(source, position, source.length, depth, data, 0, noOfDataBytes);
+                position += getUnits(noOfDataBytes, depth);
+            }
+            stage_time = Metrics.record(Stage.EMBED, stage_time, noOfDataBytes);
+            
+            updateProgress(getUnits(noOfDataBytes, depth), noOfDataBytes);
+        }
+ 
+        // ----------------------------adding data ends--------------------------//
+        
+        // writing image
+        ImageIO.write(png_image, "PNG", new File(destinationFile_full_path));
+        Metrics.record(Stage.WRITE, stage_time, source.length);
+        
+    }
+    
+    /**
+     * Returns number of data bytes that can be encoded in PNG Image <B>cover</B> with <B>config</B>,
+     * ie one bit per raster byte minus key and message length.
+     * <P>Size of raster is computed from <B>IHDR</B> chunk, image is not decoded.</P>
+     * 
+     * @param cover location of source Image file.
+     * @param config settings to encode with.
+     * 
+     * @return number of bytes that can be encoded.
+     * 
+     * @throws IOException
+     * @throws UnsupportedImageFileException 
+     */
+    @Override
+    public long capacity(Path cover, Config config) throws IOException, UnsupportedImageFileException {
+        return capacity(getRasterSize(cover) - config.getOffset(), config);
+    }
+    
+    /**
+     * Returns number of raster bytes of PNG Image <B>cover</B>, computed from <B>IHDR</B> chunk.
+     * 
+     * @throws UnsupportedImageFileException if cover is not a valid PNG file.
+     */
+    private static long getRasterSize(Path cover) throws IOException, UnsupportedImageFileException {
+        
+        File cover_file = cover.toFile();
+        
+        if(!cover_file.exists()){
+            throw new FileNotFoundException("(The system cannot find the source file specified)");
+        }
+        
+        String extension = getFileExtension(cover_file);
+        
+        if(!extension.equals("png")){
+            throw new UnsupportedImageFileException("'" + extension +"' file format is not yet supported.");
+        }
+        
+        long raster_size = PNG.getImageByteSize(cover.toString());
+        
+        if(raster_size < 0){
+            throw new UnsupportedImageFileException("not a valid PNG file.");
+        }
+        
+        return raster_size;
+    }
+    
+
+    /*
+        ________________________________________Encoding part ends here_________________________________________
+    */
+    
+    
+    /*
+        ----------------------------------------Decoding part starts here----------------------------------------
+    */
+    
+     /**
+      * Decode Image file with a 32 bit <B>key</B> from <B>sourceFile_full_path</B> location
+      *  starting from provided OFFSET position  and 
+      *  save this encoded file to <B>destinationFile_full_path</B> location.
+      * 
+      * @param sourceFile_full_path location of encoded Image file.
+      * @param destinationFile_full_path location to save decoded file.
+      * @param key to decode file with a 32 bit size integer. 
+      * 
+      * @throws IOException
+      * @throws FileNotFoundException
+      * @throws InsufficientBytesException
+      * @throws InvalidSecurityException
+      * @throws UnsupportedImageFileException 
+      */
+    public void decode(String sourceFile_full_path, String destinationFile_full_path, int key) throws IOException, FileNotFoundException, InvalidSecurityException, UnsupportedImageFileException, InsufficientBytesException{
+        
+        if(!new File(sourceFile_full_path).exists()){
+            throw new FileNotFoundException("(The system cannot find the source file specified)");
+        }
+        
+        try ( FileOutputStream output = new FileOutputStream(destinationFile_full_path) ) {
+            decode(sourceFile_full_path, output, key);
+        }
+        catch (CancelledException | ChecksumException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Decode Image file with a 32 bit <B>key</B> from <B>sourceFile_full_path</B> location starting from provided
+     * OFFSET position, and write decoded data to <B>output</B>.
+     * 
+     * @param sourceFile_full_path location of encoded Image file.
+     * @param output stream to write decoded data, not closed.
+     * @param key to decode file with a 32 bit size integer. 
+     * 
+     * @throws IOException
+     * @throws FileNotFoundException
+     * @throws InsufficientBytesException
+     * @throws InvalidSecurityException
+     * @throws UnsupportedImageFileException 
+     */
+    public void decode(String sourceFile_full_path, OutputStream output, int key) throws IOException, FileNotFoundException, InvalidSecurityException, UnsupportedImageFileException, InsufficientBytesException{
+        
+        long time = Metrics.begin(this);
+        
+        try {
+        
+            if(!new File(sourceFile_full_path).exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+        
+            String extension = getFileExtension(new File(sourceFile_full_path));
+        
+            if(!extension.equals("png")){
+                throw new UnsupportedImageFileException("'" + extension +"' file format is not yet supported.");
+            }
+            
+            decodePNG(sourceFile_full_path, output, key);
+            
+            Metrics.end(this, Stage.DECODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+        }
+        
+    }
+    
+    public void decodePNG(String sourceFile_full_path, String destinationFile_full_path, int key) throws FileNotFoundException, IOException, InvalidSecurityException, InsufficientBytesException{
+        
+        try ( FileOutputStream output = new FileOutputStream(destinationFile_full_path) ) {
+            decodePNG(sourceFile_full_path, output, key);
+        }
+        catch (CancelledException | ChecksumException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Decode PNG Image file, writing decoded data to <B>output_Stream</B>.
+     */
+    private void decodePNG(String sourceFile_full_path, OutputStream output_Stream, int key) throws IOException, InvalidSecurityException, InsufficientBytesException{
+        
+        int position = getOffset();
+       
+        PNG png = new PNG(sourceFile_full_path);
+        
+        long stage_time = Metrics.now();
+        
+        BufferedImage png_image = png.readPNG(sourceFile_full_path);
+        byte[] source = png.getImageByte(png_image);
+        
+        stage_time = Metrics.record(Stage.READ, stage_time, source.length);
+        
+        // decoding key.
+        int extracted_key = extractInteger(source, position);
+
+        if (extracted_key != key) {
+            throw new InvalidSecurityException();
+        }
+
+        position += 32;
+
+        // decoding message length.
+        long length_field = extractLong(source, position);
+
+        position += 64;
+        
+        ChecksumOutputStream data_output = getDataStream(output_Stream, length_field);
+        
+        // data and its checksum, if any.
+        long length = getDecodedPayloadSize(length_field);
+        
+        // depth data was encoded at.
+        int depth = getDepth(length_field);
+
+        startProgress(getUnits(length, depth));
+        
+        // data is scattered over raster after message length, or written from there on.
+        Scatter scatter = null;
+        byte[] units = null;
+        int data_buffer_size = getDataBufferSize(depth);
+        
+        if (isScatter(length_field)) {
+            
+            if (source.length - position < getUnits(length, depth)) {
+                throw new InsufficientBytesException("not enough data in source file!!");
+            }
+            
+            scatter = getScatter(getUnits(length, depth), source.length - position, key);
+            data_buffer_size = getScatterBufferSize(depth);
+            units = new byte[data_buffer_size / depth * 8];
+        }
+        
+        // decoding message data in blocks of DATA_BUFFER_SIZE.
+        while(length > 0){
+            int extract_length = (int) Math.min(length, data_buffer_size);
+            
+            byte[] extracted_data;
+            
+            if (scatter != null) {
+                scatter.next((int) getUnits(extract_length, depth));
+                scatter.read(source, position, units);
+                
+                extracted_data = extractBits(units, 0, extract_length, depth);
+            }
+            else {
+                extracted_data = extractBits(source, position, extract_length, depth);
+                position += getUnits(extract_length, depth);
+            }
+            stage_time = Metrics.record(Stage.EXTRACT, stage_time, extract_length);
+            
+            // writing extracted data to output file.
+            data_output.write(extracted_data);
+            stage_time = Metrics.record(Stage.WRITE, stage_time, extract_length);
+            length -= extract_length;
+            
+            updateProgress(getUnits(extract_length, depth), extract_length);
+        }
+        
+        data_output.verify();
+
+    }
+
+    /**
+     * Checks whether PNG Image <B>cover</B> carries data for <B>security</B> (an Integer key),
+     * decoding only the first rows of image which hold key and message length.
+     * 
+     * @param cover location of encoded Image file.
+     * @param security Integer key.
+     * 
+     * @return ProbeResult with length of data if present.
+     * 
+     * @throws IOException
+     * @throws UnsupportedImageFileException
+     * @throws UnsupportedSecurityTypeException if <B>security</B> is not an Integer.
+     */
+    @Override
+    public ProbeResult probe(Path cover, Object security) throws IOException, UnsupportedImageFileException, UnsupportedSecurityTypeException {
+        
+        int key = getKey(security);
+        
+        long units = getRasterSize(cover) - getOffset();
+        
+        int position = getOffset();
+        
+        byte[] source = PNG.readImageByte(cover.toString(), position + KEY_SIZE_BIT + LENGTH_SIZE_BIT);
+        
+        try {
+            if (extractInteger(source, position) != key) {
+                return ProbeResult.ABSENT;
+            }
+            
+            return getProbeResult(extractLong(source, position + KEY_SIZE_BIT), units);
+        } 
+        catch (InsufficientBytesException ex) {
+            return ProbeResult.ABSENT;
+        }
+    }
+
+    /*
+        ________________________________________Decoding part ends here_________________________________________
+     */
+}
@@ -2,6 +2,7 @@
 package steganography.core.util;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
 import java.awt.image.WritableRaster;
@@ -9,11 +10,20 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
-import javafx.util.Pair;
+import java.util.Iterator;
+import java.util.Map;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import static steganography.core.Steganography.MB;
 import static steganography.core.decoder.ByteTo_Converter.byteToInt;
+import steganography.core.exceptions.InsufficientBytesException;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
 
 /**
  * @author Himanshu Sajwan.
@@ -24,14 +34,19 @@ public class PNG {
     boolean IS_PNG = false;
     private int HEIGHT, WIDTH, IDAT_Position, IDAT_Count;
     private long IEND_Position, Current_Position;
-    private ArrayList<Pair<Long, Integer>> ALL_IDAT_Position;
+    /**
+     * Position and length of each IDAT chunk.
+     */
+    private ArrayList<Map.Entry<Long, Integer>> ALL_IDAT_Position;
     
-    public PNG(String source) throws IOException{
+    public PNG(String source) throws IOException, InsufficientBytesException{
         this.ALL_IDAT_Position = new ArrayList<>();
+        long time = Metrics.now();
         process(source);
+        Metrics.record(Stage.HEADER, time, 0);
     }
     
-    public final void process(String sourceFile) throws FileNotFoundException, IOException{
+    public final void process(String sourceFile) throws FileNotFoundException, IOException, InsufficientBytesException{
         try ( FileInputStream  source_input_Stream = new FileInputStream(sourceFile) ) {
             
             int noOfSourceBytes;
@@ -93,7 +108,7 @@ public class PNG {
                             IDAT_Position =  (int) (Current_Position);
                         }
                         
-                        ALL_IDAT_Position.add(new Pair(Current_Position, length));
+                        ALL_IDAT_Position.add(new SimpleImmutableEntry<>(Current_Position, length));
                         
                         IDAT_Count++;
                         Current_Position += 3;
@@ -113,6 +128,103 @@ public class PNG {
         }
     }
 
+    /**
+     * Returns number of bytes in raster given by {@link #getImageByte(BufferedImage)} for PNG file at <B>sourceFile</B>,
+     * reading only signature and <B>IHDR</B> chunk (first 33 bytes).
+     * <P>Rows of samples are packed to whole bytes, as decoded by ImageIO.</P>
+     * 
+     * @param sourceFile location of PNG file.
+     * 
+     * @return number of raster bytes, -1 if file is not PNG and 0 if samples are 16 bit (raster is not byte based).
+     * 
+     * @throws FileNotFoundException
+     * @throws IOException 
+     */
+    public static long getImageByteSize(String sourceFile) throws FileNotFoundException, IOException{
+        
+        try ( RandomAccessFile source = new RandomAccessFile(sourceFile, "r") ) {
+            
+            // signature (8 bytes) + IHDR length and type (8 bytes) + width, height, bit depth, color type.
+            if(source.length() < 26 || source.readLong() != 0x89504E470D0A1A0AL){
+                return -1;
+            }
+            
+            source.skipBytes(4);
+            
+            if(source.readInt() != 0x49484452){
+                return -1;
+            }
+            
+            long width = source.readInt() & 0xFFFFFFFFL;
+            long height = source.readInt() & 0xFFFFFFFFL;
+            int bit_depth = source.readUnsignedByte();
+            int color_type = source.readUnsignedByte();
+            
+            if(bit_depth > 8){
+                return 0;
+            }
+            
+            int channels;
+            
+            switch(color_type){
+                case 0:  channels = 1; break; // grayscale.
+                case 2:  channels = 3; break; // RGB.
+                case 3:  channels = 1; break; // palette index.
+                case 4:  channels = 2; break; // grayscale with alpha.
+                case 6:  channels = 4; break; // RGB with alpha.
+                default: return -1;
+            }
+            
+            return height * ((width * channels * bit_depth + 7) / 8);
+        }
+    }
+
+    /**
+     * Returns first bytes of raster of PNG file at <B>sourceFile</B>, at least <B>length</B> bytes if image has them,
+     * decoding only the rows holding them.
+     * 
+     * @param sourceFile location of PNG file.
+     * @param length number of raster bytes needed.
+     * 
+     * @return raster bytes of first rows, as given by {@link #getImageByte(BufferedImage)} for whole image.
+     * 
+     * @throws IOException 
+     */
+    public static byte[] readImageByte(String sourceFile, long length) throws IOException{
+        
+        long size = getImageByteSize(sourceFile);
+        
+        try ( ImageInputStream input = ImageIO.createImageInputStream(new File(sourceFile)) ) {
+            
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            
+            if(size <= 0 || !readers.hasNext()){
+                throw new IOException("can not read image bytes of " + sourceFile);
+            }
+            
+            ImageReader reader = readers.next();
+            
+            try {
+                reader.setInput(input, true, true);
+                
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                
+                // raster rows are packed to whole bytes.
+                long row_size = size / height;
+                int rows = (int) Math.min(height, (length + row_size - 1) / row_size);
+                
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle(0, 0, width, Math.max(rows, 1)));
+                
+                return ((DataBufferByte) reader.read(0, param).getRaster().getDataBuffer()).getData();
+            } 
+            finally {
+                reader.dispose();
+            }
+        }
+    }
+
     // function to read image from given location and return BufferedImage.
     public BufferedImage readPNG(String url) throws IOException {
         return ImageIO.read(new File(url));
@@ -158,7 +270,7 @@ public class PNG {
         return IDAT_Count;
     }
 
-    public ArrayList<Pair<Long, Integer>> getALL_IDAT_Position() {
+    public ArrayList<Map.Entry<Long, Integer>> getALL_IDAT_Position() {
         return ALL_IDAT_Position;
     }
     
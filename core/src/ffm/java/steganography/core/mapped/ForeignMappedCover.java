@@ -0,0 +1,75 @@
+package steganography.core.mapped;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * {@link MappedCover} over a {@link MemorySegment} of Foreign Function and Memory API of JDK 22 or newer,
+ * mapped in its own confined {@link Arena}, so it is used by thread which opened it and closing it unmaps region.
+ *
+ * @see SegmentMappedCover
+ */
+public final class ForeignMappedCover extends AbstractMappedCover {
+
+    /**
+     * Unaligned little endian long, as cover bytes need not be aligned.
+     */
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena ARENA;
+    private final MemorySegment SEGMENT;
+
+    public ForeignMappedCover(Path file, long position, long size, boolean writable) throws IOException {
+
+        ARENA = Arena.ofConfined();
+
+        try ( FileChannel channel = writable ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE) : FileChannel.open(file, StandardOpenOption.READ) ) {
+            SEGMENT = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, position, size, ARENA);
+        }
+        catch (IOException | RuntimeException ex) {
+            ARENA.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public long size() {
+        return SEGMENT.byteSize();
+    }
+
+    @Override
+    protected long getLong(long position) {
+        return SEGMENT.get(LONG, position);
+    }
+
+    @Override
+    protected void setLong(long position, long value) {
+        SEGMENT.set(LONG, position, value);
+    }
+
+    @Override
+    protected byte getByte(long position) {
+        return SEGMENT.get(ValueLayout.JAVA_BYTE, position);
+    }
+
+    @Override
+    protected void setByte(long position, byte value) {
+        SEGMENT.set(ValueLayout.JAVA_BYTE, position, value);
+    }
+
+    @Override
+    public void close() {
+        ARENA.close();
+    }
+
+}
@@ -0,0 +1,77 @@
+package steganography.core.mapped;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemoryHandles;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * {@link MappedCover} over a {@link MemorySegment} of incubator module <B>jdk.incubator.foreign</B> of JDK 17,
+ * mapped with its own confined {@link ResourceScope}, so it is used by thread which opened it and closing it
+ * unmaps region.
+ *
+ * @see ForeignMappedCover
+ */
+public final class SegmentMappedCover extends AbstractMappedCover {
+
+    /**
+     * Unaligned little endian long, as cover bytes need not be aligned.
+     */
+    private static final VarHandle LONG = MemoryHandles.varHandle(long.class, 1, ByteOrder.LITTLE_ENDIAN);
+
+    private final ResourceScope SCOPE;
+    private final MemorySegment SEGMENT;
+
+    public SegmentMappedCover(Path file, long position, long size, boolean writable) throws IOException {
+
+        SCOPE = ResourceScope.newConfinedScope();
+
+        try {
+            SEGMENT = MemorySegment.mapFile(file, position, size, writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, SCOPE);
+        }
+        catch (IOException | RuntimeException ex) {
+            SCOPE.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public long size() {
+        return SEGMENT.byteSize();
+    }
+
+    @Override
+    protected long getLong(long position) {
+        return (long) LONG.get(SEGMENT, position);
+    }
+
+    @Override
+    protected void setLong(long position, long value) {
+        LONG.set(SEGMENT, position, value);
+    }
+
+    @Override
+    protected byte getByte(long position) {
+        return MemoryAccess.getByteAtOffset(SEGMENT, position);
+    }
+
+    @Override
+    protected void setByte(long position, byte value) {
+        MemoryAccess.setByteAtOffset(SEGMENT, position, value);
+    }
+
+    @Override
+    public void close() {
+        SCOPE.close();
+    }
+
+}
@@ -0,0 +1,631 @@
+package steganography;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Path;
+import steganography.core.Config;
+import steganography.core.ProbeResult;
+import steganography.core.Steganography;
+import steganography.core.compression.Compression;
+import static steganography.core.decoder.ByteTo_Converter.byteToInt;
+import static steganography.core.decoder.ByteTo_Converter.byteToLong;
+import static steganography.core.encoder._ToByteConverter.intToByte;
+import static steganography.core.encoder._ToByteConverter.longToByte;
+import steganography.core.exceptions.CancelledException;
+import steganography.core.exceptions.ChecksumException;
+import steganography.core.exceptions.InsufficientBytesException;
+import steganography.core.exceptions.InsufficientMemoryException;
+import steganography.core.exceptions.InvalidSecurityException;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+import steganography.core.exceptions.UnsupportedDocumentFileException;
+import steganography.core.exceptions.UnsupportedSecurityTypeException;
+import steganography.core.util.ChecksumOutputStream;
+import steganography.core.util.Pipeline;
+import static steganography.core.util.Files.getFileExtension;
+import static steganography.core.util.Files.skip;
+import static steganography.core.util.TXT.index;
+import static steganography.core.util.TXT.isEligible;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+public class DocumentSteganography extends Steganography{
+
+    public DocumentSteganography(){
+        // setting default value for SOURCE_BUFFER_SIZE.
+        setBufferCapacity(MB);
+    }
+    
+    /**
+     * Only LSB of a letter can change without changing letter, so data is always encoded 1 bit per letter.
+     */
+    @Override
+    protected int getMaxDepth() {
+        return 1;
+    }
+    
+    /**
+     * Letters are found as text is read, so data is always written in order.
+     */
+    @Override
+    protected boolean isScatterSupported() {
+        return false;
+    }
+    
+    
+    
+    /*
+        ----------------------------------------Encoding part starts here----------------------------------------
+    */
+
+    /**
+     * Encode Document from <B>sourceFile_full_path</B> location 
+     * with file from <B>dataFile_full_path</B> and save this encoded document to <B>destinationFile_full_path</B> location.
+     * 
+     * @param sourceFile_full_path location of source Document file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded Document file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException
+     * @throws UnsupportedDocumentFileException
+     */
+    public void encode(String sourceFile_full_path, String dataFile_full_path, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException, UnsupportedDocumentFileException {
+        
+        File data_file = new File(dataFile_full_path);
+        
+        if(!data_file.exists()){
+            throw new FileNotFoundException("(The system cannot find the data file specified)");
+        }
+        
+        try ( FileInputStream data = new FileInputStream(data_file) ) {
+            encode(sourceFile_full_path, data, data_file.length(), destinationFile_full_path, key);
+        }
+    }
+    
+    /**
+     * Encode Document from <B>sourceFile_full_path</B> location with <B>data_length</B> bytes of <B>data</B>
+     * and save this encoded document to <B>destinationFile_full_path</B> location.
+     * <P>If compression is set, <B>data</B> is compressed to a temporary file before encoding starts.</P>
+     * 
+     * @param sourceFile_full_path location of source Document file.
+     * @param data stream of data that is to be encoded, not closed.
+     * @param data_length number of bytes of <B>data</B> to be encoded.
+     * @param destinationFile_full_path location to save encoded Document file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException
+     * @throws UnsupportedDocumentFileException
+     */
+    public void encode(String sourceFile_full_path, InputStream data, long data_length, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException, UnsupportedDocumentFileException {
+        
+        long time = Metrics.begin(this);
+        
+        File payload_file = null;
+        
+        try {
+        
+            File src_file = new File(sourceFile_full_path);
+        
+            if(!src_file.exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+        
+            if(getCompression() == Compression.NONE && src_file.length() < data_length * 8){
+                throw new InsufficientMemoryException("not enough space in source file!!");
+            }
+        
+            String extension = getFileExtension(src_file);
+        
+            if(!extension.equals("txt")){
+                throw new UnsupportedDocumentFileException("'" + extension +"' file format is not yet supported.");
+            }
+            
+            if (getCompression() != Compression.NONE) {
+                // message length is encoded ahead of data, so data is compressed first.
+                payload_file = getPayloadFile(data, data_length);
+                data = new FileInputStream(payload_file);
+                data_length = payload_file.length();
+            }
+            
+            encodeTxt(sourceFile_full_path, data, data_length, destinationFile_full_path, key);
+            
+            Metrics.end(this, Stage.ENCODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+            if (payload_file != null) {
+                data.close();
+                payload_file.delete();
+            }
+        }
+        
+    }
+    
+    /**
+     * Encode text Document, embedding key, message length and data only in <B>LSB</B> of letters 
+     * that stay letters when changed (see {@link TXT}), so that UTF-8 text stays valid UTF-8.
+     * <P>
+     * Each block of <B>SOURCE_BUFFER_SIZE</B> bytes is indexed and encoded in the same pass, 
+     * a data byte may span blocks. <B>OFFSET</B> bytes from start are left unchanged.
+     * </P>
+     * 
+     * @param sourceFile_full_path location of source Document file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded Document file.
+     * @param key to secure encoded file with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException if document does not have enough eligible bytes, partial destination file is deleted.
+     * @throws UnsupportedDocumentFileException 
+     */
+    public void encodeTxt(String sourceFile_full_path,String dataFile_full_path, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException, UnsupportedDocumentFileException {
+
+        // data file, compressed if compression is set.
+        File payload_file = getPayloadFile(dataFile_full_path);
+        
+        try ( FileInputStream data_input_Stream = new FileInputStream(payload_file) ) {
+            encodeTxt(sourceFile_full_path, data_input_Stream, payload_file.length(), destinationFile_full_path, key);
+        }
+        finally {
+            deletePayloadFile(payload_file, dataFile_full_path);
+        }
+    }
+    
+    /**
+     * Encode text Document with <B>payload_length</B> bytes of <B>data_input_Stream</B>, already compressed if compression is set.
+     */
+    private void encodeTxt(String sourceFile_full_path, InputStream data_input_Stream, long payload_length, String destinationFile_full_path, int key) throws IOException, InsufficientMemoryException {
+
+        long remaining_bits;
+        
+        startProgress(new File(sourceFile_full_path).length());
+        
+        try (
+            FileInputStream  source_input_Stream = new FileInputStream(sourceFile_full_path);
+            FileOutputStream output_Stream       = new FileOutputStream(destinationFile_full_path);
+        ) {
+
+            // length of data.
+            long data_file_length = payload_length;
+            
+            // key and message length are encoded ahead of data.
+            byte[] header = new byte[KEY_SIZE_BYTE + LENGTH_SIZE_BYTE];
+            System.arraycopy(intToByte(key), 0, header, 0, KEY_SIZE_BYTE);
+            System.arraycopy(longToByte(getLengthField(data_file_length)), 0, header, KEY_SIZE_BYTE, LENGTH_SIZE_BYTE);
+            
+            InputStream payload = new BufferedInputStream(new SequenceInputStream(new ByteArrayInputStream(header), getPayloadStream(data_input_Stream)), getDataBufferSize());
+            
+            remaining_bits = (header.length + getPayloadSize(data_file_length)) * 8;
+            
+            
+            // ----------------------------adding data starts--------------------------//
+            
+            // source is read and written by pipeline threads while data is embedded here.
+            try ( Pipeline pipeline = new Pipeline(source_input_Stream, output_Stream, getSourceBufferSize()) ) {
+            
+                // index of eligible bytes of source.
+                int[] positions = new int[getSourceBufferSize()];
+            
+                // data byte being encoded and number of its bits left.
+                int data = 0, bits = 0;
+            
+                long prefix = getOffset();
+            
+                // number of payload bits, and payload bytes reported as embedded.
+                long payload_bits = remaining_bits, embedded = 0;
+            
+                int noOfSourceBytes;
+                
+                Pipeline.Chunk chunk;
+            
+                // while source has bytes.
+                while ((chunk = pipeline.take()) != null) {
+                    
+                    byte[] source = chunk.getBytes();
+                    noOfSourceBytes = chunk.getLength();
+                
+                    long stage_time = Metrics.now();
+                
+                    int start = (int) Math.min(prefix, noOfSourceBytes);
+                    prefix -= start;
+                
+                    if (remaining_bits > 0) {
+                    
+                        int count = index(source, start, noOfSourceBytes, positions);
+                    
+                        for (int i = 0; i < count && remaining_bits > 0; i++, remaining_bits--) {
+                        
+                            if (bits == 0) {
+                                data = payload.read();
+                            
+                                if (data < 0) {
+                                    throw new EOFException("data file ended before " + data_file_length + " bytes.");
+                                }
+                                bits = 8;
+                            }
+                        
+                            bits--;
+                        
+                            int position = positions[i];
+                            source[position] = (byte) ((source[position] & 0xFE) | ((data >>> bits) & 1));
+                        }
+                    }
+                
+                    long noOfDataBytes = (payload_bits - remaining_bits) / 8 - embedded;
+                    embedded += noOfDataBytes;
+                
+                    Metrics.record(Stage.EMBED, stage_time, noOfDataBytes);
+                
+                    pipeline.put(chunk);
+                
+                    updateProgress(noOfSourceBytes, noOfDataBytes);
+                }
+                
+                pipeline.finish();
+            }
+ 
+            // ----------------------------adding data ends--------------------------//
+
+        }
+        catch (CancelledException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+        
+        if (remaining_bits > 0) {
+            new File(destinationFile_full_path).delete();
+            throw new InsufficientMemoryException("not enough letters in source file!!");
+        }
+
+    }
+    
+    /**
+     * Returns number of data bytes that can be encoded in text Document <B>cover</B>
+     * with <B>config</B>, ie one bit per eligible byte minus key and message length, whatever depth of <B>config</B>.
+     * <P>
+     * Plain text has no header giving this, so unlike other codecs the cover is read once,
+     * in blocks of buffer capacity of <B>config</B>, counting eligible bytes.
+     * </P>
+     * 
+     * @param cover location of source Document file.
+     * @param config settings to encode with.
+     * 
+     * @return number of bytes that can be encoded.
+     * 
+     * @throws IOException
+     * @throws UnsupportedDocumentFileException
+     */
+    @Override
+    public long capacity(Path cover, Config config) throws IOException, UnsupportedDocumentFileException {
+        
+        String extension = getFileExtension(cover.toFile());
+        
+        if(!extension.equals("txt")){
+            throw new UnsupportedDocumentFileException("'" + extension +"' file format is not yet supported.");
+        }
+        
+        long eligible = 0;
+        
+        try ( FileInputStream source_input_Stream = new FileInputStream(cover.toFile()) ) {
+            
+            byte[] source = new byte[config.getBufferCapacity()];
+            
+            // skips OFFSET bytes.
+            skip(source_input_Stream, null, config.getOffset());
+            
+            int noOfSourceBytes;
+            
+            while ((noOfSourceBytes = source_input_Stream.read(source)) > 0) {
+                for (int i = 0; i < noOfSourceBytes; i++) {
+                    if (isEligible(source[i])) {
+                        eligible++;
+                    }
+                }
+            }
+        }
+        
+        return getDataCapacity(capacity(eligible, 1), config);
+    }
+    
+    /*
+        ----------------------------------------Encoding part ends here----------------------------------------
+    */
+   
+    
+    /*
+        ----------------------------------------Decoding part starts here----------------------------------------
+    */
+    
+    
+    /**
+     * Decode Document from <B>source_full_path</B> location using <B>key</B>
+     * and return encoded message from file.
+     * 
+     * @param source_full_path location of source Document file.
+     * @param key to access encoded Document file with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientBytesException 
+     * @throws InvalidSecurityException 
+     */
+    public void decode(String sourceFile_full_path, String destinationFile_full_path, int key) throws IOException, InsufficientBytesException, InvalidSecurityException, UnsupportedDocumentFileException{
+        
+        if(!new File(sourceFile_full_path).exists()){
+            throw new FileNotFoundException("(The system cannot find the source file specified)");
+        }
+        
+        try ( FileOutputStream output_Stream = new FileOutputStream(destinationFile_full_path) ) {
+            decode(sourceFile_full_path, output_Stream, key);
+        }
+        catch (CancelledException | ChecksumException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Decode Document from <B>sourceFile_full_path</B> location using <B>key</B>
+     * and write encoded message to <B>output_Stream</B>, which is not closed.
+     * 
+     * @param sourceFile_full_path location of source Document file.
+     * @param output_Stream stream to write decoded data to.
+     * @param key to access encoded Document file with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientBytesException 
+     * @throws InvalidSecurityException 
+     */
+    public void decode(String sourceFile_full_path, OutputStream output_Stream, int key) throws IOException, InsufficientBytesException, InvalidSecurityException, UnsupportedDocumentFileException{
+        
+        long time = Metrics.begin(this);
+        
+        try {
+        
+            if(!new File(sourceFile_full_path).exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+        
+            String extension = getFileExtension(new File(sourceFile_full_path));
+        
+            if(!extension.equals("txt")){
+                throw new UnsupportedDocumentFileException("'" + extension +"' file format is not yet supported.");
+            }
+            
+            decodeTxt(sourceFile_full_path, output_Stream, key);
+            
+            Metrics.end(this, Stage.DECODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+        }
+        
+    }
+    
+    /**
+     * Decode text Document encoded by {@link #encodeTxt(String, String, String, int)}.
+     * <P>Reading of source stops as soon as all data is decoded.</P>
+     * 
+     * @param sourceFile_full_path location of encoded Document file.
+     * @param destinationFile_full_path location to save decoded file.
+     * @param key to decode file with a 32 bit size integer.
+     * 
+     * @throws FileNotFoundException
+     * @throws IOException
+     * @throws InsufficientBytesException
+     * @throws InvalidSecurityException 
+     */
+    public void decodeTxt(String sourceFile_full_path, String destinationFile_full_path, int key) throws FileNotFoundException, IOException, InsufficientBytesException, InvalidSecurityException{
+        
+        try ( FileOutputStream output_Stream = new FileOutputStream(destinationFile_full_path) ) {
+            decodeTxt(sourceFile_full_path, output_Stream, key);
+        }
+        catch (CancelledException | ChecksumException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+    private void decodeTxt(String sourceFile_full_path, OutputStream output_Stream, int key) throws FileNotFoundException, IOException, InsufficientBytesException, InvalidSecurityException{
+        
+        startProgress(new File(sourceFile_full_path).length());
+        
+        try ( FileInputStream source_input_Stream = new FileInputStream(sourceFile_full_path) ) {
+            
+            // key and message length.
+            byte[] header = new byte[KEY_SIZE_BYTE + LENGTH_SIZE_BYTE];
+            int header_length = 0;
+            
+            // bytes to be decoded, length of header until message length is decoded.
+            long remaining = header.length;
+            
+            // stream to write data and its checksum to, set once message length is decoded.
+            ChecksumOutputStream data_output = null;
+            
+            
+            // ----------------------------decoding data starts--------------------------//
+            
+            // to store source byte stream.
+            byte[] source = new byte[getSourceBufferSize()];
+            
+            // index of eligible bytes of source.
+            int[] positions = new int[source.length];
+            
+            // to store decoded bytes.
+            byte[] extracted_data = new byte[getDataBufferSize() + 1];
+            
+            // data byte being decoded and number of its bits decoded.
+            int data = 0, bits = 0;
+            
+            long prefix = getOffset();
+            
+            int noOfSourceBytes;
+            
+            long stage_time = Metrics.now();
+            
+            while (remaining > 0 && (noOfSourceBytes = source_input_Stream.read(source)) > 0) {
+                
+                stage_time = Metrics.record(Stage.READ, stage_time, noOfSourceBytes);
+                
+                int start = (int) Math.min(prefix, noOfSourceBytes);
+                prefix -= start;
+                
+                int count = index(source, start, noOfSourceBytes, positions);
+                int extract_length = 0;
+                
+                for (int i = 0; i < count && remaining > 0; i++) {
+                    
+                    data = (data << 1) | (source[positions[i]] & 1);
+                    
+                    if (++bits < 8) {
+                        continue;
+                    }
+                    
+                    remaining--;
+                    
+                    if (header_length < header.length) {
+                        
+                        header[header_length++] = (byte) data;
+                        
+                        if (header_length == header.length) {
+                            
+                            // decoding key.
+                            if (byteToInt(header, 0) != key) {
+                                throw new InvalidSecurityException();
+                            }
+                            
+                            // decoding message length.
+                            long length_field = byteToLong(header, KEY_SIZE_BYTE);
+                            
+                            data_output = getDataStream(output_Stream, length_field);
+                            remaining = getDecodedPayloadSize(length_field);
+                        }
+                    }
+                    else {
+                        extracted_data[extract_length++] = (byte) data;
+                    }
+                    
+                    data = 0;
+                    bits = 0;
+                }
+                
+                stage_time = Metrics.record(Stage.EXTRACT, stage_time, extract_length);
+                
+                if (data_output != null) {
+                    data_output.write(extracted_data, 0, extract_length);
+                    stage_time = Metrics.record(Stage.WRITE, stage_time, extract_length);
+                }
+                
+                updateProgress(noOfSourceBytes, extract_length);
+            }
+            
+            if (remaining > 0) {
+                throw new InsufficientBytesException("not enough data in source file!!");
+            }
+            
+            data_output.verify();
+            
+            // ----------------------------decoding data ends--------------------------//
+        }
+        
+    }
+    
+    /**
+     * Checks whether text Document <B>cover</B> carries data for <B>security</B> (an Integer key).
+     * <P>
+     * Cover is read in 4 KB blocks only until key and message length are decoded from first eligible bytes.
+     * Counting eligible bytes of whole cover would need a full scan, so length is not checked against capacity.
+     * </P>
+     * 
+     * @param cover location of encoded Document file.
+     * @param security Integer key.
+     * 
+     * @return ProbeResult with length of data if present.
+     * 
+     * @throws IOException
+     * @throws UnsupportedDocumentFileException
+     * @throws UnsupportedSecurityTypeException if <B>security</B> is not an Integer.
+     */
+    @Override
+    public ProbeResult probe(Path cover, Object security) throws IOException, UnsupportedDocumentFileException, UnsupportedSecurityTypeException {
+        
+        int key = getKey(security);
+        
+        String extension = getFileExtension(cover.toFile());
+        
+        if(!extension.equals("txt")){
+            throw new UnsupportedDocumentFileException("'" + extension +"' file format is not yet supported.");
+        }
+        
+        byte[] header = new byte[KEY_SIZE_BYTE + LENGTH_SIZE_BYTE];
+        int header_length = 0;
+        
+        try ( FileInputStream source_input_Stream = new FileInputStream(cover.toFile()) ) {
+            
+            byte[] source = new byte[4 * KB];
+            
+            // skips OFFSET bytes.
+            skip(source_input_Stream, null, getOffset());
+            
+            int data = 0, bits = 0;
+            int noOfSourceBytes;
+            
+            while (header_length < header.length && (noOfSourceBytes = source_input_Stream.read(source)) > 0) {
+                
+                for (int i = 0; i < noOfSourceBytes && header_length < header.length; i++) {
+                    
+                    if (!isEligible(source[i])) {
+                        continue;
+                    }
+                    
+                    data = (data << 1) | (source[i] & 1);
+                    
+                    if (++bits == 8) {
+                        header[header_length++] = (byte) data;
+                        data = 0;
+                        bits = 0;
+                    }
+                }
+            }
+        }
+        
+        try {
+            if (header_length < header.length || byteToInt(header, 0) != key) {
+                return ProbeResult.ABSENT;
+            }
+            
+            return getProbeResult(byteToLong(header, KEY_SIZE_BYTE), Long.MAX_VALUE);
+        } 
+        catch (InsufficientBytesException ex) {
+            return ProbeResult.ABSENT;
+        }
+    }
+    
+    /*
+        ----------------------------------------Decoding part ends here----------------------------------------
+    */
+}
@@ -0,0 +1,194 @@
+package steganography.core;
+
+import steganography.core.compression.Compression;
+import static steganography.core.Steganography.MAX_DEPTH;
+import static steganography.core.Steganography.MB;
+import static steganography.core.Steganography.MIN_BUFFER_SIZE;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Settings of an encoding or decoding, which decide where data is written in a cover and how much fits.
+ * <P>
+ * Can be applied to a {@link Steganography} object with {@link Steganography#setConfig(Config)},
+ * or passed to {@link Steganography#capacity(java.nio.file.Path, Config)} to size covers without creating one per setting.
+ * </P>
+ */
+public class Config {
+
+    /**
+     * Position from where to write data file in source file.
+     */
+    private int OFFSET;
+
+    /**
+     * Number of bytes to read from source at a time.
+     */
+    private int BUFFER_CAPACITY = MB;
+
+    /**
+     * Number of data bits per cover unit.
+     */
+    private int DEPTH = 1;
+
+    /**
+     * Scatter data over cover instead of writing it from OFFSET onwards.
+     */
+    private boolean SCATTER;
+
+    /**
+     * Append CRC32C of data after data.
+     */
+    private boolean CHECKSUM;
+
+    /**
+     * Add Reed-Solomon parity to payload.
+     */
+    private boolean FEC;
+
+    /**
+     * Password to encrypt data with, null to embed data as it is.
+     */
+    private char[] PASSWORD;
+
+    /**
+     * Compression applied to data before it is embedded.
+     */
+    private Compression COMPRESSION = Compression.NONE;
+
+    public Config(){
+    }
+
+    public Config(int offset){
+        setOffset(offset);
+    }
+
+    /**
+     * Set value of OFFSET, see {@link Steganography#setOffset(int)}.
+     *
+     * @param offset integer value.
+     * @return this Config.
+     */
+    public final Config setOffset(int offset){
+        if(offset > 0){
+            this.OFFSET = offset;
+        }
+        return this;
+    }
+
+    public final int getOffset() {
+        return OFFSET;
+    }
+
+    /**
+     * Set capacity of source buffer, rounded down to a multiple of 8, see {@link Steganography#setBufferCapacity(int)}.
+     *
+     * @param capacity number of bytes to read at a time.
+     * @return this Config.
+     */
+    public final Config setBufferCapacity(int capacity){
+        BUFFER_CAPACITY = Math.max(capacity, MIN_BUFFER_SIZE) / 8 * 8;
+        return this;
+    }
+
+    public final int getBufferCapacity() {
+        return BUFFER_CAPACITY;
+    }
+
+    /**
+     * Set number of data bits per cover unit, see {@link Steganography#setDepth(int)}.
+     *
+     * @param depth number of bits per unit, clamped to 1 to {@link Steganography#MAX_DEPTH}.
+     * @return this Config.
+     */
+    public final Config setDepth(int depth){
+        DEPTH = Math.max(1, Math.min(depth, MAX_DEPTH));
+        return this;
+    }
+
+    public final int getDepth() {
+        return DEPTH;
+    }
+
+    /**
+     * Set whether data is scattered over cover, see {@link Steganography#setScatter(boolean)}.
+     *
+     * @param scatter true to scatter data.
+     * @return this Config.
+     */
+    public final Config setScatter(boolean scatter){
+        this.SCATTER = scatter;
+        return this;
+    }
+
+    public final boolean isScatter() {
+        return SCATTER;
+    }
+
+    /**
+     * Set whether CRC32C of data is encoded after data, see {@link Steganography#setChecksum(boolean)}.
+     *
+     * @param checksum true to append checksum.
+     * @return this Config.
+     */
+    public final Config setChecksum(boolean checksum){
+        this.CHECKSUM = checksum;
+        return this;
+    }
+
+    public final boolean isChecksum() {
+        return CHECKSUM;
+    }
+
+    /**
+     * Set whether Reed-Solomon parity is added to payload, see {@link Steganography#setFec(boolean)}.
+     *
+     * @param fec true to add parity.
+     * @return this Config.
+     */
+    public final Config setFec(boolean fec){
+        this.FEC = fec;
+        return this;
+    }
+
+    public final boolean isFec() {
+        return FEC;
+    }
+
+    /**
+     * Set password to encrypt data with, see {@link Steganography#setPassword(char[])}.
+     *
+     * @param password password, null to embed data as it is.
+     * @return this Config.
+     */
+    public final Config setPassword(char[] password){
+        this.PASSWORD = password;
+        return this;
+    }
+
+    public final char[] getPassword() {
+        return PASSWORD;
+    }
+
+    public final boolean isEncrypted() {
+        return PASSWORD != null;
+    }
+
+    /**
+     * Set compression applied to data before it is embedded, see {@link Steganography#setCompression(Compression)}.
+     *
+     * @param compression Compression, null for {@link Compression#NONE}.
+     * @return this Config.
+     */
+    public final Config setCompression(Compression compression){
+        this.COMPRESSION = compression == null ? Compression.NONE : compression;
+        return this;
+    }
+
+    public final Compression getCompression() {
+        return COMPRESSION;
+    }
+
+}
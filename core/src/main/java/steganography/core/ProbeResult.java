@@ -0,0 +1,52 @@
+package steganography.core;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Result of {@link Steganography#probe(java.nio.file.Path, Object)}, ie whether a cover carries data
+ * for a security and length of that data.
+ */
+public final class ProbeResult {
+
+    /**
+     * Result for covers which do not carry data for the security.
+     */
+    public static final ProbeResult ABSENT = new ProbeResult(false, -1);
+
+    private final boolean PRESENT;
+    private final long LENGTH;
+
+    private ProbeResult(boolean present, long length) {
+        this.PRESENT = present;
+        this.LENGTH = length;
+    }
+
+    /**
+     * Returns result for a cover carrying <B>length</B> bytes of data.
+     *
+     * @param length number of bytes of data.
+     * @return ProbeResult object.
+     */
+    public static ProbeResult present(long length) {
+        return new ProbeResult(true, length);
+    }
+
+    public boolean isPresent() {
+        return PRESENT;
+    }
+
+    /**
+     * Returns number of bytes of data, -1 if data is absent.
+     */
+    public long getLength() {
+        return LENGTH;
+    }
+
+    @Override
+    public String toString() {
+        return PRESENT ? "present, " + LENGTH + " bytes" : "absent";
+    }
+
+}
@@ -0,0 +1,28 @@
+package steganography.core;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Listener notified by {@link Steganography} and its media subclasses after each chunk of cover file
+ * is processed while encoding or decoding.
+ * <P>
+ * Called on the thread running encode or decode, so it should return quickly.
+ * When no listener is set the engine only adds up byte counters at each chunk, without reading the clock.
+ * </P>
+ */
+public interface ProgressListener {
+
+    /**
+     * Invoked after a chunk of cover file is processed.
+     * 
+     * @param bytes_read number of cover bytes read so far.
+     * @param bytes_embedded number of data bytes embedded (while encoding) or extracted (while decoding) so far.
+     * @param total_bytes number of cover bytes to be read, -1 if not known.
+     * @param elapsed_nanos nanoseconds since encoding or decoding started.
+     * @param mb_per_second current throughput of cover bytes since previous call, in MB per second.
+     */
+    void progress(long bytes_read, long bytes_embedded, long total_bytes, long elapsed_nanos, double mb_per_second);
+    
+}
@@ -0,0 +1,1985 @@
+package steganography.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import static steganography.core.decoder.SteganographyDecoder.extractBits;
+import static steganography.core.decoder.SteganographyDecoder.extractByte;
+import static steganography.core.decoder.SteganographyDecoder.extractDouble;
+import static steganography.core.decoder.SteganographyDecoder.extractFloat;
+import static steganography.core.decoder.SteganographyDecoder.extractInteger;
+import static steganography.core.decoder.SteganographyDecoder.extractLong;
+import static steganography.core.encoder.SteganographyEncoder.getUnits;
+import static steganography.core.encoder.SteganographyEncoder.insertBits;
+import static steganography.core.encoder.SteganographyEncoder.insertByte;
+import steganography.core.exceptions.CancelledException;
+import steganography.core.exceptions.ChecksumException;
+import steganography.core.exceptions.InsufficientMemoryException;
+import steganography.core.exceptions.InvalidSecurityException;
+import steganography.core.exceptions.UnsupportedFileException;
+import static steganography.core.encoder.SteganographyEncoder.insertDouble;
+import static steganography.core.encoder.SteganographyEncoder.insertFloat;
+import static steganography.core.encoder.SteganographyEncoder.insertInteger;
+import static steganography.core.encoder.SteganographyEncoder.insertLong;
+import steganography.core.exceptions.InsufficientBytesException;
+import steganography.core.exceptions.UnsupportedSecurityTypeException;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+import steganography.core.compression.Compression;
+import steganography.core.mapped.MappedCover;
+import steganography.core.mapped.MappedCovers;
+import steganography.core.compression.Compressor;
+import steganography.core.compression.InflatingOutputStream;
+import steganography.core.crypto.DecryptingOutputStream;
+import steganography.core.crypto.EncryptingInputStream;
+import steganography.core.crypto.PayloadCipher;
+import steganography.core.fec.Fec;
+import steganography.core.fec.FecInputStream;
+import steganography.core.fec.FecOutputStream;
+import steganography.core.util.BoundedOutputStream;
+import steganography.core.util.ChecksumInputStream;
+import steganography.core.util.ChecksumOutputStream;
+import steganography.core.util.Pipeline;
+import steganography.core.util.Scatter;
+import static steganography.core.util.Files.readFully;
+import static steganography.core.util.Files.skip;
+import static steganography.core.util.Util.getClassName;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+public class Steganography {
+
+    /**
+     * Specifies the size of KEY in byte.
+     */
+    public static final int KEY_SIZE_BYTE = 4; 
+    
+    /**
+     * Specifies the size of KEY in bits.
+     */
+    public static final int KEY_SIZE_BIT = 32;
+    
+    /**
+     * Specifies the size of Message Length in byte.
+     */
+    public static final int LENGTH_SIZE_BYTE = 8;
+    
+    /**
+     * Specifies the size of Message Length in bits.
+     */
+    public static final int LENGTH_SIZE_BIT = 64;
+    
+    /**
+     * Message length holds flags in its top 8 bits and length of data in lower 56 bits.
+     */
+    public static final int FLAGS_SHIFT = 56;
+    
+    public static final long LENGTH_MASK = (1L << FLAGS_SHIFT) - 1;
+    
+    /**
+     * Flag set if data is followed by its CRC32C.
+     */
+    public static final int FLAG_CHECKSUM = 0x01;
+    
+    /**
+     * Flag set if data is encrypted, see {@link PayloadCipher}.
+     */
+    public static final int FLAG_ENCRYPTED = 0x02;
+    
+    /**
+     * Bits of flags holding id of {@link Compression} applied to data.
+     */
+    public static final int FLAG_COMPRESSION_MASK = 0x0C;
+    
+    public static final int FLAG_COMPRESSION_SHIFT = 2;
+    
+    /**
+     * Bits of flags holding embedding depth minus 1, see {@link #setDepth(int)}.
+     */
+    public static final int FLAG_DEPTH_MASK = 0x30;
+    
+    public static final int FLAG_DEPTH_SHIFT = 4;
+    
+    /**
+     * Flag set if data is scattered over cover, see {@link Scatter}.
+     */
+    public static final int FLAG_SCATTER = 0x40;
+    
+    /**
+     * Flag set if payload carries Reed-Solomon parity, see {@link #setFec(boolean)}.
+     */
+    public static final int FLAG_FEC = 0x80;
+    
+    /**
+     * Highest number of data bits per cover unit.
+     */
+    public static final int MAX_DEPTH = 4;
+    
+    /**
+     * Highest number of bytes of compressed data held in memory by stream encoding, ie largest byte array.
+     */
+    public static final int MAX_COMPRESSED_SIZE = Integer.MAX_VALUE - 8;
+    
+    /**
+     * Specifies the size of CRC32C trailer in byte.
+     */
+    public static final int CHECKSUM_SIZE_BYTE = 4;
+    
+    /**
+     * Size of 1 KB in Bytes.
+     */
+    public static final int KB = 1024;
+    
+    /**
+     * Size of 1 MB int Bytes.
+     */
+    public static final int MB = 1048576;
+    
+    /**
+     * Size of 1 GB in Bytes.
+     */
+    public static final int GB = 1073741824;
+    
+    public static final int MIN_BUFFER_SIZE = 8;
+    
+    /**
+     * Number of bytes copied by file system at a time, between progress updates.
+     */
+    protected static final long TRANSFER_SIZE = 64L * MB;
+    
+    /**
+     * Number of bytes to read from source.
+     */
+    private int SOURCE_BUFFER_SIZE;
+    
+    /**
+     * Number of bytes to read from data.
+     */
+    private int DATA_BUFFER_SIZE;
+    
+    /**
+     * Position from where to write data file in source file.
+     */
+    private int OFFSET;
+    
+    /**
+     * Number of data bits per cover unit.
+     */
+    private int DEPTH = 1;
+    
+    /**
+     * Scatter data over cover instead of writing it from OFFSET onwards.
+     */
+    private boolean SCATTER;
+    
+    /**
+     * Add Reed-Solomon parity to payload.
+     */
+    private boolean FEC;
+    
+    /**
+     * Encode CRC32C of data after data.
+     */
+    private boolean CHECKSUM;
+    
+    /**
+     * Password to encrypt data with, null to embed data as it is.
+     */
+    private char[] PASSWORD;
+    
+    /**
+     * Compression applied to data before it is embedded.
+     */
+    private Compression COMPRESSION = Compression.NONE;
+    
+    /**
+     * Listener notified after each chunk is processed.
+     */
+    private ProgressListener PROGRESS_LISTENER;
+    
+    /**
+     * Set by {@link #cancel()}, checked at each chunk boundary.
+     */
+    private volatile boolean CANCELLED;
+    
+    /**
+     * Progress of running encoding or decoding, start and last report times are in nanoseconds.
+     */
+    private long PROGRESS_START, PROGRESS_LAST, PROGRESS_READ, PROGRESS_LAST_READ, PROGRESS_EMBEDDED, PROGRESS_TOTAL;
+    
+    public Steganography(){
+        // setting default value for SOURCE_BUFFER_SIZE.
+        SOURCE_BUFFER_SIZE = MB; // 1 MB
+        DATA_BUFFER_SIZE = (SOURCE_BUFFER_SIZE / 8); // 128 KB
+    }
+    
+    /**
+     * Set capacity of <B>SOURCE_BUFFER_SIZE</B> and accordingly calculate and set capacity of 
+     * <B>DATA_BUFFER_SIZE</B> as <code>(SOURCE_BUFFER_SIZE / 8) * depth</code>.
+     * <P>Capacity is rounded down to a multiple of 8, so every chunk of a streamed cover is used whole and
+     * data is laid out as by mapped covers and stream encoding, whatever capacity encoding and decoding use.</P>
+     * 
+     * @param capacity number of bytes to read at a time.
+     */
+    public final void setBufferCapacity(int capacity){
+        if(capacity < MIN_BUFFER_SIZE){
+            capacity = MIN_BUFFER_SIZE;
+        }
+        SOURCE_BUFFER_SIZE = capacity / 8 * 8;
+        DATA_BUFFER_SIZE = getDataBufferSize(DEPTH);
+    }
+    
+    
+    public final int getSourceBufferSize() {
+        return SOURCE_BUFFER_SIZE;
+    }
+
+    public final int getDataBufferSize() {
+        return DATA_BUFFER_SIZE;
+    }
+    
+    /**
+     * Returns number of data bytes held by a source buffer at <B>depth</B> bits per byte,
+     * as decoders use depth read from cover.
+     */
+    protected final int getDataBufferSize(int depth) {
+        return (SOURCE_BUFFER_SIZE / 8) * depth;
+    }
+    
+    /**
+     * Returns number of data bytes scattered at a time at <B>depth</B> bits per byte,
+     * ie data buffer size limited to a batch of {@link Scatter#MAX_BATCH} units.
+     */
+    protected final int getScatterBufferSize(int depth) {
+        return (Math.min(SOURCE_BUFFER_SIZE, Scatter.MAX_BATCH) / 8) * depth;
+    }
+    
+    /**
+     * Set number of data bits written in each cover unit (byte or sample), 1 to {@link #MAX_DEPTH}.
+     * <P>
+     * Depth 1 changes only LSB of a unit. Higher depths change as many low bits, so a cover holds
+     * <B>depth</B> times more data and less of it is read and written, at cost of more audible or
+     * visible noise; they suit noisy covers such as 24 bit audio or camera RAW files.
+     * Key and message length are always written 1 bit per unit, and depth is stored in message length,
+     * so decoding reads it from cover. Codecs which can only change LSB, ie Document, encode at depth 1.
+     * </P>
+     * 
+     * @param depth number of bits per unit, clamped to 1 to {@link #MAX_DEPTH}.
+     */
+    public final void setDepth(int depth){
+        DEPTH = Math.max(1, Math.min(depth, MAX_DEPTH));
+        DATA_BUFFER_SIZE = getDataBufferSize(DEPTH);
+    }
+    
+    /**
+     * Returns depth data is encoded at, ie depth set limited to {@link #getMaxDepth()}.
+     */
+    public final int getDepth() {
+        return Math.min(DEPTH, getMaxDepth());
+    }
+    
+    /**
+     * Returns highest depth supported by codec.
+     */
+    protected int getMaxDepth() {
+        return MAX_DEPTH;
+    }
+    
+    /**
+     * Set whether data is scattered over cover at keyed positions instead of being written one unit after other.
+     * <P>
+     * Writing data from OFFSET onwards changes a run of units at start of cover, which is easy to detect,
+     * and all damage to cover lands on data. Scattered data is spread evenly over all units after key and
+     * message length, which stay at OFFSET, at positions derived from security and password, see {@link Scatter}.
+     * Positions are secret only if password is set. Capacity does not change. Decoding reads this setting from cover.
+     * Codecs which stream cover, ie Audio and Document, write data in order.
+     * </P>
+     * 
+     * @param scatter true to scatter data.
+     */
+    public final void setScatter(boolean scatter){
+        this.SCATTER = scatter;
+    }
+    
+    /**
+     * Returns true if data is scattered, ie scatter is set and supported by codec.
+     */
+    public final boolean isScatter() {
+        return SCATTER && isScatterSupported();
+    }
+    
+    /**
+     * Returns true if codec can scatter data.
+     */
+    protected boolean isScatterSupported() {
+        return true;
+    }
+    
+    /**
+     * Set value of OFFSET.
+     * OFFSET means from which position to start writing data file in source file.
+     * eg if OFFSET = 50 writing of data file will start from 50th position/byte,
+     * ie 0 - 49 bytes will remain unchanged.
+     * 
+     * @param offset integer value.
+     */
+    public final void setOffset(int offset){
+        if(offset > 0){
+            this.OFFSET = offset;
+        }
+    }
+    
+    public final int getOffset() {
+        return OFFSET;
+    }
+    
+    /**
+     * Set whether CRC32C of data is encoded after data, so decoding detects a truncated or modified cover.
+     * <P>
+     * Checksum is computed while data is embedded and verified while it is extracted, it takes
+     * 4 bytes of capacity. Decoding reads this setting from cover, so it only matters for encoding.
+     * </P>
+     * 
+     * @param checksum true to append checksum.
+     */
+    public final void setChecksum(boolean checksum){
+        this.CHECKSUM = checksum;
+    }
+    
+    public final boolean isChecksum() {
+        return CHECKSUM;
+    }
+
+    /**
+     * Set whether Reed-Solomon parity is added to payload, so decoding corrects damaged cover bytes.
+     * <P>
+     * Payload (data, with checksum if enabled) is interleaved over RS(255, 223) codewords, see {@link Fec},
+     * which takes about 15% more capacity and corrects runs of up to 256 damaged bytes per 4080 byte block.
+     * Key and message length are not protected. Decoding reads this setting from cover, so it only matters for encoding.
+     * </P>
+     *
+     * @param fec true to add parity.
+     */
+    public final void setFec(boolean fec){
+        this.FEC = fec;
+    }
+
+    public final boolean isFec() {
+        return FEC;
+    }
+
+    /**
+     * Set password to encrypt data with before it is embedded, null to embed data as it is.
+     * <P>
+     * Security given to encode and decode is stored in cover where anyone can read it, password is not.
+     * Data is encrypted in chunks with AES-GCM and a key derived from password, see {@link PayloadCipher}.
+     * Encryption takes 39 bytes of capacity plus 16 bytes per 64 KB of data.
+     * Decoding an encrypted cover needs the same password.
+     * </P>
+     * 
+     * @param password password, null to embed data as it is.
+     */
+    public final void setPassword(char[] password){
+        this.PASSWORD = password;
+    }
+    
+    public final boolean isEncrypted() {
+        return PASSWORD != null;
+    }
+    
+    /**
+     * Set compression applied to data before it is embedded (and before it is encrypted).
+     * <P>
+     * Message length is encoded ahead of data, so data is compressed to a temporary file first,
+     * see {@link Compressor}, and message length is length of compressed data. Capacity is then
+     * counted in compressed bytes. Decoding reads compression from cover and inflates data as it is extracted.
+     * </P>
+     * 
+     * @param compression Compression, null for {@link Compression#NONE}.
+     */
+    public final void setCompression(Compression compression){
+        this.COMPRESSION = compression == null ? Compression.NONE : compression;
+    }
+    
+    public final Compression getCompression() {
+        return COMPRESSION;
+    }
+    
+    /**
+     * Apply OFFSET, buffer capacity, depth, scatter, checksum setting, password and compression of <B>config</B>.
+     * 
+     * @param config Config object.
+     */
+    public final void setConfig(Config config){
+        OFFSET = config.getOffset();
+        setDepth(config.getDepth());
+        setBufferCapacity(config.getBufferCapacity());
+        SCATTER = config.isScatter();
+        CHECKSUM = config.isChecksum();
+        FEC = config.isFec();
+        PASSWORD = config.getPassword();
+        COMPRESSION = config.getCompression();
+    }
+    
+    /**
+     * Returns current OFFSET, buffer capacity, depth, scatter, checksum setting, password and compression as a Config.
+     */
+    public final Config getConfig() {
+        return new Config(OFFSET).setBufferCapacity(SOURCE_BUFFER_SIZE).setDepth(DEPTH).setScatter(SCATTER).setChecksum(CHECKSUM).setFec(FEC).setPassword(PASSWORD).setCompression(COMPRESSION);
+    }
+    
+    /**
+     * Set listener to be notified after each chunk of cover file is processed, null to remove it.
+     * 
+     * @param listener ProgressListener object.
+     */
+    public final void setProgressListener(ProgressListener listener){
+        this.PROGRESS_LISTENER = listener;
+    }
+    
+    public final ProgressListener getProgressListener() {
+        return PROGRESS_LISTENER;
+    }
+    
+    /**
+     * Cancel running encoding or decoding.
+     * It stops at next chunk boundary with {@link CancelledException} and partial destination file is deleted.
+     * A cancellation not seen by a run is cleared when that run ends.
+     * <P>Can be called from any thread.</P>
+     */
+    public final void cancel(){
+        CANCELLED = true;
+    }
+    
+    public final boolean isCancelled() {
+        return CANCELLED;
+    }
+    
+    /**
+     * Starts measuring progress of an encoding or decoding.
+     * 
+     * @param total_bytes number of cover bytes to be read, -1 if not known.
+     */
+    protected final void startProgress(long total_bytes){
+        PROGRESS_READ = PROGRESS_LAST_READ = PROGRESS_EMBEDDED = 0;
+        PROGRESS_TOTAL = total_bytes;
+        PROGRESS_START = PROGRESS_LAST = System.nanoTime();
+    }
+    
+    /**
+     * Ends an encoding or decoding, clearing a cancellation which came too late to be seen by it.
+     * Called in finally block of every encode and decode, so a cancellation during compression
+     * or header parsing, before progress starts, is still seen by first chunk.
+     */
+    protected final void endProgress(){
+        CANCELLED = false;
+    }
+    
+    /**
+     * Called at each chunk boundary, notifies listener (if any) and stops if cancelled.
+     * 
+     * @param bytes_read number of cover bytes read in chunk.
+     * @param bytes_embedded number of data bytes embedded or extracted in chunk.
+     * 
+     * @throws CancelledException if {@link #cancel()} was called.
+     */
+    protected final void updateProgress(long bytes_read, long bytes_embedded) throws CancelledException{
+        
+        if(CANCELLED){
+            CANCELLED = false;
+            throw new CancelledException();
+        }
+        
+        PROGRESS_READ += bytes_read;
+        PROGRESS_EMBEDDED += bytes_embedded;
+        
+        ProgressListener listener = PROGRESS_LISTENER;
+        
+        if(listener != null){
+            long now = System.nanoTime();
+            long interval = now - PROGRESS_LAST;
+            double mb_per_second = interval > 0 ? ((double) (PROGRESS_READ - PROGRESS_LAST_READ) / MB) / (interval / 1e9) : 0;
+            
+            PROGRESS_LAST = now;
+            PROGRESS_LAST_READ = PROGRESS_READ;
+            
+            listener.progress(PROGRESS_READ, PROGRESS_EMBEDDED, PROGRESS_TOTAL, now - PROGRESS_START, mb_per_second);
+        }
+    }
+    
+    /**
+     * Returns number of data bytes that can be encoded in <B>cover</B> with <B>config</B>,
+     * reading only file metadata and never the cover data itself.
+     * <P>Base class writes one bit per byte after OFFSET, key and message length. Media subclasses
+     * override it using sizes from their file headers.</P>
+     * 
+     * @param cover location of cover file.
+     * @param config settings to encode with.
+     * 
+     * @return number of bytes that can be encoded, 0 if cover is too small.
+     * 
+     * @throws IOException
+     * @throws UnsupportedFileException if cover is not supported by codec.
+     */
+    public long capacity(Path cover, Config config) throws IOException, UnsupportedFileException{
+        
+        File cover_file = cover.toFile();
+        
+        if(!cover_file.exists()){
+            throw new FileNotFoundException("(The system cannot find the source file specified)");
+        }
+        
+        return capacity(cover_file.length() - config.getOffset(), config);
+    }
+    
+    /**
+     * Returns number of data bytes that can be encoded in <B>cover</B> with current settings.
+     * 
+     * @param cover location of cover file.
+     * 
+     * @return number of bytes that can be encoded, 0 if cover is too small.
+     * 
+     * @throws IOException
+     * @throws UnsupportedFileException if cover is not supported by codec.
+     */
+    public final long capacity(Path cover) throws IOException, UnsupportedFileException{
+        return capacity(cover, getConfig());
+    }
+    
+    /**
+     * Returns number of data bytes that fit in <B>units</B> cover units (bytes or samples)
+     * after key and message length of 1 bit each, at <B>depth</B> bits per unit.
+     */
+    protected static long capacity(long units, int depth){
+        
+        units -= KEY_SIZE_BIT + LENGTH_SIZE_BIT;
+        
+        // not multiplying units first, so it cannot overflow.
+        return Math.max(0, (units / 8) * depth + ((units % 8) * depth) / 8);
+    }
+    
+    /**
+     * Returns number of data bytes that fit in <B>units</B> cover units after key and message length,
+     * with depth, encryption and checksum of <B>config</B>.
+     */
+    protected static long capacity(long units, Config config){
+        return getDataCapacity(capacity(units, config.getDepth()), config);
+    }
+    
+    /**
+     * Returns number of data bytes that fit in <B>payload_capacity</B> bytes following message length,
+     * with error correction, encryption and checksum of <B>config</B>. With compression, it is number of compressed bytes.
+     */
+    protected static long getDataCapacity(long payload_capacity, Config config){
+        
+        if (config.isFec()) {
+            payload_capacity = Fec.getDataSize(payload_capacity);
+        }
+        
+        long capacity = payload_capacity - (config.isChecksum() ? CHECKSUM_SIZE_BYTE : 0);
+        
+        if (config.isEncrypted()) {
+            capacity = PayloadCipher.getDataSize(capacity);
+        }
+        
+        if (config.getCompression() != Compression.NONE) {
+            capacity -= Compression.LENGTH_SIZE_BYTE;
+        }
+        
+        return Math.max(0, capacity);
+    }
+    
+    /*
+        =========================================================================================================
+        |                                       Encoding part starts here                                       |
+        =========================================================================================================
+    */
+    
+   
+    /**
+     * Encode file with a <B>security</B>, from <B>sourceFile_full_path</B> location
+     * with file from <B>dataFile_full_path</B> starting from <B>OFFSET</B> position and save this encoded file to <B>destinationFile_full_path</B> location.
+     * 
+     * @param sourceFile_full_path location of cover file.
+     * @param dataFile_full_path location of data file that is to be encoded.
+     * @param destinationFile_full_path location to save encoded file.
+     * @param security to secure encoded cover file with password(text password) or key(integer or floating value).
+     * 
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws UnsupportedSecurityTypeException
+     * @throws InsufficientBytesException
+     * @throws InsufficientMemoryException
+     */
+    public void encode(String sourceFile_full_path, String dataFile_full_path, String destinationFile_full_path, Object security) throws IOException, UnsupportedFileException, UnsupportedSecurityTypeException, InsufficientBytesException, InsufficientMemoryException{
+        
+        File data_file = new File(dataFile_full_path);
+        
+        if(!data_file.exists()){
+            throw new FileNotFoundException("(The system cannot find the data file specified)");
+        }
+        
+        try ( FileInputStream data = new FileInputStream(data_file) ) {
+            encode(sourceFile_full_path, data, data_file.length(), destinationFile_full_path, security);
+        }
+    }
+    
+    /**
+     * Encode <B>data_length</B> bytes of <B>data</B> in file from <B>sourceFile_full_path</B> location with a <B>security</B>,
+     * starting from <B>OFFSET</B> position, and save this encoded file to <B>destinationFile_full_path</B> location.
+     * <P>If compression is set, <B>data</B> is compressed to a temporary file before encoding starts.</P>
+     * 
+     * @param sourceFile_full_path location of cover file.
+     * @param data stream of data that is to be encoded, not closed.
+     * @param data_length number of bytes of <B>data</B> to be encoded.
+     * @param destinationFile_full_path location to save encoded file.
+     * @param security to secure encoded cover file with password(text password) or key(integer or floating value).
+     * 
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws UnsupportedSecurityTypeException
+     * @throws InsufficientBytesException
+     * @throws InsufficientMemoryException
+     */
+    public void encode(String sourceFile_full_path, InputStream data, long data_length, String destinationFile_full_path, Object security) throws IOException, UnsupportedFileException, UnsupportedSecurityTypeException, InsufficientBytesException, InsufficientMemoryException{
+        
+        long time = Metrics.begin(this);
+        
+        File payload_file = null;
+        
+        try {
+        
+            File src_file = new File(sourceFile_full_path);
+        
+            if(!src_file.exists()){
+                throw new FileNotFoundException("(The system cannot find the source file specified)");
+            }
+            
+            if (COMPRESSION != Compression.NONE) {
+                // message length is encoded ahead of data, so data is compressed first.
+                payload_file = getPayloadFile(data, data_length);
+                data = new FileInputStream(payload_file);
+                data_length = payload_file.length();
+            }
+        
+            // length of data.
+            long data_file_length = data_length;
+
+            // checking if space available for data file + key(32 bits) + length(64 bits) from OFFSET position.
+            if (src_file.length() < getPayloadUnits(data_file_length) + KEY_SIZE_BIT + LENGTH_SIZE_BIT + OFFSET) {
+                throw new InsufficientMemoryException("not enough space in source file!!");
+            }
+        
+        
+            // scattered data is counted in payload units, see encodeScattered.
+            startProgress(isScatter() ? getPayloadUnits(data_file_length) : src_file.length());
+        
+            InputStream data_input_Stream = getPayloadStream(data);
+            
+            try (
+                FileInputStream  source_input_Stream = new FileInputStream(sourceFile_full_path);
+                FileOutputStream output_Stream       = new FileOutputStream(destinationFile_full_path);
+            ) {
+           
+                // skips OFFSET amount of bytes from modifying.
+                skip(source_input_Stream, output_Stream, OFFSET);
+            
+                // setting security on output file.
+                setSecurity(source_input_Stream, output_Stream, security);
+            
+                // adding message length.
+                encodeMessageLength(source_input_Stream, output_Stream, data_file_length);
+            
+            
+                // ----------------------------adding data starts--------------------------//
+                if (isScatter()) {
+                    
+                    // rest of source is copied as it is, then data is scattered over it in output file.
+                    long base = source_input_Stream.getChannel().position();
+                    
+                    skip(source_input_Stream, output_Stream, src_file.length() - base);
+                    
+                    try ( FileChannel channel = FileChannel.open(Paths.get(destinationFile_full_path), StandardOpenOption.READ, StandardOpenOption.WRITE) ) {
+                        encodeScattered(channel, base, src_file.length() - base, data_input_Stream, data_file_length, security);
+                    }
+                }
+                else if (MappedCovers.isAvailable()) {
+                    
+                    // rest of source is copied by file system, then data is embedded in place in mapped output file.
+                    long base = source_input_Stream.getChannel().position();
+                    
+                    transfer(source_input_Stream, output_Stream, src_file.length() - base);
+                    
+                    encodeMapped(Paths.get(destinationFile_full_path), base, data_input_Stream, data_file_length);
+                }
+                else {
+                    
+                    // source is read and written by pipeline threads while data is embedded here.
+                    try ( Pipeline pipeline = new Pipeline(source_input_Stream, output_Stream, SOURCE_BUFFER_SIZE) ) {
+                    
+                        // to store data byte stream.
+                        byte[] data_buffer = new byte[DATA_BUFFER_SIZE];
+            
+                        int noOfSourceBytes, noOfDataBytes, depth = getDepth();
+                    
+                        Pipeline.Chunk chunk;
+            
+                        // while source has bytes.
+                        while ((chunk = pipeline.take()) != null) {
+                    
+                            byte[] source = chunk.getBytes();
+                            noOfSourceBytes = chunk.getLength();
+                        
+                            long stage_time = Metrics.now();
+               
+                            // if data bytes exists, a whole buffer of them unless data ends so chunks hold no gaps.
+                            if((noOfDataBytes = readFully(data_input_Stream, data_buffer, 0, data_buffer.length)) > 0){
+                                stage_time = Metrics.record(Stage.READ, stage_time, noOfDataBytes);
+                        
+                                insertBits(source, 0, source.length, depth, data_buffer, 0, noOfDataBytes);
+                                Metrics.record(Stage.EMBED, stage_time, noOfDataBytes);
+                            }
+                
+                            pipeline.put(chunk);
+                
+                            updateProgress(noOfSourceBytes, Math.max(noOfDataBytes, 0));
+                        }
+                    
+                        pipeline.finish();
+                    }
+                }
+ 
+                // ----------------------------adding data ends--------------------------//
+            } 
+            catch (CancelledException ex) {
+                // removing partial destination file.
+                new File(destinationFile_full_path).delete();
+                throw ex;
+            }
+            
+            Metrics.end(this, Stage.ENCODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+            if (payload_file != null) {
+                data.close();
+                payload_file.delete();
+            }
+        }
+        
+    }
+    
+    /**
+     * Encodes <B>data_length</B> bytes of <B>data</B> in a raw cover read from <B>source</B> with <B>key</B>, from OFFSET position,
+     * writing encoded cover to <B>output</B> as it is read, eg for covers streamed over a network.
+     * <P>
+     * Cover is read once and nothing is written to disk: with compression, data is compressed in memory before
+     * embedding starts, since message length is encoded ahead of data. Compressed data is held only up to
+     * number of cover bytes after OFFSET and header, or {@link #MAX_COMPRESSED_SIZE} bytes if <B>source_length</B>
+     * is not known. Data can not be scattered over a stream.
+     * If <B>source_length</B> is not known and cover ends before all data is embedded, part of cover has
+     * already been written to <B>output</B> when exception is thrown.
+     * </P>
+     * 
+     * @param source stream of cover bytes.
+     * @param source_length number of bytes of <B>source</B>, -1 if not known.
+     * @param data stream of data that is to be encoded.
+     * @param data_length number of bytes of <B>data</B> to be encoded.
+     * @param output stream to write encoded cover, not closed.
+     * @param key to secure encoded cover with a 32 bit size integer.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException if cover is too small for data, or compressed data is larger than it can hold.
+     * @throws UnsupportedFileException if scattering is set.
+     */
+    public void encode(InputStream source, long source_length, InputStream data, long data_length, OutputStream output, int key) throws IOException, InsufficientMemoryException, UnsupportedFileException{
+        
+        long time = Metrics.begin(this);
+        
+        try {
+            
+            if (isScatter()) {
+                throw new UnsupportedFileException("data can only be scattered over a cover file.");
+            }
+            
+            if (COMPRESSION != Compression.NONE) {
+                // compressed data never fits in fewer cover bytes than its own length.
+                long limit = source_length >= 0 ? Math.max(0, source_length - OFFSET - KEY_SIZE_BIT - LENGTH_SIZE_BIT) : MAX_COMPRESSED_SIZE;
+                BoundedOutputStream compressed = new BoundedOutputStream(Math.min(limit, MAX_COMPRESSED_SIZE));
+                
+                try {
+                    Compressor.compress(data, data_length, compressed, COMPRESSION);
+                }
+                catch (IOException ex) {
+                    if (compressed.isFull()) {
+                        throw new InsufficientMemoryException("not enough space in source!!");
+                    }
+                    throw ex;
+                }
+                
+                data = new ByteArrayInputStream(compressed.toByteArray());
+                data_length = compressed.size();
+            }
+            
+            int depth = getDepth();
+            long remaining = getPayloadSize(data_length);
+            
+            if (source_length >= 0 && source_length < getPayloadUnits(data_length) + KEY_SIZE_BIT + LENGTH_SIZE_BIT + OFFSET) {
+                throw new InsufficientMemoryException("not enough space in source!!");
+            }
+            
+            // bytes holding data, if length of cover is not known.
+            startProgress(source_length >= 0 ? source_length : OFFSET + KEY_SIZE_BIT + LENGTH_SIZE_BIT + getPayloadUnits(data_length));
+            
+            InputStream payload = getPayloadStream(data);
+            
+            // skips OFFSET amount of bytes from modifying.
+            skip(source, output, OFFSET);
+            
+            // key and message length, 1 bit per byte.
+            byte[] header = new byte[KEY_SIZE_BIT + LENGTH_SIZE_BIT];
+            
+            if (readFully(source, header, 0, header.length) < header.length) {
+                throw new InsufficientMemoryException("not enough space in source!!");
+            }
+            
+            insertInteger(header, 0, key);
+            insertLong(header, KEY_SIZE_BIT, getLengthField(data_length));
+            output.write(header);
+            
+            byte[] source_buffer = new byte[SOURCE_BUFFER_SIZE];
+            byte[] data_buffer = new byte[getDataBufferSize(depth)];
+            
+            long stage_time = Metrics.now();
+            
+            while (remaining > 0) {
+                
+                int embed_length = (int) Math.min(remaining, data_buffer.length);
+                int units = (int) getUnits(embed_length, depth);
+                
+                if (readFully(source, source_buffer, 0, units) < units) {
+                    throw new InsufficientMemoryException("not enough space in source!!");
+                }
+                stage_time = Metrics.record(Stage.READ, stage_time, units);
+                
+                if (readFully(payload, data_buffer, 0, embed_length) < embed_length) {
+                    throw new EOFException("data ended before " + data_length + " bytes.");
+                }
+                
+                insertBits(source_buffer, 0, units, depth, data_buffer, 0, embed_length);
+                stage_time = Metrics.record(Stage.EMBED, stage_time, embed_length);
+                
+                output.write(source_buffer, 0, units);
+                stage_time = Metrics.record(Stage.WRITE, stage_time, units);
+                remaining -= embed_length;
+                
+                updateProgress(units, embed_length);
+            }
+            
+            // rest of cover is copied as it is.
+            int n;
+            
+            while ((n = source.read(source_buffer)) > 0) {
+                output.write(source_buffer, 0, n);
+                updateProgress(n, 0);
+            }
+            
+            Metrics.end(this, Stage.ENCODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+        }
+    }
+    
+    /**
+     * Returns positions of <B>payload_units</B> units among <B>cover_units</B> units keyed by <B>security</B> and password.
+     */
+    protected final Scatter getScatter(long payload_units, long cover_units, Object security){
+        return new Scatter(payload_units, cover_units, security, PASSWORD);
+    }
+    
+    /**
+     * Embeds <B>data_length</B> bytes of data (as payload) from <B>data</B> in <B>cover_units</B> bytes of
+     * <B>channel</B> from position <B>base</B>, at positions keyed by <B>security</B> and password, see {@link Scatter}.
+     * Bytes of channel not holding data are left as they are. Progress is counted in payload units, so caller
+     * starts it with {@link #getPayloadUnits(long)} of <B>data_length</B> before encoding header.
+     * 
+     * @param channel channel of output file holding a copy of cover, opened for reading and writing.
+     * @param base position of first byte after message length.
+     * @param cover_units number of bytes data can be scattered over.
+     * @param data payload stream of data.
+     * @param data_length number of bytes of data.
+     * @param security security cover is encoded with.
+     * 
+     * @throws IOException
+     * @throws InsufficientMemoryException if payload does not fit in <B>cover_units</B> bytes.
+     */
+    protected final void encodeScattered(FileChannel channel, long base, long cover_units, InputStream data, long data_length, Object security) throws IOException, InsufficientMemoryException{
+        
+        int depth = getDepth();
+        long payload_units = getPayloadUnits(data_length);
+        
+        if (cover_units < payload_units) {
+            throw new InsufficientMemoryException("not enough space in source file!!");
+        }
+        
+        Scatter scatter = getScatter(payload_units, cover_units, security);
+        
+        byte[] data_buffer = new byte[getScatterBufferSize(depth)];
+        byte[] units = new byte[data_buffer.length / depth * 8];
+        
+        int noOfDataBytes;
+        long stage_time = Metrics.now();
+        
+        while ((noOfDataBytes = readFully(data, data_buffer, 0, data_buffer.length)) > 0) {
+            stage_time = Metrics.record(Stage.READ, stage_time, noOfDataBytes);
+            
+            int count = scatter.next((int) getUnits(noOfDataBytes, depth));
+            
+            scatter.read(channel, base, units);
+            stage_time = Metrics.record(Stage.READ, stage_time, count);
+            
+            insertBits(units, 0, count, depth, data_buffer, 0, noOfDataBytes);
+            stage_time = Metrics.record(Stage.EMBED, stage_time, noOfDataBytes);
+            
+            scatter.write(channel, base, units);
+            stage_time = Metrics.record(Stage.WRITE, stage_time, count);
+            
+            updateProgress(count, noOfDataBytes);
+        }
+    }
+    
+    /**
+     * Copies <B>amount</B> bytes from <B>source</B> to <B>output</B> through their channels, so operating system
+     * copies them without reading them in buffers, counting them as read for progress.
+     * 
+     * @throws IOException
+     */
+    protected final void transfer(FileInputStream source, FileOutputStream output, long amount) throws IOException{
+        
+        FileChannel input = source.getChannel();
+        FileChannel channel = output.getChannel();
+        
+        long stage_time = Metrics.now();
+        
+        while (amount > 0) {
+            
+            long count = input.transferTo(input.position(), Math.min(amount, TRANSFER_SIZE), channel);
+            
+            if (count <= 0) {
+                throw new EOFException("source file ended before " + amount + " more bytes.");
+            }
+            
+            input.position(input.position() + count);
+            amount -= count;
+            
+            stage_time = Metrics.record(Stage.WRITE, stage_time, count);
+            
+            updateProgress(count, 0);
+        }
+    }
+    
+    /**
+     * Embeds <B>data_length</B> bytes of data (as payload) from <B>data</B> in file <B>destination</B> from position
+     * <B>base</B>, through a {@link MappedCover} of payload units so no cover bytes are copied.
+     * 
+     * @param destination output file holding a copy of cover.
+     * @param base position of first byte after message length.
+     * @param data payload stream of data.
+     * @param data_length number of bytes of data.
+     * 
+     * @throws IOException
+     */
+    protected final void encodeMapped(Path destination, long base, InputStream data, long data_length) throws IOException{
+        
+        int depth = getDepth();
+        long payload_units = getPayloadUnits(data_length);
+        
+        if (payload_units == 0) {
+            return;
+        }
+        
+        try ( MappedCover cover = MappedCovers.open(destination, base, payload_units, true) ) {
+            
+            byte[] data_buffer = new byte[getDataBufferSize(depth)];
+            
+            long position = 0;
+            int noOfDataBytes;
+            long stage_time = Metrics.now();
+            
+            while ((noOfDataBytes = readFully(data, data_buffer, 0, data_buffer.length)) > 0) {
+                stage_time = Metrics.record(Stage.READ, stage_time, noOfDataBytes);
+                
+                cover.insert(position, depth, data_buffer, 0, noOfDataBytes);
+                stage_time = Metrics.record(Stage.EMBED, stage_time, noOfDataBytes);
+                
+                position += getUnits(noOfDataBytes, depth);
+                
+                updateProgress(0, noOfDataBytes);
+            }
+        }
+    }
+    
+    /**
+     * Secures cover file with password(text password) or key(integer or floating value).
+     * 
+     * @param source FileInputStream object of cover file.
+     * @param output FileOutputStream object for resultant file.
+     * @param security Object of password or key. 
+     * 
+     * @throws IOException
+     * @throws InsufficientBytesException
+     * @throws InsufficientMemoryException 
+     * @throws UnsupportedSecurityTypeException
+     */
+    protected void setSecurity(FileInputStream source, FileOutputStream output, Object security) throws IOException, InsufficientBytesException, InsufficientMemoryException, UnsupportedSecurityTypeException{
+        
+        String class_name = getClassName(security);
+        
+        switch (class_name) {
+            
+            case "String": {
+                String password = security.toString();
+                encodeString(source, output, password);
+                break;
+            }
+            
+            case "Integer": {
+                int key = Integer.parseInt(security.toString());
+                encodeInteger(source, output, key);
+                break;
+            }
+            
+            case "Float": {
+                float key = Float.parseFloat(security.toString());
+                encodeFloat(source, output, key);
+                break;
+            }
+            
+            case "Long": {
+                long key = Long.parseLong(security.toString());
+                encodeLong(source, output, key);
+                break;
+            }
+
+            case "Double": {
+                double key = Double.parseDouble(security.toString());
+                encodeDouble(source, output, key);
+                break;
+            }
+           
+            default: throw new UnsupportedSecurityTypeException("Security not defined for " + class_name);
+            
+        }
+    }
+    
+    
+    protected void encodeString(FileInputStream source, FileOutputStream output, String string) throws InsufficientMemoryException, IOException{
+        
+        int string_length = string.length();
+        encodeInteger(source, output, string_length);
+        
+        byte[] buffer = new byte[string_length * 8];
+        
+        // reading string_length number of bytes.
+        source.read(buffer);
+        
+        byte[] string_bytes = string.getBytes();
+        
+        insertByte(buffer, 0, buffer.length, string_bytes, 0, string_bytes.length);
+        
+        // writing encode string_length number of bytes.
+        output.write(buffer);
+    }
+    
+    protected void encodeInteger(FileInputStream source, FileOutputStream output, int value) throws InsufficientMemoryException, IOException{
+        
+        byte[] buffer = new byte[Integer.SIZE];
+        
+        // reading 32 bytes.
+        source.read(buffer);
+
+        // inserting 32 bit integer value in LSB of 32 bytes.
+        insertInteger(buffer, 0, value);
+
+        // writing these encoded 32 bytes to output file.
+        output.write(buffer);
+    }
+    
+    protected void encodeFloat(FileInputStream source, FileOutputStream output, float value) throws InsufficientMemoryException, IOException{
+        
+        byte[] buffer = new byte[Float.SIZE];
+        
+        // reading 32 bytes.
+        source.read(buffer);
+
+        // inserting 32 bit float value in LSB of 32 bytes.
+        insertFloat(buffer, 0, value);
+
+        // writing these encoded 32 bytes to output file.
+        output.write(buffer);
+    }
+    
+    protected void encodeLong(FileInputStream source, FileOutputStream output, long value) throws InsufficientMemoryException, IOException{
+        
+        byte[] buffer = new byte[Long.SIZE];
+        
+        // reading 64 bytes.
+        source.read(buffer);
+
+        // inserting 64 bit lobg value in LSB of 64 bytes.
+        insertLong(buffer, 0, value);
+
+        // writing these encoded 64 bytes to output file.
+        output.write(buffer);
+    }
+    
+    protected void encodeDouble(FileInputStream source, FileOutputStream output, double value) throws InsufficientMemoryException, IOException{
+       
+        byte[] buffer = new byte[Double.SIZE];
+        
+        // reading 64 bytes.
+        source.read(buffer);
+
+        // inserting 64 bit double value in LSB of 64 bytes.
+        insertDouble(buffer, 0, value);
+
+        // writing these encoded 64 bytes to output file.
+        output.write(buffer);
+    }
+    
+    /**
+     * Encodes <B>length</B> of data together with flags of current settings, see {@link #getLengthField(long)}.
+     */
+    protected void encodeMessageLength(FileInputStream source, FileOutputStream output, long length) throws InsufficientMemoryException, IOException {
+        encodeLong(source, output, getLengthField(length));
+    }
+    
+    /**
+     * Returns 64 bit message length to be encoded for <B>length</B> bytes of data,
+     * ie <B>length</B> with flags of current settings in its top 8 bits.
+     */
+    protected final long getLengthField(long length){
+        
+        long flags = (CHECKSUM ? FLAG_CHECKSUM : 0) | (PASSWORD != null ? FLAG_ENCRYPTED : 0) | (COMPRESSION.getId() << FLAG_COMPRESSION_SHIFT) | ((getDepth() - 1) << FLAG_DEPTH_SHIFT) | (isScatter() ? FLAG_SCATTER : 0) | (FEC ? FLAG_FEC : 0);
+        
+        return length | (flags << FLAGS_SHIFT);
+    }
+    
+    /**
+     * Returns number of bytes encoded after data with current settings, ie size of checksum if enabled.
+     */
+    protected final int getTrailerSize(){
+        return CHECKSUM ? CHECKSUM_SIZE_BYTE : 0;
+    }
+    
+    /**
+     * Returns number of bytes encoded after message length for <B>data_length</B> bytes of data with current settings,
+     * ie data (encrypted if password is set) and checksum if enabled, with parity if error correction is enabled.
+     */
+    protected final long getPayloadSize(long data_length){
+        
+        long size = (PASSWORD != null ? PayloadCipher.getEncryptedSize(data_length) : data_length) + getTrailerSize();
+        
+        return FEC ? Fec.getEncodedSize(size) : size;
+    }
+    
+    /**
+     * Returns number of cover units taken after message length by <B>data_length</B> bytes of data with current settings.
+     */
+    protected final long getPayloadUnits(long data_length){
+        return getUnits(getPayloadSize(data_length), getDepth());
+    }
+    
+    /**
+     * Returns file to be embedded for data file <B>dataFile_full_path</B>, ie data file itself or,
+     * if compression is set, a temporary file holding it compressed.
+     * Temporary file is removed by {@link #deletePayloadFile(File, String)}.
+     * 
+     * @throws IOException
+     */
+    protected final File getPayloadFile(String dataFile_full_path) throws IOException{
+        
+        File data_file = new File(dataFile_full_path);
+        
+        if (COMPRESSION == Compression.NONE || !data_file.exists()) {
+            return data_file;
+        }
+        
+        try ( FileInputStream data = new FileInputStream(data_file) ) {
+            return getPayloadFile(data, data_file.length());
+        }
+    }
+    
+    /**
+     * Returns temporary file holding <B>data_length</B> bytes of <B>data</B> compressed with compression that is set.
+     * 
+     * @throws IOException
+     */
+    protected final File getPayloadFile(InputStream data, long data_length) throws IOException{
+        
+        File spool = File.createTempFile("steganography-", ".spool");
+        
+        try {
+            Compressor.compress(data, data_length, spool, COMPRESSION);
+        } 
+        catch (IOException | RuntimeException ex) {
+            spool.delete();
+            throw ex;
+        }
+        
+        return spool;
+    }
+    
+    /**
+     * Deletes <B>payload_file</B> returned by {@link #getPayloadFile(String)} if it is a temporary file.
+     */
+    protected static void deletePayloadFile(File payload_file, String dataFile_full_path){
+        if (!payload_file.equals(new File(dataFile_full_path))) {
+            payload_file.delete();
+        }
+    }
+    
+    /**
+     * Returns stream of bytes to be encoded after message length, ie <B>data</B> (encrypted if password is set)
+     * followed by checksum if enabled, with parity added if error correction is enabled. Its length is {@link #getPayloadSize(long)}.
+     * 
+     * @param data stream of data that is to be encoded.
+     * 
+     * @throws IOException if key can not be derived from password.
+     */
+    protected final InputStream getPayloadStream(InputStream data) throws IOException{
+        
+        if (PASSWORD != null) {
+            data = new EncryptingInputStream(data, PASSWORD);
+        }
+        
+        if (CHECKSUM) {
+            data = new ChecksumInputStream(data);
+        }
+        
+        return FEC ? new FecInputStream(data) : data;
+    }
+
+    /**
+     * Adds all bytes of <B>message</B> byte array in <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>position</B> position.
+     * 
+     * @param source byte array in LSB of whose key is to be inserted.
+     * @param position from where insertion is supposed to start.
+     * @param message byte array that is to be inserted.
+     * 
+     * @throws InsufficientMemoryException 
+     */
+    public void addMessage(byte[] source, int position, byte[] message) throws InsufficientMemoryException {
+        insertByte(source, position, source.length, message, 0, message.length);
+    }
+   
+    /*
+        ---------------------------------------------------------------------------------------------------------
+        |                                       Encoding part ends here                                         |
+        ---------------------------------------------------------------------------------------------------------
+    */
+    
+    
+    
+    /*
+        =========================================================================================================
+        |                                       Decoding part starts here                                       |
+        =========================================================================================================
+    */
+    
+    /**
+     * Decode a file with a <B>security</B>, from
+     * <B>sourceFile_full_path</B> location starting from provided OFFSET
+     * position and save this decoded file to <B>destinationFile_full_path</B>
+     * location.
+     *
+     * @param sourceFile_full_path location of encoded file.
+     * @param destinationFile_full_path location to save decoded file.
+     * @param security to decode file with password(text password) or key(integer or floating value).
+     *
+     * @throws UnsupportedFileException
+     * @throws IOException
+     * @throws FileNotFoundException
+     * @throws InvalidSecurityException
+     * @throws InsufficientBytesException
+     * @throws UnsupportedSecurityTypeException
+     * @throws InsufficientMemoryException
+     */
+    public void decode(String sourceFile_full_path, String destinationFile_full_path, Object security) throws UnsupportedFileException, IOException, FileNotFoundException, InvalidSecurityException, InsufficientBytesException, UnsupportedSecurityTypeException, InsufficientMemoryException{
+        
+        if(!new File(sourceFile_full_path).exists()){
+            throw new FileNotFoundException("(The system cannot find the source file specified)");
+        }
+        
+        try ( FileOutputStream output = new FileOutputStream(destinationFile_full_path) ) {
+            decode(sourceFile_full_path, output, security);
+        }
+        catch (CancelledException | ChecksumException ex) {
+            // removing partial destination file.
+            new File(destinationFile_full_path).delete();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Decode a file with a <B>security</B>, from <B>sourceFile_full_path</B> location starting from provided
+     * OFFSET position, and write decoded data to <B>output</B>. If data fails its checksum, part of it has
+     * already been written to <B>output</B> when {@link ChecksumException} is thrown.
+     *
+     * @param sourceFile_full_path location of encoded file.
+     * @param output stream to write decoded data, not closed.
+     * @param security to decode file with password(text password) or key(integer or floating value).
+     *
+     * @throws UnsupportedFileException
+     * @throws IOException
+     * @throws FileNotFoundException
+     * @throws InvalidSecurityException
+     * @throws InsufficientBytesException
+     * @throws UnsupportedSecurityTypeException
+     * @throws InsufficientMemoryException
+     */
+    public void decode(String sourceFile_full_path, OutputStream output, Object security) throws UnsupportedFileException, IOException, FileNotFoundException, InvalidSecurityException, InsufficientBytesException, UnsupportedSecurityTypeException, InsufficientMemoryException{
+        
+        long time = Metrics.begin(this);
+        
+        try {
+        
+            try ( FileInputStream source_input_Stream = new FileInputStream(sourceFile_full_path) ) {
+            
+                // skips decoding OFFSET number of bytes.
+                skip(source_input_Stream, null, OFFSET);
+            
+                // verifying security on input file.
+                verifySecurity(source_input_Stream, security);
+            
+                // decoding message length.
+                long length_field = getMessageLength(source_input_Stream);
+                
+                ChecksumOutputStream data_output = getDataStream(output, length_field);
+                
+                // data and its checksum, if any.
+                long length = getDecodedPayloadSize(length_field);
+                
+                // depth data was encoded at.
+                int depth = getDepth(length_field);
+                int data_buffer_size = getDataBufferSize(depth);
+            
+                startProgress(getUnits(length, depth));
+            
+                // ----------------------------decoding message data starts--------------------------//
+                if (isScatter(length_field)) {
+                    
+                    FileChannel channel = source_input_Stream.getChannel();
+                    
+                    decodeScattered(channel, channel.position(), channel.size() - channel.position(), data_output, length_field, security);
+                }
+                else if (MappedCovers.isAvailable()) {
+                    
+                    FileChannel channel = source_input_Stream.getChannel();
+                    
+                    decodeMapped(Paths.get(sourceFile_full_path), channel.position(), channel.size() - channel.position(), data_output, length_field);
+                }
+                else {
+                    
+                    // to store source byte stream.
+                    byte[] source = new byte[SOURCE_BUFFER_SIZE];
+            
+                    int extract_length;
+                
+                    long stage_time = Metrics.now();
+                
+                    while(length > 0){
+                
+                        if(length <= data_buffer_size){
+                            extract_length = (int)length;
+                        }
+                        else{
+                            extract_length = data_buffer_size;
+                        }
+                        source_input_Stream.read(source);
+                        stage_time = Metrics.record(Stage.READ, stage_time, getUnits(extract_length, depth));
+                
+                        byte[] extracted_data = extractBits(source, 0, extract_length, depth);
+                        stage_time = Metrics.record(Stage.EXTRACT, stage_time, extract_length);
+                
+                        data_output.write(extracted_data);
+                        stage_time = Metrics.record(Stage.WRITE, stage_time, extract_length);
+                        length -= extract_length;
+                
+                        updateProgress(getUnits(extract_length, depth), extract_length);
+                    }
+                }
+                
+                data_output.verify();
+            
+                // ----------------------------decoding data ends--------------------------//
+            }
+            
+            Metrics.end(this, Stage.DECODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+        }
+        
+    }
+    
+    /**
+     * Decodes data of a raw cover read from <B>source</B> with <B>key</B>, from OFFSET position,
+     * writing data to <B>output</B> as it is extracted, eg for covers streamed over a network.
+     * <P>
+     * Only bytes holding data are read, rest of <B>source</B> is left unread. Data scattered over a cover
+     * can not be decoded from a stream. If data fails its checksum, part of it has already been written
+     * to <B>output</B> when exception is thrown.
+     * </P>
+     * 
+     * @param source stream of encoded cover bytes.
+     * @param output stream to write decoded data, not closed.
+     * @param key cover is encoded with.
+     * 
+     * @throws IOException
+     * @throws InvalidSecurityException if key does not match or data is corrupted.
+     * @throws InsufficientBytesException if cover ends before data.
+     * @throws UnsupportedFileException if data is scattered over cover.
+     */
+    public void decode(InputStream source, OutputStream output, int key) throws IOException, InvalidSecurityException, InsufficientBytesException, UnsupportedFileException{
+        
+        long time = Metrics.begin(this);
+        
+        try {
+            
+            // skips decoding OFFSET number of bytes.
+            skip(source, null, OFFSET);
+            
+            byte[] header = new byte[KEY_SIZE_BIT + LENGTH_SIZE_BIT];
+            
+            if (readFully(source, header, 0, header.length) < header.length) {
+                throw new InsufficientBytesException("not enough data in source!!");
+            }
+            
+            if (extractInteger(header, 0) != key) {
+                throw new InvalidSecurityException("Invalid key!");
+            }
+            
+            long length_field = extractLong(header, KEY_SIZE_BIT);
+            
+            if (isScatter(length_field)) {
+                throw new UnsupportedFileException("scattered data can only be decoded from a cover file.");
+            }
+            
+            ChecksumOutputStream data_output = getDataStream(output, length_field);
+            
+            // data and its checksum, if any.
+            long length = getDecodedPayloadSize(length_field);
+            
+            int depth = getDepth(length_field);
+            int data_buffer_size = getDataBufferSize(depth);
+            
+            startProgress(getUnits(length, depth));
+            
+            byte[] source_buffer = new byte[SOURCE_BUFFER_SIZE];
+            
+            long stage_time = Metrics.now();
+            
+            while (length > 0) {
+                
+                int extract_length = (int) Math.min(length, data_buffer_size);
+                int units = (int) getUnits(extract_length, depth);
+                
+                if (readFully(source, source_buffer, 0, units) < units) {
+                    throw new InsufficientBytesException("not enough data in source!!");
+                }
+                stage_time = Metrics.record(Stage.READ, stage_time, units);
+                
+                byte[] extracted_data = extractBits(source_buffer, 0, extract_length, depth);
+                stage_time = Metrics.record(Stage.EXTRACT, stage_time, extract_length);
+                
+                data_output.write(extracted_data);
+                stage_time = Metrics.record(Stage.WRITE, stage_time, extract_length);
+                length -= extract_length;
+                
+                updateProgress(units, extract_length);
+            }
+            
+            data_output.verify();
+            
+            Metrics.end(this, Stage.DECODE, time);
+        }
+        catch (Exception ex) {
+            Metrics.failed(this, ex);
+            throw ex;
+        }
+        finally {
+            endProgress();
+        }
+    }
+    
+    /**
+     * Extracts payload described by message length <B>length_field</B> from <B>cover_units</B> bytes of
+     * <B>channel</B> from position <B>base</B>, at positions keyed by <B>security</B> and password, see {@link Scatter},
+     * and writes it to <B>output</B>. Progress is counted in payload units, so caller starts it with payload units
+     * of <B>length_field</B> once message length is decoded.
+     * 
+     * @param channel channel of encoded file.
+     * @param base position of first byte after message length.
+     * @param cover_units number of bytes data is scattered over.
+     * @param output stream returned by {@link #getDataStream(OutputStream, long)}.
+     * @param length_field decoded message length.
+     * @param security security cover is encoded with.
+     * 
+     * @throws IOException
+     * @throws InsufficientBytesException if payload does not fit in <B>cover_units</B> bytes.
+     */
+    protected final void decodeScattered(FileChannel channel, long base, long cover_units, OutputStream output, long length_field, Object security) throws IOException, InsufficientBytesException{
+        
+        // data and its checksum, if any.
+        long length = getDecodedPayloadSize(length_field);
+        
+        int depth = getDepth(length_field);
+        long payload_units = getUnits(length, depth);
+        
+        if (cover_units < payload_units) {
+            throw new InsufficientBytesException("not enough data in source file!!");
+        }
+        
+        Scatter scatter = getScatter(payload_units, cover_units, security);
+        
+        int data_buffer_size = getScatterBufferSize(depth);
+        byte[] units = new byte[data_buffer_size / depth * 8];
+        
+        long stage_time = Metrics.now();
+        
+        while (length > 0) {
+            
+            int extract_length = (int) Math.min(length, data_buffer_size);
+            int count = scatter.next((int) getUnits(extract_length, depth));
+            
+            scatter.read(channel, base, units);
+            stage_time = Metrics.record(Stage.READ, stage_time, count);
+            
+            byte[] extracted_data = extractBits(units, 0, extract_length, depth);
+            stage_time = Metrics.record(Stage.EXTRACT, stage_time, extract_length);
+            
+            output.write(extracted_data);
+            stage_time = Metrics.record(Stage.WRITE, stage_time, extract_length);
+            length -= extract_length;
+            
+            updateProgress(count, extract_length);
+        }
+    }
+    
+    /**
+     * Extracts payload described by message length <B>length_field</B> from file <B>source</B> from position
+     * <B>base</B>, through a {@link MappedCover} of payload units, and writes it to <B>output</B>.
+     * 
+     * @param source encoded file.
+     * @param base position of first byte after message length.
+     * @param cover_units number of bytes of file from <B>base</B>.
+     * @param output stream returned by {@link #getDataStream(OutputStream, long)}.
+     * @param length_field decoded message length.
+     * 
+     * @throws IOException
+     * @throws InsufficientBytesException if payload does not fit in <B>cover_units</B> bytes.
+     */
+    protected final void decodeMapped(Path source, long base, long cover_units, OutputStream output, long length_field) throws IOException, InsufficientBytesException{
+        
+        // data and its checksum, if any.
+        long length = getDecodedPayloadSize(length_field);
+        
+        int depth = getDepth(length_field);
+        long payload_units = getUnits(length, depth);
+        
+        if (cover_units < payload_units) {
+            throw new InsufficientBytesException("not enough data in source file!!");
+        }
+        
+        if (payload_units == 0) {
+            return;
+        }
+        
+        try ( MappedCover cover = MappedCovers.open(source, base, payload_units, false) ) {
+            
+            byte[] data_buffer = new byte[getDataBufferSize(depth)];
+            
+            long position = 0;
+            long stage_time = Metrics.now();
+            
+            while (length > 0) {
+                
+                int extract_length = (int) Math.min(length, data_buffer.length);
+                
+                cover.extract(position, depth, data_buffer, 0, extract_length);
+                stage_time = Metrics.record(Stage.EXTRACT, stage_time, extract_length);
+                
+                output.write(data_buffer, 0, extract_length);
+                stage_time = Metrics.record(Stage.WRITE, stage_time, extract_length);
+                
+                long units = getUnits(extract_length, depth);
+                
+                position += units;
+                length -= extract_length;
+                
+                updateProgress(units, extract_length);
+            }
+        }
+    }
+    
+    /**
+     * Verifies security for file with password(text password) or 
+     * key(integer or floating value).
+     *
+     * @param source FileInputStream object of cover file.
+     * @param output FileOutputStream object for resultant file.
+     * @param security Object of password or key.
+     *
+     * @throws IOException
+     * @throws InsufficientBytesException
+     * @throws InsufficientMemoryException
+     * @throws UnsupportedSecurityTypeException
+     * @throws InvalidSecurityException
+     */
+    protected void verifySecurity(FileInputStream source, Object security) throws IOException, InsufficientBytesException, InsufficientMemoryException, UnsupportedSecurityTypeException, InvalidSecurityException {
+
+        String class_name = security.getClass().getSimpleName();
+        
+        switch (class_name) {
+            case "String": {
+                String password = security.toString();
+                
+                int extracted_length = decodeInteger(source);
+                
+                if(extracted_length != password.length()){
+                    throw new InvalidSecurityException("Invalid password!");
+                }
+                
+                String extracted_password = decodeString(source, extracted_length);
+
+                if(!extracted_password.equals(password)){
+                    throw new InvalidSecurityException("Invalid password!");
+                }
+                
+                break;
+            }
+            
+            case "Integer": {
+                int key = Integer.parseInt(security.toString());
+                
+                int extracted_key = decodeInteger(source);
+                
+                if(extracted_key != key){
+                    throw new InvalidSecurityException("Invalid key!");
+                }
+                
+                break;
+            }
+            
+            case "Float": {
+                float key = Float.parseFloat(security.toString());
+                
+                float extracted_key = decodeFloat(source);
+                
+                if(extracted_key != key){
+                    throw new InvalidSecurityException("Invalid key!");
+                }
+                
+                break;
+            }
+            
+            case "Long": {
+                long key = Long.parseLong(security.toString());
+                
+                long extracted_key = decodeLong(source);
+                
+                if(extracted_key != key){
+                    throw new InvalidSecurityException("Invalid key!");
+                }
+                
+                break;
+            }
+
+            case "Double": {
+                double key = Double.parseDouble(security.toString());
+                
+                double extracted_key = decodeDouble(source);
+                
+                if(extracted_key != key){
+                    throw new InvalidSecurityException("Invalid key!");
+                }
+                
+                break;
+            }
+           
+            default: throw new UnsupportedSecurityTypeException("Security not defined for " + class_name);
+            
+        }
+        
+    }
+    
+    
+    protected String decodeString(FileInputStream source, int length) throws IOException, InsufficientBytesException{
+        
+        byte[] source_bytes = new byte[length * 8];
+        
+        // reading source_bytes number of bytes.
+        source.read(source_bytes);
+
+        byte[] extracted_string_bytes = extractByte(source_bytes, 0, length);
+
+        return new String(extracted_string_bytes);
+    }
+    
+    protected int decodeInteger(FileInputStream source) throws IOException, InsufficientBytesException{
+        
+        byte[] buffer = new byte[Integer.SIZE];
+            
+        // reading 32 bytes.
+        source.read(buffer);
+        
+        // extracting 4 byte (32 bit) integer from LSB of 32 bytes.
+        return extractInteger(buffer, 0);
+    }
+    
+    protected float decodeFloat(FileInputStream source) throws IOException, InsufficientBytesException{
+        
+        byte[] buffer = new byte[Float.SIZE];
+            
+        // reading 32 bytes.
+        source.read(buffer);
+        
+        // extracting 4 byte (32 bit) float from LSB of 32 bytes.
+        return extractFloat(buffer, 0);
+    }
+    
+    protected long decodeLong(FileInputStream source) throws IOException, InsufficientBytesException{
+        
+        byte[] buffer = new byte[Long.SIZE];
+            
+        // reading 64 bytes.
+        source.read(buffer);
+        
+        // extracting 8 byte (64 bit) long from LSB of 64 bytes.
+        return extractLong(buffer, 0);
+    }
+    
+    protected double decodeDouble(FileInputStream source) throws IOException, InsufficientBytesException{
+        
+        byte[] buffer = new byte[Double.SIZE];
+            
+        // reading 64 bytes.
+        source.read(buffer);
+        
+        // extracting 8 byte (64 bit) double from LSB of 64 bytes.
+        return extractDouble(buffer, 0);
+    }
+    
+    /**
+     * Decodes 64 bit message length, ie length of data with flags in its top 8 bits.
+     * See {@link #getLength(long)}.
+     */
+    protected long getMessageLength(FileInputStream source) throws IOException, InsufficientBytesException{
+        return decodeLong(source);
+    }
+    
+    /**
+     * Returns length of data from decoded 64 bit message length <B>length_field</B>.
+     * 
+     * @throws InsufficientBytesException if <B>length_field</B> has flags that are not defined, ie it is not a valid message length.
+     */
+    protected static long getLength(long length_field) throws InsufficientBytesException{
+        
+        int flags = (int) (length_field >>> FLAGS_SHIFT);
+        
+        if ((flags & ~(FLAG_CHECKSUM | FLAG_ENCRYPTED | FLAG_COMPRESSION_MASK | FLAG_DEPTH_MASK | FLAG_SCATTER | FLAG_FEC)) != 0 || getCompression(length_field) == null) {
+            throw new InsufficientBytesException("invalid message length.");
+        }
+        
+        return length_field & LENGTH_MASK;
+    }
+    
+    /**
+     * Returns number of bytes encoded after data, as given by flags of decoded 64 bit message length <B>length_field</B>.
+     */
+    protected static int getTrailerSize(long length_field){
+        return ((length_field >>> FLAGS_SHIFT) & FLAG_CHECKSUM) != 0 ? CHECKSUM_SIZE_BYTE : 0;
+    }
+    
+    /**
+     * Returns compression of data as given by flags of decoded 64 bit message length <B>length_field</B>,
+     * null if it is not defined.
+     */
+    protected static Compression getCompression(long length_field){
+        return Compression.of((int) ((length_field >>> FLAGS_SHIFT) & FLAG_COMPRESSION_MASK) >>> FLAG_COMPRESSION_SHIFT);
+    }
+    
+    /**
+     * Returns number of data bits per cover unit as given by flags of decoded 64 bit message length <B>length_field</B>.
+     */
+    protected static int getDepth(long length_field){
+        return (int) (((length_field >>> FLAGS_SHIFT) & FLAG_DEPTH_MASK) >>> FLAG_DEPTH_SHIFT) + 1;
+    }
+    
+    /**
+     * Returns true if flags of decoded 64 bit message length <B>length_field</B> mark data as scattered.
+     */
+    protected static boolean isScatter(long length_field){
+        return ((length_field >>> FLAGS_SHIFT) & FLAG_SCATTER) != 0;
+    }
+    
+    /**
+     * Returns true if flags of decoded 64 bit message length <B>length_field</B> mark payload as carrying parity.
+     */
+    protected static boolean isFec(long length_field){
+        return ((length_field >>> FLAGS_SHIFT) & FLAG_FEC) != 0;
+    }
+    
+    /**
+     * Returns true if flags of decoded 64 bit message length <B>length_field</B> mark data as encrypted.
+     */
+    protected static boolean isEncrypted(long length_field){
+        return ((length_field >>> FLAGS_SHIFT) & FLAG_ENCRYPTED) != 0;
+    }
+    
+    /**
+     * Returns number of bytes to decode after message length <B>length_field</B>,
+     * ie data (encrypted if flagged) and checksum if flagged, with parity if flagged.
+     * 
+     * @throws InsufficientBytesException if <B>length_field</B> is not a valid message length.
+     */
+    protected static long getDecodedPayloadSize(long length_field) throws InsufficientBytesException{
+        
+        long length = getLength(length_field);
+        long size = (isEncrypted(length_field) ? PayloadCipher.getEncryptedSize(length) : length) + getTrailerSize(length_field);
+        
+        return isFec(length_field) ? Fec.getEncodedSize(size) : size;
+    }
+    
+    /**
+     * Returns stream to write bytes decoded after message length <B>length_field</B> to.
+     * Payload is corrected if it carries parity, data is written to <B>output</B>, decrypted with password if encrypted
+     * and inflated if compressed, and checksum (if any) is checked by {@link ChecksumOutputStream#verify()}.
+     * 
+     * @throws InsufficientBytesException if <B>length_field</B> is not a valid message length.
+     * @throws InvalidSecurityException if data is encrypted and no password is set.
+     */
+    protected final ChecksumOutputStream getDataStream(OutputStream output, long length_field) throws InsufficientBytesException, InvalidSecurityException{
+        
+        long length = getLength(length_field);
+        
+        if (getCompression(length_field) != Compression.NONE) {
+            output = new InflatingOutputStream(output, length);
+        }
+        
+        if (isEncrypted(length_field)) {
+            
+            if (PASSWORD == null) {
+                throw new InvalidSecurityException("Data is encrypted, password is required!");
+            }
+            
+            output = new DecryptingOutputStream(output, PASSWORD, length);
+            length = PayloadCipher.getEncryptedSize(length);
+        }
+        
+        ChecksumOutputStream data_output = new ChecksumOutputStream(output, length, getTrailerSize(length_field) > 0);
+        
+        return isFec(length_field) ? new FecOutputStream(data_output, length + getTrailerSize(length_field)) : data_output;
+    }
+    
+    public byte[] getMessage(byte[] source, int position, int message_length) throws InsufficientBytesException{
+        return extractByte(source, position, message_length);
+    }
+    
+    /**
+     * Checks whether <B>cover</B> carries data for <B>security</B>, reading only OFFSET position onwards
+     * up to end of security and message length, without creating any file.
+     * <P>
+     * Data is reported present only if security matches and message length fits in capacity of cover,
+     * since a key can match by chance.
+     * </P>
+     * 
+     * @param cover location of cover file.
+     * @param security Object of password or key.
+     * 
+     * @return ProbeResult with length of data if present.
+     * 
+     * @throws IOException
+     * @throws UnsupportedFileException
+     * @throws UnsupportedSecurityTypeException 
+     */
+    public ProbeResult probe(Path cover, Object security) throws IOException, UnsupportedFileException, UnsupportedSecurityTypeException{
+        
+        try ( FileInputStream source_input_Stream = new FileInputStream(cover.toFile()) ) {
+            
+            // seeks to OFFSET position.
+            source_input_Stream.getChannel().position(OFFSET);
+            
+            verifySecurity(source_input_Stream, security);
+            
+            return getProbeResult(getMessageLength(source_input_Stream), source_input_Stream.getChannel().size() - OFFSET);
+        }
+        catch (InvalidSecurityException | InsufficientBytesException | InsufficientMemoryException ex) {
+            return ProbeResult.ABSENT;
+        }
+    }
+    
+    /**
+     * Returns ProbeResult for a decoded message length <B>length_field</B> of a cover which has
+     * <B>units</B> cover units (bytes or samples) from OFFSET, so payload has to fit in them at depth given by its flags.
+     */
+    protected static ProbeResult getProbeResult(long length_field, long units){
+        
+        try {
+            return getDecodedPayloadSize(length_field) <= capacity(units, getDepth(length_field)) ? ProbeResult.present(getLength(length_field)) : ProbeResult.ABSENT;
+        } 
+        catch (InsufficientBytesException ex) {
+            return ProbeResult.ABSENT;
+        }
+    }
+    
+    /**
+     * Returns integer key of <B>security</B>, for codecs which are secured by a 32 bit key only.
+     * 
+     * @throws UnsupportedSecurityTypeException if <B>security</B> is not an Integer.
+     */
+    protected static int getKey(Object security) throws UnsupportedSecurityTypeException{
+        
+        if(!(security instanceof Integer)){
+            throw new UnsupportedSecurityTypeException("Security not defined for " + getClassName(security));
+        }
+        
+        return (Integer) security;
+    }
+    
+    /*
+        ---------------------------------------------------------------------------------------------------------
+        |                                       Decoding part ends here                                         |
+        ---------------------------------------------------------------------------------------------------------
+    */
+    
+    
+    
+}
@@ -0,0 +1,58 @@
+package steganography.core.compression;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Compression applied to data before it is embedded, its id is stored in flags of message length.
+ * <P>
+ * A compressed payload is the 64 bit length of original data followed by a zlib stream,
+ * see {@link Compressor} and {@link InflatingOutputStream}.
+ * </P>
+ */
+public enum Compression {
+
+    /**
+     * Data is embedded as it is.
+     */
+    NONE(0),
+
+    /**
+     * Data is compressed with {@link java.util.zip.Deflater}.
+     */
+    DEFLATE(1);
+
+    /**
+     * Size of original length stored ahead of compressed data.
+     */
+    public static final int LENGTH_SIZE_BYTE = 8;
+
+    private final int ID;
+
+    private Compression(int id) {
+        this.ID = id;
+    }
+
+    /**
+     * Returns id of compression stored in flags of message length.
+     */
+    public int getId() {
+        return ID;
+    }
+
+    /**
+     * Returns compression with id <B>id</B>, null if no such compression is defined.
+     */
+    public static Compression of(int id) {
+
+        for (Compression compression : values()) {
+            if (compression.ID == id) {
+                return compression;
+            }
+        }
+
+        return null;
+    }
+
+}
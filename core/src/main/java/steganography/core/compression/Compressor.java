@@ -0,0 +1,190 @@
+package steganography.core.compression;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+import steganography.core.util.Threads;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Compresses data into a spool file (or any stream) in the format of {@link Compression}.
+ * <P>
+ * Message length is encoded ahead of data, so compressed size has to be known before embedding starts
+ * and data is compressed to a spool file first. Data is read by a separate thread into a bounded
+ * queue of chunks while calling thread deflates, so reading overlaps compression and memory used is
+ * a few chunks whatever the size of data.
+ * </P>
+ */
+public final class Compressor {
+
+    /**
+     * Number of bytes read and deflated at a time.
+     */
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * Number of chunks read ahead of compression.
+     */
+    private static final int QUEUE_SIZE = 4;
+
+    /**
+     * Marks end of data in queue.
+     */
+    private static final Chunk END = new Chunk(new byte[0], 0);
+
+    private Compressor() {
+    }
+
+    /**
+     * Compresses <B>length</B> bytes of <B>data</B> with <B>compression</B> into <B>spool</B>.
+     *
+     * @param data stream of data that is to be compressed.
+     * @param length number of bytes of <B>data</B> to be compressed.
+     * @param spool file to write compressed data to.
+     * @param compression compression to apply, not {@link Compression#NONE}.
+     *
+     * @throws IOException
+     * @throws EOFException if <B>data</B> ends before <B>length</B> bytes.
+     */
+    public static void compress(InputStream data, long length, File spool, Compression compression) throws IOException {
+        try ( FileOutputStream output = new FileOutputStream(spool) ) {
+            compress(data, length, output, compression);
+        }
+    }
+
+    /**
+     * Compresses <B>length</B> bytes of <B>data</B> with <B>compression</B> to <B>output</B>, eg a buffer in memory
+     * when data is small enough. <B>output</B> is not closed.
+     *
+     * @param data stream of data that is to be compressed.
+     * @param length number of bytes of <B>data</B> to be compressed.
+     * @param output stream to write compressed data to.
+     * @param compression compression to apply, not {@link Compression#NONE}.
+     *
+     * @throws IOException
+     * @throws EOFException if <B>data</B> ends before <B>length</B> bytes.
+     */
+    public static void compress(InputStream data, long length, OutputStream output, Compression compression) throws IOException {
+
+        if (compression != Compression.DEFLATE) {
+            throw new IllegalArgumentException("'" + compression + "' compression is not supported.");
+        }
+
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        Reader reader = new Reader(data, length, queue);
+
+        Thread thread = Threads.newThread("steganography-compress-reader", reader);
+        thread.start();
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+        try {
+
+            DataOutputStream buffered_output = new DataOutputStream(new BufferedOutputStream(output, CHUNK_SIZE));
+
+            buffered_output.writeLong(length);
+
+            DeflaterOutputStream deflater_output = new DeflaterOutputStream(buffered_output, deflater, CHUNK_SIZE);
+
+            long stage_time = Metrics.now();
+            Chunk chunk;
+
+            while ((chunk = queue.take()) != END) {
+                deflater_output.write(chunk.BYTES, 0, chunk.LENGTH);
+                stage_time = Metrics.record(Stage.COMPRESS, stage_time, chunk.LENGTH);
+            }
+
+            if (reader.ERROR != null) {
+                throw reader.ERROR;
+            }
+
+            deflater_output.finish();
+            buffered_output.flush();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("compression interrupted.");
+        }
+        finally {
+            deflater.end();
+            thread.interrupt();
+        }
+    }
+
+    private static final class Chunk {
+
+        private final byte[] BYTES;
+        private final int LENGTH;
+
+        private Chunk(byte[] bytes, int length) {
+            this.BYTES = bytes;
+            this.LENGTH = length;
+        }
+    }
+
+    /**
+     * Reads data into queue, ending it with {@link #END} also on failure.
+     */
+    private static final class Reader implements Runnable {
+
+        private final InputStream DATA;
+        private final long LENGTH;
+        private final BlockingQueue<Chunk> QUEUE;
+
+        private volatile IOException ERROR;
+
+        private Reader(InputStream data, long length, BlockingQueue<Chunk> queue) {
+            this.DATA = data;
+            this.LENGTH = length;
+            this.QUEUE = queue;
+        }
+
+        @Override
+        public void run() {
+
+            try {
+                try {
+
+                    long remaining = LENGTH;
+
+                    while (remaining > 0) {
+
+                        byte[] bytes = new byte[CHUNK_SIZE];
+                        int length = DATA.read(bytes, 0, (int) Math.min(bytes.length, remaining));
+
+                        if (length < 0) {
+                            throw new EOFException("data ended before " + LENGTH + " bytes.");
+                        }
+
+                        remaining -= length;
+                        QUEUE.put(new Chunk(bytes, length));
+                    }
+                }
+                catch (IOException ex) {
+                    ERROR = ex;
+                }
+
+                QUEUE.put(END);
+            }
+            catch (InterruptedException ex) {
+                // compression ended early.
+            }
+        }
+    }
+
+}
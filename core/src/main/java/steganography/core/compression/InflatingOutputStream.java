@@ -0,0 +1,142 @@
+package steganography.core.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import steganography.core.exceptions.ChecksumException;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Stream to which decoders write a compressed payload, see {@link Compression}.
+ * <P>
+ * Data is inflated and written to output as compressed bytes arrive. Once all compressed bytes are
+ * written, stream checks that zlib stream ended and that length of inflated data is the original length.
+ * </P>
+ */
+public class InflatingOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream OUTPUT;
+
+    private final Inflater INFLATER = new Inflater();
+
+    /**
+     * Original length, read from first bytes.
+     */
+    private final byte[] LENGTH = new byte[Compression.LENGTH_SIZE_BYTE];
+    private int LENGTH_POSITION;
+    private long ORIGINAL_LENGTH;
+
+    private byte[] BUFFER;
+
+    /**
+     * Number of compressed bytes still to be written, and number of bytes inflated.
+     */
+    private long REMAINING, INFLATED;
+
+    /**
+     * @param output stream to write inflated data.
+     * @param length number of bytes of compressed payload, including original length.
+     */
+    public InflatingOutputStream(OutputStream output, long length) {
+        this.OUTPUT = output;
+        this.REMAINING = length;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        if (len > REMAINING) {
+            throw new IOException("more bytes than message length.");
+        }
+
+        REMAINING -= len;
+
+        if (LENGTH_POSITION < LENGTH.length) {
+
+            int n = Math.min(len, LENGTH.length - LENGTH_POSITION);
+            System.arraycopy(b, off, LENGTH, LENGTH_POSITION, n);
+            LENGTH_POSITION += n;
+            off += n;
+            len -= n;
+
+            if (LENGTH_POSITION == LENGTH.length) {
+                for (byte l : LENGTH) {
+                    ORIGINAL_LENGTH = (ORIGINAL_LENGTH << 8) | (l & 0xFF);
+                }
+                BUFFER = new byte[(int) Math.max(1, Math.min(ORIGINAL_LENGTH, BUFFER_SIZE))];
+            }
+        }
+
+        if (len > 0) {
+            inflate(b, off, len);
+        }
+
+        if (REMAINING == 0) {
+            finish();
+        }
+    }
+
+    private void inflate(byte[] b, int off, int len) throws IOException {
+
+        if (INFLATER.finished()) {
+            throw new ChecksumException("compressed data is corrupt.");
+        }
+
+        INFLATER.setInput(b, off, len);
+
+        try {
+            int n;
+
+            while ((n = INFLATER.inflate(BUFFER)) > 0 || !(INFLATER.needsInput() || INFLATER.finished())) {
+
+                if (n == 0 && INFLATER.needsDictionary()) {
+                    throw new ChecksumException("compressed data is corrupt.");
+                }
+
+                INFLATED += n;
+
+                if (INFLATED > ORIGINAL_LENGTH) {
+                    throw new ChecksumException("compressed data is corrupt.");
+                }
+
+                OUTPUT.write(BUFFER, 0, n);
+            }
+        }
+        catch (DataFormatException ex) {
+            throw new ChecksumException("compressed data is corrupt.");
+        }
+    }
+
+    private void finish() throws ChecksumException {
+
+        boolean complete = INFLATER.finished() && INFLATER.getRemaining() == 0 && INFLATED == ORIGINAL_LENGTH;
+
+        INFLATER.end();
+
+        if (!complete) {
+            throw new ChecksumException("compressed data is corrupt.");
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        OUTPUT.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        OUTPUT.close();
+    }
+
+}
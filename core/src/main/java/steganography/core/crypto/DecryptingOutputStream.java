@@ -0,0 +1,164 @@
+package steganography.core.crypto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import steganography.core.exceptions.AuthenticationException;
+import static steganography.core.crypto.PayloadCipher.CHUNK_SIZE;
+import static steganography.core.crypto.PayloadCipher.HEADER_SIZE;
+import static steganography.core.crypto.PayloadCipher.NONCE_PREFIX_SIZE;
+import static steganography.core.crypto.PayloadCipher.SALT_SIZE;
+import static steganography.core.crypto.PayloadCipher.TAG_SIZE;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Stream to which decoders write an encrypted payload, see {@link PayloadCipher}.
+ * <P>
+ * Each chunk is authenticated before its data is written to output, so only data that was
+ * encoded with the same password reaches output.
+ * </P>
+ */
+public class DecryptingOutputStream extends OutputStream {
+
+    private final OutputStream OUTPUT;
+
+    private final char[] PASSWORD;
+
+    private final byte[] HEADER = new byte[HEADER_SIZE];
+
+    private int HEADER_LENGTH;
+
+    private SecretKey KEY;
+
+    private Cipher CIPHER;
+
+    private final byte[] ENCRYPTED = new byte[CHUNK_SIZE + TAG_SIZE];
+    private final byte[] PLAIN = new byte[CHUNK_SIZE];
+
+    private int ENCRYPTED_LENGTH;
+
+    /**
+     * Number of data bytes not yet decrypted.
+     */
+    private long REMAINING;
+
+    private int CHUNK;
+
+    /**
+     * Set once last chunk is decrypted.
+     */
+    private boolean DONE;
+
+    /**
+     * @param output stream to write decrypted data.
+     * @param password password data was encrypted with.
+     * @param length number of bytes of data before encryption.
+     */
+    public DecryptingOutputStream(OutputStream output, char[] password, long length) {
+        this.OUTPUT = output;
+        this.PASSWORD = password;
+        this.REMAINING = length;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        while (len > 0) {
+
+            int n;
+
+            if (HEADER_LENGTH < HEADER_SIZE) {
+
+                n = Math.min(len, HEADER_SIZE - HEADER_LENGTH);
+                System.arraycopy(b, off, HEADER, HEADER_LENGTH, n);
+                HEADER_LENGTH += n;
+
+                if (HEADER_LENGTH == HEADER_SIZE) {
+                    deriveKey();
+                }
+            }
+            else {
+
+                if (DONE) {
+                    throw new IOException("more bytes than message length.");
+                }
+
+                int chunk_length = (int) Math.min(REMAINING, CHUNK_SIZE) + TAG_SIZE;
+
+                n = Math.min(len, chunk_length - ENCRYPTED_LENGTH);
+                System.arraycopy(b, off, ENCRYPTED, ENCRYPTED_LENGTH, n);
+                ENCRYPTED_LENGTH += n;
+
+                if (ENCRYPTED_LENGTH == chunk_length) {
+                    decryptChunk();
+                }
+            }
+
+            off += n;
+            len -= n;
+        }
+    }
+
+    private void deriveKey() throws IOException {
+
+        byte[] salt = new byte[SALT_SIZE];
+        System.arraycopy(HEADER, 0, salt, 0, SALT_SIZE);
+
+        try {
+            KEY = PayloadCipher.deriveKey(PASSWORD, salt);
+        }
+        catch (GeneralSecurityException ex) {
+            throw new IOException("can not derive key.", ex);
+        }
+    }
+
+    private void decryptChunk() throws IOException {
+
+        int length = ENCRYPTED_LENGTH - TAG_SIZE;
+        boolean last = REMAINING == length;
+
+        byte[] prefix = new byte[NONCE_PREFIX_SIZE];
+        System.arraycopy(HEADER, SALT_SIZE, prefix, 0, NONCE_PREFIX_SIZE);
+
+        int decrypted;
+
+        try {
+            CIPHER = PayloadCipher.init(CIPHER, Cipher.DECRYPT_MODE, KEY, prefix, CHUNK++, last);
+            decrypted = CIPHER.doFinal(ENCRYPTED, 0, ENCRYPTED_LENGTH, PLAIN, 0);
+        }
+        catch (AEADBadTagException ex) {
+            throw new AuthenticationException();
+        }
+        catch (GeneralSecurityException ex) {
+            throw new IOException("can not decrypt data.", ex);
+        }
+
+        OUTPUT.write(PLAIN, 0, decrypted);
+
+        REMAINING -= length;
+        ENCRYPTED_LENGTH = 0;
+        DONE = last;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        OUTPUT.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        OUTPUT.close();
+    }
+
+}
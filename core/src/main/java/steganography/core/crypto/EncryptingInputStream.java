@@ -0,0 +1,157 @@
+package steganography.core.crypto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import static steganography.core.crypto.PayloadCipher.CHUNK_SIZE;
+import static steganography.core.crypto.PayloadCipher.HEADER_SIZE;
+import static steganography.core.crypto.PayloadCipher.NONCE_PREFIX_SIZE;
+import static steganography.core.crypto.PayloadCipher.SALT_SIZE;
+import static steganography.core.crypto.PayloadCipher.TAG_SIZE;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Stream of data to be encoded, encrypted chunk by chunk as described in {@link PayloadCipher}.
+ * <P>
+ * One chunk of data is read ahead to know whether it is the last one, so memory used
+ * does not depend on length of data.
+ * </P>
+ */
+public class EncryptingInputStream extends InputStream {
+
+    private final InputStream DATA;
+
+    private final SecretKey KEY;
+
+    private final byte[] PREFIX = new byte[NONCE_PREFIX_SIZE];
+
+    private Cipher CIPHER;
+
+    /**
+     * Data of next chunk, read ahead, and encrypted bytes being returned.
+     */
+    private final byte[] PLAIN = new byte[CHUNK_SIZE];
+    private final byte[] ENCRYPTED = new byte[CHUNK_SIZE + TAG_SIZE];
+
+    private int ENCRYPTED_POSITION, ENCRYPTED_LENGTH;
+
+    /**
+     * Byte read to check for end of data, -1 if none.
+     */
+    private int PEEKED = -1;
+
+    private int CHUNK;
+
+    private boolean LAST_DONE;
+
+    /**
+     * @param data stream of data that is to be encoded.
+     * @param password password to derive key from.
+     *
+     * @throws IOException if key can not be derived.
+     */
+    public EncryptingInputStream(InputStream data, char[] password) throws IOException {
+
+        this.DATA = data;
+
+        SecureRandom random = new SecureRandom();
+
+        byte[] salt = new byte[SALT_SIZE];
+        random.nextBytes(salt);
+        random.nextBytes(PREFIX);
+
+        try {
+            KEY = PayloadCipher.deriveKey(password, salt);
+        }
+        catch (GeneralSecurityException ex) {
+            throw new IOException("can not derive key.", ex);
+        }
+
+        // salt and nonce prefix are returned ahead of chunks.
+        System.arraycopy(salt, 0, ENCRYPTED, 0, SALT_SIZE);
+        System.arraycopy(PREFIX, 0, ENCRYPTED, SALT_SIZE, NONCE_PREFIX_SIZE);
+        ENCRYPTED_LENGTH = HEADER_SIZE;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) > 0 ? b[0] & 0xFF : -1;
+    }
+
+    /**
+     * Fills <B>b</B> as far as encrypted data allows, so a short read only happens at end of stream.
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        int total = 0;
+
+        while (total < len) {
+
+            if (ENCRYPTED_POSITION == ENCRYPTED_LENGTH && !nextChunk()) {
+                break;
+            }
+
+            int n = Math.min(len - total, ENCRYPTED_LENGTH - ENCRYPTED_POSITION);
+            System.arraycopy(ENCRYPTED, ENCRYPTED_POSITION, b, off + total, n);
+            ENCRYPTED_POSITION += n;
+            total += n;
+        }
+
+        return total > 0 || len == 0 ? total : -1;
+    }
+
+    /**
+     * Encrypts next chunk of data.
+     *
+     * @return false if last chunk was already encrypted.
+     */
+    private boolean nextChunk() throws IOException {
+
+        if (LAST_DONE) {
+            return false;
+        }
+
+        int length = 0;
+
+        if (PEEKED >= 0) {
+            PLAIN[length++] = (byte) PEEKED;
+        }
+
+        int n;
+
+        while (length < CHUNK_SIZE && (n = DATA.read(PLAIN, length, CHUNK_SIZE - length)) >= 0) {
+            length += n;
+        }
+
+        PEEKED = DATA.read();
+
+        boolean last = PEEKED < 0;
+
+        try {
+            CIPHER = PayloadCipher.init(CIPHER, Cipher.ENCRYPT_MODE, KEY, PREFIX, CHUNK++, last);
+            ENCRYPTED_LENGTH = CIPHER.doFinal(PLAIN, 0, length, ENCRYPTED, 0);
+        }
+        catch (GeneralSecurityException ex) {
+            throw new IOException("can not encrypt data.", ex);
+        }
+
+        ENCRYPTED_POSITION = 0;
+        LAST_DONE = last;
+
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        DATA.close();
+    }
+
+}
@@ -0,0 +1,132 @@
+package steganography.core.crypto;
+
+import java.security.GeneralSecurityException;
+import java.security.spec.KeySpec;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Format and primitives of encrypted payloads.
+ * <P>
+ * An encrypted payload is a 16 byte salt and 7 byte nonce prefix followed by chunks of
+ * {@link #CHUNK_SIZE} bytes of data (last one shorter, possibly empty), each encrypted with
+ * AES-GCM and followed by its 16 byte tag. Key is derived from password and salt with PBKDF2.
+ * </P>
+ * <P>
+ * Nonce of a chunk is prefix, 32 bit chunk number and a byte which is 1 only for last chunk
+ * (STREAM construction), so chunks can not be reordered, dropped or truncated without failing
+ * authentication, and each chunk can be decrypted on its own.
+ * </P>
+ */
+public final class PayloadCipher {
+
+    /**
+     * Number of data bytes in a chunk.
+     */
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    public static final int SALT_SIZE = 16;
+
+    public static final int NONCE_PREFIX_SIZE = 7;
+
+    public static final int NONCE_SIZE = 12;
+
+    public static final int TAG_SIZE = 16;
+
+    /**
+     * Number of bytes before first chunk, ie salt and nonce prefix.
+     */
+    public static final int HEADER_SIZE = SALT_SIZE + NONCE_PREFIX_SIZE;
+
+    private static final int ITERATIONS = 100000;
+
+    private static final int KEY_SIZE_BIT = 256;
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private PayloadCipher() {
+    }
+
+    /**
+     * Returns number of bytes <B>length</B> bytes of data take once encrypted.
+     */
+    public static long getEncryptedSize(long length) {
+
+        long chunks = Math.max(1, (length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        return HEADER_SIZE + length + chunks * TAG_SIZE;
+    }
+
+    /**
+     * Returns largest number of data bytes which take at most <B>size</B> bytes once encrypted.
+     */
+    public static long getDataSize(long size) {
+
+        long chunk_bytes = size - HEADER_SIZE;
+
+        if (chunk_bytes < TAG_SIZE) {
+            return 0;
+        }
+
+        long full_chunks = chunk_bytes / (CHUNK_SIZE + TAG_SIZE);
+        long rest = chunk_bytes % (CHUNK_SIZE + TAG_SIZE);
+
+        return full_chunks * CHUNK_SIZE + Math.max(0, rest - TAG_SIZE);
+    }
+
+    /**
+     * Derives AES key from <B>password</B> and <B>salt</B>.
+     *
+     * @throws GeneralSecurityException
+     */
+    static SecretKey deriveKey(char[] password, byte[] salt) throws GeneralSecurityException {
+
+        KeySpec spec = new PBEKeySpec(password, salt, ITERATIONS, KEY_SIZE_BIT);
+
+        byte[] key = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+
+        return new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * Returns cipher initialised for chunk <B>chunk</B> in mode <B>mode</B>.
+     *
+     * @param cipher cipher to initialise, null to create one.
+     * @param mode {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}.
+     * @param key key derived by {@link #deriveKey(char[], byte[])}.
+     * @param prefix nonce prefix.
+     * @param chunk number of chunk from 0.
+     * @param last true if chunk is last chunk.
+     *
+     * @throws GeneralSecurityException
+     */
+    static Cipher init(Cipher cipher, int mode, SecretKey key, byte[] prefix, int chunk, boolean last) throws GeneralSecurityException {
+
+        byte[] nonce = new byte[NONCE_SIZE];
+
+        System.arraycopy(prefix, 0, nonce, 0, NONCE_PREFIX_SIZE);
+
+        nonce[7] = (byte) (chunk >>> 24);
+        nonce[8] = (byte) (chunk >>> 16);
+        nonce[9] = (byte) (chunk >>> 8);
+        nonce[10] = (byte) chunk;
+        nonce[11] = (byte) (last ? 1 : 0);
+
+        if (cipher == null) {
+            cipher = Cipher.getInstance(TRANSFORMATION);
+        }
+
+        cipher.init(mode, key, new GCMParameterSpec(TAG_SIZE * 8, nonce));
+
+        return cipher;
+    }
+
+}
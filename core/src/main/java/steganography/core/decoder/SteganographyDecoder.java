@@ -0,0 +1,326 @@
+package steganography.core.decoder;
+
+import static steganography.core.decoder.ByteTo_Converter.byteToDouble;
+import static steganography.core.decoder.ByteTo_Converter.byteToFloat;
+import static steganography.core.decoder.ByteTo_Converter.byteToInt;
+import static steganography.core.decoder.ByteTo_Converter.byteToLong;
+import steganography.core.exceptions.InsufficientBytesException;
+import steganography.core.kernel.LsbKernels;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+public class SteganographyDecoder {
+
+    /**
+     * Returns byte array of <B>"amount"</B> number of bytes, 
+     * extracted from <I>LSB</I> position of each byte 
+     * of <B>source</B> byte array starting from <B>"position"</B> position.
+     * 
+     * @param source byte array which contains bytes to be extracted.
+     * @param position from where bytes are to be extracted.
+     * @param amount number of bytes to be extracted.
+     * 
+     * @return byte array of extracted bytes.
+     * 
+     * @throws InsufficientBytesException
+     */
+    public static byte[] extractByte(byte[] source, int position, int amount) throws InsufficientBytesException {
+
+        if(amount < 1){
+            throw new InsufficientBytesException("number of byte cannot be less than 1.");
+        }
+        
+        // if source array does not contain enough bits.
+        if ((amount * 8 + position) > source.length) {
+            throw new InsufficientBytesException("source does not contain specified bytes.");
+        }
+        
+        byte[] result = new byte[amount];
+
+        LsbKernels.get().extract(source, position, result, 0, amount);
+ 
+        return result;
+    }
+    
+    /**
+     * Returns byte array of <B>"amount"</B> number of bytes, 
+     * extracted from <I>LSB</I> position of every <B>sample_size</B>th byte 
+     * of <B>source</B> byte array starting from <B>"position"</B> position, ie one bit per sample.
+     * <P><B>position</B> must point to least significant byte of first sample.</P>
+     * 
+     * @param source byte array of samples which contains bytes to be extracted.
+     * @param position position of least significant byte of first sample.
+     * @param amount number of bytes to be extracted.
+     * @param sample_size number of bytes in one sample (1, 2, 3, 4 or 8).
+     * 
+     * @return byte array of extracted bytes.
+     * 
+     * @throws InsufficientBytesException
+     */
+    public static byte[] extractByte(byte[] source, int position, int amount, int sample_size) throws InsufficientBytesException {
+
+        if(sample_size == 1){
+            return extractByte(source, position, amount);
+        }
+        
+        if(amount < 1){
+            throw new InsufficientBytesException("number of byte cannot be less than 1.");
+        }
+        
+        // if source array does not contain enough samples.
+        if (((amount * 8) - 1) * sample_size + 1 + position > source.length) {
+            throw new InsufficientBytesException("source does not contain specified bytes.");
+        }
+        
+        byte[] result = new byte[amount];
+        
+        switch (sample_size) {
+            case 2:  extractByte16(source, position, result);
+                     break;
+            case 3:  extractByte24(source, position, result);
+                     break;
+            case 4:  extractByte32(source, position, result);
+                     break;
+            default: extractByteStrided(source, position, sample_size, result);
+        }
+        
+        return result;
+    }
+    
+    // 16 bit samples.
+    private static void extractByte16(byte[] source, int position, byte[] result) {
+        
+        for (int i = 0; i < result.length; i++, position += 16) {
+            result[i] = (byte) ((source[position] & 1) << 7 | (source[position + 2] & 1) << 6 | (source[position + 4] & 1) << 5 | (source[position + 6] & 1) << 4 |
+                                (source[position + 8] & 1) << 3 | (source[position + 10] & 1) << 2 | (source[position + 12] & 1) << 1 | (source[position + 14] & 1));
+        }
+    }
+    
+    // 24 bit samples.
+    private static void extractByte24(byte[] source, int position, byte[] result) {
+        
+        for (int i = 0; i < result.length; i++, position += 24) {
+            result[i] = (byte) ((source[position] & 1) << 7 | (source[position + 3] & 1) << 6 | (source[position + 6] & 1) << 5 | (source[position + 9] & 1) << 4 |
+                                (source[position + 12] & 1) << 3 | (source[position + 15] & 1) << 2 | (source[position + 18] & 1) << 1 | (source[position + 21] & 1));
+        }
+    }
+    
+    // 32 bit integer and float samples.
+    private static void extractByte32(byte[] source, int position, byte[] result) {
+        
+        for (int i = 0; i < result.length; i++, position += 32) {
+            result[i] = (byte) ((source[position] & 1) << 7 | (source[position + 4] & 1) << 6 | (source[position + 8] & 1) << 5 | (source[position + 12] & 1) << 4 |
+                                (source[position + 16] & 1) << 3 | (source[position + 20] & 1) << 2 | (source[position + 24] & 1) << 1 | (source[position + 28] & 1));
+        }
+    }
+    
+    // any other sample size, eg 64 bit float samples.
+    private static void extractByteStrided(byte[] source, int position, int sample_size, byte[] result) {
+        
+        for (int i = 0; i < result.length; i++) {
+
+            byte retrieved_byte = 0;
+
+            for (int j = 0; j < 8; j++, position += sample_size) {
+                retrieved_byte = (byte) ((retrieved_byte << 1) | (source[position] & 1));
+            }
+            
+            result[i] = retrieved_byte;
+        }
+    }
+    
+    /**
+     * Returns byte array of <B>"amount"</B> number of bytes, 
+     * extracted from <B>depth</B> least significant bits of each byte 
+     * of <B>source</B> byte array starting from <B>"position"</B> position.
+     * <P>Bits are in order written by {@link steganography.core.encoder.SteganographyEncoder#insertBits}.</P>
+     * 
+     * @param source byte array which contains bytes to be extracted.
+     * @param position from where bytes are to be extracted.
+     * @param amount number of bytes to be extracted.
+     * @param depth number of bits per source byte, 1 to 4.
+     * 
+     * @return byte array of extracted bytes.
+     * 
+     * @throws InsufficientBytesException
+     */
+    public static byte[] extractBits(byte[] source, int position, int amount, int depth) throws InsufficientBytesException {
+        return extractBits(source, position, amount, 1, depth);
+    }
+    
+    /**
+     * Returns byte array of <B>"amount"</B> number of bytes, 
+     * extracted from <B>depth</B> least significant bits of every <B>sample_size</B>th byte 
+     * of <B>source</B> byte array starting from <B>"position"</B> position, ie <B>depth</B> bits per sample.
+     * <P><B>position</B> must point to least significant byte of first sample.</P>
+     * 
+     * @param source byte array of samples which contains bytes to be extracted.
+     * @param position position of least significant byte of first sample.
+     * @param amount number of bytes to be extracted.
+     * @param sample_size number of bytes in one sample.
+     * @param depth number of bits per sample, 1 to 4.
+     * 
+     * @return byte array of extracted bytes.
+     * 
+     * @throws InsufficientBytesException
+     */
+    public static byte[] extractBits(byte[] source, int position, int amount, int sample_size, int depth) throws InsufficientBytesException {
+        
+        if(depth == 1){
+            return extractByte(source, position, amount, sample_size);
+        }
+        
+        if(amount < 1){
+            throw new InsufficientBytesException("number of byte cannot be less than 1.");
+        }
+        
+        long units = (amount * 8L + depth - 1) / depth;
+        
+        // if source array does not contain enough samples.
+        if ((units - 1) * sample_size + 1 + position > source.length) {
+            throw new InsufficientBytesException("source does not contain specified bytes.");
+        }
+        
+        byte[] result = new byte[amount];
+        
+        switch (depth) {
+            case 2:  extractBits2(source, position, sample_size, result);
+                     break;
+            case 3:  extractBits3(source, position, sample_size, result);
+                     break;
+            case 4:  extractBits4(source, position, sample_size, result);
+                     break;
+            default: throw new IllegalArgumentException("depth must be 1 to 4.");
+        }
+        
+        return result;
+    }
+    
+    // 2 bits, 4 samples per byte.
+    private static void extractBits2(byte[] source, int position, int stride, byte[] result) {
+        
+        int s1 = stride, s2 = 2 * stride, s3 = 3 * stride, step = 4 * stride;
+        
+        for (int i = 0; i < result.length; i++, position += step) {
+            result[i] = (byte) ((source[position] & 3) << 6 | (source[position + s1] & 3) << 4 | (source[position + s2] & 3) << 2 | (source[position + s3] & 3));
+        }
+    }
+    
+    // 3 bits, 8 samples per 3 bytes, a last group of 1 or 2 bytes is padded.
+    private static void extractBits3(byte[] source, int position, int stride, byte[] result) {
+        
+        int s1 = stride, s2 = 2 * stride, s3 = 3 * stride, s4 = 4 * stride, s5 = 5 * stride, s6 = 6 * stride, s7 = 7 * stride, step = 8 * stride;
+        
+        int i = 0;
+        
+        for (; i + 3 <= result.length; i += 3, position += step) {
+            int data = (source[position] & 7) << 21 | (source[position + s1] & 7) << 18 | (source[position + s2] & 7) << 15 | (source[position + s3] & 7) << 12 |
+                       (source[position + s4] & 7) << 9 | (source[position + s5] & 7) << 6 | (source[position + s6] & 7) << 3 | (source[position + s7] & 7);
+            
+            result[i]     = (byte) (data >>> 16);
+            result[i + 1] = (byte) (data >>> 8);
+            result[i + 2] = (byte) data;
+        }
+        
+        if (i < result.length) {
+            
+            int tail = result.length - i;
+            int data = 0;
+            
+            // 8 bits take 3 samples, 16 bits take 6.
+            for (int shift = 21, n = tail * 3; n > 0; n--, shift -= 3, position += stride) {
+                data |= (source[position] & 7) << shift;
+            }
+            
+            result[i] = (byte) (data >>> 16);
+            
+            if (tail == 2) {
+                result[i + 1] = (byte) (data >>> 8);
+            }
+        }
+    }
+    
+    // 4 bits, 2 samples per byte.
+    private static void extractBits4(byte[] source, int position, int stride, byte[] result) {
+        
+        int step = 2 * stride;
+        
+        for (int i = 0; i < result.length; i++, position += step) {
+            result[i] = (byte) ((source[position] & 0xF) << 4 | (source[position + stride] & 0xF));
+        }
+    }
+    
+    /**
+     * Extracts a 32 bits integer value from <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>"position"</B> position.
+     * 
+     * @param source byte array from LSB of whose, integer value is to be extracted.
+     * @param position from where extraction is suppose to start.
+     * 
+     * @return integer value.
+     * 
+     * @throws InsufficientBytesException
+     */
+    public static int extractInteger(byte[] source, int position) throws InsufficientBytesException{
+        byte[] integer_bytes = extractByte(source, position, (Integer.BYTES));
+        
+        int res =  byteToInt(integer_bytes);
+        
+        return res;
+    }
+    
+    /**
+     * Extracts a 32 bits float value from <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>"position"</B> position.
+     * 
+     * @param source byte array from LSB of whose, float value is to be extracted.
+     * @param position from where extraction is suppose to start.
+     * 
+     * @return float value.
+     * 
+     * @throws InsufficientBytesException
+     */
+    public static float extractFloat(byte[] source, int position) throws InsufficientBytesException{
+        byte[] float_bytes = extractByte(source, position, (Float.BYTES));
+        
+        float res =  byteToFloat(float_bytes);
+        
+        return res;
+    }
+    
+    /**
+     * Extracts a 64 bits long value from <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>position</B> position.
+     * 
+     * @param source byte array from LSB of whose, long value is to be extracted.
+     * @param position from where extraction is suppose to start.
+     * 
+     * @return long value.
+     * 
+     * @throws InsufficientBytesException
+     */
+    public static long extractLong(byte[] source, int position) throws InsufficientBytesException{
+        byte[] long_bytes = extractByte(source, position, (Long.BYTES));
+        
+        return byteToLong(long_bytes);
+    }
+    
+    /**
+     * Extracts a 64 bits double value from <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>position</B> position.
+     * 
+     * @param source byte array from LSB of whose, double value is to be extracted.
+     * @param position from where extraction is suppose to start.
+     * 
+     * @return double value.
+     * 
+     * @throws InsufficientBytesException
+     */
+    public static double extractDouble(byte[] source, int position) throws InsufficientBytesException{
+        byte[] double_bytes = extractByte(source, position, (Double.BYTES));
+        
+        return byteToDouble(double_bytes);
+    }
+    
+}
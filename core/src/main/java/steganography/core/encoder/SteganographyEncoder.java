@@ -0,0 +1,351 @@
+package steganography.core.encoder;
+
+import static steganography.core.encoder._ToByteConverter.intToByte;
+import static steganography.core.encoder._ToByteConverter.longToByte;
+import steganography.core.exceptions.InsufficientMemoryException;
+import steganography.core.kernel.LsbKernels;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+public class SteganographyEncoder {
+
+    /**
+     * Insert all the bits of source byte array (starting from <B>source_start_position</B> till <B>source_end_position</B>)
+     * in
+     * <B>LSB</B> position of target byte array (starting from <B>target_start_position</B> till <B>target_end_position</B>).
+     *
+     * @param target byte array in which bytes are to be inserted.
+     * @param target_start_position starting position for target array, where bits
+     * are to be inserted.
+     * @param target_end_position ending position for target array, till where bits
+     * are to be inserted.
+     * @param source byte array from where bytes are to be inserted in target
+     * byte array.
+     * @param source_start_position starting position of source byte array for bytes that are to be encoded.
+     * @param source_end_position ending position of source byte array till bytes to be encoded.
+     *
+     * @throws InsufficientMemoryException
+     *
+     */
+    public static void insertByte(byte[] target, int target_start_position, int target_end_position, byte[] source, int source_start_position, int source_end_position) throws InsufficientMemoryException {
+
+        int source_length = source_end_position - source_start_position;
+        int target_length = target_end_position - target_start_position;
+        
+        if (target_length < (source_length * 8)) {
+            throw new InsufficientMemoryException();
+        }
+
+        LsbKernels.get().insert(target, target_start_position, source, source_start_position, source_end_position);
+
+    }
+
+    /**
+     * Insert all the bits of source byte array (starting from <B>source_start_position</B> till <B>source_end_position</B>)
+     * in
+     * <B>LSB</B> position of every <B>sample_size</B>th byte of target byte array (starting from <B>target_start_position</B> till <B>target_end_position</B>),
+     * ie one bit per sample of <B>sample_size</B> bytes.
+     * <P><B>target_start_position</B> must point to least significant byte of first sample.</P>
+     *
+     * @param target byte array of samples in which bytes are to be inserted.
+     * @param target_start_position position of least significant byte of first sample.
+     * @param target_end_position ending position for target array, till where bits
+     * are to be inserted.
+     * @param sample_size number of bytes in one sample (1, 2, 3, 4 or 8).
+     * @param source byte array from where bytes are to be inserted in target
+     * byte array.
+     * @param source_start_position starting position of source byte array for bytes that are to be encoded.
+     * @param source_end_position ending position of source byte array till bytes to be encoded.
+     *
+     * @throws InsufficientMemoryException
+     *
+     */
+    public static void insertByte(byte[] target, int target_start_position, int target_end_position, int sample_size, byte[] source, int source_start_position, int source_end_position) throws InsufficientMemoryException {
+
+        int source_length = source_end_position - source_start_position;
+        int target_length = target_end_position - target_start_position;
+        
+        // last sample only needs its least significant byte.
+        if (target_length < ((source_length * 8) - 1) * sample_size + 1) {
+            throw new InsufficientMemoryException();
+        }
+        
+        switch (sample_size) {
+            case 1:  insertByte(target, target_start_position, target_end_position, source, source_start_position, source_end_position);
+                     break;
+            case 2:  insertByte16(target, target_start_position, source, source_start_position, source_end_position);
+                     break;
+            case 3:  insertByte24(target, target_start_position, source, source_start_position, source_end_position);
+                     break;
+            case 4:  insertByte32(target, target_start_position, source, source_start_position, source_end_position);
+                     break;
+            default: insertByteStrided(target, target_start_position, sample_size, source, source_start_position, source_end_position);
+        }
+        
+    }
+    
+    // 16 bit samples.
+    private static void insertByte16(byte[] target, int position, byte[] source, int source_start_position, int source_end_position) {
+        
+        for (int i = source_start_position; i < source_end_position; i++, position += 16) {
+            int data = source[i];
+            
+            target[position]      = (byte) ((target[position]      & 0xFE) | ((data >>> 7) & 1));
+            target[position + 2]  = (byte) ((target[position + 2]  & 0xFE) | ((data >>> 6) & 1));
+            target[position + 4]  = (byte) ((target[position + 4]  & 0xFE) | ((data >>> 5) & 1));
+            target[position + 6]  = (byte) ((target[position + 6]  & 0xFE) | ((data >>> 4) & 1));
+            target[position + 8]  = (byte) ((target[position + 8]  & 0xFE) | ((data >>> 3) & 1));
+            target[position + 10] = (byte) ((target[position + 10] & 0xFE) | ((data >>> 2) & 1));
+            target[position + 12] = (byte) ((target[position + 12] & 0xFE) | ((data >>> 1) & 1));
+            target[position + 14] = (byte) ((target[position + 14] & 0xFE) | (data & 1));
+        }
+    }
+    
+    // 24 bit samples.
+    private static void insertByte24(byte[] target, int position, byte[] source, int source_start_position, int source_end_position) {
+        
+        for (int i = source_start_position; i < source_end_position; i++, position += 24) {
+            int data = source[i];
+            
+            target[position]      = (byte) ((target[position]      & 0xFE) | ((data >>> 7) & 1));
+            target[position + 3]  = (byte) ((target[position + 3]  & 0xFE) | ((data >>> 6) & 1));
+            target[position + 6]  = (byte) ((target[position + 6]  & 0xFE) | ((data >>> 5) & 1));
+            target[position + 9]  = (byte) ((target[position + 9]  & 0xFE) | ((data >>> 4) & 1));
+            target[position + 12] = (byte) ((target[position + 12] & 0xFE) | ((data >>> 3) & 1));
+            target[position + 15] = (byte) ((target[position + 15] & 0xFE) | ((data >>> 2) & 1));
+            target[position + 18] = (byte) ((target[position + 18] & 0xFE) | ((data >>> 1) & 1));
+            target[position + 21] = (byte) ((target[position + 21] & 0xFE) | (data & 1));
+        }
+    }
+    
+    // 32 bit integer and float samples.
+    private static void insertByte32(byte[] target, int position, byte[] source, int source_start_position, int source_end_position) {
+        
+        for (int i = source_start_position; i < source_end_position; i++, position += 32) {
+            int data = source[i];
+            
+            target[position]      = (byte) ((target[position]      & 0xFE) | ((data >>> 7) & 1));
+            target[position + 4]  = (byte) ((target[position + 4]  & 0xFE) | ((data >>> 6) & 1));
+            target[position + 8]  = (byte) ((target[position + 8]  & 0xFE) | ((data >>> 5) & 1));
+            target[position + 12] = (byte) ((target[position + 12] & 0xFE) | ((data >>> 4) & 1));
+            target[position + 16] = (byte) ((target[position + 16] & 0xFE) | ((data >>> 3) & 1));
+            target[position + 20] = (byte) ((target[position + 20] & 0xFE) | ((data >>> 2) & 1));
+            target[position + 24] = (byte) ((target[position + 24] & 0xFE) | ((data >>> 1) & 1));
+            target[position + 28] = (byte) ((target[position + 28] & 0xFE) | (data & 1));
+        }
+    }
+    
+    // any other sample size, eg 64 bit float samples.
+    private static void insertByteStrided(byte[] target, int position, int sample_size, byte[] source, int source_start_position, int source_end_position) {
+        
+        for (int i = source_start_position; i < source_end_position; i++) {
+            byte data = source[i];
+
+            for (int j = 7; j >= 0; j--, position += sample_size) {
+                target[position] = (byte) ((target[position] & 0xFE) | ((data >>> j) & 1));
+            }
+        }
+    }
+
+    /**
+     * Insert all the bits of source byte array (starting from <B>source_start_position</B> till <B>source_end_position</B>)
+     * in <B>depth</B> least significant bits of bytes of target byte array (starting from <B>target_start_position</B> 
+     * till <B>target_end_position</B>), ie <B>depth</B> bits per byte.
+     * <P>
+     * Bits are taken most significant first, a byte holding next <B>depth</B> bits in its own bit order.
+     * If number of bits is not a multiple of <B>depth</B>, last byte is padded with 0 bits.
+     * </P>
+     *
+     * @param target byte array in which bytes are to be inserted.
+     * @param target_start_position starting position for target array, where bits are to be inserted.
+     * @param target_end_position ending position for target array, till where bits are to be inserted.
+     * @param depth number of bits per target byte, 1 to 4.
+     * @param source byte array from where bytes are to be inserted in target byte array.
+     * @param source_start_position starting position of source byte array for bytes that are to be encoded.
+     * @param source_end_position ending position of source byte array till bytes to be encoded.
+     *
+     * @throws InsufficientMemoryException
+     */
+    public static void insertBits(byte[] target, int target_start_position, int target_end_position, int depth, byte[] source, int source_start_position, int source_end_position) throws InsufficientMemoryException {
+        insertBits(target, target_start_position, target_end_position, 1, depth, source, source_start_position, source_end_position);
+    }
+    
+    /**
+     * Insert all the bits of source byte array (starting from <B>source_start_position</B> till <B>source_end_position</B>)
+     * in <B>depth</B> least significant bits of every <B>sample_size</B>th byte of target byte array 
+     * (starting from <B>target_start_position</B> till <B>target_end_position</B>), ie <B>depth</B> bits per sample.
+     * <P><B>target_start_position</B> must point to least significant byte of first sample.</P>
+     *
+     * @param target byte array of samples in which bytes are to be inserted.
+     * @param target_start_position position of least significant byte of first sample.
+     * @param target_end_position ending position for target array, till where bits are to be inserted.
+     * @param sample_size number of bytes in one sample.
+     * @param depth number of bits per sample, 1 to 4.
+     * @param source byte array from where bytes are to be inserted in target byte array.
+     * @param source_start_position starting position of source byte array for bytes that are to be encoded.
+     * @param source_end_position ending position of source byte array till bytes to be encoded.
+     *
+     * @throws InsufficientMemoryException
+     */
+    public static void insertBits(byte[] target, int target_start_position, int target_end_position, int sample_size, int depth, byte[] source, int source_start_position, int source_end_position) throws InsufficientMemoryException {
+        
+        if (depth == 1) {
+            insertByte(target, target_start_position, target_end_position, sample_size, source, source_start_position, source_end_position);
+            return;
+        }
+        
+        long units = getUnits(source_end_position - source_start_position, depth);
+        
+        // last sample only needs its least significant byte.
+        if (units > 0 && target_end_position - target_start_position < (units - 1) * sample_size + 1) {
+            throw new InsufficientMemoryException();
+        }
+        
+        switch (depth) {
+            case 2:  insertBits2(target, target_start_position, sample_size, source, source_start_position, source_end_position);
+                     break;
+            case 3:  insertBits3(target, target_start_position, sample_size, source, source_start_position, source_end_position);
+                     break;
+            case 4:  insertBits4(target, target_start_position, sample_size, source, source_start_position, source_end_position);
+                     break;
+            default: throw new IllegalArgumentException("depth must be 1 to 4.");
+        }
+    }
+    
+    /**
+     * Returns number of target bytes (or samples) holding <B>length</B> bytes at <B>depth</B> bits each.
+     */
+    public static long getUnits(long length, int depth) {
+        return (length * 8 + depth - 1) / depth;
+    }
+    
+    // 2 bits, 4 samples per byte.
+    private static void insertBits2(byte[] target, int position, int stride, byte[] source, int source_start_position, int source_end_position) {
+        
+        int s1 = stride, s2 = 2 * stride, s3 = 3 * stride, step = 4 * stride;
+        
+        for (int i = source_start_position; i < source_end_position; i++, position += step) {
+            int data = source[i];
+            
+            target[position]      = (byte) ((target[position]      & 0xFC) | ((data >>> 6) & 3));
+            target[position + s1] = (byte) ((target[position + s1] & 0xFC) | ((data >>> 4) & 3));
+            target[position + s2] = (byte) ((target[position + s2] & 0xFC) | ((data >>> 2) & 3));
+            target[position + s3] = (byte) ((target[position + s3] & 0xFC) | (data & 3));
+        }
+    }
+    
+    // 3 bits, 8 samples per 3 bytes, a last group of 1 or 2 bytes is padded.
+    private static void insertBits3(byte[] target, int position, int stride, byte[] source, int source_start_position, int source_end_position) {
+        
+        int s1 = stride, s2 = 2 * stride, s3 = 3 * stride, s4 = 4 * stride, s5 = 5 * stride, s6 = 6 * stride, s7 = 7 * stride, step = 8 * stride;
+        
+        int i = source_start_position;
+        
+        for (; i + 3 <= source_end_position; i += 3, position += step) {
+            int data = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8 | (source[i + 2] & 0xFF);
+            
+            target[position]      = (byte) ((target[position]      & 0xF8) | ((data >>> 21) & 7));
+            target[position + s1] = (byte) ((target[position + s1] & 0xF8) | ((data >>> 18) & 7));
+            target[position + s2] = (byte) ((target[position + s2] & 0xF8) | ((data >>> 15) & 7));
+            target[position + s3] = (byte) ((target[position + s3] & 0xF8) | ((data >>> 12) & 7));
+            target[position + s4] = (byte) ((target[position + s4] & 0xF8) | ((data >>> 9)  & 7));
+            target[position + s5] = (byte) ((target[position + s5] & 0xF8) | ((data >>> 6)  & 7));
+            target[position + s6] = (byte) ((target[position + s6] & 0xF8) | ((data >>> 3)  & 7));
+            target[position + s7] = (byte) ((target[position + s7] & 0xF8) | (data & 7));
+        }
+        
+        if (i < source_end_position) {
+            
+            int tail = source_end_position - i;
+            int data = (source[i] & 0xFF) << 16 | (tail == 2 ? (source[i + 1] & 0xFF) << 8 : 0);
+            
+            // 8 bits take 3 samples, 16 bits take 6.
+            for (int shift = 21, n = tail * 3; n > 0; n--, shift -= 3, position += stride) {
+                target[position] = (byte) ((target[position] & 0xF8) | ((data >>> shift) & 7));
+            }
+        }
+    }
+    
+    // 4 bits, 2 samples per byte.
+    private static void insertBits4(byte[] target, int position, int stride, byte[] source, int source_start_position, int source_end_position) {
+        
+        int step = 2 * stride;
+        
+        for (int i = source_start_position; i < source_end_position; i++, position += step) {
+            int data = source[i];
+            
+            target[position]          = (byte) ((target[position]          & 0xF0) | ((data >>> 4) & 0xF));
+            target[position + stride] = (byte) ((target[position + stride] & 0xF0) | (data & 0xF));
+        }
+    }
+
+    /**
+     * Inserts a 32 bits integer <B>"value"</B> in <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>position</B> position.
+     * 
+     * @param source byte array in LSB of whose, integer is to be inserted.
+     * 
+     * @param position from where insertion is supposed to start.
+     * 
+     * @param value 32 bit integer value that is to be inserted.
+     * 
+     * @throws InsufficientMemoryException 
+     */
+    public static void insertInteger(byte[] source, int position, int value) throws InsufficientMemoryException {
+        byte[] intBytes = intToByte(value);
+
+        insertByte(source, position, source.length, intBytes, 0, intBytes.length);
+    }
+
+    /**
+     * Inserts a 32 bits float <B>"value"</B> in <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>position</B> position.
+     * 
+     * @param source byte array in LSB of whose, float is to be inserted.
+     * @param position from where insertion is supposed to start.
+     * @param value 32 bit float value that is to be inserted.
+     * 
+     * @throws InsufficientMemoryException 
+     */
+    public static void insertFloat(byte[] source, int position, float value) throws InsufficientMemoryException {
+        int float_raw_int_bits = Float.floatToRawIntBits(value);
+        
+        insertInteger(source, position, float_raw_int_bits);
+    }
+    
+    
+    /**
+     * Inserts a 64 bits long <B>"value"</B> in <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>position</B> position.
+     * 
+     * @param source byte array in LSB of whose, long is to be inserted.
+     * @param position from where insertion is supposed to start.
+     * @param value 64 bit long value that is to be inserted.
+     * 
+     * @throws InsufficientMemoryException 
+     */
+    public static void insertLong(byte[] source, int position, long value) throws InsufficientMemoryException {
+        byte[] longBytes = longToByte(value);
+
+        insertByte(source, position, source.length, longBytes, 0, longBytes.length);
+    }
+    
+    /**
+     * Inserts a 64 bits double <B>"value"</B> in <B>LSB</B> position of bytes of <B>source</B> byte array
+     * starting from <B>position</B> position.
+     * 
+     * @param source byte array in LSB of whose, double is to be inserted.
+     * @param position from where insertion is supposed to start.
+     * @param value 64 bit double value that is to be inserted.
+     * 
+     * @throws InsufficientMemoryException 
+     */
+    public static void insertDouble(byte[] source, int position, double value) throws InsufficientMemoryException {
+        long double_raw_long_bits = Double.doubleToRawLongBits(value);
+        
+        insertLong(source, position, double_raw_long_bits);
+    }
+    
+}
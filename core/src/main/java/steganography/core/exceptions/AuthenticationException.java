@@ -0,0 +1,21 @@
+package steganography.core.exceptions;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * AuthenticationException Exception class.
+ * <P>Thrown when a chunk of encrypted data fails authentication, ie password is wrong or cover was modified.</P>
+ */
+public class AuthenticationException extends ChecksumException {
+
+    public AuthenticationException() {
+        super("Wrong password or modified data!");
+    }
+
+    public AuthenticationException(String msg) {
+        super(msg);
+    }
+
+}
@@ -0,0 +1,23 @@
+package steganography.core.exceptions;
+
+import java.io.InterruptedIOException;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * CancelledException Exception class.
+ * <P>Thrown at next chunk boundary after encoding or decoding is cancelled.</P>
+ */
+public class CancelledException extends InterruptedIOException {
+
+    public CancelledException() {
+        super("Cancelled!");
+    }
+
+    public CancelledException(String msg) {
+        super(msg);
+    }
+
+}
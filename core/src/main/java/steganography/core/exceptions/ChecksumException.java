@@ -0,0 +1,23 @@
+package steganography.core.exceptions;
+
+import java.io.IOException;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * ChecksumException Exception class.
+ * <P>Thrown when CRC32C of decoded data does not match checksum encoded after it, eg cover was truncated or recompressed.</P>
+ */
+public class ChecksumException extends IOException {
+
+    public ChecksumException() {
+        super("Checksum mismatch!");
+    }
+
+    public ChecksumException(String msg) {
+        super(msg);
+    }
+
+}
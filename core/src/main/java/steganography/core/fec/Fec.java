@@ -0,0 +1,136 @@
+package steganography.core.fec;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import static steganography.core.fec.ReedSolomon.MAX_DATA;
+import static steganography.core.fec.ReedSolomon.PARITY;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Layout of payload protected by forward error correction, see {@link steganography.core.Steganography#setFec(boolean)}.
+ * <P>
+ * Payload is cut into blocks of {@link #BLOCK_DATA} bytes, last block may be shorter. Each block is spread over
+ * {@link #INTERLEAVE} {@link ReedSolomon} codewords, data byte t of a block going to codeword t % INTERLEAVE,
+ * so a run of up to INTERLEAVE * {@link ReedSolomon#MAX_ERRORS} damaged bytes, eg a cropped or re-encoded region
+ * of cover, costs each codeword at most {@link ReedSolomon#MAX_ERRORS} errors.
+ * </P>
+ * <P>
+ * An encoded block holds its data bytes as they are, followed by parity of its c codewords,
+ * parity byte p of codeword j being at c * p + j after data. A block of m data bytes therefore takes
+ * m + {@link ReedSolomon#PARITY} * min(m, INTERLEAVE) bytes, {@link #BLOCK_SIZE} if it is full.
+ * </P>
+ * <P>Blocks are independent, so streams encode and decode several of them in parallel.</P>
+ */
+public final class Fec {
+
+    /**
+     * Number of codewords a block is interleaved over.
+     */
+    public static final int INTERLEAVE = 16;
+
+    /**
+     * Number of data bytes in a full block.
+     */
+    public static final int BLOCK_DATA = MAX_DATA * INTERLEAVE;
+
+    /**
+     * Number of encoded bytes of a full block.
+     */
+    public static final int BLOCK_SIZE = (MAX_DATA + PARITY) * INTERLEAVE;
+
+    /**
+     * Number of blocks streams buffer and process in parallel at a time.
+     */
+    static final int BATCH_BLOCKS = 64;
+
+    private Fec() {
+    }
+
+    /**
+     * Returns number of bytes <B>length</B> bytes of data take once encoded.
+     */
+    public static long getEncodedSize(long length) {
+
+        long full = length / BLOCK_DATA;
+        int rest = (int) (length % BLOCK_DATA);
+
+        return full * BLOCK_SIZE + (rest > 0 ? getBlockSize(rest) : 0);
+    }
+
+    /**
+     * Returns highest number of data bytes whose encoded size is at most <B>encoded_size</B>.
+     */
+    public static long getDataSize(long encoded_size) {
+
+        if (encoded_size <= 0) {
+            return 0;
+        }
+
+        long full = encoded_size / BLOCK_SIZE;
+        int rest = (int) (encoded_size % BLOCK_SIZE);
+
+        // a last block of m bytes takes m + m * PARITY bytes up to INTERLEAVE bytes, m + INTERLEAVE * PARITY after.
+        int last = rest >= INTERLEAVE * (PARITY + 1) ? rest - INTERLEAVE * PARITY : rest / (PARITY + 1);
+
+        return full * BLOCK_DATA + last;
+    }
+
+    /**
+     * Returns number of encoded bytes of a block of <B>data</B> data bytes.
+     */
+    static int getBlockSize(int data) {
+        return data + PARITY * Math.min(data, INTERLEAVE);
+    }
+
+    /**
+     * Computes parity of block at <B>start</B> of <B>buffer</B> holding <B>data</B> data bytes, writing it after them.
+     */
+    static void encodeBlock(byte[] buffer, int start, int data) {
+
+        int codewords = Math.min(data, INTERLEAVE);
+
+        for (int j = 0; j < codewords; j++) {
+            ReedSolomon.encode(buffer, start + j, INTERLEAVE, (data - j + INTERLEAVE - 1) / INTERLEAVE, start + data + j, codewords);
+        }
+    }
+
+    /**
+     * Corrects block at <B>start</B> of <B>buffer</B> holding <B>data</B> data bytes in place.
+     *
+     * @return number of bytes corrected, -1 if block has more errors than can be corrected.
+     */
+    static int decodeBlock(byte[] buffer, int start, int data) {
+
+        int codewords = Math.min(data, INTERLEAVE);
+        int corrected = 0;
+
+        for (int j = 0; j < codewords; j++) {
+
+            int n = ReedSolomon.decode(buffer, start + j, INTERLEAVE, (data - j + INTERLEAVE - 1) / INTERLEAVE, start + data + j, codewords);
+
+            if (n < 0) {
+                return -1;
+            }
+            corrected += n;
+        }
+
+        return corrected;
+    }
+
+    /**
+     * Applies <B>task</B> to blocks 0 to <B>blocks</B> - 1, in parallel if there are several.
+     */
+    static void forEachBlock(int blocks, IntConsumer task) {
+
+        if (blocks > 1) {
+            IntStream.range(0, blocks).parallel().forEach(task);
+        }
+        else if (blocks == 1) {
+            task.accept(0);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package steganography.core.fec;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import static steganography.core.fec.Fec.BATCH_BLOCKS;
+import static steganography.core.fec.Fec.BLOCK_DATA;
+import static steganography.core.fec.Fec.BLOCK_SIZE;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Stream of payload to be encoded with Reed-Solomon parity added, laid out as described by {@link Fec}.
+ * <P>
+ * Payload is read {@link Fec#BATCH_BLOCKS} blocks at a time and parity of those blocks is computed in parallel,
+ * so encoders read it between payload and embedding like any other payload stream.
+ * Its length is {@link Fec#getEncodedSize(long)} of payload length.
+ * </P>
+ */
+public class FecInputStream extends FilterInputStream {
+
+    private final byte[] DATA = new byte[BATCH_BLOCKS * BLOCK_DATA];
+
+    private final byte[] ENCODED = new byte[BATCH_BLOCKS * BLOCK_SIZE];
+
+    private int POSITION, LENGTH;
+
+    private boolean ENDED;
+
+    public FecInputStream(InputStream payload) {
+        super(payload);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) > 0 ? b[0] & 0xFF : -1;
+    }
+
+    /**
+     * Fills <B>b</B> as far as payload allows, so a short read only happens at end of stream.
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        int total = 0;
+
+        while (total < len) {
+
+            if (POSITION == LENGTH && !fill()) {
+                break;
+            }
+
+            int n = Math.min(len - total, LENGTH - POSITION);
+
+            System.arraycopy(ENCODED, POSITION, b, off + total, n);
+            POSITION += n;
+            total += n;
+        }
+
+        return total == 0 && len > 0 ? -1 : total;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        return read(new byte[(int) Math.min(n, BLOCK_SIZE)]);
+    }
+
+    @Override
+    public int available() {
+        return LENGTH - POSITION;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Reads next batch of payload and encodes it, returns false once payload has ended.
+     */
+    private boolean fill() throws IOException {
+
+        if (ENDED) {
+            return false;
+        }
+
+        int length = 0, n;
+
+        while (length < DATA.length && (n = in.read(DATA, length, DATA.length - length)) > 0) {
+            length += n;
+        }
+
+        if (length < DATA.length) {
+            ENDED = true;
+        }
+
+        final int data_length = length;
+        int blocks = (data_length + BLOCK_DATA - 1) / BLOCK_DATA;
+
+        Fec.forEachBlock(blocks, block -> {
+
+            int data = Math.min(BLOCK_DATA, data_length - block * BLOCK_DATA);
+
+            System.arraycopy(DATA, block * BLOCK_DATA, ENCODED, block * BLOCK_SIZE, data);
+            Fec.encodeBlock(ENCODED, block * BLOCK_SIZE, data);
+        });
+
+        POSITION = 0;
+        LENGTH = blocks == 0 ? 0 : (blocks - 1) * BLOCK_SIZE + Fec.getBlockSize(data_length - (blocks - 1) * BLOCK_DATA);
+
+        return LENGTH > 0;
+    }
+
+}
@@ -0,0 +1,124 @@
+package steganography.core.fec;
+
+import java.io.IOException;
+import steganography.core.exceptions.ChecksumException;
+import steganography.core.util.ChecksumOutputStream;
+import static steganography.core.fec.Fec.BATCH_BLOCKS;
+import static steganography.core.fec.Fec.BLOCK_DATA;
+import static steganography.core.fec.Fec.BLOCK_SIZE;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Stream to which decoders write payload encoded by {@link FecInputStream}.
+ * <P>
+ * Encoded bytes are buffered {@link Fec#BATCH_BLOCKS} blocks at a time, those blocks are corrected in parallel
+ * and their data bytes are written to <B>output</B>, which removes checksum, decrypts and inflates as before.
+ * It is itself a {@link ChecksumOutputStream}, so decoders verify it as they verify any data stream.
+ * </P>
+ */
+public class FecOutputStream extends ChecksumOutputStream {
+
+    private final ChecksumOutputStream OUTPUT;
+
+    private final byte[] ENCODED = new byte[BATCH_BLOCKS * BLOCK_SIZE];
+
+    private int LENGTH;
+
+    /**
+     * Number of payload bytes still to be decoded, including those of buffered blocks.
+     */
+    private long REMAINING;
+
+    private long BLOCK_INDEX, CORRECTED;
+
+    /**
+     * @param output stream to write corrected payload.
+     * @param length number of bytes of payload, before parity was added.
+     */
+    public FecOutputStream(ChecksumOutputStream output, long length) {
+        super(output, 0, false);
+        this.OUTPUT = output;
+        this.REMAINING = length;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        while (len > 0) {
+
+            int n = Math.min(len, getBatchSize() - LENGTH);
+
+            if (n <= 0) {
+                throw new IOException("more bytes than message length.");
+            }
+
+            System.arraycopy(b, off, ENCODED, LENGTH, n);
+            LENGTH += n;
+            off += n;
+            len -= n;
+
+            if (LENGTH == getBatchSize()) {
+                decodeBatch();
+            }
+        }
+    }
+
+    /**
+     * Checks all blocks were written and corrected, then verifies checksum of payload, see {@link ChecksumOutputStream#verify()}.
+     *
+     * @throws ChecksumException if payload is incomplete or checksum does not match.
+     */
+    @Override
+    public void verify() throws ChecksumException {
+
+        if (REMAINING > 0) {
+            throw new ChecksumException("data is incomplete.");
+        }
+
+        OUTPUT.verify();
+    }
+
+    /**
+     * Returns number of bytes corrected so far.
+     */
+    public long getCorrected() {
+        return CORRECTED;
+    }
+
+    /**
+     * Returns number of encoded bytes of next batch, ie of up to {@link Fec#BATCH_BLOCKS} blocks still to be decoded.
+     */
+    private int getBatchSize() {
+        return (int) Math.min(ENCODED.length, Fec.getEncodedSize(REMAINING));
+    }
+
+    private void decodeBatch() throws IOException {
+
+        int data_length = (int) Math.min(REMAINING, BATCH_BLOCKS * BLOCK_DATA);
+        int blocks = (data_length + BLOCK_DATA - 1) / BLOCK_DATA;
+
+        int[] corrected = new int[blocks];
+
+        Fec.forEachBlock(blocks, block -> {
+            corrected[block] = Fec.decodeBlock(ENCODED, block * BLOCK_SIZE, Math.min(BLOCK_DATA, data_length - block * BLOCK_DATA));
+        });
+
+        for (int block = 0; block < blocks; block++) {
+
+            if (corrected[block] < 0) {
+                throw new ChecksumException("block " + (BLOCK_INDEX + block) + " has too many errors to correct.");
+            }
+
+            CORRECTED += corrected[block];
+            OUTPUT.write(ENCODED, block * BLOCK_SIZE, Math.min(BLOCK_DATA, data_length - block * BLOCK_DATA));
+        }
+
+        BLOCK_INDEX += blocks;
+        REMAINING -= data_length;
+        LENGTH = 0;
+    }
+
+}
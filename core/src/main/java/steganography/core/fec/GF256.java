@@ -0,0 +1,66 @@
+package steganography.core.fec;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Arithmetic of GF(2^8) with primitive polynomial <B>x^8 + x^4 + x^3 + x^2 + 1</B> (0x11D) and generator 2,
+ * through log and exponent tables. Elements are ints 0 to 255, addition is xor.
+ */
+public final class GF256 {
+
+    private static final int POLYNOMIAL = 0x11D;
+
+    /**
+     * EXP[i] is 2^i, repeated twice so sums of two logs need no reduction.
+     */
+    static final int[] EXP = new int[512];
+
+    /**
+     * LOG[x] is i such that 2^i is x, LOG[0] is unused.
+     */
+    static final int[] LOG = new int[256];
+
+    static {
+        int x = 1;
+
+        for (int i = 0; i < 255; i++) {
+            EXP[i] = x;
+            LOG[x] = i;
+
+            x <<= 1;
+            if (x > 0xFF) {
+                x ^= POLYNOMIAL;
+            }
+        }
+
+        for (int i = 255; i < EXP.length; i++) {
+            EXP[i] = EXP[i - 255];
+        }
+    }
+
+    private GF256() {
+    }
+
+    public static int multiply(int a, int b) {
+        return a == 0 || b == 0 ? 0 : EXP[LOG[a] + LOG[b]];
+    }
+
+    public static int divide(int a, int b) {
+
+        if (b == 0) {
+            throw new ArithmeticException("division by zero.");
+        }
+
+        return a == 0 ? 0 : EXP[LOG[a] + 255 - LOG[b]];
+    }
+
+    /**
+     * Returns 2^<B>power</B>, for any power.
+     */
+    public static int exp(int power) {
+        return EXP[Math.floorMod(power, 255)];
+    }
+
+}
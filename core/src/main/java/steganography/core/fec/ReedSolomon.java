@@ -0,0 +1,278 @@
+package steganography.core.fec;
+
+import static steganography.core.fec.GF256.EXP;
+import static steganography.core.fec.GF256.LOG;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Systematic Reed-Solomon code over {@link GF256} with {@link #PARITY} parity bytes per codeword,
+ * ie RS(255, 223), which corrects up to {@link #MAX_ERRORS} wrong bytes anywhere in a codeword.
+ * <P>
+ * Codewords may be shortened, ie carry less than {@link #MAX_DATA} data bytes, and their bytes need not
+ * be adjacent: data and parity bytes are addressed by a start and a stride each, so interleaved codewords
+ * of a block are encoded and decoded in place without copying them out.
+ * </P>
+ * <P>
+ * Byte i of a codeword of n bytes is coefficient of x^(n-1-i), data first, and generator is
+ * (x - 2^0)(x - 2^1)...(x - 2^31).
+ * </P>
+ */
+public final class ReedSolomon {
+
+    /**
+     * Number of parity bytes per codeword.
+     */
+    public static final int PARITY = 32;
+
+    /**
+     * Highest number of data bytes per codeword.
+     */
+    public static final int MAX_DATA = 255 - PARITY;
+
+    /**
+     * Highest number of wrong bytes a codeword can be corrected for.
+     */
+    public static final int MAX_ERRORS = PARITY / 2;
+
+    /**
+     * Number of longs the {@link #PARITY} bytes of a remainder are packed in.
+     */
+    private static final int REMAINDER_LONGS = PARITY / 8;
+
+    /**
+     * Products of each feedback byte f with coefficients of x^0 to x^(PARITY - 1) of generator polynomial,
+     * packed as a remainder at f * REMAINDER_LONGS, see {@link #computeParity(byte[], int, int, int, long[])}.
+     * Coefficient of x^PARITY is 1.
+     */
+    private static final long[] PRODUCTS = new long[256 * REMAINDER_LONGS];
+
+    static {
+        int[] generator = new int[PARITY + 1];
+        generator[0] = 1;
+
+        // multiplying by (x + 2^i) for each root.
+        for (int i = 0; i < PARITY; i++) {
+            for (int j = i + 1; j > 0; j--) {
+                generator[j] = generator[j - 1] ^ GF256.multiply(generator[j], EXP[i]);
+            }
+            generator[0] = GF256.multiply(generator[0], EXP[i]);
+        }
+
+        for (int f = 0; f < 256; f++) {
+            for (int i = 0; i < PARITY; i++) {
+                PRODUCTS[f * REMAINDER_LONGS + i / 8] |= (long) GF256.multiply(f, generator[i]) << (i % 8 * 8);
+            }
+        }
+    }
+
+    private ReedSolomon() {
+    }
+
+    /**
+     * Computes parity of <B>count</B> data bytes of <B>block</B> at <B>data_start</B>, <B>data_start</B> + <B>data_stride</B>, ...
+     * and stores its {@link #PARITY} bytes at <B>parity_start</B>, <B>parity_start</B> + <B>parity_stride</B>, ...
+     *
+     * @param count number of data bytes, 1 to {@link #MAX_DATA}.
+     */
+    public static void encode(byte[] block, int data_start, int data_stride, int count, int parity_start, int parity_stride) {
+
+        long[] remainder = new long[REMAINDER_LONGS];
+
+        computeParity(block, data_start, data_stride, count, remainder);
+
+        for (int i = 0; i < PARITY; i++) {
+            block[parity_start + i * parity_stride] = (byte) getCoefficient(remainder, PARITY - 1 - i);
+        }
+    }
+
+    /**
+     * Corrects codeword of <B>block</B> laid out as by {@link #encode(byte[], int, int, int, int, int)} in place.
+     *
+     * @return number of bytes corrected, -1 if codeword has more errors than can be corrected,
+     * in which case <B>block</B> may be left partly modified.
+     */
+    public static int decode(byte[] block, int data_start, int data_stride, int count, int parity_start, int parity_stride) {
+
+        if (isValid(block, data_start, data_stride, count, parity_start, parity_stride)) {
+            return 0;
+        }
+
+        int n = count + PARITY;
+
+        // ------------------------- syndromes S_j = c(2^j) -------------------------
+        int[] syndromes = new int[PARITY];
+
+        for (int j = 0; j < PARITY; j++) {
+            int s = 0;
+            for (int i = 0; i < n; i++) {
+                int c = get(block, data_start, data_stride, count, parity_start, parity_stride, i);
+                s = (s == 0 ? 0 : EXP[LOG[s] + j]) ^ c;
+            }
+            syndromes[j] = s;
+        }
+
+        // ------------------------- error locator by Berlekamp-Massey -------------------------
+        int[] locator = new int[PARITY + 1];
+        int[] previous = new int[PARITY + 1];
+        locator[0] = previous[0] = 1;
+
+        int errors = 0, shift = 1, previous_discrepancy = 1;
+
+        for (int k = 0; k < PARITY; k++) {
+
+            int discrepancy = syndromes[k];
+            for (int i = 1; i <= errors; i++) {
+                discrepancy ^= GF256.multiply(locator[i], syndromes[k - i]);
+            }
+
+            if (discrepancy == 0) {
+                shift++;
+                continue;
+            }
+
+            int coefficient = GF256.divide(discrepancy, previous_discrepancy);
+            int[] last = 2 * errors <= k ? locator.clone() : null;
+
+            for (int i = 0; i + shift <= PARITY; i++) {
+                locator[i + shift] ^= GF256.multiply(coefficient, previous[i]);
+            }
+
+            if (last != null) {
+                errors = k + 1 - errors;
+                previous = last;
+                previous_discrepancy = discrepancy;
+                shift = 1;
+            }
+            else {
+                shift++;
+            }
+        }
+
+        if (errors > MAX_ERRORS) {
+            return -1;
+        }
+
+        // ------------------------- error evaluator omega = syndromes * locator mod x^PARITY -------------------------
+        int[] evaluator = new int[PARITY];
+
+        for (int k = 0; k < PARITY; k++) {
+            int e = 0;
+            for (int i = 0; i <= Math.min(k, errors); i++) {
+                e ^= GF256.multiply(locator[i], syndromes[k - i]);
+            }
+            evaluator[k] = e;
+        }
+
+        // ------------------------- Chien search over shortened codeword and Forney -------------------------
+        int found = 0;
+
+        for (int i = 0; i < n && found < errors; i++) {
+
+            // inverse of error location 2^(n-1-i).
+            int inverse = GF256.exp(-(n - 1 - i));
+
+            if (evaluate(locator, errors + 1, inverse) != 0) {
+                continue;
+            }
+
+            // derivative of locator keeps odd powers only.
+            int derivative = 0;
+            for (int k = 1; k <= errors; k += 2) {
+                derivative ^= GF256.multiply(locator[k], power(inverse, k - 1));
+            }
+
+            if (derivative == 0) {
+                return -1;
+            }
+
+            int magnitude = GF256.multiply(GF256.exp(n - 1 - i), GF256.divide(evaluate(evaluator, PARITY, inverse), derivative));
+
+            int index = i < count ? data_start + i * data_stride : parity_start + (i - count) * parity_stride;
+            block[index] ^= magnitude;
+
+            found++;
+        }
+
+        if (found != errors || !isValid(block, data_start, data_stride, count, parity_start, parity_stride)) {
+            return -1;
+        }
+
+        return errors;
+    }
+
+    /**
+     * Returns true if parity bytes of codeword match its data bytes.
+     */
+    private static boolean isValid(byte[] block, int data_start, int data_stride, int count, int parity_start, int parity_stride) {
+
+        long[] remainder = new long[REMAINDER_LONGS];
+
+        computeParity(block, data_start, data_stride, count, remainder);
+
+        for (int i = 0; i < PARITY; i++) {
+            if ((block[parity_start + i * parity_stride] & 0xFF) != getCoefficient(remainder, PARITY - 1 - i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Divides data bytes times x^PARITY by generator through a shift register, leaving remainder in <B>remainder</B>.
+     * <P>
+     * Register is held in 4 longs, coefficient of x^i being byte i % 8 (lowest first) of long i / 8, so each data byte
+     * shifts it by a byte and xors in a row of {@link #PRODUCTS} instead of multiplying its 32 coefficients one by one.
+     * </P>
+     */
+    private static void computeParity(byte[] block, int data_start, int data_stride, int count, long[] remainder) {
+
+        long r0 = 0, r1 = 0, r2 = 0, r3 = 0;
+
+        for (int k = 0, index = data_start; k < count; k++, index += data_stride) {
+
+            int row = (((block[index] & 0xFF) ^ (int) (r3 >>> 56))) * REMAINDER_LONGS;
+
+            r3 = ((r3 << 8) | (r2 >>> 56)) ^ PRODUCTS[row + 3];
+            r2 = ((r2 << 8) | (r1 >>> 56)) ^ PRODUCTS[row + 2];
+            r1 = ((r1 << 8) | (r0 >>> 56)) ^ PRODUCTS[row + 1];
+            r0 = (r0 << 8) ^ PRODUCTS[row];
+        }
+
+        remainder[0] = r0;
+        remainder[1] = r1;
+        remainder[2] = r2;
+        remainder[3] = r3;
+    }
+
+    /**
+     * Returns coefficient of x^<B>i</B> of a remainder computed by {@link #computeParity(byte[], int, int, int, long[])}.
+     */
+    private static int getCoefficient(long[] remainder, int i) {
+        return (int) (remainder[i / 8] >>> (i % 8 * 8)) & 0xFF;
+    }
+
+    private static int get(byte[] block, int data_start, int data_stride, int count, int parity_start, int parity_stride, int i) {
+        return block[i < count ? data_start + i * data_stride : parity_start + (i - count) * parity_stride] & 0xFF;
+    }
+
+    /**
+     * Returns value of polynomial with <B>length</B> coefficients, lowest power first, at <B>x</B>.
+     */
+    private static int evaluate(int[] polynomial, int length, int x) {
+
+        int value = 0;
+
+        for (int i = length - 1; i >= 0; i--) {
+            value = GF256.multiply(value, x) ^ polynomial[i];
+        }
+        return value;
+    }
+
+    private static int power(int x, int exponent) {
+        return exponent == 0 ? 1 : GF256.exp(LOG[x] * exponent);
+    }
+
+}
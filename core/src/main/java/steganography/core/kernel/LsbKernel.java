@@ -0,0 +1,36 @@
+package steganography.core.kernel;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Loops writing and reading one bit in <B>LSB</B> of each byte of a contiguous range, the inner loops of
+ * {@link steganography.core.encoder.SteganographyEncoder#insertByte(byte[], int, int, byte[], int, int)} and
+ * {@link steganography.core.decoder.SteganographyDecoder#extractByte(byte[], int, int)}.
+ * <P>Bits are taken most significant first. Implementations must give same bytes as {@link ScalarLsbKernel}.</P>
+ * 
+ * @see LsbKernels#get()
+ */
+public interface LsbKernel {
+    
+    /**
+     * Writes bits of <B>source</B> bytes from <B>source_start</B> till <B>source_end</B> in LSB of
+     * <B>target</B> bytes from <B>position</B>, ie 8 target bytes per source byte.
+     * Bounds are checked by caller.
+     */
+    void insert(byte[] target, int position, byte[] source, int source_start, int source_end);
+    
+    /**
+     * Reads <B>result</B> bytes from <B>result_start</B> till <B>result_end</B> from LSB of
+     * <B>source</B> bytes from <B>position</B>, ie 8 source bytes per result byte.
+     * Bounds are checked by caller.
+     */
+    void extract(byte[] source, int position, byte[] result, int result_start, int result_end);
+    
+    /**
+     * Returns name of kernel, eg for logs.
+     */
+    String getName();
+    
+}
@@ -0,0 +1,141 @@
+package steganography.core.kernel;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Chooses {@link LsbKernel} used by encoder and decoder, once per process.
+ * <P>
+ * Vector kernel (<B>steganography.core.kernel.VectorLsbKernel</B>, built from <B>src/vector</B> by JDK 17 or
+ * newer for its own Java version) is used when its class is present and module <B>jdk.incubator.vector</B> is
+ * loaded, ie when running with <B>--add-modules jdk.incubator.vector</B>. Before use it is checked against
+ * {@link ScalarLsbKernel} on random data, and scalar kernel is used if it is missing, cannot be loaded
+ * or gives different bytes.
+ * </P>
+ * <P>Setting system property <B>steganography.vector</B> to <B>false</B> always uses scalar kernel.</P>
+ */
+public final class LsbKernels {
+
+    public static final String VECTOR_PROPERTY = "steganography.vector";
+
+    private static final String VECTOR_KERNEL = "steganography.core.kernel.VectorLsbKernel";
+
+    /**
+     * Number of random ranges a kernel is checked on.
+     */
+    private static final int CHECKS = 200;
+
+    /**
+     * Why vector kernel is not used, null if it is.
+     */
+    private static String FALLBACK_REASON;
+
+    private static final LsbKernel KERNEL = load();
+
+    private LsbKernels() {
+    }
+
+    /**
+     * Returns kernel to be used.
+     */
+    public static LsbKernel get() {
+        return KERNEL;
+    }
+
+    /**
+     * Returns why vector kernel is not used, null if it is.
+     */
+    public static String getFallbackReason() {
+        return FALLBACK_REASON;
+    }
+
+    private static LsbKernel load() {
+
+        ScalarLsbKernel scalar = new ScalarLsbKernel();
+
+        if ("false".equalsIgnoreCase(System.getProperty(VECTOR_PROPERTY))) {
+            FALLBACK_REASON = "disabled by " + VECTOR_PROPERTY + "=false.";
+            return scalar;
+        }
+
+        LsbKernel vector;
+
+        try {
+            vector = (LsbKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        }
+        catch (ClassNotFoundException ex) {
+            FALLBACK_REASON = "vector kernel is not built, it needs JDK 17 or newer.";
+            return scalar;
+        }
+        catch (UnsupportedClassVersionError ex) {
+            FALLBACK_REASON = "vector kernel was built for a newer Java than " + Runtime.version().feature() + ".";
+            return scalar;
+        }
+        catch (LinkageError ex) {
+            FALLBACK_REASON = "module jdk.incubator.vector is not loaded, run with --add-modules jdk.incubator.vector.";
+            return scalar;
+        }
+        catch (ReflectiveOperationException | RuntimeException ex) {
+            Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+            FALLBACK_REASON = "vector kernel is not supported: " + cause.getMessage();
+            return scalar;
+        }
+
+        if (!matches(vector, scalar)) {
+            FALLBACK_REASON = "vector kernel does not match scalar kernel.";
+            return scalar;
+        }
+
+        return vector;
+    }
+
+    /**
+     * Returns true if <B>kernel</B> writes and reads same bytes as <B>reference</B> on random ranges,
+     * of lengths around vector widths and at unaligned positions.
+     */
+    private static boolean matches(LsbKernel kernel, LsbKernel reference) {
+
+        Random random = new Random(0x5EED);
+
+        for (int check = 0; check < CHECKS; check++) {
+
+            int length = random.nextInt(160);
+            int source_start = random.nextInt(16);
+            int position = random.nextInt(64);
+
+            byte[] source = new byte[source_start + length + 16];
+            byte[] cover = new byte[position + length * 8 + 64];
+
+            random.nextBytes(source);
+            random.nextBytes(cover);
+
+            byte[] expected = cover.clone();
+            byte[] actual = cover.clone();
+
+            reference.insert(expected, position, source, source_start, source_start + length);
+            kernel.insert(actual, position, source, source_start, source_start + length);
+
+            if (!Arrays.equals(expected, actual)) {
+                return false;
+            }
+
+            // reading from a random cover, so every bit pattern is seen.
+            byte[] expected_result = new byte[source_start + length];
+            byte[] actual_result = new byte[source_start + length];
+
+            reference.extract(cover, position, expected_result, source_start, source_start + length);
+            kernel.extract(cover, position, actual_result, source_start, source_start + length);
+
+            if (!Arrays.equals(expected_result, actual_result)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
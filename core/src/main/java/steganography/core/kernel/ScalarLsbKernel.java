@@ -0,0 +1,47 @@
+package steganography.core.kernel;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Reference kernel, a bit at a time. Other kernels are checked against it.
+ */
+public class ScalarLsbKernel implements LsbKernel {
+    
+    @Override
+    public void insert(byte[] target, int position, byte[] source, int source_start, int source_end) {
+        
+        // loop to access all bytes of source array.
+        for (int i = source_start; i < source_end; i++) {
+            byte data = source[i];
+
+            // loop to extract all bits of byte "data".
+            for (int j = 7; j >= 0; j--, position++) {
+                target[position] = (byte) ((target[position] & 0xFE) | ((data >>> j) & 1));
+            }
+        }
+    }
+    
+    @Override
+    public void extract(byte[] source, int position, byte[] result, int result_start, int result_end) {
+        
+        for (int i = result_start; i < result_end; i++) {
+
+            byte retrieved_byte = 0;
+
+            // loop to extract 8 LSB bits from 8 byte values.
+            for (int j = 0; j < 8; j++, position++) {
+                retrieved_byte = (byte) ((retrieved_byte << 1) | (source[position] & 1));
+            }
+            
+            result[i] = retrieved_byte;
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+    
+}
@@ -0,0 +1,163 @@
+package steganography.core.mapped;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * {@link MappedCover} embedding through unaligned little endian longs and bytes of a mapped region, shared by
+ * memory segment implementations of each JDK.
+ * <P>
+ * Data is embedded 8 cover bytes at a time, ie <B>depth</B> data bytes, as a little endian long read
+ * and written in place: cover byte k of a long holds bits of data at <B>(7 - k) * depth</B>.
+ * A last group of less than <B>depth</B> data bytes is padded with zero bits, as by stream codecs.
+ * </P>
+ */
+abstract class AbstractMappedCover implements MappedCover {
+
+    /**
+     * Units of each data byte at depth 1, and multiplier moving LSB of byte k of a long to bit 63 - k.
+     */
+    private static final long[] SPREAD = new long[256];
+    private static final long GATHER = 0x8040201008040201L;
+
+    static {
+        for (int b = 0; b < SPREAD.length; b++) {
+            SPREAD[b] = spreadBits(b, 1);
+        }
+    }
+
+    /**
+     * Returns little endian long at <B>position</B> of region, which need not be aligned.
+     */
+    protected abstract long getLong(long position);
+
+    protected abstract void setLong(long position, long value);
+
+    protected abstract byte getByte(long position);
+
+    protected abstract void setByte(long position, byte value);
+
+    @Override
+    public final void insert(long position, int depth, byte[] data, int start, int end) {
+
+        checkDepth(depth);
+
+        long keep = ~unitMask(depth);
+        int i = start;
+
+        for (; i + depth <= end; i += depth, position += Long.BYTES) {
+            setLong(position, (getLong(position) & keep) | spread(group(data, i, depth), depth));
+        }
+
+        if (i < end) {
+
+            long bits = spread(group(data, i, end - i) << (8 * (depth - (end - i))), depth);
+            long units = ((end - i) * 8L + depth - 1) / depth;
+
+            for (int k = 0; k < units; k++, position++) {
+                setByte(position, (byte) ((getByte(position) & keep) | (bits >>> (8 * k) & 0xFF)));
+            }
+        }
+    }
+
+    @Override
+    public final void extract(long position, int depth, byte[] result, int start, int end) {
+
+        checkDepth(depth);
+
+        long mask = unitMask(depth);
+        int i = start;
+
+        for (; i + depth <= end; i += depth, position += Long.BYTES) {
+            ungroup(gather(getLong(position) & mask, depth), result, i, depth);
+        }
+
+        if (i < end) {
+
+            long cover = 0;
+            long units = ((end - i) * 8L + depth - 1) / depth;
+
+            for (int k = 0; k < units; k++, position++) {
+                cover |= (getByte(position) & 0xFFL) << (8 * k);
+            }
+
+            ungroup(gather(cover & mask, depth) >>> (8 * (depth - (end - i))), result, i, end - i);
+        }
+    }
+
+    private static void checkDepth(int depth) {
+        if (depth < 1 || depth > 4) {
+            throw new IllegalArgumentException("depth must be 1 to 4.");
+        }
+    }
+
+    /**
+     * Returns <B>depth</B> low bits set in each byte of a long.
+     */
+    private static long unitMask(int depth) {
+        return 0x0101010101010101L * ((1 << depth) - 1);
+    }
+
+    /**
+     * Returns <B>count</B> data bytes from <B>i</B> as a big endian number.
+     */
+    private static long group(byte[] data, int i, int count) {
+
+        long bits = 0;
+
+        for (int k = 0; k < count; k++) {
+            bits = bits << 8 | (data[i + k] & 0xFF);
+        }
+
+        return bits;
+    }
+
+    /**
+     * Stores low <B>count</B> bytes of <B>bits</B> in <B>result</B> from <B>i</B>, big endian.
+     */
+    private static void ungroup(long bits, byte[] result, int i, int count) {
+
+        for (int k = count - 1; k >= 0; k--, bits >>>= 8) {
+            result[i + k] = (byte) bits;
+        }
+    }
+
+    /**
+     * Moves <B>8 * depth</B> bits of data to LSBs of 8 bytes, first bits to byte 0.
+     */
+    private static long spread(long bits, int depth) {
+        return depth == 1 ? SPREAD[(int) bits] : spreadBits(bits, depth);
+    }
+
+    private static long spreadBits(long bits, int depth) {
+
+        long mask = (1L << depth) - 1;
+        long units = 0;
+
+        for (int k = 0; k < Long.BYTES; k++) {
+            units |= (bits >>> ((7 - k) * depth) & mask) << (8 * k);
+        }
+
+        return units;
+    }
+
+    /**
+     * Reverse of {@link #spread(long, int)}, LSBs of 8 bytes to <B>8 * depth</B> bits of data.
+     */
+    private static long gather(long units, int depth) {
+
+        if (depth == 1) {
+            return units * GATHER >>> 56;
+        }
+
+        long bits = 0;
+
+        for (int k = 0; k < Long.BYTES; k++) {
+            bits |= (units >>> (8 * k) & 0xFF) << ((7 - k) * depth);
+        }
+
+        return bits;
+    }
+
+}
@@ -0,0 +1,49 @@
+package steganography.core.mapped;
+
+import java.io.Closeable;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * A region of a cover file mapped in memory, of any size, in which data is embedded or from which it is
+ * extracted in place, without reading cover in buffers.
+ * <P>
+ * Bits are laid out as by {@link steganography.core.encoder.SteganographyEncoder#insertBits(byte[], int, int, int, byte[], int, int)},
+ * <B>depth</B> bits per byte, so a cover encoded through a mapping decodes through streams and the other way.
+ * </P>
+ * <P>Closing it unmaps region at once, changes are written to file by operating system.</P>
+ * 
+ * @see MappedCovers#open(java.nio.file.Path, long, long, boolean)
+ */
+public interface MappedCover extends Closeable {
+    
+    /**
+     * Returns number of bytes in region.
+     */
+    long size();
+    
+    /**
+     * Inserts <B>data</B> bytes from <B>start</B> till <B>end</B> in <B>depth</B> least significant bits
+     * of bytes of region from <B>position</B>.
+     * 
+     * @throws IndexOutOfBoundsException if region ends before last byte to be written.
+     */
+    void insert(long position, int depth, byte[] data, int start, int end);
+    
+    /**
+     * Extracts <B>result</B> bytes from <B>start</B> till <B>end</B> from <B>depth</B> least significant bits
+     * of bytes of region from <B>position</B>.
+     * 
+     * @throws IndexOutOfBoundsException if region ends before last byte to be read.
+     */
+    void extract(long position, int depth, byte[] result, int start, int end);
+    
+    /**
+     * Unmaps region.
+     */
+    @Override
+    void close();
+    
+}
@@ -0,0 +1,149 @@
+package steganography.core.mapped;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Opens {@link MappedCover}s, when a memory segment implementation can be used.
+ * <P>
+ * Mapped covers are backed by a memory segment, which unlike a {@link java.nio.MappedByteBuffer} is not limited
+ * to 2 GB and is unmapped as soon as it is closed:
+ * </P>
+ * <UL>
+ *     <LI><B>steganography.core.mapped.ForeignMappedCover</B>, built from <B>src/ffm</B> with JDK 22 or newer, uses
+ *     final <B>java.lang.foreign</B> API and runs on Java 22 or newer.</LI>
+ *     <LI><B>steganography.core.mapped.SegmentMappedCover</B>, built from <B>src/foreign</B> with JDK 17, uses
+ *     incubator module <B>jdk.incubator.foreign</B>, which only Java 17 has, and needs
+ *     <B>--add-modules jdk.incubator.foreign</B>.</LI>
+ * </UL>
+ * <P>
+ * A build holds the one its JDK can compile, so covers are never mapped by builds or runtimes of JDK 18 to 21,
+ * where FFM API is incubating or in preview under other names, nor on Java 17 by builds of newer JDKs.
+ * </P>
+ * <P>Setting system property <B>steganography.mapped</B> to <B>false</B> never maps covers.</P>
+ */
+public final class MappedCovers {
+
+    public static final String MAPPED_PROPERTY = "steganography.mapped";
+
+    private static final String FOREIGN_COVER = "steganography.core.mapped.ForeignMappedCover";
+
+    private static final String SEGMENT_COVER = "steganography.core.mapped.SegmentMappedCover";
+
+    /**
+     * Why covers are not mapped, null if they are.
+     */
+    private static String FALLBACK_REASON;
+
+    private static final Constructor<? extends MappedCover> CONSTRUCTOR = load();
+
+    private MappedCovers() {
+    }
+
+    /**
+     * Returns true if covers can be mapped.
+     */
+    public static boolean isAvailable() {
+        return CONSTRUCTOR != null;
+    }
+
+    /**
+     * Returns why covers are not mapped, null if they are.
+     */
+    public static String getFallbackReason() {
+        return FALLBACK_REASON;
+    }
+
+    /**
+     * Maps <B>size</B> bytes of <B>file</B> from <B>position</B>.
+     *
+     * @param file path of cover file.
+     * @param position position in file of first byte of region.
+     * @param size number of bytes in region.
+     * @param writable true to map for reading and writing, false for reading only.
+     *
+     * @return mapped region, to be closed by caller.
+     *
+     * @throws IOException
+     * @throws UnsupportedOperationException if covers cannot be mapped, see {@link #isAvailable()}.
+     */
+    public static MappedCover open(Path file, long position, long size, boolean writable) throws IOException {
+
+        if (CONSTRUCTOR == null) {
+            throw new UnsupportedOperationException(FALLBACK_REASON);
+        }
+
+        try {
+            return CONSTRUCTOR.newInstance(file, position, size, writable);
+        }
+        catch (InvocationTargetException ex) {
+            Throwable cause = ex.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+        catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Constructor<? extends MappedCover> load() {
+
+        if ("false".equalsIgnoreCase(System.getProperty(MAPPED_PROPERTY))) {
+            FALLBACK_REASON = "disabled by " + MAPPED_PROPERTY + "=false.";
+            return null;
+        }
+
+        // a build holds at most one of them.
+        Constructor<? extends MappedCover> constructor = getConstructor(FOREIGN_COVER);
+
+        if (constructor == null && FALLBACK_REASON == null) {
+            constructor = getConstructor(SEGMENT_COVER);
+        }
+        if (constructor == null && FALLBACK_REASON == null) {
+            FALLBACK_REASON = "mapped covers are not built, they need JDK 17 or JDK 22 or newer.";
+        }
+
+        return constructor;
+    }
+
+    /**
+     * Returns constructor of <B>name</B>, null if class is missing, in which case FALLBACK_REASON is unchanged,
+     * or cannot be used, in which case FALLBACK_REASON says why.
+     */
+    private static Constructor<? extends MappedCover> getConstructor(String name) {
+
+        try {
+            return Class.forName(name).asSubclass(MappedCover.class).getConstructor(Path.class, long.class, long.class, boolean.class);
+        }
+        catch (ClassNotFoundException ex) {
+            // not built by this JDK.
+        }
+        catch (UnsupportedClassVersionError ex) {
+            FALLBACK_REASON = "mapped covers were built for a newer Java than " + Runtime.version().feature() + ".";
+        }
+        catch (LinkageError ex) {
+            FALLBACK_REASON = "module jdk.incubator.foreign is not loaded, run with --add-modules jdk.incubator.foreign.";
+        }
+        catch (ReflectiveOperationException ex) {
+            FALLBACK_REASON = "mapped covers are not supported: " + ex.getMessage();
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,324 @@
+
+package steganography.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import steganography.core.Steganography;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Process wide timers, byte counters, buffer gauges and error counters of encoding and decoding.
+ * <P>
+ * Codecs record a stage once per chunk, not per byte, and counters are {@link LongAdder}s so
+ * threads encoding in parallel do not contend. Collection is always on; {@link #register()}
+ * exposes it through JMX.
+ * </P>
+ * <P>
+ * A stage is timed from the timestamp returned by the previous {@link #record} (or {@link #begin}),
+ * so a loop reads the clock once per stage:
+ * <pre>
+ *     long time = Metrics.now();
+ *     while ((n = source.read(buffer)) &gt; 0) {
+ *         time = Metrics.record(Stage.READ, time, n);
+ *         ...
+ *     }
+ * </pre>
+ * </P>
+ */
+public final class Metrics implements MetricsMXBean {
+
+    /**
+     * Stages of encoding and decoding that are timed.
+     */
+    public enum Stage {
+        ENCODE, DECODE, HEADER, READ, EMBED, EXTRACT, WRITE, COMPRESS
+    }
+
+    public static final String OBJECT_NAME = "steganography:type=Metrics";
+
+    private static final Metrics METRICS = new Metrics();
+
+    private static final int STAGES = Stage.values().length;
+
+    private static final LongAdder[] NANOS = new LongAdder[STAGES];
+    private static final LongAdder[] BYTES = new LongAdder[STAGES];
+    private static final LongAdder[] COUNT = new LongAdder[STAGES];
+
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+    private static final AtomicLong BUFFER_BYTES = new AtomicLong();
+    private static final AtomicLong BUFFER_PEAK = new AtomicLong();
+
+    private static final ConcurrentHashMap<String, LongAdder> ERRORS = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < STAGES; i++) {
+            NANOS[i] = new LongAdder();
+            BYTES[i] = new LongAdder();
+            COUNT[i] = new LongAdder();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static Metrics getMetrics() {
+        return METRICS;
+    }
+
+    /**
+     * Registers metrics with platform MBean server as {@link #OBJECT_NAME}, does nothing if already registered.
+     *
+     * @throws JMException
+     */
+    public static synchronized void register() throws JMException {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+
+        if (server.isRegistered(name)) {
+            return;
+        }
+
+        try {
+            server.registerMBean(METRICS, name);
+        }
+        catch (InstanceAlreadyExistsException ex) {
+            // registered by another class loader.
+        }
+    }
+
+    /*
+        ----------------------------------------Recording part starts here----------------------------------------
+    */
+
+    /**
+     * Returns current timestamp to start timing a stage.
+     */
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a stage that started at <B>start</B> and processed <B>bytes</B> bytes.
+     *
+     * @param stage stage which ended now.
+     * @param start timestamp when stage started.
+     * @param bytes number of bytes processed by stage.
+     *
+     * @return current timestamp, start of next stage.
+     */
+    public static long record(Stage stage, long start, long bytes) {
+
+        long now = System.nanoTime();
+        int i = stage.ordinal();
+
+        NANOS[i].add(now - start);
+        BYTES[i].add(bytes);
+        COUNT[i].increment();
+
+        return now;
+    }
+
+    /**
+     * Marks start of an encoding or decoding by <B>steg</B>, counting its buffers as in use.
+     *
+     * @param steg object which is encoding or decoding.
+     *
+     * @return timestamp to be passed to {@link #end} or {@link #failed}.
+     */
+    public static long begin(Steganography steg) {
+
+        ACTIVE.incrementAndGet();
+
+        long in_use = BUFFER_BYTES.addAndGet(bufferBytes(steg));
+        long peak;
+
+        while (in_use > (peak = BUFFER_PEAK.get()) && !BUFFER_PEAK.compareAndSet(peak, in_use)) {
+            // retrying with new peak.
+        }
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks successful end of an encoding or decoding started with {@link #begin}.
+     *
+     * @param steg object which was encoding or decoding.
+     * @param stage {@link Stage#ENCODE} or {@link Stage#DECODE}.
+     * @param start timestamp returned by {@link #begin}.
+     */
+    public static void end(Steganography steg, Stage stage, long start) {
+        release(steg);
+        record(stage, start, 0);
+    }
+
+    /**
+     * Marks end of an encoding or decoding started with {@link #begin} which failed with <B>error</B>.
+     *
+     * @param steg object which was encoding or decoding.
+     * @param error exception thrown.
+     */
+    public static void failed(Steganography steg, Throwable error) {
+        release(steg);
+        ERRORS.computeIfAbsent(error.getClass().getSimpleName(), name -> new LongAdder()).increment();
+    }
+
+    private static void release(Steganography steg) {
+        ACTIVE.decrementAndGet();
+        BUFFER_BYTES.addAndGet(-bufferBytes(steg));
+    }
+
+    private static long bufferBytes(Steganography steg) {
+        return (long) steg.getSourceBufferSize() + steg.getDataBufferSize();
+    }
+
+    /*
+        ________________________________________Recording part ends here_________________________________________
+    */
+
+    private static long nanos(Stage stage) {
+        return NANOS[stage.ordinal()].sum();
+    }
+
+    private static long bytes(Stage stage) {
+        return BYTES[stage.ordinal()].sum();
+    }
+
+    private static long count(Stage stage) {
+        return COUNT[stage.ordinal()].sum();
+    }
+
+    @Override
+    public long getEncodeCount() {
+        return count(Stage.ENCODE);
+    }
+
+    @Override
+    public long getEncodeNanos() {
+        return nanos(Stage.ENCODE);
+    }
+
+    @Override
+    public long getDecodeCount() {
+        return count(Stage.DECODE);
+    }
+
+    @Override
+    public long getDecodeNanos() {
+        return nanos(Stage.DECODE);
+    }
+
+    @Override
+    public long getHeaderNanos() {
+        return nanos(Stage.HEADER);
+    }
+
+    @Override
+    public long getHeaderCount() {
+        return count(Stage.HEADER);
+    }
+
+    @Override
+    public long getReadNanos() {
+        return nanos(Stage.READ);
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytes(Stage.READ);
+    }
+
+    @Override
+    public long getEmbedNanos() {
+        return nanos(Stage.EMBED);
+    }
+
+    @Override
+    public long getBytesEmbedded() {
+        return bytes(Stage.EMBED);
+    }
+
+    @Override
+    public long getExtractNanos() {
+        return nanos(Stage.EXTRACT);
+    }
+
+    @Override
+    public long getBytesExtracted() {
+        return bytes(Stage.EXTRACT);
+    }
+
+    @Override
+    public long getWriteNanos() {
+        return nanos(Stage.WRITE);
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytes(Stage.WRITE);
+    }
+
+    @Override
+    public long getCompressNanos() {
+        return nanos(Stage.COMPRESS);
+    }
+
+    @Override
+    public long getBytesCompressed() {
+        return bytes(Stage.COMPRESS);
+    }
+
+    @Override
+    public int getActiveOperations() {
+        return ACTIVE.get();
+    }
+
+    @Override
+    public long getBufferBytesInUse() {
+        return BUFFER_BYTES.get();
+    }
+
+    @Override
+    public long getBufferBytesPeak() {
+        return BUFFER_PEAK.get();
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+
+        Map<String, Long> errors = new TreeMap<>();
+
+        ERRORS.forEach((name, count) -> errors.put(name, count.sum()));
+
+        return errors;
+    }
+
+    /**
+     * Resets timers and counters, gauges of running operations are kept.
+     */
+    @Override
+    public void reset() {
+
+        for (int i = 0; i < STAGES; i++) {
+            NANOS[i].reset();
+            BYTES[i].reset();
+            COUNT[i].reset();
+        }
+
+        BUFFER_PEAK.set(BUFFER_BYTES.get());
+        ERRORS.clear();
+    }
+
+}
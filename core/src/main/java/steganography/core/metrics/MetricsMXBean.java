@@ -0,0 +1,76 @@
+
+package steganography.core.metrics;
+
+import java.util.Map;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * JMX view of {@link Metrics}, registered as <B>steganography:type=Metrics</B> by {@link Metrics#register()}.
+ * <P>Times are in nanoseconds and sizes in bytes, all counted since start or last {@link #reset()}.</P>
+ */
+public interface MetricsMXBean {
+
+    long getEncodeCount();
+
+    long getEncodeNanos();
+
+    long getDecodeCount();
+
+    long getDecodeNanos();
+
+    /**
+     * Time spent locating cover data in file headers (MP4, PNG, WAV, AIFF, AU).
+     */
+    long getHeaderNanos();
+
+    long getHeaderCount();
+
+    long getReadNanos();
+
+    long getBytesRead();
+
+    long getEmbedNanos();
+
+    long getBytesEmbedded();
+
+    long getExtractNanos();
+
+    long getBytesExtracted();
+
+    long getWriteNanos();
+
+    long getBytesWritten();
+
+    /**
+     * Time spent compressing data before embedding, see {@link steganography.core.compression.Compressor}.
+     */
+    long getCompressNanos();
+
+    long getBytesCompressed();
+
+    /**
+     * Number of encodings and decodings running now.
+     */
+    int getActiveOperations();
+
+    /**
+     * Bytes of source and data buffers held by running encodings and decodings.
+     */
+    long getBufferBytesInUse();
+
+    /**
+     * Highest value of {@link #getBufferBytesInUse()} so far.
+     */
+    long getBufferBytesPeak();
+
+    /**
+     * Number of failed encodings and decodings by simple name of exception class.
+     */
+    Map<String, Long> getErrorCounts();
+
+    void reset();
+
+}
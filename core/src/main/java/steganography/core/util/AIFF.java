@@ -0,0 +1,187 @@
+
+package steganography.core.util;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Class to process AIFF and AIFF-C files.
+ * <P>
+ * Walks the chunk list of the file with seeks, reading only the chunk headers, the <B>COMM</B> chunk
+ * and the offset of the <B>SSND</B> chunk. Sample data is never read.
+ * </P>
+ */
+public class AIFF {
+
+    private long SSND_POSITION;
+    private long SSND_SIZE;
+    private int CHANNELS, SAMPLE_SIZE;
+    private String COMPRESSION = "NONE";
+    private boolean IS_AIFF, IS_AIFC;
+
+    public AIFF(String source) throws IOException{
+        long time = Metrics.now();
+        process(source);
+        Metrics.record(Stage.HEADER, time, 0);
+    }
+
+    public final void process(String sourceFile) throws FileNotFoundException, IOException{
+
+        try ( RandomAccessFile source = new RandomAccessFile(sourceFile, "r") ) {
+
+            long file_length = source.length();
+
+            // 'FORM' + size + 'AIFF' or 'AIFC'.
+            if(file_length < 12){
+                return;
+            }
+
+            String form_id = readId(source);
+            source.skipBytes(4);
+            String form_type = readId(source);
+
+            if(!form_id.equals("FORM") || !(form_type.equals("AIFF") || form_type.equals("AIFC"))){
+                return;
+            }
+
+            IS_AIFC = form_type.equals("AIFC");
+
+            boolean comm_found = false, ssnd_found = false;
+
+            // walking chunks, each chunk is 'id' + 32 bit big-endian size + body (padded to even size).
+            while(!(comm_found && ssnd_found) && source.getFilePointer() + 8 <= file_length){
+
+                String chunk_id = readId(source);
+                long chunk_size = source.readInt() & 0xFFFFFFFFL;
+                long chunk_body = source.getFilePointer();
+
+                switch(chunk_id){
+
+                    case "COMM": {
+                        CHANNELS = source.readUnsignedShort();
+                        // number of sample frames.
+                        source.skipBytes(4);
+                        SAMPLE_SIZE = source.readUnsignedShort();
+
+                        // AIFF-C: 80 bit sample rate followed by compression type.
+                        if(IS_AIFC && chunk_size >= 22){
+                            source.skipBytes(10);
+                            COMPRESSION = readId(source);
+                        }
+
+                        comm_found = true;
+                        break;
+                    }
+
+                    case "SSND": {
+                        // offset of first sample, followed by block size.
+                        long offset = source.readInt() & 0xFFFFFFFFL;
+
+                        SSND_POSITION = chunk_body + 8 + offset;
+                        SSND_SIZE = chunk_size - 8 - offset;
+
+                        // streamed or truncated files may declare more data than present.
+                        if(SSND_POSITION + SSND_SIZE > file_length){
+                            SSND_SIZE = file_length - SSND_POSITION;
+                        }
+
+                        ssnd_found = SSND_SIZE >= 0;
+                        break;
+                    }
+
+                }
+
+                // seeking to next chunk.
+                source.seek(chunk_body + chunk_size + (chunk_size & 1));
+            }
+
+            IS_AIFF = comm_found && ssnd_found;
+        }
+
+    }
+
+    private static String readId(RandomAccessFile source) throws IOException{
+        byte[] id = new byte[4];
+        source.readFully(id);
+        return new String(id, "US-ASCII");
+    }
+
+    /**
+     * Returns true if samples are little-endian, ie AIFF-C 'sowt' compression type.
+     */
+    public boolean isLittleEndian() {
+        return COMPRESSION.equals("sowt");
+    }
+
+    /**
+     * Returns true if samples are uncompressed PCM or float, ie AIFF or AIFF-C with
+     * 'NONE', 'twos', 'sowt', 'raw ', 'in24', 'in32', 'fl32' or 'fl64' compression type.
+     */
+    public boolean isPCM() {
+
+        switch(COMPRESSION){
+            case "NONE":
+            case "twos":
+            case "sowt":
+            case "raw ":
+            case "in24":
+            case "in32":
+            case "fl32":
+            case "FL32":
+            case "fl64":
+            case "FL64":
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    public long getSSND_position() {
+        return SSND_POSITION;
+    }
+
+    public long getSSND_SIZE() {
+        return SSND_SIZE;
+    }
+
+    public int getChannels() {
+        return CHANNELS;
+    }
+
+    /**
+     * Returns number of bits in one sample.
+     */
+    public int getSampleSize() {
+
+        switch(COMPRESSION){
+            case "in24": return 24;
+            case "in32":
+            case "fl32":
+            case "FL32": return 32;
+            case "fl64":
+            case "FL64": return 64;
+            default:     return SAMPLE_SIZE;
+        }
+    }
+
+    public String getCompression() {
+        return COMPRESSION;
+    }
+
+    public boolean isAIFF() {
+        return IS_AIFF;
+    }
+
+    public boolean isAIFC() {
+        return IS_AIFC;
+    }
+
+}
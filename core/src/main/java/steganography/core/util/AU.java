@@ -0,0 +1,112 @@
+
+package steganography.core.util;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Class to process Sun AU (.au, .snd) files.
+ * <P>Reads only the fixed header, which gives position of sample data directly.</P>
+ */
+public class AU {
+
+    public static final int ENCODING_MULAW = 1;
+    public static final int ENCODING_LINEAR_8 = 2;
+    public static final int ENCODING_LINEAR_16 = 3;
+    public static final int ENCODING_LINEAR_24 = 4;
+    public static final int ENCODING_LINEAR_32 = 5;
+    public static final int ENCODING_FLOAT = 6;
+    public static final int ENCODING_DOUBLE = 7;
+    public static final int ENCODING_ALAW = 27;
+
+    /**
+     * Data size value for files whose size was not known when header was written.
+     */
+    private static final long UNKNOWN_SIZE = 0xFFFFFFFFL;
+
+    private long data_POSITION;
+    private long data_SIZE;
+    private int ENCODING, CHANNELS;
+    private boolean IS_AU;
+
+    public AU(String source) throws IOException{
+        long time = Metrics.now();
+        process(source);
+        Metrics.record(Stage.HEADER, time, 0);
+    }
+
+    public final void process(String sourceFile) throws FileNotFoundException, IOException{
+
+        try ( RandomAccessFile source = new RandomAccessFile(sourceFile, "r") ) {
+
+            long file_length = source.length();
+
+            // magic, data offset, data size, encoding, sample rate, channels.
+            if(file_length < 24 || source.readInt() != 0x2E736E64){
+                return;
+            }
+
+            data_POSITION = source.readInt() & 0xFFFFFFFFL;
+            data_SIZE = source.readInt() & 0xFFFFFFFFL;
+            ENCODING = source.readInt();
+            // sample rate.
+            source.skipBytes(4);
+            CHANNELS = source.readInt();
+
+            if(data_POSITION < 24 || data_POSITION > file_length){
+                return;
+            }
+
+            if(data_SIZE == UNKNOWN_SIZE || data_POSITION + data_SIZE > file_length){
+                data_SIZE = file_length - data_POSITION;
+            }
+
+            IS_AU = true;
+        }
+
+    }
+
+    /**
+     * Returns number of bytes in one sample, 0 if samples are not linear PCM or float.
+     */
+    public int getSampleSize() {
+
+        switch(ENCODING){
+            case ENCODING_LINEAR_8:  return 1;
+            case ENCODING_LINEAR_16: return 2;
+            case ENCODING_LINEAR_24: return 3;
+            case ENCODING_LINEAR_32:
+            case ENCODING_FLOAT:     return 4;
+            case ENCODING_DOUBLE:    return 8;
+            default:                 return 0;
+        }
+    }
+
+    public long getData_position() {
+        return data_POSITION;
+    }
+
+    public long getData_SIZE() {
+        return data_SIZE;
+    }
+
+    public int getEncoding() {
+        return ENCODING;
+    }
+
+    public int getChannels() {
+        return CHANNELS;
+    }
+
+    public boolean isAU() {
+        return IS_AU;
+    }
+
+}
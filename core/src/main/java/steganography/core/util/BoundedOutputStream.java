@@ -0,0 +1,64 @@
+package steganography.core.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Stream which holds bytes written to it in memory, up to a limit.
+ * <P>
+ * A write that would go past limit fails with {@link IOException} and nothing of it is kept, after which
+ * {@link #isFull()} returns true, so caller can tell an overflow from an error of whoever was writing.
+ * </P>
+ */
+public class BoundedOutputStream extends OutputStream {
+
+    private final ByteArrayOutputStream BUFFER = new ByteArrayOutputStream();
+
+    private final long LIMIT;
+
+    private boolean FULL;
+
+    /**
+     * @param limit highest number of bytes to be held, at most {@code Integer.MAX_VALUE - 8}.
+     */
+    public BoundedOutputStream(long limit) {
+        this.LIMIT = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        if (BUFFER.size() + (long) len > LIMIT) {
+            FULL = true;
+            throw new IOException("more than " + LIMIT + " bytes written.");
+        }
+
+        BUFFER.write(b, off, len);
+    }
+
+    /**
+     * Returns true if a write went past limit.
+     */
+    public boolean isFull() {
+        return FULL;
+    }
+
+    public int size() {
+        return BUFFER.size();
+    }
+
+    public byte[] toByteArray() {
+        return BUFFER.toByteArray();
+    }
+
+}
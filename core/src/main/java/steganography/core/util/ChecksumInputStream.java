@@ -0,0 +1,116 @@
+package steganography.core.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32C;
+import static steganography.core.Steganography.CHECKSUM_SIZE_BYTE;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Stream of data to be encoded followed by CRC32C of that data.
+ * <P>
+ * Checksum is updated as data is read and its 4 bytes (big-endian) are returned once data ends,
+ * so encoders embed it as the last data bytes without a second pass over data.
+ * </P>
+ */
+public class ChecksumInputStream extends FilterInputStream {
+
+    private final CRC32C CRC = new CRC32C();
+
+    private final byte[] TRAILER = new byte[CHECKSUM_SIZE_BYTE];
+
+    /**
+     * Number of trailer bytes returned, -1 until data ends.
+     */
+    private int TRAILER_POSITION = -1;
+
+    public ChecksumInputStream(InputStream data) {
+        super(data);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) > 0 ? b[0] & 0xFF : -1;
+    }
+
+    /**
+     * Fills <B>b</B> as far as data and trailer allow, so a short read only happens at end of stream,
+     * as encoders which embed each read at a fixed position expect from a file.
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        int total = 0;
+
+        while (total < len && TRAILER_POSITION < 0) {
+
+            int n = in.read(b, off + total, len - total);
+
+            if (n > 0) {
+                CRC.update(b, off + total, n);
+                total += n;
+            }
+            else if (n < 0) {
+                long crc = CRC.getValue();
+
+                for (int i = 0; i < TRAILER.length; i++) {
+                    TRAILER[i] = (byte) (crc >>> (8 * (TRAILER.length - 1 - i)));
+                }
+
+                TRAILER_POSITION = 0;
+            }
+        }
+
+        if (TRAILER_POSITION >= 0 && total < len) {
+
+            int n = Math.min(len - total, TRAILER.length - TRAILER_POSITION);
+            System.arraycopy(TRAILER, TRAILER_POSITION, b, off + total, n);
+            TRAILER_POSITION += n;
+            total += n;
+        }
+
+        return total > 0 || len == 0 ? total : -1;
+    }
+
+    /**
+     * Skipped bytes are read, so they are still counted in checksum.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+        long skipped = 0;
+        int count;
+
+        while (skipped < n && (count = read(buffer, 0, (int) Math.min(buffer.length, n - skipped))) > 0) {
+            skipped += count;
+        }
+
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return TRAILER_POSITION < 0 ? in.available() : TRAILER.length - TRAILER_POSITION;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+}
@@ -0,0 +1,100 @@
+package steganography.core.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32C;
+import steganography.core.exceptions.ChecksumException;
+import static steganography.core.Steganography.CHECKSUM_SIZE_BYTE;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Stream to which decoders write decoded data and, if encoded with one, its CRC32C trailer.
+ * <P>
+ * First <B>length</B> bytes are written through, updating checksum as they pass, and trailer bytes
+ * following them are kept back. {@link #verify()} compares the two once decoding ends.
+ * Without a trailer bytes are only written through and {@link #verify()} does nothing.
+ * </P>
+ */
+public class ChecksumOutputStream extends FilterOutputStream {
+
+    private final CRC32C CRC = new CRC32C();
+
+    private final byte[] TRAILER;
+
+    private int TRAILER_LENGTH;
+
+    /**
+     * Number of data bytes still to be written through.
+     */
+    private long REMAINING;
+
+    /**
+     * @param output stream to write decoded data.
+     * @param length number of bytes of data, excluding trailer.
+     * @param checksum true if data is followed by a CRC32C trailer.
+     */
+    public ChecksumOutputStream(OutputStream output, long length, boolean checksum) {
+        super(output);
+        this.REMAINING = length;
+        this.TRAILER = new byte[checksum ? CHECKSUM_SIZE_BYTE : 0];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        int n = (int) Math.min(len, REMAINING);
+
+        if (n > 0) {
+            if (TRAILER.length > 0) {
+                CRC.update(b, off, n);
+            }
+            out.write(b, off, n);
+            REMAINING -= n;
+        }
+
+        int trailer_bytes = len - n;
+
+        if (trailer_bytes > TRAILER.length - TRAILER_LENGTH) {
+            throw new IOException("more bytes than message length.");
+        }
+
+        System.arraycopy(b, off + n, TRAILER, TRAILER_LENGTH, trailer_bytes);
+        TRAILER_LENGTH += trailer_bytes;
+    }
+
+    /**
+     * Checks CRC32C of data written against trailer.
+     *
+     * @throws ChecksumException if data or trailer is incomplete or checksum does not match.
+     */
+    public void verify() throws ChecksumException {
+
+        if (TRAILER.length == 0) {
+            return;
+        }
+
+        if (REMAINING > 0 || TRAILER_LENGTH < TRAILER.length) {
+            throw new ChecksumException("checksum missing, data is incomplete.");
+        }
+
+        long crc = 0;
+
+        for (byte b : TRAILER) {
+            crc = (crc << 8) | (b & 0xFF);
+        }
+
+        if (crc != CRC.getValue()) {
+            throw new ChecksumException();
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+
+package steganography.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import static steganography.core.Steganography.MB;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+public class Files {
+
+    /**
+     * Skips ie reads <B>amount</B> number of bytes from <B>input</B> InputStream and writes those bytes to <B>output</B> OutputStream.
+     * <P>If <B>output</B> is null, bytes are skipped without being copied.</P>
+     * 
+     * @param input InputStream object from where bytes are to be read.
+     * @param output OutputStream object to where bytes are to be written.
+     * @param amount number of bytes that to be read and written.
+     * @throws IOException 
+     */
+    public static void skip(InputStream input, OutputStream output, long amount) throws IOException{
+        
+        if (output == null) {
+            
+            if (input != null) {
+                while (amount > 0) {
+                    long skipped = input.skip(amount);
+                    
+                    if (skipped <= 0) {
+                        // skip() may refuse at end of stream, falling back to read().
+                        if (input.read() < 0) {
+                            break;
+                        }
+                        skipped = 1;
+                    }
+                    amount -= skipped;
+                }
+            }
+            
+            return;
+        }
+        
+        byte[] b = new byte[(int) Math.min(amount, MB)];
+        
+        while (amount > 0) {
+            int length = (int) Math.min(amount, b.length);
+            
+            if (input != null) {
+                length = input.read(b, 0, length);
+                
+                if (length < 0) {
+                    break;
+                }
+            }
+            
+            output.write(b, 0, length);
+            amount -= length;
+        }
+    }
+    
+    /**
+     * Reads from <B>input</B> into <B>b</B> until <B>length</B> bytes are read or end of stream is reached.
+     * 
+     * @param input InputStream object from where bytes are to be read.
+     * @param b byte array to store bytes.
+     * @param offset position in <B>b</B> from where to store bytes.
+     * @param length number of bytes to be read.
+     * 
+     * @return number of bytes read, less than <B>length</B> only at end of stream.
+     * 
+     * @throws IOException 
+     */
+    public static int readFully(InputStream input, byte[] b, int offset, int length) throws IOException{
+        
+        int total = 0;
+        
+        while (total < length) {
+            int count = input.read(b, offset + total, length - total);
+            
+            if (count < 0) {
+                break;
+            }
+            total += count;
+        }
+        
+        return total;
+    }
+    
+    /**
+     * Reads bytes of <B>file</B> from <B>position</B> into <B>b</B> with a positional read,
+     * until <B>b</B> is full or end of file is reached.
+     * 
+     * @param file path of file.
+     * @param position position in file of first byte to be read.
+     * @param b byte array to store bytes.
+     * 
+     * @return number of bytes read, less than length of <B>b</B> only at end of file.
+     * 
+     * @throws IOException 
+     */
+    public static int readFully(Path file, long position, byte[] b) throws IOException{
+        
+        try ( FileChannel channel = FileChannel.open(file, StandardOpenOption.READ) ) {
+            
+            ByteBuffer buffer = ByteBuffer.wrap(b);
+            
+            while (buffer.hasRemaining()) {
+                int count = channel.read(buffer, position + buffer.position());
+                
+                if (count < 0) {
+                    break;
+                }
+            }
+            
+            return buffer.position();
+        }
+    }
+    
+    /**
+     * Returns extension of file.
+     * 
+     * @param file path of file.
+     * @return extension ie (String after . ) if exists else empty String.
+     */
+    public static String getFileExtension(File file) {
+        String s = file.getName();
+        int i = s.lastIndexOf('.');
+        if (i > 0 && i < s.length() - 1) {
+            return s.substring(i + 1).toLowerCase();
+        }
+        return "";
+    }
+    
+    
+    
+}
@@ -0,0 +1,109 @@
+package steganography.core.util;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Class to process MP4 files.
+ * <P>
+ * Walks the top level boxes of the file with seeks, reading only the 8 (or 16) byte box headers,
+ * until the <B>mdat</B> box is found. Media data is never read.
+ * </P>
+ */
+public class MP4 {
+
+    private long mdat_POSITION, mdat_DATA_POSITION;
+    private long mdat_SIZE;
+    private boolean IS_MP4;
+
+    public MP4(String source) throws IOException{
+        long time = Metrics.now();
+        process(source);
+        Metrics.record(Stage.HEADER, time, 0);
+    }
+
+    public final void process(String sourceFile) throws FileNotFoundException, IOException{
+
+        try ( RandomAccessFile source = new RandomAccessFile(sourceFile, "r") ) {
+
+            long file_length = source.length();
+            long box_position = 0;
+
+            // walking boxes, each box is 32 bit big-endian size (including header) + type + body.
+            while (box_position + 8 <= file_length) {
+
+                source.seek(box_position);
+
+                long box_size = source.readInt() & 0xFFFFFFFFL;
+                int box_type = source.readInt();
+                int header_size = 8;
+
+                // 64 bit size follows type.
+                if (box_size == 1) {
+                    box_size = source.readLong();
+                    header_size = 16;
+                }
+                // box extends to end of file.
+                else if (box_size == 0) {
+                    box_size = file_length - box_position;
+                }
+
+                if (box_size < header_size) {
+                    return;
+                }
+
+                // 'mdat' box found.
+                if (box_type == 0x6D646174) {
+                    IS_MP4 = true;
+                    mdat_POSITION = box_position + 4;
+                    mdat_DATA_POSITION = box_position + header_size;
+                    mdat_SIZE = box_size;
+                    return;
+                }
+
+                box_position += box_size;
+            }
+        }
+
+    }
+
+    /**
+     * Returns position of 'mdat' type field, ie 4 bytes after start of box.
+     */
+    public long getMdat_position() {
+        return mdat_POSITION;
+    }
+
+    /**
+     * Returns position of first byte of media data, after 8 or 16 byte box header.
+     */
+    public long getMdat_data_position() {
+        return mdat_DATA_POSITION;
+    }
+
+    /**
+     * Returns size of 'mdat' box, including its header.
+     */
+    public long getMdat_SIZE() {
+        return mdat_SIZE;
+    }
+
+    /**
+     * Returns number of bytes of media data, ie size of 'mdat' box without its header.
+     */
+    public long getMdat_data_SIZE() {
+        return mdat_SIZE - (mdat_DATA_POSITION - mdat_POSITION + 4);
+    }
+
+    public boolean isMP4(){
+        return IS_MP4;
+    }
+
+}
@@ -0,0 +1,273 @@
+package steganography.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Three stage pipeline of source chunks: a reader thread fills chunks from source, calling thread
+ * embeds in them, and a writer thread writes them to output, so disk and CPU work at the same time.
+ * Reader and writer come from {@link Threads}, so they are virtual threads on Java 21 or newer.
+ * <P>
+ * Stages are connected by bounded queues of a fixed ring of reusable chunks, so memory used is
+ * {@link #CHUNKS} source buffers and a stage that runs ahead waits for a free chunk.
+ * Chunks are filled completely except at end of source, as when reading a file in a loop.
+ * </P>
+ * <pre>
+ *     try ( Pipeline pipeline = new Pipeline(source, output, SOURCE_BUFFER_SIZE) ) {
+ *         Pipeline.Chunk chunk;
+ *         while ((chunk = pipeline.take()) != null) {
+ *             ... embed in chunk.getBytes() ...
+ *             pipeline.put(chunk);
+ *         }
+ *         pipeline.finish();
+ *     }
+ * </pre>
+ * <P>Closing a pipeline that is not finished stops both threads, eg when encoding is cancelled.</P>
+ */
+public class Pipeline implements AutoCloseable {
+
+    /**
+     * Number of chunks in ring, one for each stage.
+     */
+    public static final int CHUNKS = 3;
+
+    /**
+     * Marks end of source.
+     */
+    private static final Chunk END = new Chunk(0);
+
+    private final InputStream SOURCE;
+    private final OutputStream OUTPUT;
+
+    private final BlockingQueue<Chunk> FREE = new ArrayBlockingQueue<>(CHUNKS);
+    private final BlockingQueue<Chunk> READ = new ArrayBlockingQueue<>(CHUNKS + 1);
+    private final BlockingQueue<Chunk> EMBEDDED = new ArrayBlockingQueue<>(CHUNKS + 1);
+
+    private final Thread READER, WRITER;
+
+    private volatile IOException READ_ERROR, WRITE_ERROR;
+
+    private boolean ENDED;
+
+    /**
+     * Starts reading <B>source</B> from its current position.
+     *
+     * @param source stream to read chunks from.
+     * @param output stream to write chunks to.
+     * @param chunk_size number of bytes in a chunk.
+     */
+    public Pipeline(InputStream source, OutputStream output, int chunk_size) {
+
+        this.SOURCE = source;
+        this.OUTPUT = output;
+
+        for (int i = 0; i < CHUNKS; i++) {
+            FREE.add(new Chunk(chunk_size));
+        }
+
+        READER = Threads.newThread("steganography-pipeline-reader", this::read);
+        WRITER = Threads.newThread("steganography-pipeline-writer", this::write);
+
+        READER.start();
+        WRITER.start();
+    }
+
+    /**
+     * Returns next chunk read from source, null once source ends.
+     *
+     * @throws IOException if reading source failed.
+     */
+    public Chunk take() throws IOException {
+
+        if (ENDED) {
+            return null;
+        }
+
+        Chunk chunk;
+
+        try {
+            chunk = READ.take();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("pipeline interrupted.");
+        }
+
+        if (chunk == END) {
+            ENDED = true;
+
+            if (READ_ERROR != null) {
+                throw READ_ERROR;
+            }
+            return null;
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Passes <B>chunk</B> returned by {@link #take()} to writer.
+     *
+     * @throws IOException if writing output failed.
+     */
+    public void put(Chunk chunk) throws IOException {
+
+        if (WRITE_ERROR != null) {
+            throw WRITE_ERROR;
+        }
+
+        EMBEDDED.add(chunk);
+    }
+
+    /**
+     * Waits until all chunks passed to {@link #put(Chunk)} are written.
+     *
+     * @throws IOException if writing output failed.
+     */
+    public void finish() throws IOException {
+
+        EMBEDDED.add(END);
+
+        try {
+            WRITER.join();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("pipeline interrupted.");
+        }
+
+        if (WRITE_ERROR != null) {
+            throw WRITE_ERROR;
+        }
+    }
+
+    /**
+     * Stops reader and writer, waiting for them so source and output can be closed.
+     */
+    @Override
+    public void close() {
+
+        READER.interrupt();
+        WRITER.interrupt();
+
+        boolean interrupted = false;
+
+        for (Thread thread : new Thread[]{READER, WRITER}) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                }
+                catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void read() {
+
+        try {
+            try {
+
+                while (true) {
+
+                    Chunk chunk = FREE.take();
+
+                    // timing read only, not waiting for a free chunk.
+                    long stage_time = Metrics.now();
+                    int length = 0, n;
+
+                    // filling chunk, a short chunk ends source.
+                    while (length < chunk.BYTES.length && (n = SOURCE.read(chunk.BYTES, length, chunk.BYTES.length - length)) > 0) {
+                        length += n;
+                    }
+
+                    if (length == 0) {
+                        break;
+                    }
+
+                    chunk.LENGTH = length;
+                    Metrics.record(Stage.READ, stage_time, length);
+
+                    READ.put(chunk);
+
+                    if (length < chunk.BYTES.length) {
+                        break;
+                    }
+                }
+            }
+            catch (IOException ex) {
+                READ_ERROR = ex;
+            }
+
+            READ.put(END);
+        }
+        catch (InterruptedException ex) {
+            // pipeline closed.
+        }
+    }
+
+    private void write() {
+
+        try {
+
+            Chunk chunk;
+
+            while ((chunk = EMBEDDED.take()) != END) {
+
+                if (WRITE_ERROR == null) {
+                    try {
+                        // timing write only, not waiting for an embedded chunk.
+                        long stage_time = Metrics.now();
+                        OUTPUT.write(chunk.BYTES, 0, chunk.LENGTH);
+                        Metrics.record(Stage.WRITE, stage_time, chunk.LENGTH);
+                    }
+                    catch (IOException ex) {
+                        WRITE_ERROR = ex;
+                    }
+                }
+
+                FREE.put(chunk);
+            }
+        }
+        catch (InterruptedException ex) {
+            // pipeline closed.
+        }
+    }
+
+    /**
+     * A reusable source buffer and number of bytes read into it.
+     */
+    public static final class Chunk {
+
+        private final byte[] BYTES;
+        private int LENGTH;
+
+        private Chunk(int size) {
+            this.BYTES = new byte[size];
+        }
+
+        public byte[] getBytes() {
+            return BYTES;
+        }
+
+        public int getLength() {
+            return LENGTH;
+        }
+    }
+
+}
@@ -0,0 +1,473 @@
+package steganography.core.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Keyed positions of payload units among cover units, so data is spread over whole cover
+ * instead of being written one unit after other from OFFSET.
+ * <P>
+ * Cover units are split into segments of about {@link #SEGMENT_UNITS} units and payload units
+ * are shared out between segments in order, segment <B>s</B> starting at payload unit
+ * ceil(s * payload_units / segments). Segments hold equal numbers of units give or take one, and
+ * units left over by an uneven division, or all units of a payload smaller than number of segments,
+ * fall evenly over cover rather than in its first segments. Within a segment, units
+ * take positions given by a keyed permutation of segment: a {@link #ROUNDS} round unbalanced Feistel
+ * network over smallest number of bits holding segment, cycle walked into it. Keys are derived from
+ * security and password, so without password anyone knowing security can find positions.
+ * </P>
+ * <P>
+ * Position of any unit is computed in O(1), see {@link #getPosition(long)}, and no permutation
+ * is stored. Units are placed in batches of consecutive payload units sorted by position, see
+ * {@link #next(int)}, and a batch covers a contiguous range of cover, so cover is read in order.
+ * </P>
+ * <pre>
+ *     Scatter scatter = new Scatter(payload_units, cover_units, security, password);
+ *     int count;
+ *     while ((count = scatter.next(BATCH)) &gt; 0) {
+ *         scatter.read(channel, base, units);
+ *         ... embed in units[0] to units[count - 1] ...
+ *         scatter.write(channel, base, units);
+ *     }
+ * </pre>
+ */
+public final class Scatter {
+
+    /**
+     * Number of cover units in a segment, first segments get one more unit than others if cover
+     * does not divide evenly.
+     */
+    public static final int SEGMENT_UNITS = 1 << 16;
+
+    public static final int ROUNDS = 4;
+
+    /**
+     * Bits of a batch entry holding index of unit in batch, rest holds its position.
+     */
+    private static final int INDEX_BITS = 20;
+
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    /**
+     * Largest number of units in a batch.
+     */
+    public static final int MAX_BATCH = 1 << INDEX_BITS;
+
+    /**
+     * Largest number of cover units.
+     */
+    public static final long MAX_UNITS = 1L << (Long.SIZE - 1 - INDEX_BITS);
+
+    /**
+     * Number of cover bytes read or written at a time.
+     */
+    private static final int WINDOW_SIZE = 64 * 1024;
+
+    /**
+     * Largest run of cover bytes between two units of a batch that is read with them rather than skipped.
+     */
+    private static final int MAX_GAP = 4 * 1024;
+
+    private final long PAYLOAD_UNITS;
+
+    /**
+     * Number of segments, and quotient and remainder of payload and cover units by it.
+     * Quotient and remainder of payload keep quota starts exact, as remainder times segments fits in a long.
+     */
+    private final long SEGMENTS, QUOTA, QUOTA_REST, LENGTH, LENGTH_REST;
+
+    private final long[] KEYS = new long[ROUNDS];
+    private final long TWEAK_KEY;
+
+    /**
+     * Entries of current batch, position in its high bits and index in batch in low bits.
+     */
+    private final long[] ENTRIES;
+    private int COUNT;
+
+    /**
+     * Next payload unit to be placed.
+     */
+    private long NEXT;
+
+    private final byte[] WINDOW = new byte[WINDOW_SIZE];
+    private final ByteBuffer WINDOW_BUFFER = ByteBuffer.wrap(WINDOW);
+    private long WINDOW_START;
+    private int WINDOW_LENGTH;
+
+    /**
+     * Creates positions of <B>payload_units</B> units among <B>cover_units</B> units.
+     *
+     * @param payload_units number of units to be placed.
+     * @param cover_units number of units they are placed among.
+     * @param security security cover is encoded with, its String value is part of key.
+     * @param password password, null if none.
+     *
+     * @throws IllegalArgumentException if payload has more units than cover or cover has more than {@link #MAX_UNITS}.
+     */
+    public Scatter(long payload_units, long cover_units, Object security, char[] password) {
+
+        if (payload_units < 0 || payload_units > cover_units || cover_units > MAX_UNITS) {
+            throw new IllegalArgumentException("can not place " + payload_units + " units among " + cover_units + " units.");
+        }
+
+        this.PAYLOAD_UNITS = payload_units;
+
+        SEGMENTS = Math.max(1, cover_units / SEGMENT_UNITS);
+
+        QUOTA = payload_units / SEGMENTS;
+        QUOTA_REST = payload_units % SEGMENTS;
+        LENGTH = cover_units / SEGMENTS;
+        LENGTH_REST = cover_units % SEGMENTS;
+
+        ENTRIES = new long[(int) Math.min(MAX_BATCH, Math.max(payload_units, 1))];
+
+        byte[] digest = getDigest(security, password);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            KEYS[i] = getLong(digest, i * 8);
+        }
+        TWEAK_KEY = getLong(digest, ROUNDS * 8);
+    }
+
+    /*
+        ----------------------------------------Position part starts here----------------------------------------
+    */
+
+    /**
+     * Returns position of payload unit <B>index</B> among cover units.
+     */
+    public long getPosition(long index) {
+
+        long segment = getSegment(index);
+
+        return getSegmentStart(segment) + permute(index - getQuotaStart(segment), getSegmentLength(segment), segment);
+    }
+
+    /**
+     * Places next <B>count</B> payload units, or as many as are left, as current batch.
+     *
+     * @param count number of units, at most {@link #MAX_BATCH}.
+     *
+     * @return number of units placed, 0 once all are placed.
+     */
+    public int next(int count) {
+
+        count = (int) Math.min(Math.min(count, ENTRIES.length), PAYLOAD_UNITS - NEXT);
+
+        long index = NEXT;
+        int k = 0;
+
+        // a batch is a run of units of each segment it reaches, runs follow each other in cover.
+        while (k < count) {
+
+            long segment = getSegment(index);
+            long quota_start = getQuotaStart(segment);
+            long segment_start = getSegmentStart(segment);
+            long segment_length = getSegmentLength(segment);
+
+            int run_start = k;
+            int run_end = (int) Math.min(count, k + (quota_start + getQuota(segment) - index));
+
+            for (; k < run_end; k++, index++) {
+                long position = segment_start + permute(index - quota_start, segment_length, segment);
+                ENTRIES[k] = position << INDEX_BITS | k;
+            }
+
+            Arrays.sort(ENTRIES, run_start, run_end);
+        }
+
+        NEXT = index;
+        COUNT = count;
+
+        return count;
+    }
+
+    /**
+     * Returns segment holding payload unit <B>index</B>, ie floor(index * segments / payload_units).
+     */
+    private long getSegment(long index) {
+
+        // estimate in double is off by at most one, corrected against exact quota starts.
+        long segment = Math.min(SEGMENTS - 1, (long) ((double) index * SEGMENTS / PAYLOAD_UNITS));
+
+        while (segment > 0 && getQuotaStart(segment) > index) {
+            segment--;
+        }
+        while (segment < SEGMENTS - 1 && getQuotaStart(segment + 1) <= index) {
+            segment++;
+        }
+        return segment;
+    }
+
+    /**
+     * Returns first payload unit of <B>segment</B>, ie ceil(segment * payload_units / segments).
+     */
+    private long getQuotaStart(long segment) {
+        return segment * QUOTA + (segment * QUOTA_REST + SEGMENTS - 1) / SEGMENTS;
+    }
+
+    /**
+     * Returns number of payload units in <B>segment</B>, {@link #QUOTA} or one more, 0 or 1 if payload has fewer units than segments.
+     */
+    private long getQuota(long segment) {
+        return getQuotaStart(segment + 1) - getQuotaStart(segment);
+    }
+
+    private long getSegmentStart(long segment) {
+        return segment * LENGTH + Math.min(segment, LENGTH_REST);
+    }
+
+    private long getSegmentLength(long segment) {
+        return LENGTH + (segment < LENGTH_REST ? 1 : 0);
+    }
+
+    /**
+     * Returns <B>index</B> permuted within 0 to <B>size</B> - 1 by Feistel network keyed for <B>segment</B>.
+     */
+    private long permute(long index, long size, long segment) {
+
+        // number of bits holding size - 1, split in two halves which swap sizes each round.
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(size - 1);
+
+        long tweak = mix(segment ^ TWEAK_KEY);
+        long x = index;
+
+        // permuting over power of 2 until result falls in size, which it does for an index in size.
+        do {
+            int left_bits = bits / 2;
+            int right_bits = bits - left_bits;
+
+            for (int round = 0; round < ROUNDS; round++) {
+
+                long left = x >>> right_bits;
+                long right = x & ((1L << right_bits) - 1);
+
+                x = right << left_bits | (left ^ (mix(right ^ KEYS[round] ^ tweak) & ((1L << left_bits) - 1)));
+
+                int swap = left_bits;
+                left_bits = right_bits;
+                right_bits = swap;
+            }
+        }
+        while (x >= size);
+
+        return x;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns SHA-512 of String value of <B>security</B> and <B>password</B>.
+     */
+    private static byte[] getDigest(Object security, char[] password) {
+
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-512");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            // every Java platform has SHA-512.
+            throw new IllegalStateException(ex);
+        }
+
+        digest.update(String.valueOf(security).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+
+        if (password != null) {
+            ByteBuffer password_bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+            digest.update(password_bytes.duplicate());
+
+            // clearing copy of password.
+            Arrays.fill(password_bytes.array(), (byte) 0);
+        }
+
+        return digest.digest();
+    }
+
+    private static long getLong(byte[] b, int offset) {
+
+        long value = 0;
+
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | (b[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    /*
+        ________________________________________Position part ends here_________________________________________
+    */
+
+
+    /*
+        ----------------------------------------Cover part starts here----------------------------------------
+    */
+
+    /**
+     * Copies cover units of current batch from <B>cover</B> to <B>units</B>, in payload order.
+     *
+     * @param cover cover units.
+     * @param base index of first cover unit in <B>cover</B>.
+     * @param units array of at least batch size.
+     */
+    public void read(byte[] cover, int base, byte[] units) {
+
+        for (int k = 0; k < COUNT; k++) {
+            long entry = ENTRIES[k];
+            units[(int) (entry & INDEX_MASK)] = cover[base + (int) (entry >>> INDEX_BITS)];
+        }
+    }
+
+    /**
+     * Copies <B>units</B> back to positions of current batch in <B>cover</B>.
+     *
+     * @param cover cover units.
+     * @param base index of first cover unit in <B>cover</B>.
+     * @param units units read by {@link #read(byte[], int, byte[])}.
+     */
+    public void write(byte[] cover, int base, byte[] units) {
+
+        for (int k = 0; k < COUNT; k++) {
+            long entry = ENTRIES[k];
+            cover[base + (int) (entry >>> INDEX_BITS)] = units[(int) (entry & INDEX_MASK)];
+        }
+    }
+
+    /**
+     * Reads cover bytes of current batch from <B>channel</B> to <B>units</B>, in payload order.
+     * Bytes are read in order of position, a window at a time, see {@link #getWindowEnd(int)}.
+     *
+     * @param channel channel of cover file.
+     * @param base position in file of first cover unit.
+     * @param units array of at least batch size.
+     *
+     * @throws IOException
+     */
+    public void read(FileChannel channel, long base, byte[] units) throws IOException {
+
+        for (int k = 0, end; k < COUNT; k = end) {
+
+            end = getWindowEnd(k);
+            load(channel, base + (ENTRIES[k] >>> INDEX_BITS), base + (ENTRIES[end - 1] >>> INDEX_BITS));
+
+            for (; k < end; k++) {
+                long entry = ENTRIES[k];
+                units[(int) (entry & INDEX_MASK)] = WINDOW[(int) (base + (entry >>> INDEX_BITS) - WINDOW_START)];
+            }
+        }
+    }
+
+    /**
+     * Writes <B>units</B> back to positions of current batch in <B>channel</B>, leaving other bytes as they are.
+     * A window whose every byte is a unit of batch is written without being read again.
+     *
+     * @param channel channel of cover file, opened for reading and writing.
+     * @param base position in file of first cover unit.
+     * @param units units read by {@link #read(FileChannel, long, byte[])}.
+     *
+     * @throws IOException
+     */
+    public void write(FileChannel channel, long base, byte[] units) throws IOException {
+
+        for (int k = 0, end; k < COUNT; k = end) {
+
+            end = getWindowEnd(k);
+
+            long first = base + (ENTRIES[k] >>> INDEX_BITS);
+            long last = base + (ENTRIES[end - 1] >>> INDEX_BITS);
+
+            // positions are distinct, so a window is contiguous if it holds as many units as bytes.
+            if (last - first + 1 == end - k) {
+                WINDOW_START = first;
+                WINDOW_LENGTH = end - k;
+            }
+            else {
+                load(channel, first, last);
+            }
+
+            for (; k < end; k++) {
+                long entry = ENTRIES[k];
+                WINDOW[(int) (base + (entry >>> INDEX_BITS) - WINDOW_START)] = units[(int) (entry & INDEX_MASK)];
+            }
+
+            flush(channel);
+        }
+    }
+
+    /**
+     * Returns index after last entry of window starting at entry <B>k</B> of current batch. A window spans sorted
+     * positions from entry <B>k</B> within {@link #WINDOW_SIZE} bytes of it, and ends early at a gap of more than
+     * {@link #MAX_GAP} bytes, so units of sparse segments are read and written on their own rather than with
+     * a full window of bytes around them.
+     */
+    private int getWindowEnd(int k) {
+
+        long first = ENTRIES[k] >>> INDEX_BITS;
+        long previous = first;
+        int end = k + 1;
+
+        for (; end < COUNT; end++) {
+
+            long position = ENTRIES[end] >>> INDEX_BITS;
+
+            if (position - first >= WINDOW_SIZE || position - previous > MAX_GAP) {
+                break;
+            }
+
+            previous = position;
+        }
+
+        return end;
+    }
+
+    /**
+     * Loads window from <B>position</B> to <B>last</B> position, both included.
+     */
+    private void load(FileChannel channel, long position, long last) throws IOException {
+
+        WINDOW_START = position;
+
+        WINDOW_BUFFER.clear();
+        WINDOW_BUFFER.limit((int) (last - position + 1));
+
+        while (WINDOW_BUFFER.hasRemaining()) {
+            if (channel.read(WINDOW_BUFFER, position + WINDOW_BUFFER.position()) < 0) {
+                throw new EOFException("cover ended at " + (position + WINDOW_BUFFER.position()) + " bytes.");
+            }
+        }
+
+        WINDOW_LENGTH = WINDOW_BUFFER.position();
+    }
+
+    private void flush(FileChannel channel) throws IOException {
+
+        WINDOW_BUFFER.clear();
+        WINDOW_BUFFER.limit(WINDOW_LENGTH);
+
+        while (WINDOW_BUFFER.hasRemaining()) {
+            channel.write(WINDOW_BUFFER, WINDOW_START + WINDOW_BUFFER.position());
+        }
+    }
+
+    /*
+        ________________________________________Cover part ends here_________________________________________
+    */
+
+}
@@ -0,0 +1,67 @@
+
+package steganography.core.util;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Class to find bytes of text documents whose <B>LSB</B> can be changed safely.
+ * <P>
+ * A byte is eligible if it is an ASCII letter and stays an ASCII letter when its LSB is flipped,
+ * ie 'B' to 'Y' and 'b' to 'y' ('A', 'Z', 'a' and 'z' would become '@', '[', '`' and '{').
+ * Eligibility does not depend on LSB, so decoder finds the same positions encoder used.
+ * Bytes of multibyte UTF-8 sequences (0x80 and above) are never eligible, so encoded UTF-8 text stays valid.
+ * </P>
+ */
+public class TXT {
+
+    /**
+     * Lookup table of eligible byte values.
+     */
+    private static final boolean[] ELIGIBLE = new boolean[256];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            ELIGIBLE[b] = isLetter(b & 0xFE) && isLetter(b | 1);
+        }
+    }
+
+    private static boolean isLetter(int b) {
+        return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z');
+    }
+
+    /**
+     * Returns true if <B>LSB</B> of <B>b</B> can be changed safely.
+     *
+     * @param b byte of text.
+     * @return true if byte is eligible.
+     */
+    public static boolean isEligible(byte b) {
+        return ELIGIBLE[b & 0xFF];
+    }
+
+    /**
+     * Builds index of eligible bytes of <B>source</B> from <B>start</B> till <B>end</B>.
+     *
+     * @param source byte array of text.
+     * @param start starting position.
+     * @param end ending position.
+     * @param positions array to store positions of eligible bytes, of at least <B>end - start</B> length.
+     *
+     * @return number of eligible bytes.
+     */
+    public static int index(byte[] source, int start, int end, int[] positions) {
+
+        int count = 0;
+
+        for (int i = start; i < end; i++) {
+            positions[count] = i;
+            // branch free, position is kept only if byte is eligible.
+            count += ELIGIBLE[source[i] & 0xFF] ? 1 : 0;
+        }
+
+        return count;
+    }
+
+}
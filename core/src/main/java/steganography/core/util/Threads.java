@@ -0,0 +1,133 @@
+package steganography.core.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Threads for tasks which spend their time blocked on streams, queues or sockets, eg pipeline readers and
+ * writers and requests of HTTP service.
+ * <P>
+ * On Java 21 or newer these are virtual threads, found by name so classes still run on Java 17, and
+ * otherwise daemon platform threads. Virtual threads cost a few hundred bytes rather than a stack each,
+ * so many covers can be streamed at a time. CPU bound work, eg embedding in shards, is better left to
+ * pools of about one platform thread per processor.
+ * </P>
+ * <P>Setting system property <B>steganography.virtual</B> to <B>false</B> always uses platform threads.</P>
+ */
+public final class Threads {
+
+    public static final String VIRTUAL_PROPERTY = "steganography.virtual";
+
+    /**
+     * Why virtual threads are not used, null if they are.
+     */
+    private static String FALLBACK_REASON;
+
+    /**
+     * Thread.ofVirtual(), Thread.Builder.name(String), Thread.Builder.name(String, long),
+     * Thread.Builder.unstarted(Runnable), Thread.Builder.factory() and
+     * Executors.newThreadPerTaskExecutor(ThreadFactory), null if virtual threads are not used.
+     */
+    private static final MethodHandle[] HANDLES = load();
+
+    private Threads() {
+    }
+
+    /**
+     * Returns true if threads are virtual.
+     */
+    public static boolean isVirtual() {
+        return HANDLES != null;
+    }
+
+    /**
+     * Returns why threads are not virtual, null if they are.
+     */
+    public static String getFallbackReason() {
+        return FALLBACK_REASON;
+    }
+
+    /**
+     * Returns a new thread running <B>task</B>, which is not started.
+     */
+    public static Thread newThread(String name, Runnable task) {
+
+        if (HANDLES == null) {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+
+        try {
+            return (Thread) HANDLES[3].invoke(HANDLES[1].invoke(HANDLES[0].invoke(), name), task);
+        }
+        catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Returns an executor starting a new thread for each task, threads are named <B>name</B> followed by a number.
+     */
+    public static ExecutorService newPerTaskExecutor(String name) {
+
+        if (HANDLES == null) {
+            AtomicLong count = new AtomicLong();
+
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, name + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        try {
+            ThreadFactory factory = (ThreadFactory) HANDLES[4].invoke(HANDLES[2].invoke(HANDLES[0].invoke(), name, 0L));
+            return (ExecutorService) HANDLES[5].invoke(factory);
+        }
+        catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static MethodHandle[] load() {
+
+        if ("false".equalsIgnoreCase(System.getProperty(VIRTUAL_PROPERTY))) {
+            FALLBACK_REASON = "disabled by " + VIRTUAL_PROPERTY + "=false.";
+            return null;
+        }
+
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtual_builder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            return new MethodHandle[]{
+                lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtual_builder)),
+                lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class)),
+                lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class, long.class)),
+                lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class)),
+                lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class)),
+                lookup.findStatic(Executors.class, "newThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class, ThreadFactory.class))
+            };
+        }
+        catch (ClassNotFoundException ex) {
+            FALLBACK_REASON = "virtual threads need Java 21 or newer.";
+        }
+        catch (ReflectiveOperationException | RuntimeException ex) {
+            FALLBACK_REASON = "virtual threads are not supported: " + ex;
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,57 @@
+package steganography.core.util;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+public class Util {
+
+    /**
+     * Finds class name for given object of Object class.
+     * eg for int returns Integer, for String returns String.
+     * 
+     * @param object whose class name to find.
+     * 
+     * @return class name of object.
+     */
+    public static String getClassName(Object object){
+        return object.getClass().getSimpleName();
+    }
+    
+    /**
+     * Returns <B>s</B> as a JSON string, quoted and escaped.
+     */
+    public static String quote(String s){
+
+        StringBuilder json = new StringBuilder(s.length() + 2).append('"');
+
+        for (int i = 0; i < s.length(); i++) {
+
+            char c = s.charAt(i);
+
+            switch (c) {
+                case '"':  json.append("\\\"");
+                           break;
+                case '\\': json.append("\\\\");
+                           break;
+                case '\n': json.append("\\n");
+                           break;
+                case '\r': json.append("\\r");
+                           break;
+                case '\t': json.append("\\t");
+                           break;
+                default:   if (c < 0x20) {
+                               json.append(String.format("\\u%04x", (int) c));
+                           }
+                           else {
+                               json.append(c);
+                           }
+            }
+        }
+
+        return json.append('"').toString();
+    }
+    
+    
+    
+}
@@ -0,0 +1,210 @@
+
+package steganography.core.util;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import steganography.core.metrics.Metrics;
+import steganography.core.metrics.Metrics.Stage;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Class to process WAV (RIFF/RF64) files.
+ * <P>
+ * Walks the chunk list of the file with seeks, reading only the chunk headers, the <B>fmt </B> chunk
+ * and the <B>ds64</B> chunk (for RF64 files), until the <B>data</B> chunk is found.
+ * Sample data is never read.
+ * </P>
+ * <P>
+ * Files with a <B>fmt </B> chunk shorter than 16 bytes, no channels or no block align, or a <B>ds64</B> chunk
+ * shorter than 24 bytes are not WAV files; headers cut short throw {@link java.io.EOFException}.
+ * </P>
+ */
+public class WAV {
+
+    public static final int FORMAT_PCM = 0x0001;
+    public static final int FORMAT_IEEE_FLOAT = 0x0003;
+    public static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    /**
+     * Size value used by RF64 files in 32 bit size fields whose real value is in <B>ds64</B> chunk.
+     */
+    private static final long RF64_SIZE = 0xFFFFFFFFL;
+
+    private long data_POSITION;
+    private long data_SIZE;
+    private int FORMAT, CHANNELS, SAMPLE_RATE, BLOCK_ALIGN, BITS_PER_SAMPLE, VALID_BITS_PER_SAMPLE;
+    private boolean IS_WAV, IS_RF64;
+
+    public WAV(String source) throws IOException{
+        long time = Metrics.now();
+        process(source);
+        Metrics.record(Stage.HEADER, time, 0);
+    }
+
+    public final void process(String sourceFile) throws FileNotFoundException, IOException{
+
+        try ( RandomAccessFile source = new RandomAccessFile(sourceFile, "r") ) {
+
+            long file_length = source.length();
+
+            // 'RIFF' or 'RF64' + size + 'WAVE'.
+            if(file_length < 12){
+                return;
+            }
+
+            String riff_id = readId(source);
+            source.skipBytes(4);
+            String wave_id = readId(source);
+
+            if(!wave_id.equals("WAVE") || !(riff_id.equals("RIFF") || riff_id.equals("RF64") || riff_id.equals("BW64"))){
+                return;
+            }
+
+            IS_RF64 = !riff_id.equals("RIFF");
+
+            long ds64_data_size = -1;
+            boolean fmt_found = false;
+
+            // walking chunks, each chunk is 'id' + 32 bit little-endian size + body (padded to even size).
+            while(source.getFilePointer() + 8 <= file_length){
+
+                String chunk_id = readId(source);
+                long chunk_size = readUnsignedInt(source);
+                long chunk_body = source.getFilePointer();
+
+                switch(chunk_id){
+
+                    case "ds64": {
+                        // riff size (8 bytes), data size (8 bytes) and sample count (8 bytes).
+                        if(chunk_size < 24){
+                            return;
+                        }
+
+                        source.skipBytes(8);
+                        ds64_data_size = readLong(source);
+                        break;
+                    }
+
+                    case "fmt ": {
+                        // format, channels, sample rate, byte rate, block align and bits per sample.
+                        if(chunk_size < 16){
+                            return;
+                        }
+
+                        FORMAT = readUnsignedShort(source);
+                        CHANNELS = readUnsignedShort(source);
+                        SAMPLE_RATE = (int) readUnsignedInt(source);
+                        // byte rate.
+                        source.skipBytes(4);
+                        BLOCK_ALIGN = readUnsignedShort(source);
+                        BITS_PER_SAMPLE = readUnsignedShort(source);
+                        VALID_BITS_PER_SAMPLE = BITS_PER_SAMPLE;
+
+                        // WAVE_FORMAT_EXTENSIBLE: cbSize, valid bits, channel mask, sub format GUID.
+                        if(FORMAT == FORMAT_EXTENSIBLE && chunk_size >= 40){
+                            source.skipBytes(2);
+                            VALID_BITS_PER_SAMPLE = readUnsignedShort(source);
+                            source.skipBytes(4);
+                            // first 2 bytes of sub format GUID are the actual format tag.
+                            FORMAT = readUnsignedShort(source);
+                        }
+
+                        if(CHANNELS == 0 || BLOCK_ALIGN == 0){
+                            return;
+                        }
+
+                        fmt_found = true;
+                        break;
+                    }
+
+                    case "data": {
+                        data_POSITION = chunk_body;
+
+                        if(IS_RF64 && chunk_size == RF64_SIZE && ds64_data_size >= 0){
+                            data_SIZE = ds64_data_size;
+                        }
+                        else{
+                            data_SIZE = chunk_size;
+                        }
+
+                        // streamed or truncated files may declare more data than present.
+                        if(data_SIZE == 0 || data_POSITION + data_SIZE > file_length){
+                            data_SIZE = file_length - data_POSITION;
+                        }
+
+                        IS_WAV = fmt_found;
+                        return;
+                    }
+
+                }
+
+                // seeking to next chunk.
+                source.seek(chunk_body + chunk_size + (chunk_size & 1));
+            }
+        }
+
+    }
+
+    private static String readId(RandomAccessFile source) throws IOException{
+        byte[] id = new byte[4];
+        source.readFully(id);
+        return new String(id, "US-ASCII");
+    }
+
+    private static int readUnsignedShort(RandomAccessFile source) throws IOException{
+        return Short.reverseBytes(source.readShort()) & 0xFFFF;
+    }
+
+    private static long readUnsignedInt(RandomAccessFile source) throws IOException{
+        return Integer.reverseBytes(source.readInt()) & 0xFFFFFFFFL;
+    }
+
+    private static long readLong(RandomAccessFile source) throws IOException{
+        return Long.reverseBytes(source.readLong());
+    }
+
+    public long getData_position() {
+        return data_POSITION;
+    }
+
+    public long getData_SIZE() {
+        return data_SIZE;
+    }
+
+    public int getFormat() {
+        return FORMAT;
+    }
+
+    public int getChannels() {
+        return CHANNELS;
+    }
+
+    public int getSampleRate() {
+        return SAMPLE_RATE;
+    }
+
+    public int getBlockAlign() {
+        return BLOCK_ALIGN;
+    }
+
+    public int getBitsPerSample() {
+        return BITS_PER_SAMPLE;
+    }
+
+    public int getValidBitsPerSample() {
+        return VALID_BITS_PER_SAMPLE;
+    }
+
+    public boolean isWAV() {
+        return IS_WAV;
+    }
+
+    public boolean isRF64() {
+        return IS_RF64;
+    }
+
+}
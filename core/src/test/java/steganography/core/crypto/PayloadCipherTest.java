@@ -0,0 +1,71 @@
+package steganography.core.crypto;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import steganography.core.Steganography;
+import steganography.core.exceptions.AuthenticationException;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+public class PayloadCipherTest {
+
+    private static final int KEY = 1234;
+
+    @Test
+    public void samePasswordDecodes(@TempDir Path directory) throws Exception {
+
+        byte[] data = encode(directory, "correct horse");
+        Path decoded = directory.resolve("decoded.bin");
+
+        Steganography steganography = new Steganography();
+        steganography.setPassword("correct horse".toCharArray());
+        steganography.decode(directory.resolve("encoded.bin").toString(), decoded.toString(), KEY);
+
+        assertArrayEquals(data, Files.readAllBytes(decoded));
+    }
+
+    @Test
+    public void wrongPasswordFailsAuthentication(@TempDir Path directory) throws Exception {
+
+        encode(directory, "correct horse");
+        Path decoded = directory.resolve("decoded.bin");
+
+        Steganography steganography = new Steganography();
+        steganography.setPassword("battery staple".toCharArray());
+
+        assertThrows(AuthenticationException.class, () -> steganography.decode(directory.resolve("encoded.bin").toString(), decoded.toString(), KEY));
+        assertFalse(Files.exists(decoded), "partial destination file is removed");
+    }
+
+    /**
+     * Encodes 100 KB of random data, more than one chunk, with <B>password</B> in a random cover
+     * as encoded.bin, returns data.
+     */
+    private static byte[] encode(Path directory, String password) throws Exception {
+
+        Random random = new Random(KEY);
+        byte[] cover = new byte[1024 * 1024];
+        byte[] data = new byte[100 * 1024];
+        random.nextBytes(cover);
+        random.nextBytes(data);
+
+        Path cover_file = directory.resolve("cover.bin");
+        Path data_file = directory.resolve("data.bin");
+
+        Files.write(cover_file, cover);
+        Files.write(data_file, data);
+
+        Steganography steganography = new Steganography();
+        steganography.setPassword(password.toCharArray());
+        steganography.encode(cover_file.toString(), data_file.toString(), directory.resolve("encoded.bin").toString(), KEY);
+
+        return data;
+    }
+}
@@ -0,0 +1,89 @@
+package steganography.core.fec;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import steganography.core.Steganography;
+import steganography.core.exceptions.ChecksumException;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+public class FecTest {
+
+    private static final int KEY = 1234;
+
+    /**
+     * Cover bytes holding key and message length at depth 1, payload starts after them.
+     */
+    private static final int HEADER_UNITS = Steganography.KEY_SIZE_BIT + Steganography.LENGTH_SIZE_BIT;
+
+    @Test
+    public void burstIsCorrected(@TempDir Path directory) throws Exception {
+
+        Path encoded = encode(directory);
+        Path decoded = directory.resolve("decoded.bin");
+
+        // 200 payload bytes in a row, within the 256 a block corrects.
+        damage(encoded, 1000, 200);
+
+        new Steganography().decode(encoded.toString(), decoded.toString(), KEY);
+        assertArrayEquals(Files.readAllBytes(directory.resolve("data.bin")), Files.readAllBytes(decoded));
+    }
+
+    @Test
+    public void burstPastParityFailsChecksum(@TempDir Path directory) throws Exception {
+
+        Path encoded = encode(directory);
+        Path decoded = directory.resolve("decoded.bin");
+
+        // 400 payload bytes in a row, 25 errors in each codeword of block.
+        damage(encoded, 1000, 400);
+
+        assertThrows(ChecksumException.class, () -> new Steganography().decode(encoded.toString(), decoded.toString(), KEY));
+    }
+
+    /**
+     * Flips LSB of cover bytes holding <B>length</B> payload bytes from payload byte <B>from</B>.
+     */
+    private static void damage(Path encoded, int from, int length) throws Exception {
+
+        byte[] bytes = Files.readAllBytes(encoded);
+
+        for (int i = HEADER_UNITS + 8 * from; i < HEADER_UNITS + 8 * (from + length); i++) {
+            bytes[i] ^= 1;
+        }
+
+        Files.write(encoded, bytes);
+    }
+
+    /**
+     * Encodes 3000 random bytes, one block, with parity and checksum in a random cover of 64 KB, returns encoded cover.
+     */
+    private static Path encode(Path directory) throws Exception {
+
+        Random random = new Random(KEY);
+        byte[] cover = new byte[64 * 1024];
+        byte[] data = new byte[3000];
+        random.nextBytes(cover);
+        random.nextBytes(data);
+
+        Path cover_file = directory.resolve("cover.bin");
+        Path data_file = directory.resolve("data.bin");
+        Path encoded = directory.resolve("encoded.bin");
+
+        Files.write(cover_file, cover);
+        Files.write(data_file, data);
+
+        Steganography steganography = new Steganography();
+        steganography.setFec(true);
+        steganography.setChecksum(true);
+        steganography.encode(cover_file.toString(), data_file.toString(), encoded.toString(), KEY);
+
+        return encoded;
+    }
+}
@@ -0,0 +1,142 @@
+package steganography.core.kernel;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import steganography.core.decoder.SteganographyDecoder;
+import steganography.core.encoder.SteganographyEncoder;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Checks vector kernel bit for bit against scalar kernel. Vector kernel is built and its module loaded only
+ * by incubator profile, which sets <B>steganography.test.vector</B> so a kernel failing to load fails
+ * instead of skipping.
+ */
+public class VectorLsbKernelTest {
+
+    private static final String REQUIRED_PROPERTY = "steganography.test.vector";
+
+    /**
+     * Lengths in data bytes checked, past tail of widest vector (64 lanes, 8 data bytes per vector).
+     */
+    private static final int MAX_LENGTH = 3 * 64 + 9;
+
+    @Test
+    public void vectorKernelMatchesScalarKernel() {
+
+        LsbKernel vector = loadVectorKernel();
+        LsbKernel scalar = new ScalarLsbKernel();
+        Random random = new Random(43);
+
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            for (int position = 0; position <= 17; position++) {
+                for (int source_start = 0; source_start <= 3; source_start++) {
+
+                    byte[] source = new byte[source_start + length + 5];
+                    byte[] cover = new byte[position + length * 8 + 11];
+
+                    random.nextBytes(source);
+                    random.nextBytes(cover);
+
+                    byte[] expected = cover.clone();
+                    byte[] actual = cover.clone();
+
+                    scalar.insert(expected, position, source, source_start, source_start + length);
+                    vector.insert(actual, position, source, source_start, source_start + length);
+
+                    assertArrayEquals(expected, actual, "insert of " + length + " bytes at " + position + " from " + source_start);
+
+                    byte[] expected_result = new byte[source_start + length + 5];
+                    byte[] actual_result = expected_result.clone();
+
+                    scalar.extract(cover, position, expected_result, source_start, source_start + length);
+                    vector.extract(cover, position, actual_result, source_start, source_start + length);
+
+                    assertArrayEquals(expected_result, actual_result, "extract of " + length + " bytes at " + position + " from " + source_start);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void insertBitsMatchesReferenceAtEveryDepth() throws Exception {
+
+        if (Boolean.getBoolean(REQUIRED_PROPERTY)) {
+            assertNull(LsbKernels.getFallbackReason(), "vector kernel is not used");
+        }
+
+        Random random = new Random(44);
+
+        for (int depth = 1; depth <= 4; depth++) {
+            for (int sample_size : new int[]{1, 2, 3}) {
+                for (int length = 1; length <= MAX_LENGTH; length += 7) {
+                    for (int position = 0; position <= 9; position++) {
+
+                        byte[] data = new byte[length];
+                        random.nextBytes(data);
+
+                        long units = SteganographyEncoder.getUnits(length, depth);
+                        byte[] cover = new byte[(int) (position + units * sample_size + 13)];
+                        random.nextBytes(cover);
+
+                        byte[] expected = insertReference(cover, position, sample_size, depth, data);
+                        byte[] actual = cover.clone();
+
+                        SteganographyEncoder.insertBits(actual, position, actual.length, sample_size, depth, data, 0, length);
+
+                        String where = length + " bytes at depth " + depth + ", sample size " + sample_size + ", position " + position;
+
+                        assertArrayEquals(expected, actual, "insert of " + where);
+                        assertArrayEquals(data, SteganographyDecoder.extractBits(actual, position, length, sample_size, depth), "extract of " + where);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns <B>cover</B> with bits of <B>data</B>, most significant first and padded with zero bits,
+     * in <B>depth</B> LSBs of every <B>sample_size</B>th byte from <B>position</B>.
+     */
+    private static byte[] insertReference(byte[] cover, int position, int sample_size, int depth, byte[] data) {
+
+        byte[] result = cover.clone();
+        long bits = data.length * 8L;
+
+        for (long unit = 0; unit * depth < bits; unit++) {
+
+            int value = 0;
+
+            for (int k = 0; k < depth; k++) {
+                long bit = unit * depth + k;
+                value = value << 1 | (bit < bits ? (data[(int) (bit / 8)] >>> (7 - bit % 8)) & 1 : 0);
+            }
+
+            int i = (int) (position + unit * sample_size);
+            result[i] = (byte) ((result[i] & ~((1 << depth) - 1)) | value);
+        }
+
+        return result;
+    }
+
+    private static LsbKernel loadVectorKernel() {
+
+        try {
+            return (LsbKernel) Class.forName("steganography.core.kernel.VectorLsbKernel").getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError | RuntimeException ex) {
+
+            if (Boolean.getBoolean(REQUIRED_PROPERTY)) {
+                fail("vector kernel can not be loaded", ex);
+            }
+            assumeTrue(false, "vector kernel is not built or jdk.incubator.vector is not loaded: " + ex);
+            throw new AssertionError(ex);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package steganography.core.mapped;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import steganography.core.Steganography;
+import steganography.core.decoder.SteganographyDecoder;
+import steganography.core.encoder.SteganographyEncoder;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Checks mapped covers lay out bits as stream codecs do. Mapped covers are built only by incubator profile
+ * of JDK 17 and ffm profile of JDK 22 or newer, which set <B>steganography.test.mapped</B> so covers that
+ * cannot be mapped fail instead of skipping. Files are encoded and decoded through mapped covers where they are
+ * available and through streamed chunks otherwise, and either must match stream encoding.
+ */
+public class MappedCoverTest {
+
+    @Test
+    public void mappedCoverMatchesInsertBits(@TempDir Path directory) throws Exception {
+
+        if (Boolean.getBoolean("steganography.test.mapped")) {
+            assertNull(MappedCovers.getFallbackReason(), "covers are not mapped");
+        }
+        assumeTrue(MappedCovers.isAvailable(), "covers are not mapped: " + MappedCovers.getFallbackReason());
+
+        Random random = new Random(44);
+        Path file = directory.resolve("cover.bin");
+
+        for (int depth = 1; depth <= 4; depth++) {
+            for (int length = 1; length <= 67; length++) {
+
+                int position = random.nextInt(13);
+                long units = SteganographyEncoder.getUnits(length, depth);
+
+                byte[] cover = new byte[(int) (position + units + 11)];
+                byte[] data = new byte[length];
+                random.nextBytes(cover);
+                random.nextBytes(data);
+
+                byte[] expected = cover.clone();
+                SteganographyEncoder.insertBits(expected, position, expected.length, depth, data, 0, length);
+
+                Files.write(file, cover);
+
+                try ( MappedCover mapped = MappedCovers.open(file, position, units, true) ) {
+                    mapped.insert(0, depth, data, 0, length);
+                }
+
+                String where = length + " bytes at depth " + depth;
+                byte[] actual = Files.readAllBytes(file);
+                assertArrayEquals(expected, actual, "insert of " + where);
+
+                byte[] result = new byte[length];
+
+                try ( MappedCover mapped = MappedCovers.open(file, position, units, false) ) {
+                    mapped.extract(0, depth, result, 0, length);
+                }
+
+                assertArrayEquals(data, result, "extract of " + where);
+                assertArrayEquals(data, SteganographyDecoder.extractBits(actual, position, length, depth), "stream extract of " + where);
+            }
+        }
+    }
+
+    @Test
+    public void fileAndStreamDecodeEachOtherWithOddBuffer(@TempDir Path directory) throws Exception {
+
+        // buffer that is not a multiple of 8, so streamed chunks used to leave bytes between them.
+        int buffer = 1001;
+        int key = 44;
+
+        Random random = new Random(key);
+        byte[] cover = new byte[64 * 1024];
+        byte[] data = new byte[3000];
+        random.nextBytes(cover);
+        random.nextBytes(data);
+
+        Path cover_file = directory.resolve("cover.bin");
+        Path data_file = directory.resolve("data.bin");
+        Path encoded = directory.resolve("encoded.bin");
+        Path decoded = directory.resolve("decoded.bin");
+
+        Files.write(cover_file, cover);
+        Files.write(data_file, data);
+
+        for (int depth = 1; depth <= 2; depth++) {
+
+            // file encoded, stream decoded.
+            Steganography steganography = new Steganography();
+            steganography.setBufferCapacity(buffer);
+            steganography.setDepth(depth);
+            steganography.encode(cover_file.toString(), data_file.toString(), encoded.toString(), key);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            Steganography stream = new Steganography();
+            stream.setBufferCapacity(buffer);
+            stream.decode(new ByteArrayInputStream(Files.readAllBytes(encoded)), output, key);
+            assertArrayEquals(data, output.toByteArray(), "stream decode of file encoded at depth " + depth);
+
+            // stream encoded, file decoded.
+            output = new ByteArrayOutputStream();
+            stream.setDepth(depth);
+            stream.encode(new ByteArrayInputStream(cover), cover.length, new ByteArrayInputStream(data), data.length, output, key);
+            Files.write(encoded, output.toByteArray());
+
+            steganography.decode(encoded.toString(), decoded.toString(), key);
+            assertArrayEquals(data, Files.readAllBytes(decoded), "file decode of stream encoded at depth " + depth);
+        }
+    }
+}
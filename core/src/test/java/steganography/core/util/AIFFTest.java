@@ -0,0 +1,111 @@
+package steganography.core.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+public class AIFFTest {
+
+    @Test
+    public void aiffHeaderIsRead(@TempDir Path directory) throws Exception {
+
+        // odd sized chunk before 'SSND' is padded to even size, samples start after offset of SSND.
+        ByteBuffer file = form("AIFF");
+        comm(file, 18, 2, 16, null);
+        chunk(file, "NAME", 3).put(new byte[4]);
+        chunk(file, "SSND", 8 + 4 + 100).putInt(4).putInt(0).put(new byte[4 + 100]);
+
+        AIFF aiff = new AIFF(write(directory, file, ".aiff").toString());
+
+        assertTrue(aiff.isAIFF());
+        assertFalse(aiff.isAIFC());
+        assertTrue(aiff.isPCM());
+        assertFalse(aiff.isLittleEndian());
+        assertEquals(2, aiff.getChannels());
+        assertEquals(16, aiff.getSampleSize());
+        assertEquals(12 + 26 + 12 + 16 + 4, aiff.getSSND_position());
+        assertEquals(100, aiff.getSSND_SIZE());
+    }
+
+    @Test
+    public void aifcCompressionTypeIsRead(@TempDir Path directory) throws Exception {
+
+        ByteBuffer file = form("AIFC");
+        comm(file, 24, 1, 24, "sowt");
+        chunk(file, "SSND", 8 + 100).putInt(0).putInt(0).put(new byte[100]);
+
+        AIFF aiff = new AIFF(write(directory, file, ".aifc").toString());
+
+        assertTrue(aiff.isAIFF());
+        assertTrue(aiff.isAIFC());
+        assertTrue(aiff.isLittleEndian());
+        assertEquals("sowt", aiff.getCompression());
+    }
+
+    @Test
+    public void missingSSNDIsNotAIFF(@TempDir Path directory) throws Exception {
+
+        ByteBuffer file = form("AIFF");
+        comm(file, 18, 2, 16, null);
+
+        assertFalse(new AIFF(write(directory, file, ".aiff").toString()).isAIFF());
+    }
+
+    /**
+     * Returns buffer holding 'FORM' header of <B>type</B> file, chunks follow.
+     */
+    private static ByteBuffer form(String type) {
+
+        ByteBuffer file = ByteBuffer.allocate(1024);
+
+        file.put("FORM".getBytes(StandardCharsets.US_ASCII));
+        file.putInt(0);
+        file.put(type.getBytes(StandardCharsets.US_ASCII));
+
+        return file;
+    }
+
+    /**
+     * Puts header of a chunk of <B>size</B> bytes, body follows.
+     */
+    private static ByteBuffer chunk(ByteBuffer file, String id, int size) {
+        return file.put(id.getBytes(StandardCharsets.US_ASCII)).putInt(size);
+    }
+
+    /**
+     * Puts 'COMM' chunk declaring <B>size</B> bytes, with <B>compression</B> type if not null.
+     */
+    private static void comm(ByteBuffer file, int size, int channels, int sample_size, String compression) {
+
+        chunk(file, "COMM", size);
+
+        file.putShort((short) channels);
+        file.putInt(0);
+        file.putShort((short) sample_size);
+        // 80 bit sample rate.
+        file.put(new byte[10]);
+
+        if(compression != null){
+            file.put(compression.getBytes(StandardCharsets.US_ASCII));
+            file.put(new byte[size - 22]);
+        }
+    }
+
+    private static Path write(Path directory, ByteBuffer file, String extension) throws Exception {
+
+        Path aiff = Files.createTempFile(directory, "cover", extension);
+        Files.write(aiff, Arrays.copyOf(file.array(), file.position()));
+
+        return aiff;
+    }
+}
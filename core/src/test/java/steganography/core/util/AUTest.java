@@ -0,0 +1,63 @@
+package steganography.core.util;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+public class AUTest {
+
+    @Test
+    public void headerIsRead(@TempDir Path directory) throws Exception {
+
+        // annotation of 8 bytes after fixed header.
+        AU au = new AU(write(directory, 32, 100, AU.ENCODING_LINEAR_16, 2, 8 + 100).toString());
+
+        assertTrue(au.isAU());
+        assertEquals(32, au.getData_position());
+        assertEquals(100, au.getData_SIZE());
+        assertEquals(2, au.getSampleSize());
+        assertEquals(2, au.getChannels());
+    }
+
+    @Test
+    public void unknownOrOversizedDataSizeIsRestOfFile(@TempDir Path directory) throws Exception {
+
+        assertEquals(100, new AU(write(directory, 24, 0xFFFFFFFF, AU.ENCODING_LINEAR_8, 1, 100).toString()).getData_SIZE());
+        assertEquals(100, new AU(write(directory, 24, 500, AU.ENCODING_LINEAR_8, 1, 100).toString()).getData_SIZE());
+    }
+
+    @Test
+    public void dataInsideHeaderOrPastEndIsNotAU(@TempDir Path directory) throws Exception {
+
+        assertFalse(new AU(write(directory, 16, 100, AU.ENCODING_LINEAR_16, 2, 100).toString()).isAU());
+        assertFalse(new AU(write(directory, 1000, 100, AU.ENCODING_LINEAR_16, 2, 100).toString()).isAU());
+    }
+
+    /**
+     * Writes AU file with header giving <B>data_offset</B> and <B>data_size</B>, followed by <B>length</B> bytes.
+     */
+    private static Path write(Path directory, int data_offset, int data_size, int encoding, int channels, int length) throws Exception {
+
+        ByteBuffer file = ByteBuffer.allocate(24 + length);
+
+        file.putInt(0x2E736E64);
+        file.putInt(data_offset);
+        file.putInt(data_size);
+        file.putInt(encoding);
+        file.putInt(8000);
+        file.putInt(channels);
+
+        Path au = Files.createTempFile(directory, "cover", ".au");
+        Files.write(au, file.array());
+
+        return au;
+    }
+}
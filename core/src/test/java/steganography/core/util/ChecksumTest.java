@@ -0,0 +1,75 @@
+package steganography.core.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import steganography.core.Steganography;
+import steganography.core.exceptions.ChecksumException;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+public class ChecksumTest {
+
+    private static final int KEY = 1234;
+
+    /**
+     * Cover bytes holding key and message length at depth 1, data starts after them.
+     */
+    private static final int HEADER_UNITS = Steganography.KEY_SIZE_BIT + Steganography.LENGTH_SIZE_BIT;
+
+    @Test
+    public void untouchedCoverDecodes(@TempDir Path directory) throws Exception {
+
+        Path encoded = encode(directory);
+        Path decoded = directory.resolve("decoded.bin");
+
+        new Steganography().decode(encoded.toString(), decoded.toString(), KEY);
+        assertArrayEquals(Files.readAllBytes(directory.resolve("data.bin")), Files.readAllBytes(decoded));
+    }
+
+    @Test
+    public void flippedByteFailsChecksum(@TempDir Path directory) throws Exception {
+
+        Path encoded = encode(directory);
+        Path decoded = directory.resolve("decoded.bin");
+
+        // flipping LSB of a cover byte in middle of data changes one bit of data.
+        byte[] bytes = Files.readAllBytes(encoded);
+        bytes[HEADER_UNITS + 8 * 500 + 3] ^= 1;
+        Files.write(encoded, bytes);
+
+        assertThrows(ChecksumException.class, () -> new Steganography().decode(encoded.toString(), decoded.toString(), KEY));
+        assertFalse(Files.exists(decoded), "partial destination file is removed");
+    }
+
+    /**
+     * Encodes 1000 random bytes with checksum in a random cover of 64 KB, returns encoded cover.
+     */
+    private static Path encode(Path directory) throws Exception {
+
+        Random random = new Random(KEY);
+        byte[] cover = new byte[64 * 1024];
+        byte[] data = new byte[1000];
+        random.nextBytes(cover);
+        random.nextBytes(data);
+
+        Path cover_file = directory.resolve("cover.bin");
+        Path data_file = directory.resolve("data.bin");
+        Path encoded = directory.resolve("encoded.bin");
+
+        Files.write(cover_file, cover);
+        Files.write(data_file, data);
+
+        Steganography steganography = new Steganography();
+        steganography.setChecksum(true);
+        steganography.encode(cover_file.toString(), data_file.toString(), encoded.toString(), KEY);
+
+        return encoded;
+    }
+}
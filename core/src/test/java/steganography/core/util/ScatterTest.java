@@ -0,0 +1,152 @@
+package steganography.core.util;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import steganography.core.Steganography;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+public class ScatterTest {
+
+    private static final int KEY = 1234;
+
+    @Test
+    public void positionsAreDistinctAndInCover() {
+
+        long cover_units = 5L * Scatter.SEGMENT_UNITS + 12345;
+        int payload_units = 200_000;
+
+        Scatter scatter = new Scatter(payload_units, cover_units, KEY, null);
+        Set<Long> positions = new HashSet<>();
+
+        for (long i = 0; i < payload_units; i++) {
+            long position = scatter.getPosition(i);
+            assertTrue(position >= 0 && position < cover_units, "position " + position + " of unit " + i);
+            assertTrue(positions.add(position), "position " + position + " taken twice");
+        }
+    }
+
+    @Test
+    public void tinyPayloadSpansWholeCover() {
+
+        long segments = 1024;
+        long cover_units = segments * Scatter.SEGMENT_UNITS;
+        int payload_units = 10;
+
+        Scatter scatter = new Scatter(payload_units, cover_units, KEY, null);
+
+        // unit i lands in segment floor(i * segments / payload_units), one unit per tenth of cover.
+        for (int i = 0; i < payload_units; i++) {
+            assertEquals(i * segments / payload_units, scatter.getPosition(i) / Scatter.SEGMENT_UNITS, "segment of unit " + i);
+        }
+    }
+
+    @Test
+    public void unevenPayloadIsSpreadEvenly() {
+
+        int segments = 64;
+        long cover_units = (long) segments * Scatter.SEGMENT_UNITS;
+        int payload_units = segments * 3 / 2;
+
+        Scatter scatter = new Scatter(payload_units, cover_units, KEY, null);
+        int[] counts = new int[segments];
+
+        for (int i = 0; i < payload_units; i++) {
+            counts[(int) (scatter.getPosition(i) / Scatter.SEGMENT_UNITS)]++;
+        }
+
+        // segments alternate 1 and 2 units rather than first half holding 2 and second half 1.
+        int first_half = Arrays.stream(counts, 0, segments / 2).sum();
+        int second_half = Arrays.stream(counts, segments / 2, segments).sum();
+
+        assertTrue(Arrays.stream(counts).allMatch(count -> count == 1 || count == 2), Arrays.toString(counts));
+        assertTrue(Math.abs(first_half - second_half) <= 1, first_half + " and " + second_half + " units in halves of cover");
+    }
+
+    @Test
+    public void tinyPayloadRoundTripChangesWholeCover(@TempDir Path directory) throws Exception {
+
+        // 256 segments and 32 payload units of 1 bits, at depth 1.
+        int cover_length = 256 * Scatter.SEGMENT_UNITS;
+        byte[] data = new byte[4];
+        Arrays.fill(data, (byte) 0xFF);
+
+        Path cover = directory.resolve("cover.bin");
+        Path data_file = directory.resolve("data.bin");
+        Path encoded = directory.resolve("encoded.bin");
+        Path decoded = directory.resolve("decoded.bin");
+
+        try ( OutputStream output = Files.newOutputStream(cover) ) {
+            output.write(new byte[cover_length]);
+        }
+        Files.write(data_file, data);
+
+        Steganography steganography = new Steganography();
+        steganography.setScatter(true);
+        steganography.encode(cover.toString(), data_file.toString(), encoded.toString(), KEY);
+
+        new Steganography().decode(encoded.toString(), decoded.toString(), KEY);
+        assertArrayEquals(data, Files.readAllBytes(decoded));
+
+        // every eighth of cover holds some of data, last changed byte is in last sixteenth.
+        byte[] bytes = Files.readAllBytes(encoded);
+        boolean[] eighths = new boolean[8];
+        int last = -1;
+
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != 0) {
+                eighths[(int) ((long) i * 8 / bytes.length)] = true;
+                last = i;
+            }
+        }
+
+        for (int i = 0; i < eighths.length; i++) {
+            assertTrue(eighths[i], "no data in eighth " + i + " of cover");
+        }
+        assertTrue(last >= cover_length - cover_length / 16, "last changed byte at " + last);
+    }
+
+    @Test
+    public void roundTripChangesOnlyLowBits(@TempDir Path directory) throws Exception {
+
+        // about one unit in 3 bytes, so windows mix units with bytes between them that must be kept.
+        Random random = new Random(KEY);
+        byte[] cover = new byte[4 * Scatter.SEGMENT_UNITS];
+        byte[] data = new byte[cover.length / 24];
+        random.nextBytes(cover);
+        random.nextBytes(data);
+
+        Path cover_file = directory.resolve("cover.bin");
+        Path data_file = directory.resolve("data.bin");
+        Path encoded = directory.resolve("encoded.bin");
+        Path decoded = directory.resolve("decoded.bin");
+
+        Files.write(cover_file, cover);
+        Files.write(data_file, data);
+
+        Steganography steganography = new Steganography();
+        steganography.setScatter(true);
+        steganography.encode(cover_file.toString(), data_file.toString(), encoded.toString(), KEY);
+
+        new Steganography().decode(encoded.toString(), decoded.toString(), KEY);
+        assertArrayEquals(data, Files.readAllBytes(decoded));
+
+        byte[] bytes = Files.readAllBytes(encoded);
+        assertEquals(cover.length, bytes.length);
+
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals(cover[i] & 0xFE, bytes[i] & 0xFE, "byte " + i + " changed above LSB");
+        }
+    }
+}
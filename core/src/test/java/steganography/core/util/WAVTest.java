@@ -0,0 +1,175 @@
+package steganography.core.util;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+public class WAVTest {
+
+    @Test
+    public void riffHeaderIsRead(@TempDir Path directory) throws Exception {
+
+        // odd sized chunk before 'data' is padded to even size.
+        ByteBuffer file = riff("RIFF");
+        fmt(file, 16, 2, 4);
+        chunk(file, "LIST", 3).put(new byte[4]);
+        chunk(file, "data", 100).put(new byte[100]);
+
+        WAV wav = new WAV(write(directory, file).toString());
+
+        assertTrue(wav.isWAV());
+        assertFalse(wav.isRF64());
+        assertEquals(WAV.FORMAT_PCM, wav.getFormat());
+        assertEquals(2, wav.getChannels());
+        assertEquals(4, wav.getBlockAlign());
+        assertEquals(12 + 24 + 12 + 8, wav.getData_position());
+        assertEquals(100, wav.getData_SIZE());
+    }
+
+    @Test
+    public void rf64DataSizeComesFromDs64(@TempDir Path directory) throws Exception {
+
+        ByteBuffer file = riff("RF64");
+        ds64(file, 24, 80);
+        fmt(file, 16, 2, 4);
+        chunk(file, "data", 0xFFFFFFFF).put(new byte[100]);
+
+        WAV wav = new WAV(write(directory, file).toString());
+
+        assertTrue(wav.isWAV());
+        assertTrue(wav.isRF64());
+        assertEquals(80, wav.getData_SIZE());
+    }
+
+    @Test
+    public void shortFmtIsNotWAV(@TempDir Path directory) throws Exception {
+
+        ByteBuffer file = riff("RIFF");
+        chunk(file, "fmt ", 14).put(new byte[14]);
+        chunk(file, "data", 100).put(new byte[100]);
+
+        assertFalse(new WAV(write(directory, file).toString()).isWAV());
+    }
+
+    @Test
+    public void shortDs64IsNotWAV(@TempDir Path directory) throws Exception {
+
+        ByteBuffer file = riff("RF64");
+        ds64(file, 16, 80);
+        fmt(file, 16, 2, 4);
+        chunk(file, "data", 0xFFFFFFFF).put(new byte[100]);
+
+        assertFalse(new WAV(write(directory, file).toString()).isWAV());
+    }
+
+    @Test
+    public void noChannelsOrBlockAlignIsNotWAV(@TempDir Path directory) throws Exception {
+
+        ByteBuffer file = riff("RIFF");
+        fmt(file, 16, 0, 4);
+        chunk(file, "data", 100).put(new byte[100]);
+
+        assertFalse(new WAV(write(directory, file).toString()).isWAV());
+
+        file = riff("RIFF");
+        fmt(file, 16, 2, 0);
+        chunk(file, "data", 100).put(new byte[100]);
+
+        assertFalse(new WAV(write(directory, file).toString()).isWAV());
+    }
+
+    @Test
+    public void truncatedFmtThrowsEOF(@TempDir Path directory) throws Exception {
+
+        // fmt chunk declares 16 bytes, file ends 6 bytes into it.
+        ByteBuffer file = riff("RIFF");
+        chunk(file, "fmt ", 16).put(new byte[6]);
+
+        Path wav = write(directory, file);
+
+        assertThrows(EOFException.class, () -> new WAV(wav.toString()));
+    }
+
+    @Test
+    public void truncatedDs64ThrowsEOF(@TempDir Path directory) throws Exception {
+
+        // ds64 chunk declares 24 bytes, file ends before its data size.
+        ByteBuffer file = riff("RF64");
+        chunk(file, "ds64", 24).put(new byte[10]);
+
+        Path wav = write(directory, file);
+
+        assertThrows(EOFException.class, () -> new WAV(wav.toString()));
+    }
+
+    /**
+     * Returns buffer holding 'RIFF' or 'RF64' header of a WAVE file, chunks follow.
+     */
+    private static ByteBuffer riff(String id) {
+
+        ByteBuffer file = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+
+        file.put(id.getBytes(StandardCharsets.US_ASCII));
+        file.putInt(id.equals("RIFF") ? 0 : 0xFFFFFFFF);
+        file.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+
+        return file;
+    }
+
+    /**
+     * Puts header of a chunk of <B>size</B> bytes, body follows.
+     */
+    private static ByteBuffer chunk(ByteBuffer file, String id, int size) {
+        return file.put(id.getBytes(StandardCharsets.US_ASCII)).putInt(size);
+    }
+
+    /**
+     * Puts 16 bit PCM 'fmt ' chunk declaring <B>size</B> bytes.
+     */
+    private static void fmt(ByteBuffer file, int size, int channels, int block_align) {
+
+        chunk(file, "fmt ", size);
+
+        file.putShort((short) WAV.FORMAT_PCM);
+        file.putShort((short) channels);
+        file.putInt(44100);
+        file.putInt(44100 * block_align);
+        file.putShort((short) block_align);
+        file.putShort((short) 16);
+        file.put(new byte[size - 16]);
+    }
+
+    /**
+     * Puts 'ds64' chunk declaring <B>size</B> bytes, with <B>data_size</B> if it has room for it.
+     */
+    private static void ds64(ByteBuffer file, int size, long data_size) {
+
+        chunk(file, "ds64", size);
+
+        ByteBuffer body = ByteBuffer.allocate(Math.max(size, 24)).order(ByteOrder.LITTLE_ENDIAN);
+        body.putLong(0).putLong(data_size).putLong(0);
+
+        file.put(body.array(), 0, size);
+    }
+
+    private static Path write(Path directory, ByteBuffer file) throws Exception {
+
+        Path wav = Files.createTempFile(directory, "cover", ".wav");
+        Files.write(wav, Arrays.copyOf(file.array(), file.position()));
+
+        return wav;
+    }
+}
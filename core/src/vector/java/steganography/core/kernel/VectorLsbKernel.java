@@ -0,0 +1,133 @@
+package steganography.core.kernel;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * Kernel using Java Vector API, 8 data bytes (64 cover bytes) at a time.
+ * <P>
+ * Insert broadcasts data bytes over a vector, moves each to the 8 lanes of its bits, and shifts each lane
+ * by its bit index. Extract multiplies each 8 LSBs, as a long, by <B>0x8040201008040201</B> which gathers them
+ * in its top byte, and moves top bytes together. Remaining bytes are done by {@link ScalarLsbKernel}.
+ * </P>
+ * <P>Needs vectors of 128 to 512 bits.</P>
+ */
+public final class VectorLsbKernel extends ScalarLsbKernel {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * Number of vectors per 64 cover bytes, and data bytes per vector.
+     */
+    private static final int STEPS = Long.SIZE / LANES;
+    private static final int BYTES = LANES / 8;
+
+    /**
+     * Gathers LSB of byte k of a little endian long in bit 63 - k.
+     */
+    private static final long GATHER = 0x8040201008040201L;
+
+    /**
+     * Shuffles moving data byte of each lane in step, and shift of each lane so its bit is LSB.
+     */
+    private static final VectorShuffle<Byte>[] SPREAD;
+    private static final ByteVector SHIFT;
+
+    /**
+     * Shuffle moving top byte of each long to first lanes.
+     */
+    private static final VectorShuffle<Byte> PACK;
+
+    private static final VarHandle LE_LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    static {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        VectorShuffle<Byte>[] spread = new VectorShuffle[Math.max(STEPS, 1)];
+
+        for (int j = 0; j < spread.length; j++) {
+            int step = j;
+            spread[j] = VectorShuffle.fromOp(SPECIES, k -> step * BYTES + k / 8);
+        }
+
+        SPREAD = spread;
+        SHIFT = ByteVector.zero(SPECIES).addIndex(1).lanewise(VectorOperators.AND, (byte) 7).neg().add((byte) 7);
+        PACK = VectorShuffle.fromOp(SPECIES, k -> k < BYTES ? k * 8 + 7 : k);
+    }
+
+    public VectorLsbKernel() {
+        if (LANES < 16 || LANES > Long.SIZE || LONG_SPECIES.vectorBitSize() != SPECIES.vectorBitSize()) {
+            throw new UnsupportedOperationException("vector width of " + SPECIES.vectorBitSize() + " bits.");
+        }
+    }
+
+    @Override
+    public void insert(byte[] target, int position, byte[] source, int source_start, int source_end) {
+
+        int i = source_start;
+        int bound = source_end - Long.BYTES;
+
+        for (; i <= bound; i += Long.BYTES, position += Long.SIZE) {
+
+            // data bytes repeated over vector, byte k of vector is data byte k % 8.
+            ByteVector data = LongVector.broadcast(LONG_SPECIES, (long) LE_LONG.get(source, i)).reinterpretAsBytes();
+
+            for (int j = 0; j < STEPS; j++) {
+                int offset = position + j * LANES;
+
+                ByteVector bits = data.rearrange(SPREAD[j]).lanewise(VectorOperators.LSHR, SHIFT).and((byte) 1);
+
+                ByteVector.fromArray(SPECIES, target, offset).and((byte) 0xFE).or(bits).intoArray(target, offset);
+            }
+        }
+
+        super.insert(target, position, source, i, source_end);
+    }
+
+    @Override
+    public void extract(byte[] source, int position, byte[] result, int result_start, int result_end) {
+
+        int i = result_start;
+        int bound = result_end - Long.BYTES;
+
+        for (; i <= bound; i += Long.BYTES, position += Long.SIZE) {
+
+            long bytes = 0;
+
+            for (int j = 0; j < STEPS; j++) {
+                long packed = ByteVector.fromArray(SPECIES, source, position + j * LANES)
+                        .and((byte) 1)
+                        .reinterpretAsLongs()
+                        .mul(GATHER)
+                        .reinterpretAsBytes()
+                        .rearrange(PACK)
+                        .reinterpretAsLongs()
+                        .lane(0);
+
+                bytes |= (BYTES == Long.BYTES ? packed : packed & ((1L << LANES) - 1)) << (j * LANES);
+            }
+
+            LE_LONG.set(result, i, bytes);
+        }
+
+        super.extract(source, position, result, i, result_end);
+    }
+
+    @Override
+    public String getName() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+
+}
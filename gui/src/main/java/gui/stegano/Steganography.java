@@ -5,15 +5,18 @@ import gui.util.FileDropHandler;
 import java.awt.Color;
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
-import steganography.core.exceptions.InsufficientBitsException;
-import steganography.core.exceptions.InsufficientMemoryException;
-import steganography.core.exceptions.InvalidKeyException;
-import steganography.core.exceptions.UnsupportedFileException;
-import static steganography.core.util.Files.setImageFileExtension;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import static steganography.core.Steganography.MB;
+import steganography.core.exceptions.CancelledException;
+import static gui.util.FileFilters.setImageFileExtension;
 
 /**
  *
@@ -21,6 +24,11 @@ import static steganography.core.util.Files.setImageFileExtension;
  */
 public class Steganography extends javax.swing.JFrame {
 
+    /**
+     * Interval at which progress dialog is checked for cancellation.
+     */
+    private static final int CANCEL_POLL_MILLIS = 100;
+    
     protected File COVER_FILE;
     protected File DATA_FILE;
     protected File DESTINATION_FILE;
@@ -472,25 +480,19 @@ public class Steganography extends javax.swing.JFrame {
 
     private void EncodeButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_EncodeButtonActionPerformed
 
-        if(encode() == 0){
-            reset();
-        }
+        encode();
                 
     }//GEN-LAST:event_EncodeButtonActionPerformed
 
     private void DecodeButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_DecodeButtonActionPerformed
         
-        if(decode() == 0){
-            reset();
-        }
+        decode();
         
     }//GEN-LAST:event_DecodeButtonActionPerformed
 
     private void EncodeMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_EncodeMenuItemActionPerformed
 
-        if(encode() == 0){
-            reset();
-        }
+        encode();
         
     }//GEN-LAST:event_EncodeMenuItemActionPerformed
 
@@ -508,9 +510,7 @@ public class Steganography extends javax.swing.JFrame {
 
     private void DecodeMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_DecodeMenuItemActionPerformed
 
-        if (decode() == 0) {
-            reset();
-        }
+        decode();
 
     }//GEN-LAST:event_DecodeMenuItemActionPerformed
 
@@ -573,21 +573,12 @@ public class Steganography extends javax.swing.JFrame {
             steg.setBufferCapacity(BUFFER_CAPACITY);
         }
         
-        try {
-            steg.encode(COVER_FILE.getPath(), DATA_FILE.getPath(), DESTINATION_FILE.getPath(), KEY);
-            
-            JOptionPane.showMessageDialog(null, "Successfully Encoded", "SUCCESSFUL", JOptionPane.INFORMATION_MESSAGE);
-            
-            return 0;
-        } 
-        catch (InsufficientMemoryException | IOException | UnsupportedFileException ex) {
-            
-            JOptionPane.showMessageDialog(null, ex.getMessage(), "ERROR!!", JOptionPane.ERROR_MESSAGE);
-            Logger.getLogger(Steganography.class.getName()).log(Level.SEVERE, null, ex);
-            
-        }
+        final String cover = COVER_FILE.getPath(), data = DATA_FILE.getPath(), destination = DESTINATION_FILE.getPath();
+        final int key = KEY;
         
-        return -1;
+        execute(steg, "Encoding", "Successfully Encoded", () -> steg.encode(cover, data, destination, key));
+        
+        return 0;
     }
     
     protected int decode(){
@@ -617,19 +608,116 @@ public class Steganography extends javax.swing.JFrame {
             steg.setBufferCapacity(BUFFER_CAPACITY);
         }
         
-        try {
-            steg.decode(COVER_FILE.getPath(), DESTINATION_FILE.getPath(), KEY);
-            JOptionPane.showMessageDialog(null, "Successfully Decoded", "SUCCESSFUL", JOptionPane.INFORMATION_MESSAGE);
-            return 0;
-        } 
-        catch (UnsupportedFileException | IOException | InsufficientBitsException | InvalidKeyException ex) {
-            
-            JOptionPane.showMessageDialog(null, ex.getMessage(), "ERROR!!", JOptionPane.ERROR_MESSAGE);
-            Logger.getLogger(Steganography.class.getName()).log(Level.SEVERE, null, ex);
+        final String source = COVER_FILE.getPath(), destination = DESTINATION_FILE.getPath();
+        final int key = KEY;
+        
+        execute(steg, "Decoding", "Successfully Decoded", () -> steg.decode(source, destination, key));
+        
+        return 0;
+    }
+    
+    /**
+     * Encoding or decoding to be run by {@link #execute}.
+     */
+    protected interface Task {
+        void run() throws Exception;
+    }
+    
+    /**
+     * Runs <B>task</B> on a background thread so window stays responsive, showing a progress dialog
+     * with throughput of <B>steg</B>. Cancel button of dialog cancels <B>steg</B>, which deletes partial destination file.
+     * <P>Dialog is polled for cancellation by a timer, as a chunk may take long without publishing progress.</P>
+     * <P>Encode and decode controls are disabled while task runs and form is reset when it succeeds.</P>
+     * 
+     * @param steg core object running the task.
+     * @param title title of progress dialog.
+     * @param success_message message shown when task completes.
+     * @param task encoding or decoding to run.
+     */
+    protected void execute(steganography.core.Steganography steg, String title, String success_message, Task task){
+        
+        ProgressMonitor monitor = new ProgressMonitor(this, title, "Starting...", 0, 100);
+        monitor.setMillisToDecideToPopup(200);
+        monitor.setMillisToPopup(200);
+        
+        Timer cancel_poll = new Timer(CANCEL_POLL_MILLIS, event -> {
+            if(monitor.isCanceled()){
+                steg.cancel();
+            }
+        });
+        
+        SwingWorker<Void, String> worker = new SwingWorker<Void, String>() {
             
-        }
+            @Override
+            protected Void doInBackground() throws Exception {
+                
+                steg.setProgressListener((bytes_read, bytes_embedded, total_bytes, elapsed_nanos, mb_per_second) -> {
+                    
+                    if(total_bytes > 0){
+                        setProgress((int) Math.min(100, bytes_read * 100 / total_bytes));
+                    }
+                    
+                    publish(String.format("%.1f MB read, %.1f MB of data at %.1f MB/s", (double) bytes_read / MB, (double) bytes_embedded / MB, mb_per_second));
+                });
+                
+                task.run();
+                return null;
+            }
+
+            @Override
+            protected void process(List<String> notes) {
+                monitor.setNote(notes.get(notes.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                
+                cancel_poll.stop();
+                monitor.close();
+                setRunning(false);
+                
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(null, success_message, "SUCCESSFUL", JOptionPane.INFORMATION_MESSAGE);
+                    reset();
+                } 
+                catch (ExecutionException ex) {
+                    
+                    Throwable cause = ex.getCause();
+                    
+                    if(cause instanceof CancelledException){
+                        JOptionPane.showMessageDialog(null, title + " cancelled.", "CANCELLED", JOptionPane.INFORMATION_MESSAGE);
+                    }
+                    else{
+                        JOptionPane.showMessageDialog(null, cause.getMessage(), "ERROR!!", JOptionPane.ERROR_MESSAGE);
+                        Logger.getLogger(Steganography.class.getName()).log(Level.SEVERE, null, cause);
+                    }
+                } 
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
         
-        return -1;
+        worker.addPropertyChangeListener(event -> {
+            if("progress".equals(event.getPropertyName())){
+                monitor.setProgress((Integer) event.getNewValue());
+            }
+        });
+        
+        setRunning(true);
+        cancel_poll.start();
+        worker.execute();
+    }
+    
+    /**
+     * Enables or disables encode and decode controls.
+     */
+    private void setRunning(boolean running){
+        EncodeButton.setEnabled(!running);
+        DecodeButton.setEnabled(!running);
+        EncodeMenuItem.setEnabled(!running);
+        DecodeMenuItem.setEnabled(!running);
     }
     
     private void readKey() {
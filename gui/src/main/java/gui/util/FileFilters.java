@@ -0,0 +1,34 @@
+package gui.util;
+
+import javax.swing.JFileChooser;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+/**
+ * @author Himanshu Sajwan.
+ */
+
+/**
+ * File filters of covers supported by each codec, for {@link JFileChooser} dialogs.
+ */
+public final class FileFilters {
+
+    private FileFilters() {
+    }
+
+    public static void setImageFileExtension(JFileChooser chooser) {
+        chooser.setFileFilter(new FileNameExtensionFilter("Image Files (*.png)", "png"));
+    }
+
+    public static void setAudioFileExtension(JFileChooser chooser) {
+        chooser.setFileFilter(new FileNameExtensionFilter("Audio Files (*.wav, *.aif, *.aiff, *.aifc, *.au, *.snd)",
+                "wav", "aif", "aiff", "aifc", "au", "snd"));
+    }
+
+    public static void setVideoFileExtension(JFileChooser chooser) {
+        chooser.setFileFilter(new FileNameExtensionFilter("Video Files (*.mp4)", "mp4"));
+    }
+
+    public static void setDocumentFileExtension(JFileChooser chooser) {
+        chooser.setFileFilter(new FileNameExtensionFilter("Document Files (*.txt)", "txt"));
+    }
+}
@@ -1,17 +1,10 @@
 
 package gui.video;
 
-import gui.stegano.Steganography;
 import java.io.IOException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
-import steganography.core.exceptions.InsufficientBitsException;
-import steganography.core.exceptions.InsufficientMemoryException;
-import steganography.core.exceptions.InvalidKeyException;
-import steganography.core.exceptions.UnsupportedFileException;
-import static steganography.core.util.Files.setVideoFileExtension;
+import static gui.util.FileFilters.setVideoFileExtension;
 
 /**
  * @author Himanshu Sajwan.
@@ -111,21 +104,12 @@ public class VideoSteganography extends gui.stegano.Steganography{
             video_steganography.setBufferCapacity(BUFFER_CAPACITY);
         }
         
-        try {
-            video_steganography.encode(COVER_FILE.getPath(), DATA_FILE.getPath(), DESTINATION_FILE.getPath(), KEY);
-            
-            JOptionPane.showMessageDialog(null, "Successfully Encoded", "SUCCESSFUL", JOptionPane.INFORMATION_MESSAGE);
-            
-            return 0;
-        } 
-        catch (InsufficientMemoryException | IOException | UnsupportedFileException ex) {
-            
-            JOptionPane.showMessageDialog(null, ex.getMessage(), "ERROR!!", JOptionPane.ERROR_MESSAGE);
-            Logger.getLogger(Steganography.class.getName()).log(Level.SEVERE, null, ex);
-            
-        }
+        final String cover = COVER_FILE.getPath(), data = DATA_FILE.getPath(), destination = DESTINATION_FILE.getPath();
+        final int key = KEY;
+        
+        execute(video_steganography, "Encoding", "Successfully Encoded", () -> video_steganography.encode(cover, data, destination, key));
         
-        return -1;
+        return 0;
     }
     
     protected int decode(){
@@ -155,19 +139,12 @@ public class VideoSteganography extends gui.stegano.Steganography{
             video_steganography.setBufferCapacity(BUFFER_CAPACITY);
         }
         
-        try {
-            video_steganography.decode(COVER_FILE.getPath(), DESTINATION_FILE.getPath(), KEY);
-            JOptionPane.showMessageDialog(null, "Successfully Decoded", "SUCCESSFUL", JOptionPane.INFORMATION_MESSAGE);
-            return 0;
-        } 
-        catch (UnsupportedFileException | IOException | InsufficientBitsException | InvalidKeyException ex) {
-            
-            JOptionPane.showMessageDialog(null, ex.getMessage(), "ERROR!!", JOptionPane.ERROR_MESSAGE);
-            Logger.getLogger(Steganography.class.getName()).log(Level.SEVERE, null, ex);
-            
-        }
+        final String source = COVER_FILE.getPath(), destination = DESTINATION_FILE.getPath();
+        final int key = KEY;
+        
+        execute(video_steganography, "Decoding", "Successfully Decoded", () -> video_steganography.decode(source, destination, key));
         
-        return -1;
+        return 0;
     }
     
 }
\ No newline at end of file